@@ -0,0 +1,166 @@
+package com.supcom.projetuniversitaire.charge;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ============================================================
+ * TESTS DE CHARGE : ConfigurationCharge
+ * ============================================================
+ * Options du harnais, passées en arguments sous la forme cle=valeur
+ * (le préfixe "--" est accepté) :
+ *
+ *   url           application déjà démarrée (vide : démarrage dans le processus)
+ *   base          préfixe des routes (/api/projets, ou /api/reactif/projets)
+ *   profils       profils Spring de l'application démarrée (ex : reactif)
+ *   mongo         local (mongoUri) ou embarque (MongoDB téléchargé et lancé)
+ *   mongoUri      base utilisée en mode local
+ *   projets       nombre de projets créés avant la mesure
+ *   taches        nombre de tâches par projet
+ *   concurrence   nombre de clients simultanés
+ *   prechauffage  durée de chauffe en secondes (non mesurée)
+ *   duree         durée de mesure en secondes
+ *   debit         requêtes/s visées au total (0 : chaque client enchaîne sans pause)
+ *   mix           poids des opérations, ex : liste=25,lecture=30,ajoutTache=10
+ *   sortie        dossier des histogrammes (.hgrm)
+ *   conserver     true : ne pas supprimer les projets créés à la fin
+ * ============================================================
+ */
+final class ConfigurationCharge {
+
+    private static final Set<String> OPTIONS = Set.of(
+            "url", "base", "profils", "mongo", "mongoUri", "projets", "taches", "concurrence",
+            "prechauffage", "duree", "debit", "mix", "sortie", "conserver");
+
+    private final String url;
+    private final String base;
+    private final String profils;
+    private final boolean mongoEmbarque;
+    private final String mongoUri;
+    private final int projets;
+    private final int taches;
+    private final int concurrence;
+    private final Duration prechauffage;
+    private final Duration duree;
+    private final double debit;
+    private final Map<OperationCharge, Integer> mix;
+    private final Path sortie;
+    private final boolean conserver;
+
+    private ConfigurationCharge(Map<String, String> options) {
+        this.url = options.getOrDefault("url", "");
+        this.base = options.getOrDefault("base", "/api/projets");
+        this.profils = options.getOrDefault("profils", "");
+        this.mongoEmbarque = lireModeMongo(options.getOrDefault("mongo", "local"));
+        this.mongoUri = options.getOrDefault("mongoUri",
+                System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017/projetuni_charge"));
+        this.projets = lireEntierPositif(options, "projets", 50);
+        this.taches = lireEntierPositif(options, "taches", 20);
+        this.concurrence = lireEntierPositif(options, "concurrence", 16);
+        this.prechauffage = Duration.ofSeconds(lireEntierPositif(options, "prechauffage", 10));
+        this.duree = Duration.ofSeconds(lireEntierPositif(options, "duree", 60));
+        this.debit = Double.parseDouble(options.getOrDefault("debit", "0"));
+        this.mix = lireMix(options.get("mix"));
+        this.sortie = Path.of(options.getOrDefault("sortie", "target/charge/rapports"));
+        this.conserver = Boolean.parseBoolean(options.getOrDefault("conserver", "false"));
+    }
+
+    /**
+     * Lit les arguments de la ligne de commande.
+     *
+     * @throws IllegalArgumentException si une option est inconnue ou invalide
+     */
+    static ConfigurationCharge lire(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String argument : args) {
+            String option = argument.startsWith("--") ? argument.substring(2) : argument;
+            int egal = option.indexOf('=');
+            if (egal <= 0 || !OPTIONS.contains(option.substring(0, egal))) {
+                throw new IllegalArgumentException("Option inconnue : " + argument + " (options : " + OPTIONS + ")");
+            }
+            options.put(option.substring(0, egal), option.substring(egal + 1));
+        }
+        return new ConfigurationCharge(options);
+    }
+
+    private static boolean lireModeMongo(String mode) {
+        if (!"local".equals(mode) && !"embarque".equals(mode)) {
+            throw new IllegalArgumentException("mongo doit valoir local ou embarque : " + mode);
+        }
+        return "embarque".equals(mode);
+    }
+
+    private static int lireEntierPositif(Map<String, String> options, String cle, int defaut) {
+        int valeur = Integer.parseInt(options.getOrDefault(cle, String.valueOf(defaut)));
+        if (valeur < 0 || (valeur == 0 && !"prechauffage".equals(cle))) {
+            throw new IllegalArgumentException(cle + " doit être positif : " + valeur);
+        }
+        return valeur;
+    }
+
+    /** Mélange par défaut, ou poids explicites (opérations absentes : poids 0) */
+    private static Map<OperationCharge, Integer> lireMix(String valeur) {
+        Map<OperationCharge, Integer> poids = new EnumMap<>(OperationCharge.class);
+        if (valeur == null || valeur.isBlank()) {
+            for (OperationCharge operation : OperationCharge.values()) {
+                poids.put(operation, operation.getPoidsParDefaut());
+            }
+            return poids;
+        }
+        for (String element : valeur.split(",")) {
+            String[] cleValeur = element.trim().split("=");
+            if (cleValeur.length != 2) {
+                throw new IllegalArgumentException("Élément de mélange invalide : " + element);
+            }
+            poids.put(OperationCharge.parNom(cleValeur[0]), Integer.parseInt(cleValeur[1]));
+        }
+        if (poids.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Le mélange ne contient aucune opération : " + valeur);
+        }
+        return poids;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    String getUrl() { return url; }
+
+    String getBase() { return base; }
+
+    String getProfils() { return profils; }
+
+    boolean isMongoEmbarque() { return mongoEmbarque; }
+
+    String getMongoUri() { return mongoUri; }
+
+    int getProjets() { return projets; }
+
+    int getTaches() { return taches; }
+
+    int getConcurrence() { return concurrence; }
+
+    Duration getPrechauffage() { return prechauffage; }
+
+    Duration getDuree() { return duree; }
+
+    double getDebit() { return debit; }
+
+    Map<OperationCharge, Integer> getMix() { return mix; }
+
+    Path getSortie() { return sortie; }
+
+    boolean isConserver() { return conserver; }
+
+    @Override
+    public String toString() {
+        return "projets=" + projets + ", taches=" + taches + ", concurrence=" + concurrence
+                + ", prechauffage=" + prechauffage.toSeconds() + "s, duree=" + duree.toSeconds() + "s"
+                + ", debit=" + (debit > 0 ? debit + " req/s" : "boucle fermée")
+                + ", base=" + base + ", mix=" + mix;
+    }
+}
@@ -0,0 +1,199 @@
+package com.supcom.projetuniversitaire.charge;
+
+import com.supcom.projetuniversitaire.ProjetUniversitaireApplication;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ============================================================
+ * TESTS DE CHARGE : HarnessCharge
+ * ============================================================
+ * Point d'entrée du harnais (mvn -P charge test-compile exec:exec) :
+ *   1. démarre MongoDB embarqué si demandé (option mongo=embarque),
+ *   2. démarre l'application dans le processus, sur un port libre
+ *      (sauf si url désigne une instance déjà démarrée),
+ *   3. crée N projets de M tâches via l'API,
+ *   4. joue le mélange d'opérations : préchauffage, puis mesure,
+ *   5. affiche débit et percentiles par endpoint, écrit les histogrammes HDR,
+ *   6. supprime les projets créés et arrête ce qu'il a démarré.
+ *
+ * Chaque client enchaîne ses requêtes (boucle fermée). Avec l'option
+ * debit, les envois sont cadencés et la latence est comptée depuis
+ * l'instant prévu d'envoi : un serveur saturé apparaît dans les
+ * percentiles au lieu de simplement ralentir les clients.
+ * ============================================================
+ */
+public final class HarnessCharge {
+
+    private HarnessCharge() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurationCharge configuration = ConfigurationCharge.lire(args);
+        List<AutoCloseable> aFermer = new ArrayList<>();
+        try {
+            String url = configuration.getUrl();
+            if (url.isEmpty()) {
+                String mongoUri = configuration.isMongoEmbarque()
+                        ? demarrerMongoEmbarque(aFermer)
+                        : configuration.getMongoUri();
+                url = demarrerApplication(mongoUri, configuration.getProfils(), aFermer);
+            }
+            System.out.printf("%nTests de charge sur %s%s (%s)%n", url, configuration.getBase(), configuration);
+            lancer(configuration, url);
+        } finally {
+            for (int i = aFermer.size() - 1; i >= 0; i--) {
+                aFermer.get(i).close();
+            }
+        }
+    }
+
+    // ============================================================
+    // DÉROULEMENT
+    // ============================================================
+
+    private static void lancer(ConfigurationCharge configuration, String url) throws IOException, InterruptedException {
+        ScenarioCharge scenario = new ScenarioCharge(url, configuration.getBase(), configuration.getMix());
+        RapportCharge rapport = new RapportCharge();
+
+        ExecutorService clients = Executors.newFixedThreadPool(configuration.getConcurrence());
+        try {
+            long debut = System.nanoTime();
+            scenario.creerJeuDeDonnees(configuration.getProjets(), configuration.getTaches(), clients);
+            System.out.printf("Jeu de données créé : %d projets de %d tâches en %d ms%n",
+                    configuration.getProjets(), configuration.getTaches(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - debut));
+
+            try {
+                if (!configuration.getPrechauffage().isZero()) {
+                    System.out.printf("Préchauffage : %d s%n", configuration.getPrechauffage().toSeconds());
+                    jouer(scenario, rapport, configuration, configuration.getPrechauffage(), clients);
+                    rapport.reinitialiser();
+                }
+                System.out.printf("Mesure : %d s%n", configuration.getDuree().toSeconds());
+                jouer(scenario, rapport, configuration, configuration.getDuree(), clients);
+                rapport.publier(configuration.getDuree(), configuration.getSortie(), System.out);
+            } finally {
+                if (!configuration.isConserver()) {
+                    scenario.supprimerJeuDeDonnees();
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Fait travailler tous les clients pendant la durée donnée
+     * et attend qu'ils aient terminé leur dernière requête.
+     */
+    private static void jouer(ScenarioCharge scenario, RapportCharge rapport, ConfigurationCharge configuration,
+                              Duration duree, ExecutorService clients) throws InterruptedException {
+        long fin = System.nanoTime() + duree.toNanos();
+        // Intervalle entre deux envois d'un même client pour atteindre le débit visé
+        long intervalle = configuration.getDebit() > 0
+                ? (long) (configuration.getConcurrence() * 1e9 / configuration.getDebit())
+                : 0;
+
+        List<Future<?>> enCours = new ArrayList<>();
+        for (int i = 0; i < configuration.getConcurrence(); i++) {
+            enCours.add(clients.submit(() -> boucleClient(scenario, rapport, fin, intervalle)));
+        }
+        for (Future<?> client : enCours) {
+            try {
+                client.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Client de charge interrompu", e.getCause());
+            }
+        }
+    }
+
+    private static void boucleClient(ScenarioCharge scenario, RapportCharge rapport, long fin, long intervalle) {
+        Random aleatoire = ThreadLocalRandom.current();
+        long prochainEnvoi = System.nanoTime();
+        while (System.nanoTime() < fin) {
+            long debut;
+            if (intervalle > 0) {
+                long attente = prochainEnvoi - System.nanoTime();
+                if (attente > 0) {
+                    LockSupport.parkNanos(attente);
+                }
+                // Latence comptée depuis l'envoi prévu (omission coordonnée)
+                debut = prochainEnvoi;
+                prochainEnvoi += intervalle;
+            } else {
+                debut = System.nanoTime();
+            }
+
+            OperationCharge operation = scenario.tirer(aleatoire);
+            boolean succes;
+            try {
+                succes = scenario.executer(operation, aleatoire) < 400;
+            } catch (IOException e) {
+                succes = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            rapport.enregistrer(operation, System.nanoTime() - debut, succes);
+        }
+    }
+
+    // ============================================================
+    // DÉMARRAGE DE MONGODB ET DE L'APPLICATION
+    // ============================================================
+
+    /**
+     * Télécharge (au premier lancement) et démarre un MongoDB local.
+     *
+     * @return l'URI de la base de charge sur ce serveur
+     */
+    private static String demarrerMongoEmbarque(List<AutoCloseable> aFermer) {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+        aFermer.add(mongod::close);
+        ServerAddress adresse = mongod.current().getServerAddress();
+        return "mongodb://" + adresse.getHost() + ":" + adresse.getPort() + "/projetuni_charge";
+    }
+
+    /**
+     * Démarre l'application dans ce processus, sur un port libre.
+     * Les journaux DEBUG de Spring Data MongoDB sont coupés : ils
+     * fausseraient les mesures.
+     *
+     * @return l'URL de l'application (http://localhost:port)
+     */
+    private static String demarrerApplication(String mongoUri, String profils, List<AutoCloseable> aFermer) {
+        // Pas de redémarrage DevTools : il relancerait l'application dans un autre chargeur de classes
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--logging.level.org.springframework.data.mongodb=INFO"));
+        if (!profils.isEmpty()) {
+            arguments.add("--spring.profiles.active=" + profils);
+        }
+        ConfigurableApplicationContext contexte = SpringApplication.run(
+                ProjetUniversitaireApplication.class, arguments.toArray(new String[0]));
+        aFermer.add(contexte::close);
+        return "http://localhost:" + contexte.getEnvironment().getProperty("local.server.port");
+    }
+}
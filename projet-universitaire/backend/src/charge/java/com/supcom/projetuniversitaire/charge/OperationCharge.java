@@ -0,0 +1,67 @@
+package com.supcom.projetuniversitaire.charge;
+
+/**
+ * ============================================================
+ * TESTS DE CHARGE : OperationCharge
+ * ============================================================
+ * Opérations jouées par le harnais, chacune correspondant à un
+ * endpoint de ProjetController, avec son poids par défaut dans
+ * le mélange (en pourcentage des requêtes).
+ *
+ * Le mélange par défaut reproduit un usage courant de l'interface :
+ * beaucoup de lectures (liste, détail, filtre), quelques écritures.
+ * Une opération de poids 0 n'est jouée que si "mix" la demande.
+ * ============================================================
+ */
+enum OperationCharge {
+
+    /** GET {base}?view=summary */
+    LISTE("liste", 25),
+
+    /** GET {base}/{id} */
+    LECTURE("lecture", 30),
+
+    /** POST {base}/{id}/taches */
+    AJOUT_TACHE("ajoutTache", 10),
+
+    /** PUT {base}/{id}/taches/{tacheId}/statut */
+    DEPLACEMENT_TACHE("deplacementTache", 15),
+
+    /** POST {base}/{id}/membres */
+    AJOUT_MEMBRE("ajoutMembre", 5),
+
+    /** GET {base}/statut/{statut}?view=summary */
+    FILTRE_STATUT("filtreStatut", 15),
+
+    /** GET {base}/membre/{membre} (routes bloquantes seulement : hors mélange par défaut) */
+    CHARGE_MEMBRE("chargeMembre", 0);
+
+    // --- Nom utilisé dans l'option "mix" et dans les rapports ---
+    private final String nom;
+
+    // --- Poids par défaut dans le mélange ---
+    private final int poidsParDefaut;
+
+    OperationCharge(String nom, int poidsParDefaut) {
+        this.nom = nom;
+        this.poidsParDefaut = poidsParDefaut;
+    }
+
+    String getNom() { return nom; }
+
+    int getPoidsParDefaut() { return poidsParDefaut; }
+
+    /**
+     * Retrouve une opération par son nom (option "mix").
+     *
+     * @throws IllegalArgumentException si le nom est inconnu
+     */
+    static OperationCharge parNom(String nom) {
+        for (OperationCharge operation : values()) {
+            if (operation.nom.equals(nom)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Opération inconnue dans le mélange : " + nom);
+    }
+}
@@ -0,0 +1,117 @@
+package com.supcom.projetuniversitaire.charge;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ============================================================
+ * TESTS DE CHARGE : RapportCharge
+ * ============================================================
+ * Collecte les latences par opération dans des histogrammes HDR
+ * (précision 3 chiffres, en microsecondes) et produit le rapport :
+ *   - tableau débit / erreurs / percentiles sur la sortie standard,
+ *   - un fichier .hgrm par opération (+ total) dans le dossier de sortie,
+ *     au format de HdrHistogram (visualisable avec HistogramLogAnalyzer
+ *     ou https://hdrhistogram.github.io/HdrHistogram/plotFiles.html).
+ *
+ * Les enregistreurs (Recorder) acceptent des écritures concurrentes
+ * sans verrou depuis tous les clients.
+ * ============================================================
+ */
+final class RapportCharge {
+
+    private static final int CHIFFRES_SIGNIFICATIFS = 3;
+
+    private final Map<OperationCharge, Recorder> latences = new EnumMap<>(OperationCharge.class);
+    private final Map<OperationCharge, LongAdder> erreurs = new EnumMap<>(OperationCharge.class);
+
+    RapportCharge() {
+        for (OperationCharge operation : OperationCharge.values()) {
+            latences.put(operation, new Recorder(CHIFFRES_SIGNIFICATIFS));
+            erreurs.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Enregistre une requête terminée.
+     *
+     * @param dureeNanos latence mesurée depuis l'instant prévu d'envoi
+     * @param succes     false si erreur réseau ou code HTTP 4xx / 5xx
+     */
+    void enregistrer(OperationCharge operation, long dureeNanos, boolean succes) {
+        latences.get(operation).recordValue(Math.max(1, dureeNanos / 1_000));
+        if (!succes) {
+            erreurs.get(operation).increment();
+        }
+    }
+
+    /** Oublie tout ce qui a été enregistré (fin du préchauffage) */
+    void reinitialiser() {
+        latences.values().forEach(Recorder::reset);
+        erreurs.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Affiche le rapport de la période mesurée et écrit les histogrammes.
+     *
+     * @param duree   durée de la période mesurée (calcul du débit)
+     * @param dossier dossier des fichiers .hgrm
+     */
+    void publier(Duration duree, Path dossier, PrintStream sortie) throws IOException {
+        Files.createDirectories(dossier);
+        double secondes = duree.toNanos() / 1e9;
+        Histogram total = new Histogram(CHIFFRES_SIGNIFICATIFS);
+        long erreursTotales = 0;
+
+        sortie.printf("%n%-18s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "Opération", "Requêtes", "Erreurs", "Débit/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationCharge operation : OperationCharge.values()) {
+            Histogram histogramme = latences.get(operation).getIntervalHistogram();
+            long nombreErreurs = erreurs.get(operation).sum();
+            if (histogramme.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogramme);
+            erreursTotales += nombreErreurs;
+            afficherLigne(sortie, operation.getNom(), histogramme, nombreErreurs, secondes);
+            ecrire(histogramme, dossier.resolve(operation.getNom() + ".hgrm"));
+        }
+        afficherLigne(sortie, "TOTAL", total, erreursTotales, secondes);
+        ecrire(total, dossier.resolve("total.hgrm"));
+        sortie.printf("%nHistogrammes : %s%n", dossier.toAbsolutePath());
+    }
+
+    private static void afficherLigne(PrintStream sortie, String nom, Histogram histogramme,
+                                      long nombreErreurs, double secondes) {
+        sortie.printf("%-18s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                nom,
+                histogramme.getTotalCount(),
+                nombreErreurs,
+                histogramme.getTotalCount() / secondes,
+                millisecondes(histogramme.getValueAtPercentile(50)),
+                millisecondes(histogramme.getValueAtPercentile(90)),
+                millisecondes(histogramme.getValueAtPercentile(99)),
+                millisecondes(histogramme.getValueAtPercentile(99.9)),
+                millisecondes(histogramme.getMaxValue()));
+    }
+
+    private static void ecrire(Histogram histogramme, Path fichier) throws IOException {
+        try (PrintStream flux = new PrintStream(Files.newOutputStream(fichier), false, "UTF-8")) {
+            // Valeurs en microsecondes, distribution exprimée en millisecondes
+            histogramme.outputPercentileDistribution(flux, 1000.0);
+        }
+    }
+
+    private static double millisecondes(long microsecondes) {
+        return microsecondes / 1000.0;
+    }
+}
@@ -0,0 +1,222 @@
+package com.supcom.projetuniversitaire.charge;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * ============================================================
+ * TESTS DE CHARGE : ScenarioCharge
+ * ============================================================
+ * Requêtes HTTP jouées contre l'API des projets :
+ *   - création du jeu de données (N projets de M tâches) via POST,
+ *   - tirage d'une opération selon les poids du mélange,
+ *   - exécution de l'opération sur un projet et une tâche au hasard,
+ *   - suppression des projets créés à la fin.
+ *
+ * Toutes les données passent par l'API : le scénario fonctionne
+ * aussi bien contre l'application démarrée par le harnais que
+ * contre une instance déjà déployée.
+ * ============================================================
+ */
+final class ScenarioCharge {
+
+    private static final String[] STATUTS_TACHE = {"TO_DO", "DOING", "DONE"};
+    private static final String[] STATUTS_PROJET = {"EN_COURS", "TERMINÉ", "EN_RETARD"};
+    private static final String[] PRIORITES = {"FAIBLE", "MOYENNE", "ÉLEVÉE"};
+    private static final int NOMBRE_MEMBRES = 20;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String base;
+
+    // --- Table de tirage : chaque opération y figure autant de fois que son poids ---
+    private final OperationCharge[] tirage;
+
+    // --- Projets créés et identifiants de leurs tâches (lecture seule pendant la mesure) ---
+    private List<String> projets = List.of();
+    private List<List<String>> tachesParProjet = List.of();
+
+    ScenarioCharge(String url, String base, Map<OperationCharge, Integer> mix) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.base = url + base;
+
+        List<OperationCharge> operations = new ArrayList<>();
+        mix.forEach((operation, poids) -> operations.addAll(Collections.nCopies(poids, operation)));
+        this.tirage = operations.toArray(new OperationCharge[0]);
+    }
+
+    // ============================================================
+    // JEU DE DONNÉES
+    // ============================================================
+
+    /**
+     * Crée nombreProjets projets de nombreTaches tâches (un POST par projet,
+     * envoyés en parallèle) et retient les identifiants renvoyés.
+     */
+    void creerJeuDeDonnees(int nombreProjets, int nombreTaches, ExecutorService executeur)
+            throws IOException, InterruptedException {
+        List<Future<JsonNode>> creations = new ArrayList<>(nombreProjets);
+        for (int i = 0; i < nombreProjets; i++) {
+            byte[] corps = objectMapper.writeValueAsBytes(nouveauProjet(i, nombreTaches));
+            creations.add(executeur.submit(() -> envoyerCreation(corps)));
+        }
+
+        List<String> identifiants = new ArrayList<>(nombreProjets);
+        List<List<String>> taches = new ArrayList<>(nombreProjets);
+        for (Future<JsonNode> creation : creations) {
+            JsonNode projet;
+            try {
+                projet = creation.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Création du jeu de données impossible", e.getCause());
+            }
+            identifiants.add(projet.get("id").asText());
+            List<String> idsTaches = new ArrayList<>();
+            projet.get("taches").forEach(tache -> idsTaches.add(tache.get("id").asText()));
+            taches.add(idsTaches);
+        }
+        this.projets = List.copyOf(identifiants);
+        this.tachesParProjet = List.copyOf(taches);
+    }
+
+    /** Supprime les projets créés par creerJeuDeDonnees (erreurs ignorées) */
+    void supprimerJeuDeDonnees() {
+        for (String id : projets) {
+            try {
+                client.send(requete("/" + id).DELETE().build(), HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                // Projet déjà supprimé ou application arrêtée : rien à nettoyer
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private JsonNode envoyerCreation(byte[] corps) throws IOException, InterruptedException {
+        HttpResponse<byte[]> reponse = client.send(
+                requete("").POST(HttpRequest.BodyPublishers.ofByteArray(corps)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (reponse.statusCode() >= 400) {
+            throw new IOException("POST " + base + " : HTTP " + reponse.statusCode());
+        }
+        return objectMapper.readTree(reponse.body());
+    }
+
+    private Map<String, Object> nouveauProjet(int numero, int nombreTaches) {
+        Random aleatoire = new Random(numero);
+        LocalDate aujourdHui = LocalDate.now();
+
+        List<Map<String, Object>> taches = new ArrayList<>(nombreTaches);
+        for (int i = 0; i < nombreTaches; i++) {
+            Map<String, Object> tache = new LinkedHashMap<>();
+            tache.put("titre", "Tâche " + i);
+            tache.put("description", "Tâche " + i + " du projet de charge " + numero);
+            tache.put("assigneA", membre(aleatoire.nextInt(NOMBRE_MEMBRES)));
+            tache.put("priorite", PRIORITES[aleatoire.nextInt(PRIORITES.length)]);
+            tache.put("statut", STATUTS_TACHE[aleatoire.nextInt(STATUTS_TACHE.length)]);
+            tache.put("dateLimite", aujourdHui.plusDays(aleatoire.nextInt(121) - 60).toString());
+            taches.add(tache);
+        }
+
+        Map<String, Object> projet = new LinkedHashMap<>();
+        projet.put("titre", "Projet de charge " + numero);
+        projet.put("description", "Projet créé par le harnais de tests de charge");
+        projet.put("matiere", "Génie logiciel");
+        projet.put("dateLimite", aujourdHui.plusDays(aleatoire.nextInt(91) - 30).toString());
+        projet.put("membres", List.of(membre(0), membre(1), membre(2)));
+        projet.put("taches", taches);
+        return projet;
+    }
+
+    // ============================================================
+    // OPÉRATIONS MESURÉES
+    // ============================================================
+
+    /** Tire une opération selon les poids du mélange */
+    OperationCharge tirer(Random aleatoire) {
+        return tirage[aleatoire.nextInt(tirage.length)];
+    }
+
+    /**
+     * Exécute une opération sur un projet (et une tâche) tirés au hasard.
+     * La réponse est lue entièrement, comme le ferait le frontend.
+     *
+     * @return le code HTTP de la réponse
+     */
+    int executer(OperationCharge operation, Random aleatoire) throws IOException, InterruptedException {
+        int indexProjet = aleatoire.nextInt(projets.size());
+        String projetId = projets.get(indexProjet);
+
+        HttpRequest requete = switch (operation) {
+            case LISTE -> requete("?view=summary").GET().build();
+            case LECTURE -> requete("/" + projetId).GET().build();
+            case AJOUT_TACHE -> requete("/" + projetId + "/taches")
+                    .POST(json(Map.of(
+                            "titre", "Tâche ajoutée en charge",
+                            "assigneA", membre(aleatoire.nextInt(NOMBRE_MEMBRES)),
+                            "priorite", PRIORITES[aleatoire.nextInt(PRIORITES.length)])))
+                    .build();
+            case DEPLACEMENT_TACHE -> {
+                List<String> taches = tachesParProjet.get(indexProjet);
+                if (taches.isEmpty()) {
+                    yield requete("/" + projetId).GET().build();
+                }
+                String tacheId = taches.get(aleatoire.nextInt(taches.size()));
+                yield requete("/" + projetId + "/taches/" + tacheId + "/statut")
+                        .PUT(json(Map.of("statut", STATUTS_TACHE[aleatoire.nextInt(STATUTS_TACHE.length)])))
+                        .build();
+            }
+            case AJOUT_MEMBRE -> requete("/" + projetId + "/membres")
+                    .POST(json(Map.of("membre", membre(aleatoire.nextInt(NOMBRE_MEMBRES)))))
+                    .build();
+            case FILTRE_STATUT -> requete("/statut/"
+                    + URLEncoder.encode(STATUTS_PROJET[aleatoire.nextInt(STATUTS_PROJET.length)], StandardCharsets.UTF_8)
+                    + "?view=summary").GET().build();
+            case CHARGE_MEMBRE -> requete("/membre/"
+                    + URLEncoder.encode(membre(aleatoire.nextInt(NOMBRE_MEMBRES)), StandardCharsets.UTF_8))
+                    .GET().build();
+        };
+        return client.send(requete, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // ============================================================
+    // UTILITAIRES
+    // ============================================================
+
+    private HttpRequest.Builder requete(String chemin) {
+        return HttpRequest.newBuilder(URI.create(base + chemin))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object corps) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corps));
+    }
+
+    private static String membre(int numero) {
+        return "etudiant" + numero + "@supcom.tn";
+    }
+}
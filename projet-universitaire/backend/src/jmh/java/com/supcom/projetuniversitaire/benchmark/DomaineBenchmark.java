@@ -0,0 +1,87 @@
+package com.supcom.projetuniversitaire.benchmark;
+
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.Tache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================================
+ * BENCHMARK : DomaineBenchmark
+ * ============================================================
+ * Méthodes métier appelées à chaque lecture / écriture d'un projet :
+ *   - Projet.calculerAvancement() avec compteurs à jour (chemin O(1))
+ *   - Projet.recalculerCompteurs() + calculerAvancement() (parcours complet)
+ *   - Projet.verifierRetard()
+ *   - Tache.verifierRetard() sur toutes les tâches du projet
+ *   - Projet.trouverTache() : recherche d'une tâche par identifiant
+ * ============================================================
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomaineBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nombreTaches;
+
+    private Projet projet;
+
+    // Dernière tâche de la liste : pire cas du parcours
+    private String tacheId;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        projet = JeuDeDonnees.projet(nombreTaches);
+        tacheId = projet.getTaches().get(nombreTaches - 1).getId();
+    }
+
+    @Benchmark
+    public double calculerAvancement() {
+        projet.calculerAvancement();
+        return projet.getAvancement();
+    }
+
+    @Benchmark
+    public double calculerAvancementApresRecalcul() {
+        projet.recalculerCompteurs();
+        projet.calculerAvancement();
+        return projet.getAvancement();
+    }
+
+    @Benchmark
+    public StatutProjet verifierRetardProjet() {
+        projet.verifierRetard();
+        return projet.getStatut();
+    }
+
+    @Benchmark
+    public Tache trouverTache() {
+        return projet.trouverTache(tacheId).orElse(null);
+    }
+
+    @Benchmark
+    public void verifierRetardTaches(Blackhole trou) {
+        for (Tache tache : projet.getTaches()) {
+            tache.verifierRetard();
+            trou.consume(tache.isEnRetard());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.supcom.projetuniversitaire.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.supcom.projetuniversitaire.model.Projet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ============================================================
+ * BENCHMARK : JacksonBenchmark
+ * ============================================================
+ * (Dé)sérialisation JSON d'un Projet complet avec ses tâches,
+ * telle que réalisée par les controllers REST, comparée à Smile
+ * (Accept: application/x-jackson-smile) et au coût de la compression
+ * gzip de la réponse (server.compression).
+ *
+ * Les ObjectMapper reproduisent la configuration de Spring Boot
+ * (modules JSR-310, dates ISO au lieu de timestamps) et celle de
+ * SerialisationConfig pour Smile. Tailles des réponses : TaillesReponses.
+ * ============================================================
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nombreTaches;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper smileMapper;
+    private Projet projet;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        smileMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        projet = JeuDeDonnees.projet(nombreTaches);
+        json = objectMapper.writeValueAsBytes(projet);
+        smile = smileMapper.writeValueAsBytes(projet);
+    }
+
+    @Benchmark
+    public byte[] serialiser() throws IOException {
+        return objectMapper.writeValueAsBytes(projet);
+    }
+
+    @Benchmark
+    public Projet deserialiser() throws IOException {
+        return objectMapper.readValue(json, Projet.class);
+    }
+
+    @Benchmark
+    public byte[] serialiserSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(projet);
+    }
+
+    @Benchmark
+    public Projet deserialiserSmile() throws IOException {
+        return smileMapper.readValue(smile, Projet.class);
+    }
+
+    /** Sérialisation JSON suivie de la compression gzip faite par Tomcat */
+    @Benchmark
+    public byte[] serialiserJsonGzip() throws IOException {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sortie)) {
+            objectMapper.writeValue(gzip, projet);
+        }
+        return sortie.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.supcom.projetuniversitaire.benchmark;
+
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ============================================================
+ * BENCHMARK : JeuDeDonnees
+ * ============================================================
+ * Construit des projets de taille donnée pour les benchmarks.
+ * Génération déterministe (graine fixe) : deux exécutions mesurent
+ * exactement les mêmes données.
+ *
+ * Répartition des tâches : un tiers par statut (TO_DO, DOING, DONE),
+ * dates limites réparties entre 60 jours passés et 60 jours à venir.
+ * ============================================================
+ */
+final class JeuDeDonnees {
+
+    private static final StatutTache[] STATUTS = StatutTache.values();
+    private static final PrioriteTache[] PRIORITES = PrioriteTache.values();
+    private static final String[] MEMBRES = {
+        "alice@supcom.tn", "bilel@supcom.tn", "chiraz@supcom.tn", "dali@supcom.tn", "emna@supcom.tn"
+    };
+
+    private JeuDeDonnees() {
+    }
+
+    /**
+     * Crée un projet contenant nombreTaches tâches, avec compteurs,
+     * avancement et statut à jour (état d'un projet relu depuis MongoDB).
+     */
+    static Projet projet(int nombreTaches) {
+        Random aleatoire = new Random(42);
+        LocalDate aujourdHui = LocalDate.now();
+
+        Projet projet = new Projet("Projet de benchmark", "Projet généré pour les mesures JMH",
+                "Génie logiciel", aujourdHui.plusDays(30));
+        projet.setId("6650a1f2c3d4e5f6a7b8c9d0");
+        projet.setVersion(1L);
+        projet.setMembres(new ArrayList<>(List.of(MEMBRES)));
+
+        List<Tache> taches = new ArrayList<>(nombreTaches);
+        for (int i = 0; i < nombreTaches; i++) {
+            Tache tache = new Tache(
+                    "Tâche " + i,
+                    "Description de la tâche " + i + " du projet de benchmark",
+                    MEMBRES[aleatoire.nextInt(MEMBRES.length)],
+                    PRIORITES[aleatoire.nextInt(PRIORITES.length)],
+                    aujourdHui.plusDays(aleatoire.nextInt(121) - 60));
+            tache.setStatut(STATUTS[i % STATUTS.length]);
+            tache.verifierRetard();
+            taches.add(tache);
+        }
+        projet.setTaches(taches);
+        projet.calculerAvancement();
+        projet.verifierRetard();
+        return projet;
+    }
+}
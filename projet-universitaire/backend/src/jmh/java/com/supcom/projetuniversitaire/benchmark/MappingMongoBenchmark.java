@@ -0,0 +1,97 @@
+package com.supcom.projetuniversitaire.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.supcom.projetuniversitaire.config.ConversionsMongoConfig;
+import com.supcom.projetuniversitaire.model.Projet;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================================
+ * BENCHMARK : MappingMongoBenchmark
+ * ============================================================
+ * Conversion d'un Projet et de sa liste de tâches embarquées
+ * entre objets Java et documents BSON, sans serveur MongoDB :
+ *   - ecrireDocument / lireDocument : MappingMongoConverter de Spring Data
+ *     (ce que font save() et find() avant / après l'aller-retour réseau)
+ *   - encoderBson / decoderBson : codec du driver (octets envoyés / reçus)
+ *
+ * Le convertisseur est configuré comme celui de l'application
+ * (conversions de ConversionsMongoConfig, pas de DBRef).
+ * ============================================================
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingMongoBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int nombreTaches;
+
+    private MappingMongoConverter convertisseur;
+    private Codec<Document> codec;
+    private Projet projet;
+    private Document document;
+    private RawBsonDocument bson;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        MongoCustomConversions conversions = new ConversionsMongoConfig().mongoCustomConversions();
+        MongoMappingContext contexte = new MongoMappingContext();
+        contexte.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        contexte.afterPropertiesSet();
+
+        convertisseur = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexte);
+        convertisseur.setCustomConversions(conversions);
+        convertisseur.afterPropertiesSet();
+
+        codec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+        projet = JeuDeDonnees.projet(nombreTaches);
+        document = ecrireDocument();
+        bson = new RawBsonDocument(document, codec);
+    }
+
+    @Benchmark
+    public Document ecrireDocument() {
+        Document cible = new Document();
+        convertisseur.write(projet, cible);
+        return cible;
+    }
+
+    @Benchmark
+    public Projet lireDocument() {
+        return convertisseur.read(Projet.class, document);
+    }
+
+    @Benchmark
+    public RawBsonDocument encoderBson() {
+        return new RawBsonDocument(document, codec);
+    }
+
+    @Benchmark
+    public Document decoderBson() {
+        return bson.decode(codec);
+    }
+}
@@ -0,0 +1,61 @@
+package com.supcom.projetuniversitaire.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.supcom.projetuniversitaire.model.Projet;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ============================================================
+ * BENCHMARK : TaillesReponses
+ * ============================================================
+ * Taille de la réponse GET /api/projets/{id} selon la représentation
+ * (JSON, Smile) et la compression gzip, pour des projets de 10 à
+ * 10 000 tâches. Complète JacksonBenchmark, qui mesure le temps CPU.
+ *
+ * mvn -P benchmarks test-compile exec:java
+ *     -Dexec.mainClass=com.supcom.projetuniversitaire.benchmark.TaillesReponses
+ *     -Dexec.classpathScope=test
+ * ============================================================
+ */
+public final class TaillesReponses {
+
+    private static final int[] NOMBRES_TACHES = {10, 100, 1000, 10000};
+
+    private TaillesReponses() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        System.out.printf("%8s %12s %12s %12s %12s%n", "taches", "json", "json+gzip", "smile", "smile+gzip");
+        for (int nombreTaches : NOMBRES_TACHES) {
+            Projet projet = JeuDeDonnees.projet(nombreTaches);
+            byte[] enJson = json.writeValueAsBytes(projet);
+            byte[] enSmile = smile.writeValueAsBytes(projet);
+            System.out.printf("%8d %12d %12d %12d %12d%n", nombreTaches,
+                    enJson.length, gzip(enJson), enSmile.length, gzip(enSmile));
+        }
+    }
+
+    /** Taille après compression gzip au niveau par défaut (celui de Tomcat) */
+    private static int gzip(byte[] contenu) throws IOException {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sortie)) {
+            gzip.write(contenu);
+        }
+        return sortie.size();
+    }
+}
@@ -2,6 +2,8 @@ package com.supcom.projetuniversitaire;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * ============================================================
@@ -12,9 +14,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   - La configuration automatique (AutoConfiguration)
  *   - Le scan des composants (ComponentScan)
  *   - La configuration Spring (SpringConfiguration)
+ * @EnableScheduling active les tâches planifiées (@Scheduled).
+ * @EnableCaching active le cache des projets (@Cacheable, voir ProjetService).
  * ============================================================
  */
 @SpringBootApplication
+@EnableScheduling
+@EnableCaching
 public class ProjetUniversitaireApplication {
 
     /**
@@ -0,0 +1,75 @@
+package com.supcom.projetuniversitaire.config;
+
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.ValeurEnumeree;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ============================================================
+ * CONFIGURATION : ConversionsMongoConfig
+ * ============================================================
+ * Conversions MongoDB des énumérations à valeur (StatutTache,
+ * PrioriteTache, StatutProjet) : enregistrées sous leur valeur
+ * ("TERMINÉ", "ÉLEVÉE"), et non sous leur nom Java, pour rester
+ * compatibles avec les documents et les index existants.
+ *
+ * La lecture est tolérante (ValeurEnumeree.normaliser) : un document
+ * ancien ("done", "Terminé") se lit sans erreur en attendant sa
+ * normalisation (MaintenanceService.normaliserValeurs) ; une valeur
+ * inconnue se lit comme null. Conversions partagées par les accès bloquant et réactif.
+ * ============================================================
+ */
+@Configuration
+public class ConversionsMongoConfig {
+
+    private static final List<Class<? extends ValeurEnumeree>> TYPES =
+            List.of(StatutTache.class, PrioriteTache.class, StatutProjet.class);
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new Ecriture(), new Lecture()));
+    }
+
+    /** Énumération → valeur enregistrée */
+    @WritingConverter
+    static final class Ecriture implements GenericConverter {
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return TYPES.stream().map(type -> new ConvertiblePair(type, String.class)).collect(Collectors.toSet());
+        }
+
+        @Override
+        public Object convert(Object source, TypeDescriptor typeSource, TypeDescriptor typeCible) {
+            return source == null ? null : ((ValeurEnumeree) source).getValeur();
+        }
+    }
+
+    /** Valeur enregistrée → énumération (tolérante aux anciennes écritures) */
+    @ReadingConverter
+    static final class Lecture implements GenericConverter {
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return TYPES.stream().map(type -> new ConvertiblePair(String.class, type)).collect(Collectors.toSet());
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object convert(Object source, TypeDescriptor typeSource, TypeDescriptor typeCible) {
+            return source == null ? null : ValeurEnumeree.normaliser((Class) typeCible.getType(), (String) source);
+        }
+    }
+}
@@ -30,6 +30,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
+                // ETag lisible par le frontend (requêtes conditionnelles If-None-Match / If-Match)
+                .exposedHeaders("ETag")
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight requests for 1 hour
     }
@@ -0,0 +1,55 @@
+package com.supcom.projetuniversitaire.config;
+
+import com.supcom.projetuniversitaire.service.BalayeurRetards;
+import com.supcom.projetuniversitaire.service.GestionnaireIndex;
+import com.supcom.projetuniversitaire.service.MaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * ============================================================
+ * CONFIGURATION : InitialisationDonnees
+ * ============================================================
+ * Exécutée une fois au démarrage de l'application : crée les index,
+ * vérifie les plans de requête, met à niveau les documents existants
+ * de la collection "projets" et met à jour les retards.
+ * Une erreur d'accès à MongoDB (ex : base indisponible) est journalisée
+ * sans empêcher le démarrage du serveur. En revanche, une requête sans
+ * index en mode projet.index.verification=echouer interrompt le démarrage.
+ * ============================================================
+ */
+@Component
+public class InitialisationDonnees implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(InitialisationDonnees.class);
+
+    @Autowired
+    private GestionnaireIndex gestionnaireIndex;
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private BalayeurRetards balayeurRetards;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            // Index d'abord : les mises à niveau suivantes s'appuient dessus
+            gestionnaireIndex.creerIndex();
+            gestionnaireIndex.verifierPlans();
+            maintenanceService.initialiserVersions();
+            maintenanceService.normaliserValeurs();
+            maintenanceService.reconstruireCompteurs();
+            // Rattraper les dates limites dépassées pendant l'arrêt du serveur
+            balayeurRetards.balayer();
+        } catch (DataAccessException e) {
+            log.warn("Mise à niveau des projets au démarrage impossible : {}", e.getMessage());
+        }
+    }
+}
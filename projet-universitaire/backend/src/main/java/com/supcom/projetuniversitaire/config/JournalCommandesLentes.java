@@ -0,0 +1,69 @@
+package com.supcom.projetuniversitaire.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================================
+ * CONFIGURATION : JournalCommandesLentes
+ * ============================================================
+ * Écouteur du driver MongoDB qui journalise (WARN) uniquement les
+ * commandes dont la durée dépasse un seuil (projet.mongo.seuil-lent-ms).
+ *
+ * Remplace le niveau DEBUG sur org.springframework.data.mongodb,
+ * qui écrivait chaque requête dans les logs et coûtait en débit.
+ * Les durées de TOUTES les commandes restent disponibles dans la
+ * métrique mongodb.driver.commands (Actuator).
+ * ============================================================
+ */
+public class JournalCommandesLentes implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalCommandesLentes.class);
+
+    private final long seuilNanos;
+
+    // --- Collection visée par chaque commande en cours (requestId → collection) ---
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public JournalCommandesLentes(long seuilMillis) {
+        this.seuilNanos = TimeUnit.MILLISECONDS.toNanos(seuilMillis);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        // Pour find, insert, update, aggregate... la valeur du premier champ est la collection
+        BsonValue cible = event.getCommand().get(event.getCommandName());
+        collections.put(event.getRequestId(), cible != null && cible.isString() ? cible.asString().getValue() : "");
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        long duree = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (duree >= seuilNanos) {
+            log.warn("Commande MongoDB lente : {} sur {}.{} en {} ms ({})",
+                    event.getCommandName(), event.getDatabaseName(), collection,
+                    TimeUnit.NANOSECONDS.toMillis(duree), event.getConnectionDescription().getServerAddress());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        long duree = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (duree >= seuilNanos) {
+            log.warn("Commande MongoDB lente en échec : {} sur {}.{} en {} ms : {}",
+                    event.getCommandName(), event.getDatabaseName(), collection,
+                    TimeUnit.NANOSECONDS.toMillis(duree), event.getThrowable().getMessage());
+        }
+    }
+}
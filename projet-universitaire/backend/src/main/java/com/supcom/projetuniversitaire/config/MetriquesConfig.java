@@ -0,0 +1,44 @@
+package com.supcom.projetuniversitaire.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ============================================================
+ * CONFIGURATION : MetriquesConfig
+ * ============================================================
+ * Instrumentation exposée par Actuator (/actuator/prometheus) :
+ *   - http.server.requests             : latence par endpoint (Spring MVC)
+ *   - projet.service                   : chaque méthode de ProjetService (@Timed)
+ *   - spring.data.repository.invocations : chaque appel de repository
+ *   - mongodb.driver.commands          : chaque commande envoyée à MongoDB
+ *   - projets.*, taches.*, projet.document.* : voir MetriquesProjets
+ *
+ * Les commandes MongoDB plus lentes que projet.mongo.seuil-lent-ms
+ * sont journalisées (JournalCommandesLentes) ; 0 désactive ce journal.
+ * ============================================================
+ */
+@Configuration
+public class MetriquesConfig {
+
+    /** Active @Timed sur les beans Spring (nécessite spring-boot-starter-aop) */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /** Ajoute le journal des commandes lentes aux clients MongoDB (bloquant et réactif) */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer journalCommandesLentes(
+            @Value("${projet.mongo.seuil-lent-ms:100}") long seuilMillis) {
+        return settings -> {
+            if (seuilMillis > 0) {
+                settings.addCommandListener(new JournalCommandesLentes(seuilMillis));
+            }
+        };
+    }
+}
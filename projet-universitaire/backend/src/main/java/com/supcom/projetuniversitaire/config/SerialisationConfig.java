@@ -0,0 +1,44 @@
+package com.supcom.projetuniversitaire.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * ============================================================
+ * CONFIGURATION : SerialisationConfig
+ * ============================================================
+ * Représentation binaire Smile (application/x-jackson-smile) des
+ * réponses et des corps de requête, à côté du JSON.
+ *
+ * Le JSON reste la représentation par défaut (Accept absent, joker ou
+ * application/json) ; un client obtient du Smile en l'annonçant dans
+ * Accept, et peut envoyer du Smile avec Content-Type. Smile remplace
+ * les noms de champs répétés (dateLimite, assigneA, enRetard... de
+ * chaque tâche) et les valeurs courtes répétées (statuts, priorités,
+ * membres) par des références : environ la moitié du JSON sur un
+ * projet de 1 000 tâches, sans compression HTTP.
+ *
+ * Même configuration Jackson que le JSON (modules, dates ISO) : le
+ * builder fourni par Spring Boot est réutilisé.
+ * Désactivable par projet.api.smile=false.
+ * ============================================================
+ */
+@Configuration
+@ConditionalOnProperty(name = "projet.api.smile", havingValue = "true", matchIfMissing = true)
+public class SerialisationConfig {
+
+    /** Remplace le convertisseur Smile par défaut de Spring MVC (ObjectMapper non configuré par Boot) */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter convertisseurSmile(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smile = SmileFactory.builder()
+                // Valeurs courtes répétées envoyées une seule fois (TO_DO, MOYENNE, e-mails...)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smile).build());
+    }
+}
@@ -0,0 +1,126 @@
+package com.supcom.projetuniversitaire.controller;
+
+import com.supcom.projetuniversitaire.service.BalayeurRetards;
+import com.supcom.projetuniversitaire.service.GestionnaireIndex;
+import com.supcom.projetuniversitaire.service.MaintenanceService;
+import com.supcom.projetuniversitaire.service.MigrationTaches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * CONTROLLER REST : AdminController
+ * ============================================================
+ * Expose les opérations techniques d'administration.
+ *
+ * Routes disponibles :
+ *   GET    /api/admin/concurrence   → compteurs de conflits d'écriture
+ *   POST   /api/admin/compteurs/reconstruction → répare les compteurs de tâches
+ *   POST   /api/admin/valeurs/normalisation → réécrit les anciens statuts et priorités
+ *   POST   /api/admin/retards/balayage → passe en retard les dates limites dépassées
+ *   GET    /api/admin/index         → utilisation d'un index par chaque requête (explain)
+ *   GET    /api/admin/cache         → statistiques du cache des projets
+ *   POST   /api/admin/taches/migration → déplace les tâches des gros projets dans "taches"
+ * ============================================================
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private BalayeurRetards balayeurRetards;
+
+    @Autowired
+    private GestionnaireIndex gestionnaireIndex;
+
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    /**
+     * GET /api/admin/concurrence
+     * Compteurs de conflits de version, de nouvelles tentatives et
+     * d'échecs (HTTP 409) pour chaque opération d'écriture.
+     */
+    @GetMapping("/concurrence")
+    public ResponseEntity<Map<String, Object>> getStatistiquesConcurrence() {
+        return ResponseEntity.ok(maintenanceService.getStatistiquesConcurrence());
+    }
+
+    /**
+     * POST /api/admin/compteurs/reconstruction
+     * Recalcule les compteurs de tâches des projets incohérents.
+     * Retourne HTTP 200 avec le nombre de projets réparés.
+     */
+    @PostMapping("/compteurs/reconstruction")
+    public ResponseEntity<Map<String, Object>> reconstruireCompteurs() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("projetsRepares", maintenanceService.reconstruireCompteurs());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/admin/valeurs/normalisation
+     * Réécrit sous leur valeur canonique les statuts et priorités anciens
+     * ("done", "Terminé"...), puis répare les compteurs qui en dépendaient.
+     * Retourne HTTP 200 avec le nombre de mises à jour et de projets réparés.
+     */
+    @PostMapping("/valeurs/normalisation")
+    public ResponseEntity<Map<String, Object>> normaliserValeurs() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("documentsNormalises", maintenanceService.normaliserValeurs());
+        response.put("projetsRepares", maintenanceService.reconstruireCompteurs());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/admin/retards/balayage
+     * Lance immédiatement le balayage des retards (normalement planifié chaque nuit).
+     * Retourne HTTP 200 avec le nombre de projets modifiés.
+     */
+    @PostMapping("/retards/balayage")
+    public ResponseEntity<Map<String, Long>> balayerRetards() {
+        return ResponseEntity.ok(balayeurRetards.balayer());
+    }
+
+    /**
+     * GET /api/admin/index
+     * Exécute explain() sur chaque requête de ProjetRepository et TacheRepository.
+     * Retourne HTTP 200 avec, pour chaque requête, true si elle utilise un index
+     * qui borne la recherche (clés examinées par document retourné).
+     */
+    @GetMapping("/index")
+    public ResponseEntity<Map<String, Boolean>> verifierIndex() {
+        return ResponseEntity.ok(gestionnaireIndex.verifierPlans());
+    }
+
+    /**
+     * GET /api/admin/cache
+     * Statistiques du cache de lecture des projets : taille, succès,
+     * défauts, taux de succès et évictions (taille ou durée dépassée).
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getStatistiquesCache() {
+        return ResponseEntity.ok(maintenanceService.getStatistiquesCache());
+    }
+
+    /**
+     * POST /api/admin/taches/migration?seuil=500&limite=100
+     * Migre en ligne vers la collection "taches" les projets aux tâches
+     * embarquées qui en ont au moins "seuil", au plus "limite" par appel.
+     * Retourne HTTP 200 avec le bilan (projets migrés, tâches copiées, restants),
+     * ou HTTP 400 si les paramètres sont invalides.
+     */
+    @PostMapping("/taches/migration")
+    public ResponseEntity<Map<String, Object>> migrerTaches(
+            @RequestParam(defaultValue = "500") int seuil,
+            @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(migrationTaches.migrer(seuil, limite));
+    }
+}
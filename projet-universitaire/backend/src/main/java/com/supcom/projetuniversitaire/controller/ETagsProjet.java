@@ -0,0 +1,124 @@
+package com.supcom.projetuniversitaire.controller;
+
+import com.supcom.projetuniversitaire.exception.ResourcePreconditionFailedException;
+import com.supcom.projetuniversitaire.model.Projet;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * ============================================================
+ * OUTIL : ETagsProjet
+ * ============================================================
+ * Construction et lecture des ETags des ressources projet.
+ *
+ *   - Projet : ETag fort = version du document et représentation
+ *     ("3-json", "3-smile"). La version est incrémentée par chaque
+ *     écriture, y compris les mises à jour atomiques et le balayage
+ *     des retards.
+ *   - Liste  : ETag fort = vue, représentation et révision de la
+ *     collection ("summary-json-42"), compteur incrémenté après chaque
+ *     écriture de projets (voir ProjetService.getRevisionProjets()).
+ *
+ * Un ETag fort désigne des octets précis : JSON et Smile d'une même
+ * version ont donc des ETags différents (avec Vary: Accept).
+ *
+ * If-None-Match (lectures) est traité par Spring MVC ; If-Match
+ * (écritures) est converti ici en version attendue, quelle que soit
+ * la représentation lue par le client.
+ * ============================================================
+ */
+final class ETagsProjet {
+
+    // Représentations des projets (suffixe des ETags)
+    static final String JSON = "json";
+    static final String SMILE = "smile";
+
+    private static final MediaType MEDIA_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private ETagsProjet() {
+    }
+
+    /** ETag d'un projet : sa version et sa représentation, entre guillemets. */
+    static String projet(Projet projet, String representation) {
+        return "\"" + projet.getVersion() + "-" + representation + "\"";
+    }
+
+    /** ETag d'une liste de projets dans une vue ("full" ou "summary") et une représentation. */
+    static String liste(String vue, String representation, long revision) {
+        return "\"" + vue + "-" + representation + "-" + revision + "\"";
+    }
+
+    /**
+     * Représentation que Spring MVC choisira pour l'en-tête Accept : le type
+     * acceptable de plus grande qualité, puis le plus précis, puis le premier
+     * cité. JSON par défaut (Accept absent, joker, Smile désactivé).
+     *
+     * @param accept     valeur de l'en-tête Accept (peut être null)
+     * @param smileActif true si le convertisseur Smile est enregistré (projet.api.smile)
+     * @return JSON ou SMILE
+     */
+    static String representation(String accept, boolean smileActif) {
+        if (!smileActif || accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType choisi = null;
+        for (MediaType type : types) {
+            boolean produit = type.equalsTypeAndSubtype(MEDIA_SMILE) || type.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    || JSON.equals(type.getSubtypeSuffix());
+            if (produit && type.getQualityValue() > 0 && (choisi == null || estPrefere(type, choisi))) {
+                choisi = type;
+            }
+        }
+        return choisi != null && choisi.equalsTypeAndSubtype(MEDIA_SMILE) ? SMILE : JSON;
+    }
+
+    /** Qualité plus grande, ou même qualité et type sans joker face à un joker. */
+    private static boolean estPrefere(MediaType type, MediaType choisi) {
+        if (type.getQualityValue() != choisi.getQualityValue()) {
+            return type.getQualityValue() > choisi.getQualityValue();
+        }
+        return type.isConcrete() && !choisi.isConcrete();
+    }
+
+    /**
+     * Convertit l'en-tête If-Match en version attendue du projet.
+     *
+     * @param ifMatch valeur de l'en-tête (absent ou "*" : aucune condition)
+     * @return la version attendue, ou null si l'écriture est inconditionnelle
+     * @throws ResourcePreconditionFailedException si l'ETag ne peut correspondre
+     *         à aucune version (ETag faible, liste, valeur inconnue) : HTTP 412
+     */
+    static Long versionAttendue(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        // If-Match utilise la comparaison forte : un ETag faible (W/) ne correspond jamais
+        if (etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new ResourcePreconditionFailedException("En-tête If-Match non reconnu : " + ifMatch);
+        }
+        String valeur = etag.substring(1, etag.length() - 1);
+        // "3-json", "3-smile", ou "3" (ETags émis avant l'ajout de la représentation)
+        int tiret = valeur.indexOf('-');
+        if (tiret >= 0) {
+            String representation = valeur.substring(tiret + 1);
+            if (!JSON.equals(representation) && !SMILE.equals(representation)) {
+                throw new ResourcePreconditionFailedException("En-tête If-Match non reconnu : " + ifMatch);
+            }
+            valeur = valeur.substring(0, tiret);
+        }
+        try {
+            return Long.valueOf(valeur);
+        } catch (NumberFormatException e) {
+            throw new ResourcePreconditionFailedException("En-tête If-Match non reconnu : " + ifMatch);
+        }
+    }
+}
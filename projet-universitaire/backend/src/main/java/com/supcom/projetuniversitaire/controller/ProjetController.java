@@ -1,17 +1,47 @@
 package com.supcom.projetuniversitaire.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supcom.projetuniversitaire.dto.ChargeMembre;
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.DeltaProjet;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.dto.PageProjets;
+import com.supcom.projetuniversitaire.dto.PageTaches;
+import com.supcom.projetuniversitaire.model.PrioriteTache;
 import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatistiquesProjets;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
 import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.service.DiffuseurEvenements;
+import com.supcom.projetuniversitaire.service.ImportProjets;
 import com.supcom.projetuniversitaire.service.ProjetService;
+import com.supcom.projetuniversitaire.service.StatistiquesService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * ============================================================
@@ -20,55 +50,297 @@ import java.util.HashMap;
  * Expose les APIs REST pour la gestion des projets universitaires.
  *
  * CORS configuré globalement dans WebConfig pour supporter local et production
+ * Requêtes conditionnelles : les lectures portent un ETag (If-None-Match → 304),
+ * les écritures acceptent If-Match (version périmée → 412). Voir ETagsProjet.
+ * Réponses compactes : les mutations de tâches et de membres retournent un
+ * DeltaProjet au lieu du projet complet si le client envoie
+ * Accept: application/vnd.projet.delta+json ou ?reponse=delta.
+ * Représentations : JSON par défaut, Smile binaire avec
+ * Accept: application/x-jackson-smile (voir SerialisationConfig) ;
+ * compression gzip des réponses configurée dans application.properties.
  * @RestController : indique que cette classe est un contrôleur REST
  * @RequestMapping : préfixe de toutes les routes → /api/projets
  *
  * Routes disponibles :
- *   GET    /api/projets           → liste tous les projets
+ *   GET    /api/projets           → liste tous les projets (?view=summary : résumé, voir ProjetResume)
+ *   GET    /api/projets/page      → page de projets (curseur : size, after, sort)
+ *   GET    /api/projets/stream    → tous les projets en flux NDJSON
+ *   GET    /api/projets/export    → export NDJSON de tous les projets (?gzip=true : .ndjson.gz)
+ *   POST   /api/projets/import    → import NDJSON (gzip accepté), rapport NDJSON en continu
+ *   GET    /api/projets/search?q= → recherche plein texte classée par pertinence
+ *   GET    /api/projets/statistiques → statistiques du tableau de bord (calculées par MongoDB)
  *   GET    /api/projets/{id}      → récupère un projet par ID
  *   POST   /api/projets           → crée un nouveau projet
  *   PUT    /api/projets/{id}      → met à jour un projet
  *   DELETE /api/projets/{id}      → supprime un projet
+ *   GET    /api/projets/{id}/taches              → page de tâches filtrée (statut, priorite, assigneA, enRetard)
  *   POST   /api/projets/{id}/taches              → ajoute une tâche
  *   PUT    /api/projets/{id}/taches/{tacheId}    → met à jour le statut d'une tâche
  *   DELETE /api/projets/{id}/taches/{tacheId}    → supprime une tâche
+ *   POST   /api/projets/taches/lot               → lot d'opérations de tâches (plusieurs projets)
  *   POST   /api/projets/{id}/membres             → ajoute un membre
+ *   GET    /api/projets/membre/{membre}          → charge d'un membre : ses projets et ses tâches
+ *   GET    /api/projets/{id}/evenements          → flux SSE des changements du projet (temps réel)
  * ============================================================
  */
 @RestController
 @RequestMapping("/api/projets")
 public class ProjetController {
 
+    // Valeurs du paramètre "view" des endpoints de liste
+    private static final String VUE_COMPLETE = "full";
+    private static final String VUE_RESUME = "summary";
+
+    // Valeurs du paramètre "reponse" des mutations de tâches et de membres
+    private static final String REPONSE_PROJET = "projet";
+    private static final String REPONSE_DELTA = "delta";
+    private static final MediaType MEDIA_DELTA = MediaType.parseMediaType(DeltaProjet.MEDIA_TYPE);
+
+    // Fichiers d'export / d'import compressés
+    private static final String MEDIA_GZIP = "application/gzip";
+
     // Injection du service métier
     @Autowired
     private ProjetService projetService;
 
+    // Import en masse (fichiers NDJSON)
+    @Autowired
+    private ImportProjets importProjets;
+
+    // Statistiques du tableau de bord (document matérialisé)
+    @Autowired
+    private StatistiquesService statistiquesService;
+
+    // Abonnements temps réel aux changements d'un projet
+    @Autowired
+    private DiffuseurEvenements diffuseurEvenements;
+
+    // Sérialiseur JSON configuré par Spring Boot (utilisé pour le flux NDJSON)
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Représentation Smile disponible (voir SerialisationConfig) : entre dans les ETags
+    @Value("${projet.api.smile:true}")
+    private boolean smileActif;
+
     // ============================================================
     // ENDPOINTS PROJETS - CRUD COMPLET
     // ============================================================
 
     /**
-     * GET /api/projets
-     * Récupère la liste complète de tous les projets.
-     * Retourne HTTP 200 (OK) avec la liste JSON.
+     * GET /api/projets?view=summary
+     * Récupère la liste de tous les projets.
+     * Avec view=summary, seuls les champs affichés par la liste sont lus
+     * depuis MongoDB (pas de tâches) : voir ProjetResume.
+     * Retourne HTTP 200 (OK) avec la liste JSON, HTTP 400 si la vue est inconnue.
+     *
+     * @param view   "full" (par défaut, projets complets) ou "summary"
+     * @param accept représentation demandée (JSON ou Smile), qui entre dans l'ETag
      */
     @GetMapping
-    public ResponseEntity<List<Projet>> getTousLesProjets() {
-        List<Projet> projets = projetService.getTousLesProjets();
+    public ResponseEntity<List<?>> getTousLesProjets(
+            @RequestParam(defaultValue = VUE_COMPLETE) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest requete) {
+        boolean resume = estVueResume(view);
+        // Révision de la collection (un document lu par identifiant), lue AVANT
+        // les projets : la liste envoyée n'est jamais plus ancienne que son ETag.
+        // Si le client a déjà cette version (If-None-Match) : HTTP 304 sans lire les projets
+        String etag = ETagsProjet.liste(view, representation(accept), projetService.getRevisionProjets());
+        if (requete.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        List<?> projets = resume
+                ? projetService.getResumesDeProjets()
+                : projetService.getTousLesProjets();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(projets);
+    }
+
+    /**
+     * GET /api/projets/page?size=20&after={id}&sort=asc
+     * Récupère une page de projets par pagination keyset sur l'identifiant.
+     * Pour la page suivante, repasser le "curseurSuivant" reçu dans "after".
+     * Retourne HTTP 200, ou HTTP 400 si les paramètres sont invalides.
+     *
+     * @param size  nombre de projets par page (1 à 200, 20 par défaut)
+     * @param after identifiant du dernier projet reçu (absent pour la première page)
+     * @param sort  ordre de tri sur l'identifiant : asc ou desc
+     * @param view  "full" (par défaut) ou "summary"
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageProjets<?>> getPageDeProjets(
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_DEFAUT) int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = VUE_COMPLETE) String view) {
+        PageProjets<?> page = estVueResume(view)
+                ? projetService.getPageDeResumes(after, size, sort)
+                : projetService.getPageDeProjets(after, size, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * GET /api/projets/stream
+     * Renvoie tous les projets au format NDJSON (un objet JSON par ligne).
+     * Chaque projet est écrit dans la réponse dès sa lecture depuis le curseur
+     * MongoDB : la mémoire reste constante quelle que soit la taille de la collection.
+     * Écrit sur le thread de la requête, comme /export : pas de délai maximal.
+     *
+     * @param view "full" (par défaut) ou "summary"
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamerTousLesProjets(@RequestParam(defaultValue = VUE_COMPLETE) String view,
+                                       HttpServletResponse reponse) throws IOException {
+        // Vue validée et curseur ouvert avant d'écrire : l'erreur peut encore être une réponse 400 / 500
+        boolean resume = estVueResume(view);
+        try (Stream<?> projets = resume
+                ? projetService.streamerResumesDeProjets()
+                : projetService.streamerTousLesProjets()) {
+            reponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            OutputStream sortie = reponse.getOutputStream();
+            projets.forEach(projet -> {
+                try {
+                    sortie.write(objectMapper.writeValueAsBytes(projet));
+                    sortie.write('\n');
+                    sortie.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * GET /api/projets/export?gzip=true
+     * Télécharge tous les projets, tâches comprises, au format NDJSON
+     * (fichier réimportable par POST /api/projets/import), compressé en
+     * gzip avec gzip=true. Comme /stream, la mémoire reste constante.
+     *
+     * Le fichier est écrit sur le thread de la requête, et non dans un
+     * StreamingResponseBody asynchrone : un export de plusieurs minutes
+     * n'est pas interrompu par le délai maximal des requêtes asynchrones.
+     *
+     * @param gzip true pour un fichier .ndjson.gz
+     */
+    @GetMapping("/export")
+    public void exporterProjets(@RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse reponse) throws IOException {
+        // Curseur ouvert avant les en-têtes : base indisponible → réponse d'erreur JSON habituelle
+        try (Stream<Projet> projets = projetService.streamerTousLesProjets()) {
+            String fichier = "projets-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+            // application/gzip n'est pas recompressé par le serveur (server.compression.mime-types)
+            reponse.setContentType(gzip ? MEDIA_GZIP : MediaType.APPLICATION_NDJSON_VALUE);
+            reponse.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fichier).build().toString());
+            // Fermé aussi en cas d'erreur : le Deflater du GZIPOutputStream libère sa mémoire native
+            try (OutputStream sortie = gzip
+                    ? new GZIPOutputStream(reponse.getOutputStream(), 64 * 1024)
+                    : reponse.getOutputStream()) {
+                projets.forEach(projet -> {
+                    try {
+                        sortie.write(objectMapper.writeValueAsBytes(projet));
+                        sortie.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * POST /api/projets/import
+     * Crée les projets d'un fichier NDJSON (un projet par ligne, gzip
+     * accepté), en lots insérés en une commande MongoDB (voir ImportProjets).
+     * Chaque projet est validé comme sur POST /api/projets ; une ligne
+     * invalide est rejetée sans interrompre l'import.
+     *
+     * La réponse (HTTP 200) est elle-même un flux NDJSON, écrit pendant
+     * l'import : une ligne "erreur" par ligne rejetée (numéro et raison),
+     * une ligne "progression" après chaque lot, une ligne "bilan" finale.
+     * Lecture de la requête et écriture du rapport sur le thread de la
+     * requête : pas de délai maximal, quelle que soit la taille du fichier.
+     */
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MEDIA_GZIP, MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importerProjets(HttpServletRequest requete, HttpServletResponse reponse) throws IOException {
+        reponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream sortie = reponse.getOutputStream();
+        importProjets.importer(requete.getInputStream(), ligne -> {
+            try {
+                sortie.write(objectMapper.writeValueAsBytes(ligne));
+                sortie.write('\n');
+                sortie.flush();
+            } catch (IOException e) {
+                // Client déconnecté : l'import s'arrête (les lots écrits sont conservés)
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * GET /api/projets/search?q=rapport&page=0&size=20
+     * Recherche plein texte dans les titres, descriptions et matières des
+     * projets et dans les titres et descriptions de leurs tâches.
+     * Les projets sont classés du plus pertinent au moins pertinent.
+     * Retourne HTTP 200, ou HTTP 400 si q est vide.
+     *
+     * @param q    les termes recherchés
+     * @param page numéro de page (0 par défaut)
+     * @param size nombre de résultats par page (20 par défaut)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Projet>> rechercherProjets(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_DEFAUT) int size) {
+        List<Projet> projets = projetService.rechercherProjets(q, page, size);
         return ResponseEntity.ok(projets);
     }
 
+    /**
+     * GET /api/projets/statistiques?fraiches=false
+     * Statistiques du tableau de bord : projets par statut, avancement
+     * moyen par matière, tâches en retard, complétion par membre.
+     * Servies par défaut depuis le document matérialisé (voir calculeLe).
+     *
+     * @param fraiches true pour forcer un nouveau calcul
+     */
+    @GetMapping("/statistiques")
+    public ResponseEntity<StatistiquesProjets> getStatistiques(
+            @RequestParam(defaultValue = "false") boolean fraiches) {
+        return ResponseEntity.ok(statistiquesService.getStatistiques(fraiches));
+    }
+
     /**
      * GET /api/projets/{id}
      * Récupère un projet spécifique par son identifiant MongoDB.
      * Retourne HTTP 200 si trouvé, HTTP 404 si non trouvé.
+     * L'ETag est la version du projet : avec If-None-Match identique,
+     * Spring MVC répond HTTP 304 sans sérialiser le projet.
      *
-     * @param id l'identifiant MongoDB du projet (PathVariable)
+     * @param id     l'identifiant MongoDB du projet (PathVariable)
+     * @param accept représentation demandée (JSON ou Smile), qui entre dans l'ETag
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Projet> getProjetParId(@PathVariable String id) {
+    public ResponseEntity<Projet> getProjetParId(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Projet projet = projetService.getProjetParId(id);
-        return ResponseEntity.ok(projet);
+        return ResponseEntity.ok()
+                .eTag(ETagsProjet.projet(projet, representation(accept)))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(projet);
     }
 
     /**
@@ -77,39 +349,58 @@ public class ProjetController {
      * Retourne HTTP 201 (Created) avec le projet créé.
      *
      * @param projet les données du nouveau projet (RequestBody JSON)
+     * @param accept représentation demandée (JSON ou Smile), qui entre dans l'ETag
      */
     @PostMapping
-    public ResponseEntity<Projet> creerProjet(@Valid @RequestBody Projet projet) {
+    public ResponseEntity<Projet> creerProjet(
+            @Valid @RequestBody Projet projet,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Projet nouveauProjet = projetService.creerProjet(projet);
-        return ResponseEntity.status(HttpStatus.CREATED).body(nouveauProjet);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETagsProjet.projet(nouveauProjet, representation(accept)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(nouveauProjet);
     }
 
     /**
      * PUT /api/projets/{id}
      * Met à jour un projet existant.
-     * Retourne HTTP 200 avec le projet mis à jour.
+     * Retourne HTTP 200 avec le projet mis à jour, ou HTTP 412 si
+     * l'en-tête If-Match ne correspond plus à la version du projet.
      *
      * @param id            l'identifiant du projet à modifier
      * @param projetDetails les nouvelles données (RequestBody JSON)
+     * @param ifMatch       ETag du projet lu par le client (optionnel)
+     * @param accept        représentation demandée (JSON ou Smile), qui entre dans l'ETag
      */
     @PutMapping("/{id}")
     public ResponseEntity<Projet> mettreAJourProjet(
             @PathVariable String id,
-            @Valid @RequestBody Projet projetDetails) {
-        Projet projetMisAJour = projetService.mettreAJourProjet(id, projetDetails);
-        return ResponseEntity.ok(projetMisAJour);
+            @Valid @RequestBody Projet projetDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Projet projetMisAJour = projetService.mettreAJourProjet(id, projetDetails,
+                ETagsProjet.versionAttendue(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETagsProjet.projet(projetMisAJour, representation(accept)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(projetMisAJour);
     }
 
     /**
      * DELETE /api/projets/{id}
      * Supprime un projet par son identifiant.
-     * Retourne HTTP 200 avec un message de confirmation.
+     * Retourne HTTP 200 avec un message de confirmation, ou HTTP 412
+     * si l'en-tête If-Match ne correspond plus à la version du projet.
      *
-     * @param id l'identifiant du projet à supprimer
+     * @param id      l'identifiant du projet à supprimer
+     * @param ifMatch ETag du projet lu par le client (optionnel)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> supprimerProjet(@PathVariable String id) {
-        projetService.supprimerProjet(id);
+    public ResponseEntity<Map<String, Object>> supprimerProjet(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        projetService.supprimerProjet(id, ETagsProjet.versionAttendue(ifMatch));
         // Retourner une réponse JSON avec message de confirmation
         Map<String, Object> response = new HashMap<>();
         response.put("supprimé", true);
@@ -121,20 +412,65 @@ public class ProjetController {
     // ENDPOINTS TÂCHES - Gestion du Kanban (TO_DO / DOING / DONE)
     // ============================================================
 
+    /**
+     * GET /api/projets/{id}/taches?statut=DOING&size=50&sort=ordre&order=asc&after={curseur}
+     * Récupère une page des tâches d'un projet, filtrée et triée par MongoDB :
+     * le projet complet n'est pas chargé. Pour la page suivante, repasser le
+     * "curseurSuivant" reçu dans "after", avec les mêmes filtres et le même tri.
+     * Retourne HTTP 200, HTTP 404 si le projet n'existe pas, ou HTTP 400 si
+     * un paramètre est invalide.
+     *
+     * @param projetId l'identifiant du projet
+     * @param statut   filtre sur le statut ("TO_DO", "DOING", "DONE")
+     * @param priorite filtre sur la priorité
+     * @param assigneA filtre sur le membre assigné
+     * @param enRetard filtre sur l'indicateur de retard
+     * @param size     nombre de tâches par page (1 à 200, 20 par défaut)
+     * @param sort     "ordre" (ordre d'ajout, par défaut) ou "dateLimite"
+     * @param order    "asc" (par défaut) ou "desc"
+     * @param after    curseur de la page précédente (absent pour la première page)
+     */
+    @GetMapping("/{id}/taches")
+    public ResponseEntity<PageTaches> getPageDeTaches(
+            @PathVariable("id") String projetId,
+            @RequestParam(required = false) String statut,
+            @RequestParam(required = false) String priorite,
+            @RequestParam(required = false) String assigneA,
+            @RequestParam(required = false) Boolean enRetard,
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_DEFAUT) int size,
+            @RequestParam(defaultValue = "ordre") String sort,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(required = false) String after) {
+        CriteresTaches filtres = new CriteresTaches(
+                statut == null ? null : StatutTache.depuis(statut),
+                priorite == null ? null : PrioriteTache.depuis(priorite),
+                assigneA, enRetard);
+        return ResponseEntity.ok(projetService.getPageDeTaches(projetId, filtres, size, sort, order, after));
+    }
+
     /**
      * POST /api/projets/{id}/taches
      * Ajoute une nouvelle tâche à un projet.
      * Recalcule automatiquement l'avancement du projet.
+     * Identifiant de tâche fourni et déjà pris : HTTP 409, rien n'est écrit.
      *
      * @param projetId l'identifiant du projet parent
      * @param tache    la tâche à ajouter (JSON)
+     * @param ifMatch  ETag du projet lu par le client (optionnel)
+     * @param accept   application/vnd.projet.delta+json pour une réponse compacte
+     * @param reponse  "projet" (par défaut) ou "delta"
      */
     @PostMapping("/{id}/taches")
-    public ResponseEntity<Projet> ajouterTache(
+    public ResponseEntity<Object> ajouterTache(
             @PathVariable("id") String projetId,
-            @RequestBody Tache tache) {
-        Projet projet = projetService.ajouterTache(projetId, tache);
-        return ResponseEntity.status(HttpStatus.CREATED).body(projet);
+            @RequestBody Tache tache,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String reponse) {
+        boolean compacte = estReponseCompacte(accept, reponse);
+        Projet projet = projetService.ajouterTache(projetId, tache, ETagsProjet.versionAttendue(ifMatch));
+        return reponseMutation(ResponseEntity.status(HttpStatus.CREATED), projet, accept, compacte,
+                () -> DeltaProjet.tache(projet, tache));
     }
 
     /**
@@ -145,15 +481,23 @@ public class ProjetController {
      * @param projetId      l'identifiant du projet
      * @param tacheId       l'identifiant de la tâche
      * @param body          objet JSON contenant { "statut": "DONE" }
+     * @param ifMatch       ETag du projet lu par le client (optionnel)
+     * @param accept        application/vnd.projet.delta+json pour une réponse compacte
+     * @param reponse       "projet" (par défaut) ou "delta"
      */
     @PutMapping("/{id}/taches/{tacheId}/statut")
-    public ResponseEntity<Projet> mettreAJourStatutTache(
+    public ResponseEntity<Object> mettreAJourStatutTache(
             @PathVariable("id") String projetId,
             @PathVariable String tacheId,
-            @RequestBody Map<String, String> body) {
-        String nouveauStatut = body.get("statut");
-        Projet projet = projetService.mettreAJourStatutTache(projetId, tacheId, nouveauStatut);
-        return ResponseEntity.ok(projet);
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String reponse) {
+        boolean compacte = estReponseCompacte(accept, reponse);
+        StatutTache nouveauStatut = StatutTache.depuis(body.get("statut"));
+        Projet projet = projetService.mettreAJourStatutTache(projetId, tacheId, nouveauStatut,
+                ETagsProjet.versionAttendue(ifMatch));
+        return reponseMutation(ResponseEntity.ok(), projet, accept, compacte, () -> DeltaProjet.tache(projet, tacheId));
     }
 
     /**
@@ -163,13 +507,36 @@ public class ProjetController {
      *
      * @param projetId l'identifiant du projet
      * @param tacheId  l'identifiant de la tâche à supprimer
+     * @param ifMatch  ETag du projet lu par le client (optionnel)
+     * @param accept   application/vnd.projet.delta+json pour une réponse compacte
+     * @param reponse  "projet" (par défaut) ou "delta"
      */
     @DeleteMapping("/{id}/taches/{tacheId}")
-    public ResponseEntity<Projet> supprimerTache(
+    public ResponseEntity<Object> supprimerTache(
             @PathVariable("id") String projetId,
-            @PathVariable String tacheId) {
-        Projet projet = projetService.supprimerTache(projetId, tacheId);
-        return ResponseEntity.ok(projet);
+            @PathVariable String tacheId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String reponse) {
+        boolean compacte = estReponseCompacte(accept, reponse);
+        Projet projet = projetService.supprimerTache(projetId, tacheId, ETagsProjet.versionAttendue(ifMatch));
+        return reponseMutation(ResponseEntity.ok(), projet, accept, compacte,
+                () -> DeltaProjet.tacheSupprimee(projet, tacheId));
+    }
+
+    /**
+     * POST /api/projets/taches/lot
+     * Applique un lot d'opérations de tâches (AJOUTER, DEPLACER, SUPPRIMER,
+     * ASSIGNER) sur un ou plusieurs projets, en un seul aller-retour MongoDB.
+     * Retourne HTTP 200 avec le résultat de chaque opération (une opération
+     * rejetée n'empêche pas les autres), ou HTTP 400 si le lot est vide ou trop grand.
+     *
+     * @param operations la liste des opérations, dans l'ordre d'application (JSON)
+     */
+    @PostMapping("/taches/lot")
+    public ResponseEntity<Map<String, Object>> appliquerOperationsTaches(
+            @RequestBody List<OperationTache> operations) {
+        return ResponseEntity.ok(projetService.appliquerOperationsTaches(operations));
     }
 
     // ============================================================
@@ -182,14 +549,21 @@ public class ProjetController {
      *
      * @param projetId l'identifiant du projet
      * @param body     objet JSON contenant { "membre": "nom_ou_email" }
+     * @param ifMatch  ETag du projet lu par le client (optionnel)
+     * @param accept   application/vnd.projet.delta+json pour une réponse compacte
+     * @param reponse  "projet" (par défaut) ou "delta"
      */
     @PostMapping("/{id}/membres")
-    public ResponseEntity<Projet> ajouterMembre(
+    public ResponseEntity<Object> ajouterMembre(
             @PathVariable("id") String projetId,
-            @RequestBody Map<String, String> body) {
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String reponse) {
+        boolean compacte = estReponseCompacte(accept, reponse);
         String membre = body.get("membre");
-        Projet projet = projetService.ajouterMembre(projetId, membre);
-        return ResponseEntity.ok(projet);
+        Projet projet = projetService.ajouterMembre(projetId, membre, ETagsProjet.versionAttendue(ifMatch));
+        return reponseMutation(ResponseEntity.ok(), projet, accept, compacte, () -> DeltaProjet.membres(projet));
     }
 
     // ============================================================
@@ -199,12 +573,119 @@ public class ProjetController {
     /**
      * GET /api/projets/statut/{statut}
      * Filtre les projets par statut : EN_COURS, TERMINÉ, EN_RETARD
+     * (HTTP 400 pour un autre statut).
      *
      * @param statut le statut à filtrer
+     * @param view   "full" (par défaut) ou "summary"
      */
     @GetMapping("/statut/{statut}")
-    public ResponseEntity<List<Projet>> getProjetsByStatut(@PathVariable String statut) {
-        List<Projet> projets = projetService.getProjetsByStatut(statut);
+    public ResponseEntity<List<?>> getProjetsByStatut(
+            @PathVariable String statut,
+            @RequestParam(defaultValue = VUE_COMPLETE) String view) {
+        StatutProjet statutProjet = StatutProjet.depuis(statut);
+        List<?> projets = estVueResume(view)
+                ? projetService.getResumesByStatut(statutProjet)
+                : projetService.getProjetsByStatut(statutProjet);
         return ResponseEntity.ok(projets);
     }
+
+    // ============================================================
+    // ENDPOINT TEMPS RÉEL (Server-Sent Events)
+    // ============================================================
+
+    /**
+     * GET /api/projets/{id}/evenements
+     * Flux SSE des changements du projet : TACHE_AJOUTEE, TACHE_DEPLACEE,
+     * TACHE_SUPPRIMEE, MEMBRE_AJOUTE (deltas), PROJET_MODIFIE,
+     * PROJET_SUPPRIME et RESYNCHRONISATION (relire le projet).
+     * Retourne HTTP 404 si le projet n'existe pas.
+     *
+     * @param id l'identifiant du projet
+     */
+    @GetMapping(value = "/{id}/evenements", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suivreProjet(@PathVariable String id) {
+        // 404 avant d'ouvrir le flux (lecture servie par le cache)
+        projetService.getProjetParId(id);
+        return diffuseurEvenements.abonner(id);
+    }
+
+    // ============================================================
+    // ENDPOINT DE CHARGE D'UN MEMBRE
+    // ============================================================
+
+    /**
+     * GET /api/projets/membre/{membre}
+     * Tableau de bord "mes tâches" : projets du membre et tâches qui lui
+     * sont assignées dans tous les projets, par statut et par échéance.
+     *
+     * @param membre le nom/email du membre
+     */
+    @GetMapping("/membre/{membre}")
+    public ResponseEntity<ChargeMembre> getChargeMembre(@PathVariable String membre) {
+        return ResponseEntity.ok(projetService.getChargeMembre(membre));
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /**
+     * Interprète le paramètre "view" des endpoints de liste.
+     *
+     * @throws IllegalArgumentException (HTTP 400) si la vue est inconnue
+     */
+    private static boolean estVueResume(String view) {
+        if (VUE_RESUME.equals(view)) {
+            return true;
+        }
+        if (VUE_COMPLETE.equals(view)) {
+            return false;
+        }
+        throw new IllegalArgumentException(
+                "Vue invalide : " + view + " (attendu : " + VUE_COMPLETE + " ou " + VUE_RESUME + ")");
+    }
+
+    /**
+     * Choisit la forme de réponse d'une mutation : le paramètre "reponse"
+     * l'emporte, sinon l'en-tête Accept (type delta demandé explicitement ;
+     * un type joker garde le projet complet).
+     *
+     * @throws IllegalArgumentException (HTTP 400) si le paramètre est inconnu
+     */
+    private static boolean estReponseCompacte(String accept, String reponse) {
+        if (reponse != null) {
+            if (REPONSE_DELTA.equals(reponse)) {
+                return true;
+            }
+            if (REPONSE_PROJET.equals(reponse)) {
+                return false;
+            }
+            throw new IllegalArgumentException(
+                    "Réponse invalide : " + reponse + " (attendu : " + REPONSE_PROJET + " ou " + REPONSE_DELTA + ")");
+        }
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream().anyMatch(MEDIA_DELTA::equalsTypeAndSubtype);
+    }
+
+    /**
+     * Réponse d'une mutation : le projet complet ou son delta, avec l'ETag
+     * de la nouvelle version dans les deux cas. Vary: Accept, la forme
+     * dépendant de l'en-tête (le delta est toujours en JSON).
+     */
+    private ResponseEntity<Object> reponseMutation(ResponseEntity.BodyBuilder reponse, Projet projet, String accept,
+                                                   boolean compacte, Supplier<DeltaProjet> delta) {
+        String representation = compacte ? ETagsProjet.JSON : representation(accept);
+        reponse.eTag(ETagsProjet.projet(projet, representation)).varyBy(HttpHeaders.ACCEPT);
+        if (compacte) {
+            return reponse.contentType(MEDIA_DELTA).body(delta.get());
+        }
+        return reponse.body(projet);
+    }
+
+    /** Représentation (JSON ou Smile) de la réponse pour cet en-tête Accept, pour les ETags. */
+    private String representation(String accept) {
+        return ETagsProjet.representation(accept, smileActif);
+    }
 }
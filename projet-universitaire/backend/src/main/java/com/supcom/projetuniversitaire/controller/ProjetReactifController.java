@@ -0,0 +1,100 @@
+package com.supcom.projetuniversitaire.controller;
+
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.service.ProjetServiceReactif;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * ============================================================
+ * CONTROLLER REST : ProjetReactifController
+ * ============================================================
+ * Routes non bloquantes, servies par ProjetServiceReactif.
+ * Spring MVC traite les Mono/Flux retournés en asynchrone : le thread
+ * de requête est libéré pendant l'attente de MongoDB.
+ *
+ * Actif uniquement avec le profil "reactif" (projet.mongo.mode=reactif),
+ * à côté des routes bloquantes /api/projets, pour comparer les deux modes.
+ *
+ * Routes disponibles :
+ *   GET    /api/reactif/projets                          → liste tous les projets
+ *   GET    /api/reactif/projets/{id}                     → récupère un projet
+ *   GET    /api/reactif/projets/statut/{statut}          → filtre par statut
+ *   POST   /api/reactif/projets                          → crée un projet
+ *   POST   /api/reactif/projets/{id}/taches              → ajoute une tâche
+ *   PUT    /api/reactif/projets/{id}/taches/{tacheId}/statut → change le statut d'une tâche
+ *   DELETE /api/reactif/projets/{id}/taches/{tacheId}    → supprime une tâche
+ *   POST   /api/reactif/projets/{id}/membres             → ajoute un membre
+ * ============================================================
+ */
+@RestController
+@RequestMapping("/api/reactif/projets")
+@ConditionalOnProperty(name = "projet.mongo.mode", havingValue = "reactif")
+public class ProjetReactifController {
+
+    @Autowired
+    private ProjetServiceReactif projetServiceReactif;
+
+    /** GET /api/reactif/projets : tous les projets (tableau JSON). */
+    @GetMapping
+    public Flux<Projet> getTousLesProjets() {
+        return projetServiceReactif.getTousLesProjets();
+    }
+
+    /** GET /api/reactif/projets/{id} : HTTP 200, ou 404 si le projet n'existe pas. */
+    @GetMapping("/{id}")
+    public Mono<Projet> getProjetParId(@PathVariable String id) {
+        return projetServiceReactif.getProjetParId(id);
+    }
+
+    /** GET /api/reactif/projets/statut/{statut} : projets d'un statut. */
+    @GetMapping("/statut/{statut}")
+    public Flux<Projet> getProjetsByStatut(@PathVariable String statut) {
+        return projetServiceReactif.getProjetsByStatut(StatutProjet.depuis(statut));
+    }
+
+    /** POST /api/reactif/projets : HTTP 201 avec le projet créé. */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Projet> creerProjet(@Valid @RequestBody Projet projet) {
+        return projetServiceReactif.creerProjet(projet);
+    }
+
+    /** POST /api/reactif/projets/{id}/taches : HTTP 201 avec le projet mis à jour. */
+    @PostMapping("/{id}/taches")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Projet> ajouterTache(@PathVariable("id") String projetId, @RequestBody Tache tache) {
+        return projetServiceReactif.ajouterTache(projetId, tache);
+    }
+
+    /** PUT /api/reactif/projets/{id}/taches/{tacheId}/statut avec { "statut": "DONE" }. */
+    @PutMapping("/{id}/taches/{tacheId}/statut")
+    public Mono<Projet> mettreAJourStatutTache(
+            @PathVariable("id") String projetId,
+            @PathVariable String tacheId,
+            @RequestBody Map<String, String> body) {
+        return projetServiceReactif.mettreAJourStatutTache(projetId, tacheId, StatutTache.depuis(body.get("statut")));
+    }
+
+    /** DELETE /api/reactif/projets/{id}/taches/{tacheId} : HTTP 200 avec le projet mis à jour. */
+    @DeleteMapping("/{id}/taches/{tacheId}")
+    public Mono<Projet> supprimerTache(@PathVariable("id") String projetId, @PathVariable String tacheId) {
+        return projetServiceReactif.supprimerTache(projetId, tacheId);
+    }
+
+    /** POST /api/reactif/projets/{id}/membres avec { "membre": "nom_ou_email" }. */
+    @PostMapping("/{id}/membres")
+    public Mono<Projet> ajouterMembre(@PathVariable("id") String projetId, @RequestBody Map<String, String> body) {
+        return projetServiceReactif.ajouterMembre(projetId, body.get("membre"));
+    }
+}
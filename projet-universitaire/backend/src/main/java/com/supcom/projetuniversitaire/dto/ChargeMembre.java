@@ -0,0 +1,45 @@
+package com.supcom.projetuniversitaire.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * DTO : ChargeMembre
+ * ============================================================
+ * Charge de travail d'un membre sur toute la collection, retournée
+ * par GET /api/projets/membre/{membre} :
+ *   - projets   : projets dont il est membre ou qui lui assignent une tâche
+ *   - taches    : ses tâches par statut (TO_DO, DOING, DONE), chacune
+ *                 triée par date limite (sans date en dernier)
+ *   - echeances : tâches non terminées par échéance
+ *                 (EN_RETARD, SEMAINE : 7 prochains jours, PLUS_TARD, SANS_DATE)
+ * ============================================================
+ */
+public class ChargeMembre {
+
+    private final String membre;
+    private final List<ProjetDuMembre> projets;
+    private final Map<String, List<TacheAssignee>> taches;
+    private final Map<String, Integer> echeances;
+
+    public ChargeMembre(String membre, List<ProjetDuMembre> projets,
+                        Map<String, List<TacheAssignee>> taches, Map<String, Integer> echeances) {
+        this.membre = membre;
+        this.projets = projets;
+        this.taches = taches;
+        this.echeances = echeances;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getMembre() { return membre; }
+
+    public List<ProjetDuMembre> getProjets() { return projets; }
+
+    public Map<String, List<TacheAssignee>> getTaches() { return taches; }
+
+    public Map<String, Integer> getEcheances() { return echeances; }
+}
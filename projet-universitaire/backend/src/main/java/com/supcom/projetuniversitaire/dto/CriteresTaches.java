@@ -0,0 +1,78 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import java.time.LocalDate;
+
+/**
+ * ============================================================
+ * DTO : CriteresTaches
+ * ============================================================
+ * Critères d'une page de tâches d'un projet
+ * (GET /api/projets/{id}/taches) : filtres, tri et position du curseur.
+ *
+ * Filtres (null : pas de filtre) : statut, priorite, assigneA, enRetard.
+ * Tri : ORDRE (ordre d'ajout) ou DATE_LIMITE (puis ordre d'ajout),
+ * croissant ou décroissant. Le curseur est décodé par ProjetService :
+ * la page commence strictement après la tâche (apresDateLimite, apresOrdre,
+ * apresId : l'identifiant départage les tâches de même ordre).
+ * ============================================================
+ */
+public class CriteresTaches {
+
+    /** Clés de tri acceptées */
+    public enum Tri { ORDRE, DATE_LIMITE }
+
+    // --- Filtres ---
+    private StatutTache statut;
+    private PrioriteTache priorite;
+    private String assigneA;
+    private Boolean enRetard;
+
+    // --- Tri et taille de page ---
+    private Tri tri = Tri.ORDRE;
+    private boolean descendant;
+    private int taille;
+
+    // --- Curseur : dernière tâche de la page précédente (apresOrdre null : première page) ---
+    private LocalDate apresDateLimite;
+    private Long apresOrdre;
+    private String apresId;
+
+    public CriteresTaches(StatutTache statut, PrioriteTache priorite, String assigneA, Boolean enRetard) {
+        this.statut = statut;
+        this.priorite = priorite;
+        this.assigneA = assigneA;
+        this.enRetard = enRetard;
+    }
+
+    // ============================================================
+    // GETTERS ET SETTERS
+    // ============================================================
+
+    public StatutTache getStatut() { return statut; }
+
+    public PrioriteTache getPriorite() { return priorite; }
+
+    public String getAssigneA() { return assigneA; }
+
+    public Boolean getEnRetard() { return enRetard; }
+
+    public Tri getTri() { return tri; }
+    public void setTri(Tri tri) { this.tri = tri; }
+
+    public boolean isDescendant() { return descendant; }
+    public void setDescendant(boolean descendant) { this.descendant = descendant; }
+
+    public int getTaille() { return taille; }
+    public void setTaille(int taille) { this.taille = taille; }
+
+    public LocalDate getApresDateLimite() { return apresDateLimite; }
+    public void setApresDateLimite(LocalDate apresDateLimite) { this.apresDateLimite = apresDateLimite; }
+
+    public Long getApresOrdre() { return apresOrdre; }
+    public void setApresOrdre(Long apresOrdre) { this.apresOrdre = apresOrdre; }
+
+    public String getApresId() { return apresId; }
+    public void setApresId(String apresId) { this.apresId = apresId; }
+}
@@ -0,0 +1,103 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.util.List;
+
+/**
+ * ============================================================
+ * DTO : DeltaProjet
+ * ============================================================
+ * Réponse compacte des mutations de tâches et de membres : seulement
+ * ce qui a changé, au lieu du projet complet avec toutes ses tâches.
+ * Demandée par l'en-tête Accept: application/vnd.projet.delta+json
+ * ou le paramètre ?reponse=delta.
+ *
+ * Toujours présents : version, avancement, statut et compteurs du
+ * projet après la mutation. Selon la mutation :
+ *   - tache          : la tâche ajoutée ou modifiée (à remplacer par id)
+ *   - tacheSupprimee : l'identifiant de la tâche retirée
+ *   - membres        : la liste des membres du groupe
+ * ============================================================
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeltaProjet {
+
+    // Type de contenu de la réponse compacte
+    public static final String MEDIA_TYPE = "application/vnd.projet.delta+json";
+
+    private final String projetId;
+    private final Long version;
+    private final double avancement;
+    private final StatutProjet statut;
+    private final CompteursTaches compteurs;
+
+    private Tache tache;
+    private String tacheSupprimee;
+    private List<String> membres;
+
+    private DeltaProjet(Projet projet) {
+        this.projetId = projet.getId();
+        this.version = projet.getVersion();
+        this.avancement = projet.getAvancement();
+        this.statut = projet.getStatut();
+        this.compteurs = projet.getCompteurs();
+    }
+
+    // ============================================================
+    // FABRIQUES
+    // ============================================================
+
+    /**
+     * Tâche ajoutée ou modifiée, telle qu'enregistrée dans le projet
+     * (retard recalculé), ou à défaut telle qu'envoyée.
+     */
+    public static DeltaProjet tache(Projet projet, Tache tache) {
+        DeltaProjet delta = new DeltaProjet(projet);
+        delta.tache = projet.trouverTache(tache.getId()).orElse(tache);
+        return delta;
+    }
+
+    /** Tâche modifiée, retrouvée dans le projet par son identifiant */
+    public static DeltaProjet tache(Projet projet, String tacheId) {
+        DeltaProjet delta = new DeltaProjet(projet);
+        delta.tache = projet.trouverTache(tacheId).orElse(null);
+        return delta;
+    }
+
+    public static DeltaProjet tacheSupprimee(Projet projet, String tacheId) {
+        DeltaProjet delta = new DeltaProjet(projet);
+        delta.tacheSupprimee = tacheId;
+        return delta;
+    }
+
+    public static DeltaProjet membres(Projet projet) {
+        DeltaProjet delta = new DeltaProjet(projet);
+        delta.membres = projet.getMembres();
+        return delta;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getProjetId() { return projetId; }
+
+    public Long getVersion() { return version; }
+
+    public double getAvancement() { return avancement; }
+
+    public StatutProjet getStatut() { return statut; }
+
+    public CompteursTaches getCompteurs() { return compteurs; }
+
+    public Tache getTache() { return tache; }
+
+    public String getTacheSupprimee() { return tacheSupprimee; }
+
+    public List<String> getMembres() { return membres; }
+}
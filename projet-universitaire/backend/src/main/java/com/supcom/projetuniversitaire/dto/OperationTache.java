@@ -0,0 +1,58 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+
+/**
+ * ============================================================
+ * DTO : OperationTache
+ * ============================================================
+ * Une opération d'un lot envoyé à POST /api/projets/taches/lot.
+ *
+ * Champs utilisés selon le type :
+ *   - AJOUTER   : projetId, tache
+ *   - DEPLACER  : projetId, tacheId, statut ("TO_DO", "DOING", "DONE")
+ *   - SUPPRIMER : projetId, tacheId
+ *   - ASSIGNER  : projetId, tacheId, assigneA (null pour désassigner)
+ *
+ * Exemple : { "type": "DEPLACER", "projetId": "...", "tacheId": "...", "statut": "DONE" }
+ * ============================================================
+ */
+public class OperationTache {
+
+    /** Types d'opérations acceptés dans un lot */
+    public enum Type { AJOUTER, DEPLACER, SUPPRIMER, ASSIGNER }
+
+    private Type type;
+    private String projetId;
+    private String tacheId;
+    private StatutTache statut;
+    private String assigneA;
+    private Tache tache;
+
+    /** Constructeur vide requis par Jackson */
+    public OperationTache() {
+    }
+
+    // ============================================================
+    // GETTERS ET SETTERS
+    // ============================================================
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getProjetId() { return projetId; }
+    public void setProjetId(String projetId) { this.projetId = projetId; }
+
+    public String getTacheId() { return tacheId; }
+    public void setTacheId(String tacheId) { this.tacheId = tacheId; }
+
+    public StatutTache getStatut() { return statut; }
+    public void setStatut(StatutTache statut) { this.statut = statut; }
+
+    public String getAssigneA() { return assigneA; }
+    public void setAssigneA(String assigneA) { this.assigneA = assigneA; }
+
+    public Tache getTache() { return tache; }
+    public void setTache(Tache tache) { this.tache = tache; }
+}
@@ -0,0 +1,42 @@
+package com.supcom.projetuniversitaire.dto;
+
+import java.util.List;
+
+/**
+ * ============================================================
+ * DTO : PageProjets
+ * ============================================================
+ * Page de projets retournée par la pagination par curseur (keyset).
+ * Le client rappelle l'API avec "after" = curseurSuivant pour obtenir
+ * la page suivante. curseurSuivant vaut null lorsque la fin est atteinte.
+ *
+ * T est le type des éléments : Projet (vue complète) ou ProjetResume.
+ * ============================================================
+ */
+public class PageProjets<T> {
+
+    // --- Projets de la page courante ---
+    private List<T> projets;
+
+    // --- Identifiant à passer en paramètre "after" pour la page suivante ---
+    private String curseurSuivant;
+
+    // --- Taille de page demandée ---
+    private int taille;
+
+    public PageProjets(List<T> projets, String curseurSuivant, int taille) {
+        this.projets = projets;
+        this.curseurSuivant = curseurSuivant;
+        this.taille = taille;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public List<T> getProjets() { return projets; }
+
+    public String getCurseurSuivant() { return curseurSuivant; }
+
+    public int getTaille() { return taille; }
+}
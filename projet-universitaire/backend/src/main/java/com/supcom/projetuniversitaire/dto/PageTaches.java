@@ -0,0 +1,43 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.util.List;
+
+/**
+ * ============================================================
+ * DTO : PageTaches
+ * ============================================================
+ * Page de tâches d'un projet retournée par GET /api/projets/{id}/taches.
+ * Le client rappelle l'API avec "after" = curseurSuivant (mêmes filtres
+ * et même tri) pour obtenir la page suivante. curseurSuivant vaut null
+ * lorsque la fin est atteinte.
+ * ============================================================
+ */
+public class PageTaches {
+
+    // --- Tâches de la page courante ---
+    private List<? extends Tache> taches;
+
+    // --- Valeur opaque à passer en paramètre "after" pour la page suivante ---
+    private String curseurSuivant;
+
+    // --- Taille de page demandée ---
+    private int taille;
+
+    public PageTaches(List<? extends Tache> taches, String curseurSuivant, int taille) {
+        this.taches = taches;
+        this.curseurSuivant = curseurSuivant;
+        this.taille = taille;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public List<? extends Tache> getTaches() { return taches; }
+
+    public String getCurseurSuivant() { return curseurSuivant; }
+
+    public int getTaille() { return taille; }
+}
@@ -0,0 +1,69 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ============================================================
+ * DTO : ProjetDuMembre
+ * ============================================================
+ * Un projet dans la charge de travail d'un membre (ChargeMembre) :
+ * projet dont il fait partie du groupe et/ou dans lequel une tâche
+ * lui est assignée.
+ *
+ * Lu directement depuis le résultat de l'agrégation
+ * (ProjetRepositoryCustom.chargeDuMembre()) : "taches" ne contient
+ * que les tâches assignées au membre.
+ * ============================================================
+ */
+public class ProjetDuMembre {
+
+    private String id;
+    private String titre;
+    private String matiere;
+    private StatutProjet statut;
+    private LocalDate dateLimite;
+    private double avancement;
+
+    // --- true si le membre figure dans la liste "membres" du projet ---
+    private boolean membreDuGroupe;
+
+    // --- Tâches du projet assignées au membre ---
+    private List<Tache> taches = new ArrayList<>();
+
+    /** Constructeur vide requis par Spring Data MongoDB */
+    public ProjetDuMembre() {
+    }
+
+    /** Nombre de tâches du projet assignées au membre */
+    public int getTachesAssignees() {
+        return taches == null ? 0 : taches.size();
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getId() { return id; }
+
+    public String getTitre() { return titre; }
+
+    public String getMatiere() { return matiere; }
+
+    public StatutProjet getStatut() { return statut; }
+
+    public LocalDate getDateLimite() { return dateLimite; }
+
+    public double getAvancement() { return avancement; }
+
+    public boolean isMembreDuGroupe() { return membreDuGroupe; }
+
+    // Détail renvoyé dans ChargeMembre.taches, regroupé par statut
+    @JsonIgnore
+    public List<Tache> getTaches() { return taches; }
+}
@@ -0,0 +1,69 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+
+import java.time.LocalDate;
+
+/**
+ * ============================================================
+ * DTO : ProjetResume
+ * ============================================================
+ * Vue allégée d'un projet pour les listes (composant project-list) :
+ * identifiant, titre, matière, statut, avancement, compteurs, date
+ * limite et nombre de membres. Ni tâches, ni description, ni liste
+ * des membres.
+ *
+ * Lu par une agrégation MongoDB (ProjetRepositoryCustom.resumes()) :
+ * seuls ces champs sont transférés, le nombre de membres est calculé
+ * par le serveur ($size).
+ * ============================================================
+ */
+public class ProjetResume {
+
+    private final String id;
+    private final String titre;
+    private final String matiere;
+    private final StatutProjet statut;
+    private final double avancement;
+    private final CompteursTaches compteurs;
+    private final LocalDate dateLimite;
+    private final int nombreMembres;
+
+    /**
+     * Constructeur utilisé par Spring Data : ses paramètres portent les
+     * noms des champs renvoyés par l'agrégation.
+     */
+    public ProjetResume(String id, String titre, String matiere, StatutProjet statut, double avancement,
+                        CompteursTaches compteurs, LocalDate dateLimite, int nombreMembres) {
+        this.id = id;
+        this.titre = titre;
+        this.matiere = matiere;
+        this.statut = statut;
+        this.avancement = avancement;
+        this.compteurs = compteurs;
+        this.dateLimite = dateLimite;
+        this.nombreMembres = nombreMembres;
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getId() { return id; }
+
+    public String getTitre() { return titre; }
+
+    public String getMatiere() { return matiere; }
+
+    public StatutProjet getStatut() { return statut; }
+
+    public double getAvancement() { return avancement; }
+
+    public CompteursTaches getCompteurs() { return compteurs; }
+
+    public LocalDate getDateLimite() { return dateLimite; }
+
+    /** Nombre de membres du groupe (calculé par MongoDB, non stocké) */
+    public int getNombreMembres() { return nombreMembres; }
+}
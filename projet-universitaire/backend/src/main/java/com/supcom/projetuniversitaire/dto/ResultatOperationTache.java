@@ -0,0 +1,59 @@
+package com.supcom.projetuniversitaire.dto;
+
+/**
+ * ============================================================
+ * DTO : ResultatOperationTache
+ * ============================================================
+ * Résultat d'une opération d'un lot, à la même position (index)
+ * que l'opération dans la requête.
+ * Une opération rejetée (projet ou tâche introuvable, données
+ * invalides) n'empêche pas l'application des autres.
+ * ============================================================
+ */
+public class ResultatOperationTache {
+
+    // --- Position de l'opération dans le lot (à partir de 0) ---
+    private final int index;
+
+    // --- Projet et tâche concernés (tacheId généré pour un ajout) ---
+    private final String projetId;
+    private final String tacheId;
+
+    // --- true si l'opération a été appliquée ---
+    private final boolean succes;
+
+    // --- Raison du rejet (null si appliquée) ---
+    private final String erreur;
+
+    private ResultatOperationTache(int index, String projetId, String tacheId, boolean succes, String erreur) {
+        this.index = index;
+        this.projetId = projetId;
+        this.tacheId = tacheId;
+        this.succes = succes;
+        this.erreur = erreur;
+    }
+
+    /** Opération appliquée. */
+    public static ResultatOperationTache appliquee(int index, String projetId, String tacheId) {
+        return new ResultatOperationTache(index, projetId, tacheId, true, null);
+    }
+
+    /** Opération rejetée, avec sa raison. */
+    public static ResultatOperationTache rejetee(int index, String projetId, String tacheId, String erreur) {
+        return new ResultatOperationTache(index, projetId, tacheId, false, erreur);
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public int getIndex() { return index; }
+
+    public String getProjetId() { return projetId; }
+
+    public String getTacheId() { return tacheId; }
+
+    public boolean isSucces() { return succes; }
+
+    public String getErreur() { return erreur; }
+}
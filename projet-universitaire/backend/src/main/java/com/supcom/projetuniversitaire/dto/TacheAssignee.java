@@ -0,0 +1,58 @@
+package com.supcom.projetuniversitaire.dto;
+
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.time.LocalDate;
+
+/**
+ * ============================================================
+ * DTO : TacheAssignee
+ * ============================================================
+ * Une tâche assignée à un membre, avec le projet auquel elle
+ * appartient (tableau de bord "mes tâches").
+ * ============================================================
+ */
+public class TacheAssignee {
+
+    private final String id;
+    private final String titre;
+    private final StatutTache statut;
+    private final PrioriteTache priorite;
+    private final LocalDate dateLimite;
+    private final boolean enRetard;
+    private final String projetId;
+    private final String projetTitre;
+
+    public TacheAssignee(Tache tache, ProjetDuMembre projet) {
+        this.id = tache.getId();
+        this.titre = tache.getTitre();
+        this.statut = tache.getStatut();
+        this.priorite = tache.getPriorite();
+        this.dateLimite = tache.getDateLimite();
+        this.enRetard = tache.isEnRetard();
+        this.projetId = projet.getId();
+        this.projetTitre = projet.getTitre();
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getId() { return id; }
+
+    public String getTitre() { return titre; }
+
+    public StatutTache getStatut() { return statut; }
+
+    public PrioriteTache getPriorite() { return priorite; }
+
+    public LocalDate getDateLimite() { return dateLimite; }
+
+    public boolean isEnRetard() { return enRetard; }
+
+    public String getProjetId() { return projetId; }
+
+    public String getProjetTitre() { return projetTitre; }
+}
@@ -1,7 +1,10 @@
 package com.supcom.projetuniversitaire.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -41,6 +44,82 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
     }
 
+    /**
+     * Gère les conflits d'écriture concurrente (409).
+     * Levée lorsque le projet a été modifié en parallèle et que
+     * les nouvelles tentatives n'ont pas suffi.
+     *
+     * @param ex l'exception levée
+     * @return réponse HTTP 409 avec détails de l'erreur
+     */
+    @ExceptionHandler({ResourceConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleConflict(RuntimeException ex) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now().toString());
+        errorBody.put("status", HttpStatus.CONFLICT.value());
+        errorBody.put("erreur", "Conflit de modification");
+        errorBody.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody);
+    }
+
+    /**
+     * Gère les écritures conditionnelles sur une version périmée (412).
+     * Levée lorsque l'en-tête If-Match ne correspond plus à l'ETag actuel.
+     *
+     * @param ex l'exception levée
+     * @return réponse HTTP 412 avec détails de l'erreur
+     */
+    @ExceptionHandler(ResourcePreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(ResourcePreconditionFailedException ex) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now().toString());
+        errorBody.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        errorBody.put("erreur", "Version périmée");
+        errorBody.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorBody);
+    }
+
+    /**
+     * Gère les paramètres de requête invalides (400).
+     * Exemple : taille de page hors limites, ordre de tri inconnu.
+     *
+     * @param ex l'exception levée
+     * @return réponse HTTP 400 avec détails de l'erreur
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now().toString());
+        errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+        errorBody.put("erreur", "Requête invalide");
+        errorBody.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+    }
+
+    /**
+     * Gère les corps de requête illisibles (400) : JSON mal formé, ou valeur
+     * inconnue pour un statut ou une priorité (ex : "statut": "FINI").
+     *
+     * @param ex l'exception levée par le convertisseur Jackson
+     * @return réponse HTTP 400 avec détails de l'erreur
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+        Throwable cause = ex.getMostSpecificCause();
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now().toString());
+        errorBody.put("status", HttpStatus.BAD_REQUEST.value());
+        errorBody.put("erreur", "Requête invalide");
+        errorBody.put("message", cause instanceof JsonProcessingException json
+                ? json.getOriginalMessage()
+                : cause.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+    }
+
     /**
      * Gère toutes les autres exceptions non prévues (500).
      *
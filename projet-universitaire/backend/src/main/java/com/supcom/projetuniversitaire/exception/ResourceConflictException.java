@@ -0,0 +1,39 @@
+package com.supcom.projetuniversitaire.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * ============================================================
+ * EXCEPTION : ResourceConflictException
+ * ============================================================
+ * Exception levée lorsqu'une écriture n'a pas pu être appliquée
+ * parce que la ressource a été modifiée en parallèle, même après
+ * plusieurs tentatives (verrouillage optimiste), ou parce qu'elle
+ * créerait un doublon (identifiant de tâche déjà pris).
+ * @ResponseStatus(HttpStatus.CONFLICT) fait retourner automatiquement
+ * un code HTTP 409 lorsque cette exception est levée.
+ * ============================================================
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ResourceConflictException extends RuntimeException {
+
+    /**
+     * Constructeur avec message d'erreur.
+     *
+     * @param message description du conflit
+     */
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructeur avec message d'erreur et cause d'origine.
+     *
+     * @param message description du conflit
+     * @param cause   l'exception de verrouillage optimiste d'origine
+     */
+    public ResourceConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package com.supcom.projetuniversitaire.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * ============================================================
+ * EXCEPTION : ResourcePreconditionFailedException
+ * ============================================================
+ * Exception levée lorsqu'une écriture conditionnelle (en-tête If-Match)
+ * vise une version de la ressource qui n'est plus la version actuelle :
+ * le client a modifié une copie périmée.
+ * @ResponseStatus(HttpStatus.PRECONDITION_FAILED) fait retourner
+ * automatiquement un code HTTP 412 lorsque cette exception est levée.
+ * ============================================================
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+public class ResourcePreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructeur avec message d'erreur personnalisé.
+     *
+     * @param message description de la précondition non satisfaite
+     */
+    public ResourcePreconditionFailedException(String message) {
+        super(message);
+    }
+}
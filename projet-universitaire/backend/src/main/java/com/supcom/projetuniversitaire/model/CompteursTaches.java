@@ -0,0 +1,123 @@
+package com.supcom.projetuniversitaire.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ============================================================
+ * MODÈLE : CompteursTaches
+ * ============================================================
+ * Compteurs de tâches par statut, EMBARQUÉS dans le document Projet.
+ * Ils sont tenus à jour de façon incrémentale à chaque mutation de
+ * tâche (côté MongoDB), ce qui rend le calcul de l'avancement O(1) :
+ * plus besoin de parcourir la liste des tâches à chaque lecture.
+ *
+ * En cas de dérive (documents anciens, écriture interrompue), le job
+ * de reconstruction recalcule les compteurs à partir des tâches.
+ * ============================================================
+ */
+public class CompteursTaches implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // --- Nombre total de tâches ---
+    private int total;
+
+    // --- Nombre de tâches par statut Kanban ---
+    private int toDo;
+    private int doing;
+    private int done;
+
+    // --- Nombre de tâches en retard ---
+    private int enRetard;
+
+    /** Constructeur vide requis par Spring Data MongoDB */
+    public CompteursTaches() {
+    }
+
+    /**
+     * Recalcule tous les compteurs en parcourant la liste des tâches.
+     * Réservé à la création d'un projet et à la reconstruction.
+     *
+     * @param taches les tâches du projet (peut être null)
+     * @return les compteurs correspondants
+     */
+    public static CompteursTaches calculer(List<Tache> taches) {
+        CompteursTaches compteurs = new CompteursTaches();
+        if (taches == null) {
+            return compteurs;
+        }
+        for (Tache tache : taches) {
+            compteurs.total++;
+            StatutTache statut = tache.getStatut();
+            if (statut == StatutTache.TO_DO) {
+                compteurs.toDo++;
+            } else if (statut == StatutTache.DOING) {
+                compteurs.doing++;
+            } else if (statut == StatutTache.DONE) {
+                compteurs.done++;
+            }
+            if (tache.isEnRetard()) {
+                compteurs.enRetard++;
+            }
+        }
+        return compteurs;
+    }
+
+    /**
+     * Écart des compteurs entre deux états d'une tâche (création : avant
+     * null ; suppression : apres null). Les valeurs peuvent être négatives.
+     *
+     * @param avant la tâche avant modification (null si elle n'existait pas)
+     * @param apres la tâche après modification (null si elle a été supprimée)
+     * @return l'écart à ajouter aux compteurs du projet
+     */
+    public static CompteursTaches ecart(Tache avant, Tache apres) {
+        CompteursTaches ajout = calculer(apres == null ? List.of() : List.of(apres));
+        CompteursTaches retrait = calculer(avant == null ? List.of() : List.of(avant));
+        ajout.total -= retrait.total;
+        ajout.toDo -= retrait.toDo;
+        ajout.doing -= retrait.doing;
+        ajout.done -= retrait.done;
+        ajout.enRetard -= retrait.enRetard;
+        return ajout;
+    }
+
+    // ============================================================
+    // GETTERS ET SETTERS
+    // ============================================================
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getToDo() { return toDo; }
+    public void setToDo(int toDo) { this.toDo = toDo; }
+
+    public int getDoing() { return doing; }
+    public void setDoing(int doing) { this.doing = doing; }
+
+    public int getDone() { return done; }
+    public void setDone(int done) { this.done = done; }
+
+    public int getEnRetard() { return enRetard; }
+    public void setEnRetard(int enRetard) { this.enRetard = enRetard; }
+
+    @Override
+    public boolean equals(Object autre) {
+        return autre instanceof CompteursTaches compteurs
+                && total == compteurs.total && toDo == compteurs.toDo && doing == compteurs.doing
+                && done == compteurs.done && enRetard == compteurs.enRetard;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, toDo, doing, done, enRetard);
+    }
+
+    @Override
+    public String toString() {
+        return "CompteursTaches{total=" + total + ", toDo=" + toDo + ", doing=" + doing +
+               ", done=" + done + ", enRetard=" + enRetard + "}";
+    }
+}
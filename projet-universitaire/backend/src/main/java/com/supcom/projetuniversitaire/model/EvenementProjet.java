@@ -0,0 +1,156 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * ============================================================
+ * MODÈLE : EvenementProjet
+ * ============================================================
+ * Changement d'un projet diffusé en temps réel aux clients abonnés
+ * (GET /api/projets/{id}/evenements, Server-Sent Events).
+ *
+ * Un événement est un petit delta (la tâche ajoutée, le nouveau statut
+ * d'une tâche, le membre ajouté...) accompagné de la nouvelle version,
+ * de l'avancement et du statut du projet : le client met à jour son
+ * Kanban sans relire le projet. PROJET_MODIFIE et RESYNCHRONISATION
+ * demandent au client de relire le projet.
+ *
+ * Sur un replica set, les événements transitent par la collection
+ * "evenements" (change stream) pour atteindre toutes les instances du
+ * backend ; ils y expirent au bout d'une heure (index TTL sur emisLe).
+ * ============================================================
+ */
+@Document(collection = "evenements")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EvenementProjet {
+
+    /** Nature du changement */
+    public enum Type {
+        TACHE_AJOUTEE,
+        TACHE_DEPLACEE,
+        TACHE_SUPPRIMEE,
+        MEMBRE_AJOUTE,
+        PROJET_MODIFIE,
+        PROJET_SUPPRIME,
+        // Émis par le serveur quand le tampon d'un client lent déborde
+        RESYNCHRONISATION
+    }
+
+    @Id
+    @JsonIgnore
+    private String id;
+
+    private Type type;
+    private String projetId;
+
+    // --- État du projet après le changement (absent s'il n'est pas connu) ---
+    private Long version;
+    private Double avancement;
+    private StatutProjet statutProjet;
+
+    // --- Delta : renseigné selon le type ---
+    private String tacheId;
+    private Tache tache;
+    private StatutTache statut;
+    private String membre;
+
+    // --- Date d'émission (index TTL de la collection "evenements") ---
+    @Indexed(name = "emisLe_ttl", expireAfter = "1h")
+    private Date emisLe = new Date();
+
+    /** Constructeur vide requis par Spring Data MongoDB */
+    public EvenementProjet() {
+    }
+
+    private EvenementProjet(Type type, String projetId) {
+        this.type = type;
+        this.projetId = projetId;
+    }
+
+    private EvenementProjet(Type type, Projet projet) {
+        this(type, projet.getId());
+        this.version = projet.getVersion();
+        this.avancement = projet.getAvancement();
+        this.statutProjet = projet.getStatut();
+    }
+
+    // ============================================================
+    // FABRIQUES
+    // ============================================================
+
+    public static EvenementProjet tacheAjoutee(Projet projet, Tache tache) {
+        EvenementProjet evenement = new EvenementProjet(Type.TACHE_AJOUTEE, projet);
+        evenement.tacheId = tache.getId();
+        evenement.tache = tache;
+        return evenement;
+    }
+
+    public static EvenementProjet tacheDeplacee(Projet projet, String tacheId, StatutTache statut) {
+        EvenementProjet evenement = new EvenementProjet(Type.TACHE_DEPLACEE, projet);
+        evenement.tacheId = tacheId;
+        evenement.statut = statut;
+        return evenement;
+    }
+
+    public static EvenementProjet tacheSupprimee(Projet projet, String tacheId) {
+        EvenementProjet evenement = new EvenementProjet(Type.TACHE_SUPPRIMEE, projet);
+        evenement.tacheId = tacheId;
+        return evenement;
+    }
+
+    public static EvenementProjet membreAjoute(Projet projet, String membre) {
+        EvenementProjet evenement = new EvenementProjet(Type.MEMBRE_AJOUTE, projet);
+        evenement.membre = membre;
+        return evenement;
+    }
+
+    /** Projet modifié en entier (mise à jour, lot d'opérations) : à relire */
+    public static EvenementProjet projetModifie(Projet projet) {
+        return new EvenementProjet(Type.PROJET_MODIFIE, projet);
+    }
+
+    /** Projet modifié dont le nouvel état n'est pas connu (lot d'opérations) : à relire */
+    public static EvenementProjet projetModifie(String projetId) {
+        return new EvenementProjet(Type.PROJET_MODIFIE, projetId);
+    }
+
+    public static EvenementProjet projetSupprime(String projetId) {
+        return new EvenementProjet(Type.PROJET_SUPPRIME, projetId);
+    }
+
+    public static EvenementProjet resynchronisation(String projetId) {
+        return new EvenementProjet(Type.RESYNCHRONISATION, projetId);
+    }
+
+    // ============================================================
+    // GETTERS
+    // ============================================================
+
+    public String getId() { return id; }
+
+    public Type getType() { return type; }
+
+    public String getProjetId() { return projetId; }
+
+    public Long getVersion() { return version; }
+
+    public Double getAvancement() { return avancement; }
+
+    public StatutProjet getStatutProjet() { return statutProjet; }
+
+    public String getTacheId() { return tacheId; }
+
+    public Tache getTache() { return tache; }
+
+    public StatutTache getStatut() { return statut; }
+
+    public String getMembre() { return membre; }
+
+    public Date getEmisLe() { return emisLe; }
+}
@@ -0,0 +1,47 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * ============================================================
+ * MODÈLE : PrioriteTache
+ * ============================================================
+ * Priorité d'une tâche : "FAIBLE", "MOYENNE", "ÉLEVÉE".
+ * Constantes uniques : comparées par identité (==) dans les calculs
+ * et les filtres, sans chaîne allouée par tâche lue.
+ * ============================================================
+ */
+@JsonDeserialize(using = PrioriteTache.Deserialiseur.class)
+public enum PrioriteTache implements ValeurEnumeree {
+
+    FAIBLE("FAIBLE"),
+    MOYENNE("MOYENNE"),
+    ELEVEE("ÉLEVÉE");
+
+    private final String valeur;
+
+    PrioriteTache(String valeur) {
+        this.valeur = valeur;
+    }
+
+    @Override
+    @JsonValue
+    public String getValeur() { return valeur; }
+
+    /**
+     * @throws IllegalArgumentException (HTTP 400) si la priorité est inconnue
+     */
+    public static PrioriteTache depuis(String valeur) {
+        return ValeurEnumeree.depuis(PrioriteTache.class, valeur);
+    }
+
+    @Override
+    public String toString() { return valeur; }
+
+    static final class Deserialiseur extends ValeurEnumeree.Deserialiseur<PrioriteTache> {
+        Deserialiseur() {
+            super(PrioriteTache.class);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.supcom.projetuniversitaire.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 import jakarta.validation.constraints.NotBlank;
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * ============================================================
@@ -14,10 +23,27 @@ import java.util.List;
  * Représente un projet universitaire dans la base de données.
  * @Document indique que cette classe correspond à une collection MongoDB.
  * Chaque instance = un document dans la collection "projets".
+ * Index déclarés (créés au démarrage par GestionnaireIndex) :
+ *   - (statut, dateLimite) : filtre par statut et balayage des retards
+ *   - titre, matiere, dateLimite, membres : requêtes de ProjetRepository
+ *   - index texte (langue française) sur titre, description, matière et
+ *     titre/description des tâches : recherche plein texte classée par pertinence
+ *   - taches.assigneA, taches.statut, taches.dateLimite : voir Tache
+ *
+ * Stockage des tâches (stockageTaches) : embarquées dans le document
+ * (par défaut) ou dans la collection "taches" (TacheProjet) pour les
+ * gros projets. Dans ce second cas, le document ne garde que les
+ * compteurs ; la liste "taches" est complétée à la lecture.
  * ============================================================
  */
-@Document(collection = "projets")
-public class Projet {
+@Document(collection = "projets", language = "french")
+@CompoundIndex(name = "statut_dateLimite", def = "{'statut': 1, 'dateLimite': 1}")
+public class Projet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Valeur de stockageTaches pour un projet dont les tâches sont dans la collection "taches"
+    public static final String TACHES_SEPAREES = "COLLECTION";
 
     // --- Identifiant unique généré automatiquement par MongoDB (ObjectId) ---
     @Id
@@ -25,31 +51,58 @@ public class Projet {
 
     // --- Titre du projet (obligatoire) ---
     @NotBlank(message = "Le titre du projet est obligatoire")
+    @Indexed
+    @TextIndexed(weight = 5)
     private String titre;
 
     // --- Description détaillée du projet ---
+    @TextIndexed
     private String description;
 
     // --- Matière / Module universitaire concerné ---
+    @Indexed
+    @TextIndexed(weight = 3)
     private String matiere;
 
     // --- Date de création du projet ---
     private LocalDate dateCreation;
 
     // --- Date limite de rendu du projet ---
+    @Indexed
     private LocalDate dateLimite;
 
     // --- Liste des membres du groupe (emails ou noms) ---
+    @Indexed
     private List<String> membres = new ArrayList<>();
 
     // --- Liste des tâches associées au projet ---
     private List<Tache> taches = new ArrayList<>();
 
+    // --- Emplacement des tâches : absent (embarquées) ou TACHES_SEPAREES ---
+    // Fixé par le serveur (création, migration), jamais lu depuis le JSON reçu
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String stockageTaches;
+
+    // --- Compteurs de tâches par statut, maintenus à chaque mutation ---
+    private CompteursTaches compteurs = new CompteursTaches();
+
     // --- Pourcentage d'avancement calculé automatiquement (0 à 100) ---
     private double avancement;
 
     // --- Statut global du projet : EN_COURS, TERMINÉ, EN_RETARD ---
-    private String statut;
+    private StatutProjet statut;
+
+    // --- Version du document (verrouillage optimiste) ---
+    // Incrémentée à chaque écriture : un save() basé sur une version périmée
+    // échoue avec OptimisticLockingFailureException au lieu d'écraser les données.
+    @Version
+    private Long version;
+
+    // --- Score de pertinence, renseigné uniquement par la recherche plein texte ---
+    // (jamais enregistré en base, absent du JSON hors recherche)
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
 
     // ============================================================
     // CONSTRUCTEURS
@@ -58,7 +111,7 @@ public class Projet {
     /** Constructeur vide requis par Spring Data MongoDB */
     public Projet() {
         this.dateCreation = LocalDate.now();
-        this.statut = "EN_COURS";
+        this.statut = StatutProjet.EN_COURS;
         this.avancement = 0.0;
     }
 
@@ -77,21 +130,32 @@ public class Projet {
 
     /**
      * Calcule automatiquement le pourcentage d'avancement du projet.
-     * Formule : (nombre de tâches "DONE" / total des tâches) * 100
+     * Formule : (nombre de tâches DONE / total des tâches) * 100
      * Si aucune tâche, l'avancement est 0%.
+     *
+     * Calcul en O(1) à partir des compteurs matérialisés. Si le total ne
+     * correspond pas à la taille de la liste (document ancien ou dérive),
+     * les compteurs sont d'abord recalculés.
      */
     public void calculerAvancement() {
-        if (taches == null || taches.isEmpty()) {
+        int nombreTaches = taches == null ? 0 : taches.size();
+        if (compteurs == null || compteurs.getTotal() != nombreTaches) {
+            recalculerCompteurs();
+        }
+        if (compteurs.getTotal() == 0) {
             this.avancement = 0.0;
             return;
         }
-        // Compter les tâches terminées
-        long tachesTerminees = taches.stream()
-                .filter(t -> "DONE".equals(t.getStatut()))
-                .count();
-
         // Calcul du pourcentage
-        this.avancement = ((double) tachesTerminees / taches.size()) * 100;
+        this.avancement = ((double) compteurs.getDone() / compteurs.getTotal()) * 100;
+    }
+
+    /**
+     * Recalcule les compteurs de tâches en parcourant toute la liste.
+     * À appeler après une modification directe de la liste des tâches.
+     */
+    public void recalculerCompteurs() {
+        this.compteurs = CompteursTaches.calculer(taches);
     }
 
     /**
@@ -100,14 +164,47 @@ public class Projet {
      */
     public void verifierRetard() {
         if (dateLimite != null && LocalDate.now().isAfter(dateLimite) && avancement < 100) {
-            this.statut = "EN_RETARD";
+            this.statut = StatutProjet.EN_RETARD;
         } else if (avancement >= 100) {
-            this.statut = "TERMINÉ";
+            this.statut = StatutProjet.TERMINE;
         } else {
-            this.statut = "EN_COURS";
+            this.statut = StatutProjet.EN_COURS;
         }
     }
 
+    /**
+     * Donne un identifiant aux tâches d'un nouveau projet qui n'en ont pas.
+     */
+    public void attribuerIdentifiantsTaches() {
+        if (taches != null) {
+            taches.forEach(Tache::attribuerIdentifiant);
+        }
+    }
+
+    /**
+     * Recherche une tâche par son identifiant (ObjectId ou UUID ancien),
+     * par un parcours de la liste.
+     *
+     * @param tacheId l'identifiant de la tâche
+     * @return la tâche, ou Optional.empty() si le projet ne la contient pas
+     */
+    public Optional<Tache> trouverTache(String tacheId) {
+        if (taches == null || tacheId == null) {
+            return Optional.empty();
+        }
+        for (Tache tache : taches) {
+            if (tacheId.equals(tache.getId())) {
+                return Optional.of(tache);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Vrai si les tâches sont stockées dans la collection "taches" */
+    public boolean aDesTachesSeparees() {
+        return TACHES_SEPAREES.equals(stockageTaches);
+    }
+
     // ============================================================
     // GETTERS ET SETTERS
     // ============================================================
@@ -136,14 +233,26 @@ public class Projet {
     public List<Tache> getTaches() { return taches; }
     public void setTaches(List<Tache> taches) { this.taches = taches; }
 
+    public String getStockageTaches() { return stockageTaches; }
+    public void setStockageTaches(String stockageTaches) { this.stockageTaches = stockageTaches; }
+
+    public CompteursTaches getCompteurs() { return compteurs; }
+    public void setCompteurs(CompteursTaches compteurs) { this.compteurs = compteurs; }
+
     public double getAvancement() { return avancement; }
     public void setAvancement(double avancement) { this.avancement = avancement; }
 
-    public String getStatut() { return statut; }
-    public void setStatut(String statut) { this.statut = statut; }
+    public StatutProjet getStatut() { return statut; }
+    public void setStatut(StatutProjet statut) { this.statut = statut; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Float getScore() { return score; }
+    public void setScore(Float score) { this.score = score; }
 
     @Override
     public String toString() {
-        return "Projet{id='" + id + "', titre='" + titre + "', avancement=" + avancement + "%, statut='" + statut + "'}";
+        return "Projet{id='" + id + "', titre='" + titre + "', avancement=" + avancement + "%, statut='" + statut + "', version=" + version + "}";
     }
 }
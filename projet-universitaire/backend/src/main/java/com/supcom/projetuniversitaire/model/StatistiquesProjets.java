@@ -0,0 +1,124 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * MODÈLE : StatistiquesProjets
+ * ============================================================
+ * Statistiques du tableau de bord, calculées par MongoDB ($facet,
+ * $group) sur tous les projets et toutes les tâches (embarquées ou
+ * stockées à part) :
+ *   - projets : total, par statut, avancement moyen
+ *   - parMatiere : projets, avancement moyen et projets en retard par matière
+ *   - taches : compteurs par statut et tâches en retard
+ *   - parMembre : tâches, tâches terminées, en retard et taux de complétion
+ *
+ * Document unique de la collection "statistiques", rafraîchi
+ * périodiquement (voir StatistiquesService) : un chargement du tableau
+ * de bord lit ce seul document, quelle que soit la taille de la base.
+ * ============================================================
+ */
+@Document(collection = "statistiques")
+public class StatistiquesProjets {
+
+    // --- Identifiant du document matérialisé ---
+    @Id
+    @JsonIgnore
+    private String id;
+
+    // --- Date du calcul (le document matérialisé peut dater d'un intervalle) ---
+    private LocalDateTime calculeLe;
+
+    // --- Nombre de projets et avancement moyen (%) ---
+    private long projets;
+    private double avancementMoyen;
+
+    // --- Nombre de projets par statut : EN_COURS, TERMINÉ, EN_RETARD ---
+    private Map<String, Long> parStatut = new LinkedHashMap<>();
+
+    // --- Répartition par matière, triée par matière ---
+    private List<Matiere> parMatiere = new ArrayList<>();
+
+    // --- Tâches de tous les projets (enRetard : date limite dépassée, non terminée) ---
+    private CompteursTaches taches = new CompteursTaches();
+
+    // --- Complétion par membre assigné, triée par membre ---
+    private List<Membre> parMembre = new ArrayList<>();
+
+    /** Constructeur vide requis par Spring Data MongoDB */
+    public StatistiquesProjets() {
+    }
+
+    // ============================================================
+    // GETTERS ET SETTERS
+    // ============================================================
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public LocalDateTime getCalculeLe() { return calculeLe; }
+    public void setCalculeLe(LocalDateTime calculeLe) { this.calculeLe = calculeLe; }
+
+    public long getProjets() { return projets; }
+    public void setProjets(long projets) { this.projets = projets; }
+
+    public double getAvancementMoyen() { return avancementMoyen; }
+    public void setAvancementMoyen(double avancementMoyen) { this.avancementMoyen = avancementMoyen; }
+
+    public Map<String, Long> getParStatut() { return parStatut; }
+    public void setParStatut(Map<String, Long> parStatut) { this.parStatut = parStatut; }
+
+    public List<Matiere> getParMatiere() { return parMatiere; }
+    public void setParMatiere(List<Matiere> parMatiere) { this.parMatiere = parMatiere; }
+
+    public CompteursTaches getTaches() { return taches; }
+    public void setTaches(CompteursTaches taches) { this.taches = taches; }
+
+    public List<Membre> getParMembre() { return parMembre; }
+    public void setParMembre(List<Membre> parMembre) { this.parMembre = parMembre; }
+
+    // ============================================================
+    // RÉPARTITIONS
+    // ============================================================
+
+    /** Statistiques des projets d'une matière */
+    public static class Matiere {
+
+        private String matiere;
+        private long projets;
+        private double avancementMoyen;
+        private long projetsEnRetard;
+
+        public String getMatiere() { return matiere; }
+        public long getProjets() { return projets; }
+        public double getAvancementMoyen() { return avancementMoyen; }
+        public long getProjetsEnRetard() { return projetsEnRetard; }
+    }
+
+    /** Statistiques des tâches assignées à un membre */
+    public static class Membre {
+
+        private String membre;
+        private long taches;
+        private long terminees;
+        private long enRetard;
+
+        // --- Pourcentage de tâches terminées (0 à 100) ---
+        private double tauxCompletion;
+
+        public String getMembre() { return membre; }
+        public long getTaches() { return taches; }
+        public long getTerminees() { return terminees; }
+        public long getEnRetard() { return enRetard; }
+        public double getTauxCompletion() { return tauxCompletion; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * ============================================================
+ * MODÈLE : StatutProjet
+ * ============================================================
+ * Statut global d'un projet : "EN_COURS", "TERMINÉ", "EN_RETARD".
+ * Constantes uniques : comparées par identité (==) dans les calculs
+ * et les filtres par statut.
+ * ============================================================
+ */
+@JsonDeserialize(using = StatutProjet.Deserialiseur.class)
+public enum StatutProjet implements ValeurEnumeree {
+
+    EN_COURS("EN_COURS"),
+    TERMINE("TERMINÉ"),
+    EN_RETARD("EN_RETARD");
+
+    private final String valeur;
+
+    StatutProjet(String valeur) {
+        this.valeur = valeur;
+    }
+
+    @Override
+    @JsonValue
+    public String getValeur() { return valeur; }
+
+    /**
+     * @throws IllegalArgumentException (HTTP 400) si le statut est inconnu
+     */
+    public static StatutProjet depuis(String valeur) {
+        return ValeurEnumeree.depuis(StatutProjet.class, valeur);
+    }
+
+    @Override
+    public String toString() { return valeur; }
+
+    static final class Deserialiseur extends ValeurEnumeree.Deserialiseur<StatutProjet> {
+        Deserialiseur() {
+            super(StatutProjet.class);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * ============================================================
+ * MODÈLE : StatutTache
+ * ============================================================
+ * Statut Kanban d'une tâche : "TO_DO", "DOING", "DONE".
+ * Constantes uniques : comparées par identité (==) dans les calculs
+ * d'avancement et de retard, sans chaîne allouée par tâche lue.
+ * ============================================================
+ */
+@JsonDeserialize(using = StatutTache.Deserialiseur.class)
+public enum StatutTache implements ValeurEnumeree {
+
+    TO_DO("TO_DO"),
+    DOING("DOING"),
+    DONE("DONE");
+
+    private final String valeur;
+
+    StatutTache(String valeur) {
+        this.valeur = valeur;
+    }
+
+    @Override
+    @JsonValue
+    public String getValeur() { return valeur; }
+
+    /**
+     * @throws IllegalArgumentException (HTTP 400) si le statut est inconnu
+     */
+    public static StatutTache depuis(String valeur) {
+        return ValeurEnumeree.depuis(StatutTache.class, valeur);
+    }
+
+    @Override
+    public String toString() { return valeur; }
+
+    static final class Deserialiseur extends ValeurEnumeree.Deserialiseur<StatutTache> {
+        Deserialiseur() {
+            super(StatutTache.class);
+        }
+    }
+}
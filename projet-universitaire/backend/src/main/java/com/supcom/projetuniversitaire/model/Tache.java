@@ -1,39 +1,53 @@
 package com.supcom.projetuniversitaire.model;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+
+import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.UUID;
 
 /**
  * ============================================================
  * MODÈLE : Tache
  * ============================================================
  * Représente une tâche au sein d'un projet universitaire.
- * Ce modèle est EMBARQUÉ dans le document Projet (pas de collection séparée).
+ * Ce modèle est EMBARQUÉ dans le document Projet, sauf pour les projets
+ * dont les tâches sont stockées à part (voir TacheProjet).
  * Chaque tâche possède un statut Kanban : TO_DO, DOING, DONE
  * et une priorité : FAIBLE, MOYENNE, ÉLEVÉE.
  * ============================================================
  */
-public class Tache {
+public class Tache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
-    // --- Identifiant unique de la tâche (UUID généré automatiquement) ---
+    // --- Identifiant unique de la tâche : ObjectId attribué à la création ---
+    // (24 caractères hexadécimaux, enregistré en ObjectId de 12 octets ;
+    // les tâches plus anciennes gardent leur UUID)
     private String id;
 
-    // --- Titre court de la tâche ---
+    // --- Titre court de la tâche (inclus dans l'index texte du projet) ---
+    @TextIndexed(weight = 2)
     private String titre;
 
-    // --- Description détaillée de ce qu'il faut faire ---
+    // --- Description détaillée de ce qu'il faut faire (inclus dans l'index texte) ---
+    @TextIndexed
     private String description;
 
-    // --- Membre du groupe assigné à cette tâche ---
+    // --- Membre du groupe assigné à cette tâche (indexé : "taches.assigneA") ---
+    @Indexed
     private String assigneA;
 
-    // --- Statut Kanban : "TO_DO", "DOING", "DONE" ---
-    private String statut;
+    // --- Statut Kanban : "TO_DO", "DOING", "DONE" (indexé : "taches.statut") ---
+    @Indexed
+    private StatutTache statut;
 
     // --- Priorité de la tâche : "FAIBLE", "MOYENNE", "ÉLEVÉE" ---
-    private String priorite;
+    private PrioriteTache priorite;
 
-    // --- Date limite de la tâche ---
+    // --- Date limite de la tâche (indexée : "taches.dateLimite" pour le balayage des retards) ---
+    @Indexed
     private LocalDate dateLimite;
 
     // --- Indicateur de retard : true si la tâche dépasse sa date limite ---
@@ -43,23 +57,37 @@ public class Tache {
     // CONSTRUCTEURS
     // ============================================================
 
-    /** Constructeur vide requis pour la désérialisation JSON */
+    /**
+     * Constructeur vide requis pour la désérialisation JSON et MongoDB.
+     * Aucun identifiant n'est généré ici : une tâche relue reçoit aussitôt
+     * le sien ; une nouvelle tâche en reçoit un par attribuerIdentifiant().
+     */
     public Tache() {
-        // Générer un identifiant unique pour chaque nouvelle tâche
-        this.id = UUID.randomUUID().toString();
-        this.statut = "TO_DO";   // Statut initial : à faire
-        this.priorite = "MOYENNE"; // Priorité par défaut
+        this.statut = StatutTache.TO_DO;      // Statut initial : à faire
+        this.priorite = PrioriteTache.MOYENNE; // Priorité par défaut
         this.enRetard = false;
     }
 
     /** Constructeur avec les champs principaux */
-    public Tache(String titre, String description, String assigneA, String priorite, LocalDate dateLimite) {
+    public Tache(String titre, String description, String assigneA, PrioriteTache priorite, LocalDate dateLimite) {
         this(); // Initialisation des valeurs par défaut
         this.titre = titre;
         this.description = description;
         this.assigneA = assigneA;
         this.priorite = priorite;
         this.dateLimite = dateLimite;
+        attribuerIdentifiant();
+    }
+
+    /**
+     * Donne un identifiant à une nouvelle tâche qui n'en a pas reçu
+     * (ObjectId : compact, croissant dans le temps, sans SecureRandom).
+     * Un identifiant fourni par le client est conservé.
+     */
+    public void attribuerIdentifiant() {
+        if (id == null || id.isBlank()) {
+            id = new ObjectId().toHexString();
+        }
     }
 
     // ============================================================
@@ -69,13 +97,13 @@ public class Tache {
     /**
      * Vérifie si la tâche est en retard.
      * Une tâche est en retard si :
-     *   - Elle n'est pas terminée (statut != "DONE")
+     *   - Elle n'est pas terminée (statut != DONE)
      *   - La date limite est dépassée (avant aujourd'hui)
      *
      * Met à jour automatiquement le champ enRetard.
      */
     public void verifierRetard() {
-        if (dateLimite != null && !"DONE".equals(this.statut)) {
+        if (dateLimite != null && this.statut != StatutTache.DONE) {
             this.enRetard = LocalDate.now().isAfter(dateLimite);
         } else {
             // Si la tâche est terminée, elle n'est jamais "en retard"
@@ -99,11 +127,11 @@ public class Tache {
     public String getAssigneA() { return assigneA; }
     public void setAssigneA(String assigneA) { this.assigneA = assigneA; }
 
-    public String getStatut() { return statut; }
-    public void setStatut(String statut) { this.statut = statut; }
+    public StatutTache getStatut() { return statut; }
+    public void setStatut(StatutTache statut) { this.statut = statut; }
 
-    public String getPriorite() { return priorite; }
-    public void setPriorite(String priorite) { this.priorite = priorite; }
+    public PrioriteTache getPriorite() { return priorite; }
+    public void setPriorite(PrioriteTache priorite) { this.priorite = priorite; }
 
     public LocalDate getDateLimite() { return dateLimite; }
     public void setDateLimite(LocalDate dateLimite) { this.dateLimite = dateLimite; }
@@ -0,0 +1,76 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * ============================================================
+ * MODÈLE : TacheProjet
+ * ============================================================
+ * Tâche stockée dans sa propre collection "taches", pour les projets
+ * en stockage séparé (Projet.TACHES_SEPAREES). Une mutation de tâche
+ * n'écrit alors qu'un petit document, au lieu de réécrire le projet
+ * entier, et la taille d'un projet n'est plus limitée par les 16 Mo
+ * d'un document MongoDB.
+ *
+ * Mêmes champs que Tache, plus le projet parent et une clé d'ordre.
+ * Index (créés au démarrage par GestionnaireIndex), tous terminés par
+ * "ordre" puis "_id" (départage des ordres égaux) pour servir les pages
+ * de tâches triées sans tri en mémoire :
+ *   - (projetId, ordre, _id)             : tâches d'un projet dans l'ordre d'ajout
+ *   - (projetId, statut, ordre, _id)     : colonnes du Kanban
+ *   - (projetId, assigneA, ordre, _id)   : tâches d'un membre dans un projet
+ *   - (projetId, dateLimite, ordre, _id) : tâches d'un projet par échéance
+ *   - assigneA, statut, dateLimite, texte : hérités de Tache
+ * ============================================================
+ */
+@Document(collection = "taches", language = "french")
+@CompoundIndex(name = "projetId_ordre", def = "{'projetId': 1, 'ordre': 1, '_id': 1}")
+@CompoundIndex(name = "projetId_statut_ordre", def = "{'projetId': 1, 'statut': 1, 'ordre': 1, '_id': 1}")
+@CompoundIndex(name = "projetId_assigneA_ordre", def = "{'projetId': 1, 'assigneA': 1, 'ordre': 1, '_id': 1}")
+@CompoundIndex(name = "projetId_dateLimite_ordre", def = "{'projetId': 1, 'dateLimite': 1, 'ordre': 1, '_id': 1}")
+public class TacheProjet extends Tache {
+
+    private static final long serialVersionUID = 1L;
+
+    // --- Identifiant du projet parent ---
+    @JsonIgnore
+    private String projetId;
+
+    // --- Clé de tri : rang d'origine pour les tâches migrées, ---
+    // --- horodatage (ms) de l'ajout pour les suivantes         ---
+    // --- (non unique : les pages départagent par _id)          ---
+    @JsonIgnore
+    private long ordre;
+
+    /** Constructeur vide requis par Spring Data MongoDB */
+    public TacheProjet() {
+        super();
+    }
+
+    /** Copie d'une tâche, rattachée à son projet */
+    public TacheProjet(Tache tache, String projetId, long ordre) {
+        super();
+        setId(tache.getId());
+        setTitre(tache.getTitre());
+        setDescription(tache.getDescription());
+        setAssigneA(tache.getAssigneA());
+        setStatut(tache.getStatut());
+        setPriorite(tache.getPriorite());
+        setDateLimite(tache.getDateLimite());
+        setEnRetard(tache.isEnRetard());
+        this.projetId = projetId;
+        this.ordre = ordre;
+    }
+
+    // ============================================================
+    // GETTERS ET SETTERS
+    // ============================================================
+
+    public String getProjetId() { return projetId; }
+    public void setProjetId(String projetId) { this.projetId = projetId; }
+
+    public long getOrdre() { return ordre; }
+    public void setOrdre(long ordre) { this.ordre = ordre; }
+}
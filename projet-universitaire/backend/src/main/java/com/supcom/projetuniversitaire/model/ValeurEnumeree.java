@@ -0,0 +1,123 @@
+package com.supcom.projetuniversitaire.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * ============================================================
+ * MODÈLE : ValeurEnumeree
+ * ============================================================
+ * Énumération dont chaque constante a une valeur d'échange (JSON et
+ * MongoDB) distincte de son nom Java : "TERMINÉ" pour TERMINE,
+ * "ÉLEVÉE" pour ELEVEE. Les valeurs échangées restent celles des
+ * anciens champs String.
+ *
+ * Lecture :
+ *   - depuis()     : stricte, pour les données reçues par l'API (HTTP 400) ;
+ *   - normaliser() : tolérante, pour les documents MongoDB anciens
+ *                    ("done", "Terminé", "ELEVEE"...), voir NormalisationValeurs.
+ * ============================================================
+ */
+public interface ValeurEnumeree {
+
+    /** Valeur échangée en JSON et enregistrée dans MongoDB */
+    String getValeur();
+
+    /**
+     * Constante dont la valeur est exactement celle donnée.
+     *
+     * @throws IllegalArgumentException (HTTP 400) si la valeur est inconnue
+     */
+    static <E extends Enum<E> & ValeurEnumeree> E depuis(Class<E> type, String valeur) {
+        for (E constante : type.getEnumConstants()) {
+            if (constante.getValeur().equals(valeur)) {
+                return constante;
+            }
+        }
+        throw new IllegalArgumentException(
+                type.getSimpleName() + " invalide : " + valeur + " (attendu : " + valeursAttendues(type) + ")");
+    }
+
+    /**
+     * Constante correspondant à une valeur enregistrée, sans tenir compte de
+     * la casse, des accents, des espaces ni des tirets.
+     *
+     * @return la constante, ou null si la valeur est absente ou inconnue
+     */
+    static <E extends Enum<E> & ValeurEnumeree> E normaliser(Class<E> type, String valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        for (E constante : type.getEnumConstants()) {
+            if (constante.getValeur().equals(valeur)) {
+                return constante;
+            }
+        }
+        String cle = cle(valeur);
+        for (E constante : type.getEnumConstants()) {
+            if (cle(constante.getValeur()).equals(cle)) {
+                return constante;
+            }
+        }
+        return null;
+    }
+
+    /** Liste des valeurs admises, pour les messages d'erreur */
+    static <E extends Enum<E> & ValeurEnumeree> String valeursAttendues(Class<E> type) {
+        return Arrays.stream(type.getEnumConstants()).map(ValeurEnumeree::getValeur)
+                .collect(Collectors.joining(", "));
+    }
+
+    /** Forme comparable : majuscules sans accents, séparateurs supprimés ("to-do" → "TODO") */
+    private static String cle(String valeur) {
+        String sansAccents = Normalizer.normalize(valeur.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sansAccents.toUpperCase(Locale.ROOT).replaceAll("[\\s_-]", "");
+    }
+
+    // ============================================================
+    // DÉSÉRIALISATION JSON
+    // ============================================================
+
+    /**
+     * Désérialiseur Jackson strict : compare directement les caractères
+     * lus par le parseur aux valeurs des constantes, sans créer de String
+     * pour chaque tâche lue.
+     */
+    abstract class Deserialiseur<E extends Enum<E> & ValeurEnumeree> extends StdScalarDeserializer<E> {
+
+        private final E[] constantes;
+        private final char[][] valeurs;
+
+        protected Deserialiseur(Class<E> type) {
+            super(type);
+            this.constantes = type.getEnumConstants();
+            this.valeurs = Arrays.stream(constantes).map(c -> c.getValeur().toCharArray()).toArray(char[][]::new);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E deserialize(JsonParser parseur, DeserializationContext contexte) throws IOException {
+            if (!parseur.hasToken(JsonToken.VALUE_STRING)) {
+                return (E) contexte.handleUnexpectedToken(handledType(), parseur);
+            }
+            char[] texte = parseur.getTextCharacters();
+            int debut = parseur.getTextOffset();
+            int longueur = parseur.getTextLength();
+            for (int i = 0; i < valeurs.length; i++) {
+                if (Arrays.equals(valeurs[i], 0, valeurs[i].length, texte, debut, debut + longueur)) {
+                    return constantes[i];
+                }
+            }
+            return (E) contexte.handleWeirdStringValue(handledType(), parseur.getText(),
+                    "attendu : " + valeursAttendues(constantes[0].getDeclaringClass()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.ValeurEnumeree;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ============================================================
+ * UTILITAIRE : NormalisationValeurs
+ * ============================================================
+ * Réécrit sous leur valeur canonique ("DONE", "TERMINÉ", "ÉLEVÉE")
+ * les statuts et priorités enregistrés avant les énumérations :
+ * casse ou accents différents ("done", "Terminé"), valeur inconnue
+ * ou champ absent (remplacé par la valeur par défaut).
+ *
+ * Seules les valeurs réellement présentes en base (distinct) sont
+ * traitées, une mise à jour ciblée par valeur ancienne : une base
+ * déjà normalisée ne coûte que les distinct (servis par les index).
+ * ============================================================
+ */
+final class NormalisationValeurs {
+
+    private NormalisationValeurs() {
+    }
+
+    /**
+     * Normalise un champ de premier niveau ("statut" d'un projet, d'une tâche séparée).
+     *
+     * @return le nombre de documents modifiés
+     */
+    static <E extends Enum<E> & ValeurEnumeree> long normaliserChamp(
+            MongoTemplate mongoTemplate, String collection, String champ, Class<E> type, E defaut) {
+        long modifies = 0;
+        for (Map.Entry<Object, E> ancienne : anciennesValeurs(mongoTemplate, collection, champ, type, defaut).entrySet()) {
+            Query query = Query.query(Criteria.where(champ).is(ancienne.getKey()));
+            Update update = new Update().set(champ, ancienne.getValue().getValeur());
+            modifies += mongoTemplate.updateMulti(query, update, collection).getModifiedCount();
+        }
+        return modifies;
+    }
+
+    /**
+     * Normalise un champ des éléments d'un tableau ("taches.statut") :
+     * seuls les éléments portant l'ancienne valeur sont réécrits (arrayFilters).
+     *
+     * @return le nombre de documents modifiés
+     */
+    static <E extends Enum<E> & ValeurEnumeree> long normaliserElements(
+            MongoTemplate mongoTemplate, String collection, String tableau, String champ, Class<E> type, E defaut) {
+        long modifies = 0;
+        for (Map.Entry<Object, E> ancienne : anciennesValeurs(mongoTemplate, collection, tableau + "." + champ, type, defaut).entrySet()) {
+            // $elemMatch : un document sans tableau ne doit pas être visé ($[e] exige le tableau)
+            Query query = Query.query(Criteria.where(tableau).elemMatch(Criteria.where(champ).is(ancienne.getKey())));
+            Update update = new Update()
+                    .set(tableau + ".$[e]." + champ, ancienne.getValue().getValeur())
+                    .filterArray(Criteria.where("e." + champ).is(ancienne.getKey()));
+            modifies += mongoTemplate.updateMulti(query, update, collection).getModifiedCount();
+        }
+        return modifies;
+    }
+
+    /**
+     * Valeurs présentes en base qui ne sont pas canoniques, associées à leur
+     * remplacement. null (champ absent ou nul) est toujours inclus : la mise
+     * à jour correspondante ne modifie rien s'il n'y a aucun document concerné.
+     */
+    private static <E extends Enum<E> & ValeurEnumeree> Map<Object, E> anciennesValeurs(
+            MongoTemplate mongoTemplate, String collection, String chemin, Class<E> type, E defaut) {
+        List<BsonValue> presentes = mongoTemplate.getCollection(collection)
+                .distinct(chemin, BsonValue.class)
+                .into(new ArrayList<>());
+
+        Map<Object, E> anciennes = new LinkedHashMap<>();
+        anciennes.put(null, defaut);
+        for (BsonValue presente : presentes) {
+            if (presente.isNull()) {
+                continue;
+            }
+            if (!presente.isString()) {
+                // Valeur d'un autre type (nombre...) : illisible, remplacée par le défaut
+                anciennes.put(presente, defaut);
+                continue;
+            }
+            String valeur = presente.asString().getValue();
+            E canonique = Objects.requireNonNullElse(ValeurEnumeree.normaliser(type, valeur), defaut);
+            if (!canonique.getValeur().equals(valeur)) {
+                anciennes.put(valeur, canonique);
+            }
+        }
+        return anciennes;
+    }
+}
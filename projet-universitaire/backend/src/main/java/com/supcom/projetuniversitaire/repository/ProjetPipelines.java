@@ -0,0 +1,372 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * UTILITAIRE : ProjetPipelines
+ * ============================================================
+ * Construit les étapes des "update pipelines" MongoDB utilisées pour
+ * modifier un projet de façon atomique côté serveur.
+ *
+ * Une mise à jour par pipeline enchaîne plusieurs étapes $set dans
+ * une seule opération : on modifie d'abord la liste des tâches, puis
+ * on ajuste les compteurs par statut et on en déduit avancement et
+ * statut, exactement comme Projet.calculerAvancement() et
+ * Projet.verifierRetard().
+ *
+ * Les compteurs sont ajustés de façon INCRÉMENTALE : la tâche
+ * concernée est capturée avant (_avant) et après (_apres) la
+ * modification, et chaque compteur reçoit la différence. Aucune
+ * étape ne reparcourt la liste pour compter.
+ *
+ * Rappel : dans le document stocké, l'identifiant d'une tâche
+ * embarquée est écrit dans le champ "_id" (mapping Spring Data).
+ * ============================================================
+ */
+final class ProjetPipelines {
+
+    private static final String TACHES = "$taches";
+
+    // Champs temporaires : la tâche modifiée, avant et après la modification
+    private static final String AVANT = "_avant";
+    private static final String APRES = "_apres";
+
+    private ProjetPipelines() {
+    }
+
+    // ============================================================
+    // ÉTAPES DE MODIFICATION DE LA LISTE DES TÂCHES
+    // ============================================================
+
+    /** Ajoute le document d'une tâche à la fin de la liste. */
+    static AggregationOperation ajouterTache(Document tache) {
+        return ajouterTaches(List.of(tache));
+    }
+
+    /** Ajoute les documents de plusieurs tâches à la fin de la liste, dans l'ordre. */
+    static AggregationOperation ajouterTaches(List<Document> taches) {
+        // $literal : le contenu saisi par l'utilisateur n'est jamais interprété
+        // comme une expression (ex : un titre commençant par "$")
+        Document nouvellesTaches = new Document("$concatArrays",
+                List.of(tachesOuVide(), new Document("$literal", taches)));
+        return etapeSet(new Document("taches", nouvellesTaches));
+    }
+
+    /** Retire la tâche d'identifiant donné de la liste. */
+    static AggregationOperation retirerTache(String tacheId) {
+        Document filtre = new Document("$filter", new Document("input", tachesOuVide())
+                .append("cond", new Document("$ne", List.of("$$this._id", literal(idTache(tacheId))))));
+        return etapeSet(new Document("taches", filtre));
+    }
+
+    /**
+     * Change le statut de la tâche d'identifiant donné et recalcule son
+     * indicateur de retard (même règle que Tache.verifierRetard()).
+     */
+    static AggregationOperation modifierStatutTache(String tacheId, StatutTache nouveauStatut, Date aujourdHui) {
+        return modifierTache(tacheId, new Document("statut", literal(nouveauStatut.getValeur()))
+                .append("enRetard", retardSelonStatut(nouveauStatut, "$$this.dateLimite", aujourdHui)));
+    }
+
+    /**
+     * Expression de l'indicateur de retard d'une tâche passant au statut
+     * donné (même règle que Tache.verifierRetard()).
+     *
+     * @param champDateLimite la date limite de la tâche (ex : "$$this.dateLimite")
+     */
+    static Object retardSelonStatut(StatutTache nouveauStatut, String champDateLimite, Date aujourdHui) {
+        // Une tâche terminée n'est jamais en retard
+        if (nouveauStatut == StatutTache.DONE) {
+            return Boolean.FALSE;
+        }
+        return new Document("$and", List.of(
+                estUneDate(champDateLimite),
+                new Document("$lt", List.of(champDateLimite, aujourdHui))));
+    }
+
+    /**
+     * Expression vraie si une tâche est en retard : non terminée et date
+     * limite dépassée (même règle que Tache.verifierRetard()).
+     *
+     * @param prefixe préfixe des champs de la tâche (ex : "$$this." ou "$")
+     */
+    static Document tacheEnRetard(String prefixe, Date aujourdHui) {
+        return new Document("$and", List.of(
+                estUneDate(prefixe + "dateLimite"),
+                new Document("$lt", List.of(prefixe + "dateLimite", aujourdHui)),
+                new Document("$ne", List.of(prefixe + "statut", "DONE"))));
+    }
+
+    /** Assigne la tâche d'identifiant donné à un membre (null : plus d'assignation). */
+    static AggregationOperation assignerTache(String tacheId, String assigneA) {
+        return modifierTache(tacheId, new Document("assigneA", literal(assigneA)));
+    }
+
+    /**
+     * Marque en retard toutes les tâches non terminées dont la date limite
+     * est dépassée (balayage quotidien des retards).
+     */
+    static AggregationOperation marquerTachesEnRetard(Date aujourdHui) {
+        Document map = new Document("$map", new Document("input", tachesOuVide())
+                .append("in", new Document("$cond", List.of(
+                        tacheEnRetard("$$this.", aujourdHui),
+                        new Document("$mergeObjects", List.of("$$this", new Document("enRetard", true))),
+                        "$$this"))));
+        return etapeSet(new Document("taches", map));
+    }
+
+    /** Remplace des champs de la tâche d'identifiant donné (expressions évaluées sur $$this). */
+    private static AggregationOperation modifierTache(String tacheId, Document champs) {
+        Document tacheModifiee = new Document("$mergeObjects", List.of("$$this", champs));
+        Document map = new Document("$map", new Document("input", tachesOuVide())
+                .append("in", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$$this._id", literal(idTache(tacheId)))),
+                        tacheModifiee,
+                        "$$this"))));
+        return etapeSet(new Document("taches", map));
+    }
+
+    // ============================================================
+    // PIPELINE COMPLET D'UNE MUTATION DE TÂCHE
+    // ============================================================
+
+    /**
+     * Assemble le pipeline d'une mutation de tâche :
+     * compteurs initialisés si absents → capture avant → modification →
+     * capture après → ajustement des compteurs → avancement → statut → version.
+     *
+     * @param idTache      identifiant STOCKÉ de la tâche concernée (voir idTache())
+     * @param modification étape de modification de la liste des tâches
+     * @param aujourdHui   date du jour (voir aujourdHui())
+     */
+    static List<AggregationOperation> mutationTache(Object idTache, AggregationOperation modification,
+                                                    Date aujourdHui) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(initialiserCompteursSiAbsents());
+        etapes.add(capturerTache(AVANT, idTache));
+        etapes.add(modification);
+        etapes.add(capturerTache(APRES, idTache));
+        etapes.add(ajusterCompteurs());
+        etapes.add(contexte -> new Document("$unset", List.of(AVANT, APRES)));
+        etapes.addAll(recalculerAvancementEtStatut(aujourdHui));
+        etapes.add(incrementerVersion());
+        return etapes;
+    }
+
+    /**
+     * Assemble le pipeline d'un lot de modifications de la liste des tâches
+     * d'un même projet : modifications dans l'ordre → compteurs recalculés
+     * une seule fois → avancement → statut → version.
+     *
+     * @param modifications étapes de modification de la liste des tâches
+     * @param aujourdHui    date du jour (voir aujourdHui())
+     */
+    static List<AggregationOperation> lotDeTaches(List<AggregationOperation> modifications, Date aujourdHui) {
+        List<AggregationOperation> etapes = new ArrayList<>(modifications);
+        etapes.add(reconstruireCompteurs());
+        etapes.addAll(recalculerAvancementEtStatut(aujourdHui));
+        etapes.add(incrementerVersion());
+        return etapes;
+    }
+
+    // ============================================================
+    // ÉTAPES SUR LES COMPTEURS
+    // ============================================================
+
+    /**
+     * Recalcule tous les compteurs en parcourant la liste des tâches
+     * (même règle que CompteursTaches.calculer()). Réservé à la
+     * reconstruction et aux documents qui n'ont pas encore de compteurs.
+     */
+    static Document compteursRecalcules() {
+        return new Document("total", new Document("$size", tachesOuVide()))
+                .append("toDo", compterTaches(new Document("$eq", List.of("$$this.statut", "TO_DO"))))
+                .append("doing", compterTaches(new Document("$eq", List.of("$$this.statut", "DOING"))))
+                .append("done", compterTaches(new Document("$eq", List.of("$$this.statut", "DONE"))))
+                .append("enRetard", compterTaches(new Document("$eq", List.of("$$this.enRetard", true))));
+    }
+
+    /** Remplace les compteurs par leur valeur recalculée. */
+    static AggregationOperation reconstruireCompteurs() {
+        return etapeSet(new Document("compteurs", compteursRecalcules()));
+    }
+
+    /**
+     * Condition vraie lorsqu'au moins un compteur stocké diffère de sa
+     * valeur recalculée (à utiliser dans un $expr pour détecter la dérive).
+     */
+    static Document compteursDerives() {
+        Document recalcules = compteursRecalcules();
+        List<Document> differences = new ArrayList<>();
+        recalcules.forEach((champ, valeur) -> differences.add(
+                new Document("$ne", List.of("$compteurs." + champ, valeur))));
+        return new Document("$or", differences);
+    }
+
+    /**
+     * Ajoute un écart (positif ou négatif) aux compteurs stockés : tâches
+     * stockées à part, dont la liste n'est pas dans le document.
+     */
+    static AggregationOperation decalerCompteurs(CompteursTaches ecart) {
+        Document compteurs = new Document();
+        valeursCompteurs(ecart).forEach((champ, valeur) -> compteurs.append("compteurs." + champ,
+                new Document("$add", List.of(new Document("$ifNull", List.of("$compteurs." + champ, 0)), valeur))));
+        return etapeSet(compteurs);
+    }
+
+    /** Remplace les compteurs par des valeurs calculées ailleurs (collection "taches"). */
+    static AggregationOperation fixerCompteurs(CompteursTaches compteurs) {
+        return etapeSet(new Document("compteurs", literal(new Document(valeursCompteurs(compteurs)))));
+    }
+
+    /** Recompte uniquement les tâches en retard (après un balayage des retards). */
+    static AggregationOperation recompterTachesEnRetard() {
+        return etapeSet(new Document("compteurs.enRetard", compteursRecalcules().get("enRetard")));
+    }
+
+    /** Documents antérieurs aux compteurs : calcul complet, une seule fois. */
+    static AggregationOperation initialiserCompteursSiAbsents() {
+        return etapeSet(new Document("compteurs", new Document("$cond", List.of(
+                new Document("$eq", List.of(new Document("$type", "$compteurs"), "object")),
+                "$compteurs",
+                compteursRecalcules()))));
+    }
+
+    /** Copie la tâche d'identifiant donné dans un champ temporaire (absent si introuvable). */
+    private static AggregationOperation capturerTache(String champ, Object idTache) {
+        Document tache = new Document("$arrayElemAt", List.of(new Document("$filter",
+                new Document("input", tachesOuVide())
+                        .append("cond", new Document("$eq", List.of("$$this._id", literal(idTache))))), 0));
+        return etapeSet(new Document(champ, tache));
+    }
+
+    /** Ajoute à chaque compteur la contribution de la tâche après, moins celle d'avant. */
+    private static AggregationOperation ajusterCompteurs() {
+        Document compteurs = new Document();
+        for (String champ : List.of("total", "toDo", "doing", "done", "enRetard")) {
+            Document ecart = new Document("$subtract", List.of(
+                    contribution(champ, "$" + APRES), contribution(champ, "$" + AVANT)));
+            compteurs.append("compteurs." + champ, new Document("$add", List.of(
+                    new Document("$ifNull", List.of("$compteurs." + champ, 0)), ecart)));
+        }
+        return etapeSet(compteurs);
+    }
+
+    /** 1 si la tâche (champ temporaire) compte dans ce compteur, 0 sinon. */
+    private static Document contribution(String compteur, String tache) {
+        Document condition = switch (compteur) {
+            case "total" -> new Document("$eq", List.of(new Document("$type", tache), "object"));
+            case "toDo" -> new Document("$eq", List.of(tache + ".statut", "TO_DO"));
+            case "doing" -> new Document("$eq", List.of(tache + ".statut", "DOING"));
+            case "done" -> new Document("$eq", List.of(tache + ".statut", "DONE"));
+            default -> new Document("$eq", List.of(tache + ".enRetard", true));
+        };
+        return new Document("$cond", List.of(condition, 1, 0));
+    }
+
+    private static Map<String, Object> valeursCompteurs(CompteursTaches compteurs) {
+        Map<String, Object> valeurs = new LinkedHashMap<>();
+        valeurs.put("total", compteurs.getTotal());
+        valeurs.put("toDo", compteurs.getToDo());
+        valeurs.put("doing", compteurs.getDoing());
+        valeurs.put("done", compteurs.getDone());
+        valeurs.put("enRetard", compteurs.getEnRetard());
+        return valeurs;
+    }
+
+    private static Document compterTaches(Document condition) {
+        return new Document("$size", new Document("$filter",
+                new Document("input", tachesOuVide()).append("cond", condition)));
+    }
+
+    // ============================================================
+    // ÉTAPES DE RECALCUL (à placer APRÈS les compteurs)
+    // ============================================================
+
+    /**
+     * Déduit avancement (O(1), depuis les compteurs) puis statut.
+     * Deux étapes distinctes : le statut dépend de l'avancement recalculé.
+     */
+    static List<AggregationOperation> recalculerAvancementEtStatut(Date aujourdHui) {
+        // (terminées / total) * 100, ou 0 si aucune tâche
+        Document avancement = new Document("$cond", List.of(
+                new Document("$eq", List.of("$compteurs.total", 0)),
+                0.0,
+                new Document("$multiply", List.of(
+                        new Document("$divide", List.of("$compteurs.done", "$compteurs.total")), 100))));
+
+        Document statut = new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$and", List.of(
+                        estUneDate("$dateLimite"),
+                        new Document("$lt", List.of("$dateLimite", aujourdHui)),
+                        new Document("$lt", List.of("$avancement", 100)))))
+                        .append("then", "EN_RETARD"),
+                new Document("case", new Document("$gte", List.of("$avancement", 100)))
+                        .append("then", "TERMINÉ")))
+                .append("default", "EN_COURS"));
+
+        return List.of(
+                etapeSet(new Document("avancement", avancement)),
+                etapeSet(new Document("statut", statut)));
+    }
+
+    /**
+     * Incrémente la version du document (verrouillage optimiste) :
+     * un save() concurrent basé sur l'ancienne version échouera.
+     */
+    static AggregationOperation incrementerVersion() {
+        return etapeSet(new Document("version",
+                new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1))));
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /**
+     * Date du jour à minuit (fuseau du serveur), au format stocké par
+     * Spring Data pour un LocalDate. "dateLimite < aujourdHui" équivaut
+     * à LocalDate.now().isAfter(dateLimite).
+     */
+    static Date aujourdHui() {
+        return Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Valeur stockée d'un identifiant de tâche : Spring Data écrit en ObjectId
+     * les identifiants hexadécimaux valides (tâches créées depuis l'abandon
+     * des UUID), et tels quels les autres (UUID des tâches plus anciennes).
+     */
+    static Object idTache(String tacheId) {
+        return ObjectId.isValid(tacheId) ? new ObjectId(tacheId) : tacheId;
+    }
+
+    private static AggregationOperation etapeSet(Document champs) {
+        return contexte -> new Document("$set", champs);
+    }
+
+    private static Document tachesOuVide() {
+        return new Document("$ifNull", List.of(TACHES, List.of()));
+    }
+
+    private static Document estUneDate(String champ) {
+        return new Document("$eq", List.of(new Document("$type", champ), "date"));
+    }
+
+    private static Document literal(Object valeur) {
+        return new Document("$literal", valeur);
+    }
+}
@@ -1,10 +1,14 @@
 package com.supcom.projetuniversitaire.repository;
 
 import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * ============================================================
@@ -20,10 +24,15 @@ import java.util.List;
  *
  * On peut également déclarer des méthodes personnalisées
  * que Spring Data MongoDB traduit automatiquement en requêtes.
+ * Les méthodes prenant un paramètre Class<T> sont des projections
+ * dynamiques. La vue résumé (ProjetResume, avec un champ calculé) est
+ * lue par ProjetRepositoryCustom.resumes().
+ * Les mises à jour atomiques écrites à la main (MongoTemplate)
+ * sont déclarées dans ProjetRepositoryCustom.
  * ============================================================
  */
 @Repository
-public interface ProjetRepository extends MongoRepository<Projet, String> {
+public interface ProjetRepository extends MongoRepository<Projet, String>, ProjetRepositoryCustom {
 
     /**
      * Recherche des projets par leur statut.
@@ -32,7 +41,7 @@ public interface ProjetRepository extends MongoRepository<Projet, String> {
      * @param statut le statut à filtrer ("EN_COURS", "TERMINÉ", "EN_RETARD")
      * @return liste des projets correspondants
      */
-    List<Projet> findByStatut(String statut);
+    List<Projet> findByStatut(StatutProjet statut);
 
     /**
      * Recherche des projets contenant un membre spécifique.
@@ -52,11 +61,62 @@ public interface ProjetRepository extends MongoRepository<Projet, String> {
     List<Projet> findByMatiere(String matiere);
 
     /**
-     * Recherche des projets dont le titre contient une chaîne (insensible à la casse).
-     * Utile pour la fonctionnalité de recherche.
+     * Recherche plein texte sur l'index texte (titre, description, matière,
+     * titre et description des tâches). Insensible à la casse et aux accents,
+     * avec racinisation française ("rapports" trouve "rapport").
+     * Trier sur "score" pour classer les résultats par pertinence.
      *
-     * @param titre fragment du titre à rechercher
-     * @return liste des projets correspondants
+     * @param criteres les termes recherchés
+     * @param pageable page, taille et tri (ex : Sort.by("score"))
+     * @return les projets correspondants, avec leur score
+     */
+    List<Projet> findAllBy(TextCriteria criteres, Pageable pageable);
+
+    // ============================================================
+    // PAGINATION PAR CURSEUR (KEYSET) ET LECTURE EN FLUX
+    // ============================================================
+
+    /**
+     * Première page de projets, sans requête de comptage.
+     * Le tri (sur l'identifiant) et la taille sont portés par le Pageable.
+     *
+     * @param pageable taille de la page et ordre de tri
+     * @param type     la classe de projection (ex : Projet)
+     * @return les projets de la première page
+     */
+    <T> List<T> findAllBy(Pageable pageable, Class<T> type);
+
+    /**
+     * Page suivante en ordre croissant : projets dont l'identifiant est
+     * strictement supérieur au curseur (dernier identifiant reçu).
+     * S'appuie sur l'index _id : coût constant quelle que soit la page.
+     *
+     * @param id       le curseur (identifiant du dernier projet de la page précédente)
+     * @param pageable taille de la page et ordre de tri
+     * @param type     la classe de projection (ex : Projet)
+     * @return les projets de la page suivante
+     */
+    <T> List<T> findByIdGreaterThan(String id, Pageable pageable, Class<T> type);
+
+    /**
+     * Page suivante en ordre décroissant : projets dont l'identifiant est
+     * strictement inférieur au curseur.
+     *
+     * @param id       le curseur (identifiant du dernier projet de la page précédente)
+     * @param pageable taille de la page et ordre de tri
+     * @param type     la classe de projection (ex : Projet)
+     * @return les projets de la page suivante
+     */
+    <T> List<T> findByIdLessThan(String id, Pageable pageable, Class<T> type);
+
+    /**
+     * Parcourt toute la collection à travers un curseur MongoDB.
+     * Les documents sont lus par lots au fil de la consommation du Stream :
+     * la mémoire utilisée reste constante quelle que soit la taille de la collection.
+     * Le Stream DOIT être fermé après usage (try-with-resources).
+     *
+     * @param type la classe de projection (ex : Projet)
+     * @return flux des projets, dans l'ordre naturel de la collection
      */
-    List<Projet> findByTitreContainingIgnoreCase(String titre);
+    <T> Stream<T> streamAllBy(Class<T> type);
 }
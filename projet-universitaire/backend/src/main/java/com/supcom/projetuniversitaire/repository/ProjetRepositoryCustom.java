@@ -0,0 +1,394 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.dto.ProjetDuMembre;
+import com.supcom.projetuniversitaire.dto.ProjetResume;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatistiquesProjets;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * ============================================================
+ * REPOSITORY PERSONNALISÉ : ProjetRepositoryCustom
+ * ============================================================
+ * Opérations MongoDB écrites à la main (via MongoTemplate) pour les
+ * cas que Spring Data ne sait pas dériver du nom de méthode.
+ *
+ * Les mutations de tâches et de membres sont des mises à jour
+ * ATOMIQUES et CIBLÉES : un seul aller-retour vers MongoDB, sans
+ * relire ni réécrire le document complet. Deux étudiants qui déplacent
+ * des cartes du même Kanban au même moment ne s'écrasent plus.
+ *
+ * Chaque mutation ajuste aussi les compteurs de tâches par statut
+ * (CompteursTaches) et retourne le projet APRÈS modification,
+ * ou Optional.empty() si le projet n'existe pas.
+ *
+ * versionAttendue (If-Match) : si elle est fournie, la mutation ne
+ * s'applique que si le projet est encore à cette version ; sinon
+ * Optional.empty() est retourné. null : pas de condition.
+ *
+ * Les mutations et opérations par lot sur la liste "taches" ne
+ * concernent que les projets aux tâches EMBARQUÉES ; pour les tâches
+ * stockées à part (collection "taches"), seuls les compteurs sont
+ * tenus à jour ici (voir la section STOCKAGE SÉPARÉ DES TÂCHES).
+ * ============================================================
+ */
+public interface ProjetRepositoryCustom {
+
+    /**
+     * Ajoute une tâche à la fin de la liste et recalcule avancement/statut
+     * dans la même opération.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tache    la tâche à ajouter (retard déjà vérifié)
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @return le projet mis à jour, ou Optional.empty() si le projet n'existe pas,
+     *         n'est plus à la version attendue ou contient déjà une tâche de
+     *         même identifiant (rien n'est écrit)
+     */
+    Optional<Projet> ajouterTache(String projetId, Tache tache, Long versionAttendue);
+
+    /**
+     * Change le statut d'une tâche, met à jour son indicateur de retard
+     * et recalcule avancement/statut dans la même opération.
+     * Si la tâche n'existe pas, rien n'est écrit (Optional.empty()).
+     *
+     * @param projetId      l'identifiant du projet
+     * @param tacheId       l'identifiant de la tâche
+     * @param nouveauStatut le nouveau statut ("TO_DO", "DOING", "DONE")
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @return le projet mis à jour
+     */
+    Optional<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut,
+                                         Long versionAttendue);
+
+    /**
+     * Retire une tâche de la liste et recalcule avancement/statut
+     * dans la même opération. Si la tâche n'existe pas, rien n'est écrit
+     * (Optional.empty()).
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche à retirer
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @return le projet mis à jour
+     */
+    Optional<Projet> retirerTache(String projetId, String tacheId, Long versionAttendue);
+
+    /**
+     * Ajoute un membre au groupe s'il n'y figure pas déjà ; un membre déjà
+     * présent laisse le projet intact (version comprise).
+     *
+     * @param projetId l'identifiant du projet
+     * @param membre   le nom/email du membre
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @return le projet mis à jour, vide si rien n'a été écrit (projet absent,
+     *         version différente ou membre déjà présent)
+     */
+    Optional<Projet> ajouterMembre(String projetId, String membre, Long versionAttendue);
+
+    /**
+     * Incrémente la révision de la collection des projets : un compteur
+     * unique (collection "revisions"), à incrémenter APRÈS chaque écriture
+     * de projets (création, modification, suppression, écriture en masse).
+     * Il ne fait que croître : il sert d'ETag aux listes de projets.
+     */
+    void incrementerRevision();
+
+    /**
+     * Révision actuelle de la collection des projets (lecture d'un seul
+     * document, par son identifiant).
+     *
+     * @return la révision, 0 si aucune écriture n'a encore été comptée
+     */
+    long revisionProjets();
+
+    /**
+     * Répartition des projets par statut, avec la somme de leurs compteurs
+     * de tâches, calculée par MongoDB ($group) sans transférer les documents.
+     *
+     * @return un document par statut de projet :
+     *         { _id: statut, projets, taches, toDo, doing, done }
+     */
+    List<Document> repartitionParStatut();
+
+    /**
+     * Statistiques du tableau de bord, calculées par deux agrégations
+     * $facet sans transférer les documents :
+     *   - sur les projets : total, par statut, avancement moyen, par matière ;
+     *   - sur les tâches embarquées ($unwind) et la collection "taches"
+     *     ($unionWith) : compteurs par statut, retards, complétion par membre.
+     *
+     * @return les statistiques (sans identifiant ni date de calcul)
+     */
+    StatistiquesProjets calculerStatistiques();
+
+    /**
+     * Initialise à 0 la version des projets qui n'en ont pas encore
+     * (documents antérieurs au verrouillage optimiste).
+     *
+     * @return le nombre de projets mis à jour
+     */
+    long initialiserVersionsManquantes();
+
+    /**
+     * Recalcule, à partir des tâches, les compteurs des projets dont les
+     * compteurs matérialisés ne correspondent plus à la réalité, puis
+     * leur avancement et leur statut.
+     *
+     * @return le nombre de projets réparés
+     */
+    long reconstruireCompteursDerives();
+
+    /**
+     * Réécrit sous leur valeur canonique les statuts de projet et les
+     * statuts et priorités des tâches intégrées enregistrés avant les
+     * énumérations ("done", "Terminé", valeur inconnue ou absente).
+     *
+     * @return le nombre de mises à jour de documents
+     */
+    long normaliserValeursAnciennes();
+
+    // ============================================================
+    // LECTURE PARTIELLE DES TÂCHES
+    // ============================================================
+
+    /**
+     * Identifiant, version et format de stockage des tâches d'un projet,
+     * sans lire ses tâches ni ses autres champs.
+     *
+     * @param projetId l'identifiant du projet
+     * @return le projet réduit à ces champs, ou Optional.empty() s'il n'existe pas
+     */
+    Optional<Projet> enTeteProjet(String projetId);
+
+    /**
+     * Une page des tâches EMBARQUÉES d'un projet, filtrée, triée et
+     * découpée par MongoDB ($unwind, $match, $sort, $limit) : seules les
+     * tâches de la page sont transférées. Le champ "ordre" de chaque
+     * tâche retournée est son rang dans la liste.
+     *
+     * @param projetId l'identifiant du projet
+     * @param criteres filtres, tri, curseur et taille de page
+     * @return au plus criteres.taille tâches, dans l'ordre de tri
+     */
+    List<TacheProjet> pageDeTachesEmbarquees(String projetId, CriteresTaches criteres);
+
+    // ============================================================
+    // CHARGE D'UN MEMBRE (tous projets confondus)
+    // ============================================================
+
+    /**
+     * Projets d'un membre (membre du groupe ou assigné à au moins une
+     * tâche) avec uniquement ses tâches, en une seule agrégation :
+     *   - projets aux tâches embarquées : $match sur les index multiclés
+     *     "membres" et "taches.assigneA", puis $filter des tâches ;
+     *   - projets aux tâches séparées : $unionWith sur la collection
+     *     "taches" (index "assigneA") et $lookup du projet parent ;
+     *   - $group final par projet pour fusionner les deux branches.
+     * Nécessite MongoDB 4.4+ ($unionWith).
+     *
+     * @param membre le membre (email ou nom, tel qu'enregistré)
+     * @return les projets triés par date limite, tâches du membre incluses
+     */
+    List<ProjetDuMembre> chargeDuMembre(String membre);
+
+    // ============================================================
+    // OPÉRATIONS DE TÂCHES PAR LOT
+    // ============================================================
+
+    /**
+     * Identifiants des tâches de chaque projet existant parmi ceux demandés
+     * (seuls les identifiants sont lus, pas le contenu des tâches).
+     *
+     * @param projetIds les identifiants de projets
+     * @return pour chaque projet existant, les identifiants de ses tâches
+     */
+    Map<String, Set<String>> idsDesTaches(Collection<String> projetIds);
+
+    /**
+     * Applique des opérations de tâches (déjà validées) en UN SEUL bulkWrite :
+     * une mise à jour par projet, qui enchaîne ses opérations dans l'ordre
+     * puis recalcule une seule fois compteurs, avancement et statut.
+     *
+     * @param operationsParProjet opérations à appliquer, groupées par projet
+     * @return le nombre de projets modifiés
+     */
+    long appliquerOperationsTaches(Map<String, List<OperationTache>> operationsParProjet);
+
+    // ============================================================
+    // BALAYAGE DES RETARDS (par lots)
+    // ============================================================
+
+    /**
+     * Marque "enRetard" les tâches dépassées et non terminées d'un lot de
+     * projets, puis met à jour leurs compteurs, avancement et statut.
+     *
+     * @param tailleLot nombre maximal de projets traités
+     * @return le nombre de projets modifiés (0 quand il n'y a plus rien à faire)
+     */
+    long marquerTachesEnRetard(int tailleLot);
+
+    /**
+     * Passe à "EN_RETARD" un lot de projets "EN_COURS" dont la date
+     * limite est dépassée.
+     *
+     * @param tailleLot nombre maximal de projets traités
+     * @return le nombre de projets modifiés (0 quand il n'y a plus rien à faire)
+     */
+    long marquerProjetsEnRetard(int tailleLot);
+
+    // ============================================================
+    // STOCKAGE SÉPARÉ DES TÂCHES (collection "taches")
+    // ============================================================
+
+    /**
+     * Ajoute un écart aux compteurs d'un projet aux tâches séparées et
+     * recalcule avancement/statut dans la même opération.
+     *
+     * @param projetId l'identifiant du projet
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @param ecart    l'écart à ajouter (voir CompteursTaches.ecart())
+     * @return le projet mis à jour (sans ses tâches), ou Optional.empty() si le
+     *         projet n'existe pas, n'est plus à la version attendue ou a ses tâches embarquées
+     */
+    Optional<Projet> ajusterCompteurs(String projetId, Long versionAttendue, CompteursTaches ecart);
+
+    /**
+     * Réserve une version d'un projet aux tâches séparées avant d'écrire
+     * dans la collection "taches" : incrémente la version si, et seulement
+     * si, le projet est encore à la version attendue (If-Match), en une
+     * seule opération. De deux écritures à la même version attendue, une
+     * seule obtient la réservation.
+     *
+     * @param projetId        l'identifiant du projet
+     * @param versionAttendue la version exigée du projet
+     * @return true si la version a été réservée, false si le projet n'existe
+     *         pas, n'est plus à cette version ou a ses tâches embarquées
+     */
+    boolean reserverVersion(String projetId, long versionAttendue);
+
+    /**
+     * Remplace les compteurs de projets aux tâches séparées (recalculés
+     * sur la collection "taches") et recalcule avancement/statut,
+     * en un seul bulkWrite.
+     *
+     * @param compteursParProjet les compteurs de chaque projet
+     * @return le nombre de projets modifiés
+     */
+    long remplacerCompteurs(Map<String, CompteursTaches> compteursParProjet);
+
+    /**
+     * Identifiant, version et compteurs d'un lot de projets aux tâches
+     * séparées, par identifiant croissant (réparation des compteurs).
+     *
+     * @param apres  identifiant du dernier projet du lot précédent (null : premier lot)
+     * @param taille nombre maximal de projets
+     * @return les projets du lot, sans leurs tâches
+     */
+    List<Projet> compteursSepares(String apres, int taille);
+
+    /**
+     * Identifiant, version et compteurs des projets demandés, s'ils ont
+     * leurs tâches séparées.
+     *
+     * @param projetIds les identifiants de projets
+     * @return les projets trouvés, sans leurs tâches
+     */
+    List<Projet> compteursSepares(Collection<String> projetIds);
+
+    /**
+     * Remplace les compteurs d'un projet aux tâches séparées et recalcule
+     * avancement/statut, UNIQUEMENT s'il est encore à la version lue :
+     * une mutation intervenue depuis la lecture n'est jamais écrasée.
+     *
+     * @param projetId  l'identifiant du projet
+     * @param versionLue la version lue avec les compteurs à remplacer
+     * @param compteurs les compteurs recalculés sur la collection "taches"
+     * @return true si le projet a été modifié
+     */
+    boolean remplacerCompteurs(String projetId, long versionLue, CompteursTaches compteurs);
+
+    /**
+     * Parmi les projets demandés, ceux dont les tâches sont stockées à part.
+     *
+     * @param projetIds les identifiants de projets
+     * @return les identifiants des projets aux tâches séparées
+     */
+    Set<String> projetsAvecTachesSeparees(Collection<String> projetIds);
+
+    /**
+     * Projets aux tâches embarquées ayant au moins seuil tâches :
+     * candidats à la migration vers la collection "taches".
+     *
+     * @param seuil  nombre minimal de tâches
+     * @param limite nombre maximal de projets retournés
+     * @return les identifiants des projets à migrer
+     */
+    List<String> projetsAMigrer(int seuil, int limite);
+
+    /**
+     * Dernière étape de la migration d'un projet : recalcule ses compteurs
+     * depuis la liste embarquée, retire cette liste et marque le projet
+     * comme ayant ses tâches séparées, si et seulement si le projet est
+     * encore à la version dont les tâches ont été copiées.
+     *
+     * @param projetId l'identifiant du projet
+     * @param version  la version du projet au moment de la copie
+     * @return true si le projet a basculé, false s'il a été modifié entre-temps
+     */
+    boolean basculerVersTachesSeparees(String projetId, Long version);
+
+    /**
+     * Insère un lot de nouveaux projets (import) en une seule commande
+     * MongoDB, sans ordre imposé : un projet refusé (identifiant déjà
+     * pris...) n'empêche pas l'insertion des autres.
+     *
+     * @param projets les projets à insérer
+     * @return la raison du refus de chaque projet refusé, par position dans le lot
+     */
+    Map<Integer, String> insererProjets(List<Projet> projets);
+
+    // ============================================================
+    // VUE RÉSUMÉ (ProjetResume)
+    // ============================================================
+
+    /**
+     * Résumés des projets : seuls les champs de ProjetResume sont
+     * transférés, le nombre de membres est calculé par MongoDB.
+     *
+     * @param statut le statut à filtrer (null : tous les projets)
+     * @return les résumés des projets
+     */
+    List<ProjetResume> resumes(StatutProjet statut);
+
+    /**
+     * Page de résumés par curseur sur l'identifiant (voir findByIdGreaterThan()).
+     *
+     * @param apres    identifiant du dernier projet de la page précédente (null : première page)
+     * @param pageable taille de la page et ordre de tri sur l'identifiant
+     * @return les résumés de la page
+     */
+    List<ProjetResume> pageDeResumes(String apres, Pageable pageable);
+
+    /**
+     * Parcourt les résumés de tous les projets à travers un curseur MongoDB.
+     * Le Stream DOIT être fermé après usage (try-with-resources).
+     *
+     * @return flux des résumés, dans l'ordre naturel de la collection
+     */
+    Stream<ProjetResume> streamResumes();
+}
@@ -0,0 +1,728 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.dto.ProjetDuMembre;
+import com.supcom.projetuniversitaire.dto.ProjetResume;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatistiquesProjets;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ============================================================
+ * IMPLÉMENTATION : ProjetRepositoryCustomImpl
+ * ============================================================
+ * Implémentation des opérations personnalisées de ProjetRepository.
+ * Spring Data la détecte grâce au suffixe "Impl" et la combine
+ * automatiquement avec les méthodes générées.
+ *
+ * Chaque mutation est un findAndModify unique : MongoDB applique la
+ * modification et renvoie le document à jour dans le même aller-retour.
+ * ============================================================
+ */
+public class ProjetRepositoryCustomImpl implements ProjetRepositoryCustom {
+
+    // Accès bas niveau à MongoDB (requêtes et mises à jour ciblées)
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Code d'erreur MongoDB d'une clé unique en double (E11000)
+    private static final int CODE_CLE_EN_DOUBLE = 11000;
+
+    // Révision de la collection des projets : un document de la collection "revisions"
+    static final String COLLECTION_REVISIONS = "revisions";
+    static final String REVISION_PROJETS = "projets";
+    static final String CHAMP_REVISION = "revision";
+
+    @Override
+    public Optional<Projet> ajouterTache(String projetId, Tache tache, Long versionAttendue) {
+        Document document = documentTache(tache);
+        // Identifiant fourni par le client déjà pris dans le projet : rien n'est écrit
+        return modifierTaches(projetId, versionAttendue, document.get("_id"),
+                Criteria.where("taches._id").ne(document.get("_id")), ProjetPipelines.ajouterTache(document));
+    }
+
+    @Override
+    public Optional<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut,
+                                                Long versionAttendue) {
+        Object idTache = ProjetPipelines.idTache(tacheId);
+        return modifierTaches(projetId, versionAttendue, idTache, tachePresente(idTache),
+                ProjetPipelines.modifierStatutTache(tacheId, nouveauStatut, ProjetPipelines.aujourdHui()));
+    }
+
+    @Override
+    public Optional<Projet> retirerTache(String projetId, String tacheId, Long versionAttendue) {
+        Object idTache = ProjetPipelines.idTache(tacheId);
+        return modifierTaches(projetId, versionAttendue, idTache, tachePresente(idTache),
+                ProjetPipelines.retirerTache(tacheId));
+    }
+
+    @Override
+    public Optional<Projet> ajouterMembre(String projetId, String membre, Long versionAttendue) {
+        // Filtre membres ≠ membre : un membre déjà présent ne touche ni la liste ni la version
+        return modifierEtRelire(projetId, versionAttendue, Criteria.where("membres").ne(membre),
+                new Update().addToSet("membres", membre).inc("version", 1));
+    }
+
+    @Override
+    public void incrementerRevision() {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(REVISION_PROJETS)),
+                new Update().inc(CHAMP_REVISION, 1L), COLLECTION_REVISIONS);
+    }
+
+    @Override
+    public long revisionProjets() {
+        Document revision = mongoTemplate.findById(REVISION_PROJETS, Document.class, COLLECTION_REVISIONS);
+        return revision == null ? 0 : ((Number) revision.get(CHAMP_REVISION)).longValue();
+    }
+
+    @Override
+    public List<Document> repartitionParStatut() {
+        Aggregation repartition = Aggregation.newAggregation(
+                Aggregation.group("statut")
+                        .count().as("projets")
+                        .sum("compteurs.total").as("taches")
+                        .sum("compteurs.toDo").as("toDo")
+                        .sum("compteurs.doing").as("doing")
+                        .sum("compteurs.done").as("done"));
+        return mongoTemplate.aggregate(repartition, Projet.class, Document.class).getMappedResults();
+    }
+
+    @Override
+    public StatistiquesProjets calculerStatistiques() {
+        AggregationOptions options = AggregationOptions.builder().allowDiskUse(true).build();
+        StatistiquesProjets statistiques = mongoTemplate.aggregate(
+                Aggregation.newAggregation(etapesStatistiquesProjets()).withOptions(options),
+                mongoTemplate.getCollectionName(Projet.class), StatistiquesProjets.class).getUniqueMappedResult();
+        StatistiquesProjets taches = mongoTemplate.aggregate(
+                Aggregation.newAggregation(etapesStatistiquesTaches(ProjetPipelines.aujourdHui())).withOptions(options),
+                mongoTemplate.getCollectionName(Projet.class), StatistiquesProjets.class).getUniqueMappedResult();
+
+        // $facet renvoie toujours un document, même sur une collection vide
+        statistiques.setTaches(taches.getTaches());
+        statistiques.setParMembre(taches.getParMembre());
+        return statistiques;
+    }
+
+    /** Projets : une seule lecture de la collection, trois regroupements ($facet) */
+    private static List<AggregationOperation> etapesStatistiquesProjets() {
+        Document facettes = new Document("global", List.of(
+                        new Document("$group", new Document("_id", null)
+                                .append("projets", new Document("$sum", 1))
+                                .append("avancementMoyen", new Document("$avg", "$avancement")))))
+                .append("parStatut", List.of(
+                        new Document("$group", new Document("_id", new Document("$ifNull", List.of("$statut", "INCONNU")))
+                                .append("projets", new Document("$sum", 1)))))
+                .append("parMatiere", List.of(
+                        new Document("$group", new Document("_id", "$matiere")
+                                .append("projets", new Document("$sum", 1))
+                                .append("avancementMoyen", new Document("$avg", "$avancement"))
+                                .append("projetsEnRetard", new Document("$sum", new Document("$cond",
+                                        List.of(new Document("$eq", List.of("$statut", "EN_RETARD")), 1, 0))))),
+                        new Document("$sort", new Document("_id", 1)),
+                        new Document("$project", new Document("_id", 0).append("matiere", "$_id")
+                                .append("projets", 1).append("avancementMoyen", 1).append("projetsEnRetard", 1))));
+
+        List<AggregationOperation> etapes = new ArrayList<>();
+        // Seuls ces champs entrent dans $facet (pas la liste des tâches)
+        etapes.add(contexte -> new Document("$project",
+                new Document("statut", 1).append("matiere", 1).append("avancement", 1)));
+        etapes.add(contexte -> new Document("$facet", facettes));
+        etapes.add(contexte -> new Document("$project", new Document("_id", 0)
+                .append("projets", premier("$global.projets"))
+                .append("avancementMoyen", premier("$global.avancementMoyen"))
+                .append("parStatut", new Document("$arrayToObject", new Document("$map",
+                        new Document("input", "$parStatut")
+                                .append("in", new Document("k", "$$this._id")
+                                        .append("v", new Document("$toLong", "$$this.projets"))))))
+                .append("parMatiere", 1)));
+        return etapes;
+    }
+
+    /**
+     * Tâches : tâches embarquées déroulées ($unwind) puis tâches de la
+     * collection "taches" ($unionWith), regroupées en une seule passe ($facet).
+     * Seules les tâches des projets basculés en stockage séparé sont reprises
+     * de "taches" : les copies d'une migration en cours ou interrompue
+     * doubleraient les tâches encore embarquées.
+     * Le retard est évalué à la date du jour, sans attendre le balayage.
+     */
+    private List<AggregationOperation> etapesStatistiquesTaches(Date aujourdHui) {
+        Query separes = Query.query(Criteria.where("stockageTaches").is(Projet.TACHES_SEPAREES));
+        separes.fields().include("_id");
+        List<String> projetsSepares = mongoTemplate.find(separes, Projet.class).stream()
+                .map(Projet::getId)
+                .toList();
+
+        Document champsTache = new Document("_id", 0)
+                .append("assigneA", 1).append("statut", 1).append("dateLimite", 1);
+        Document facettes = new Document("taches", List.of(
+                        new Document("$group", new Document("_id", null)
+                                .append("total", new Document("$sum", 1))
+                                .append("toDo", sommeSi(new Document("$eq", List.of("$statut", "TO_DO"))))
+                                .append("doing", sommeSi(new Document("$eq", List.of("$statut", "DOING"))))
+                                .append("done", sommeSi(new Document("$eq", List.of("$statut", "DONE"))))
+                                .append("enRetard", sommeSi("$retard")))))
+                .append("parMembre", List.of(
+                        new Document("$match", new Document("assigneA", new Document("$nin", Arrays.asList(null, "")))),
+                        new Document("$group", new Document("_id", "$assigneA")
+                                .append("taches", new Document("$sum", 1))
+                                .append("terminees", sommeSi(new Document("$eq", List.of("$statut", "DONE"))))
+                                .append("enRetard", sommeSi("$retard"))),
+                        new Document("$sort", new Document("_id", 1)),
+                        new Document("$project", new Document("_id", 0).append("membre", "$_id")
+                                .append("taches", 1).append("terminees", 1).append("enRetard", 1)
+                                .append("tauxCompletion", new Document("$multiply", List.of(
+                                        new Document("$divide", List.of("$terminees", "$taches")), 100))))));
+
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(contexte -> new Document("$project", new Document("taches", 1)));
+        etapes.add(contexte -> new Document("$unwind", "$taches"));
+        etapes.add(contexte -> new Document("$replaceRoot", new Document("newRoot", "$taches")));
+        etapes.add(contexte -> new Document("$project", champsTache));
+        etapes.add(contexte -> new Document("$unionWith",
+                new Document("coll", mongoTemplate.getCollectionName(TacheProjet.class))
+                        .append("pipeline", List.of(
+                                new Document("$match", new Document("projetId", new Document("$in", projetsSepares))),
+                                new Document("$project", champsTache)))));
+        etapes.add(contexte -> new Document("$set",
+                new Document("retard", ProjetPipelines.tacheEnRetard("$", aujourdHui))));
+        etapes.add(contexte -> new Document("$facet", facettes));
+        etapes.add(contexte -> new Document("$project", new Document("taches",
+                        new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of("$taches", 0)), new Document())))
+                .append("parMembre", 1)));
+        return etapes;
+    }
+
+    /** Premier élément d'un tableau produit par $facet, 0 si vide */
+    private static Document premier(String champ) {
+        return new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of(champ, 0)), 0));
+    }
+
+    /** $sum de 1 pour chaque document vérifiant la condition */
+    private static Document sommeSi(Object condition) {
+        return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+    }
+
+    @Override
+    public long initialiserVersionsManquantes() {
+        // Documents créés avant le verrouillage optimiste : version absente.
+        // Sans version, Spring Data considérerait le projet comme nouveau (insert)
+        Query sansVersion = Query.query(Criteria.where("version").exists(false));
+        return mongoTemplate.updateMulti(sansVersion, new Update().set("version", 0L), Projet.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long reconstruireCompteursDerives() {
+        // Seuls les documents dont un compteur diffère de la réalité sont réécrits.
+        // Tâches séparées : pas de liste dans le document, compteurs non comparables
+        Query derives = new BasicQuery(new Document("$expr", ProjetPipelines.compteursDerives())
+                .append("stockageTaches", new Document("$ne", Projet.TACHES_SEPAREES)));
+
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.reconstruireCompteurs());
+        etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(ProjetPipelines.aujourdHui()));
+        etapes.add(ProjetPipelines.incrementerVersion());
+
+        return mongoTemplate.updateMulti(derives, AggregationUpdate.from(etapes), Projet.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long normaliserValeursAnciennes() {
+        String collection = mongoTemplate.getCollectionName(Projet.class);
+        return NormalisationValeurs.normaliserChamp(mongoTemplate, collection, "statut",
+                        StatutProjet.class, StatutProjet.EN_COURS)
+                + NormalisationValeurs.normaliserElements(mongoTemplate, collection, "taches", "statut",
+                        StatutTache.class, StatutTache.TO_DO)
+                + NormalisationValeurs.normaliserElements(mongoTemplate, collection, "taches", "priorite",
+                        PrioriteTache.class, PrioriteTache.MOYENNE);
+    }
+
+    @Override
+    public Optional<Projet> enTeteProjet(String projetId) {
+        Query query = Query.query(Criteria.where("id").is(projetId));
+        query.fields().include("_id", "version", "stockageTaches");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Projet.class));
+    }
+
+    @Override
+    public List<TacheProjet> pageDeTachesEmbarquees(String projetId, CriteresTaches criteres) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(Aggregation.match(Criteria.where("_id").is(
+                ObjectId.isValid(projetId) ? new ObjectId(projetId) : projetId)));
+        etapes.add(Aggregation.project("taches"));
+        // Une ligne par tâche, avec son rang dans la liste (champ "ordre")
+        etapes.add(Aggregation.unwind("taches", "ordre"));
+        etapes.add(contexte -> new Document("$replaceRoot", new Document("newRoot",
+                new Document("$mergeObjects", List.of("$taches", new Document("ordre", "$ordre"))))));
+        Criteria filtre = RequetesTaches.filtre(criteres);
+        if (filtre != null) {
+            etapes.add(Aggregation.match(filtre));
+        }
+        // $sort écrit directement : ses champs ("ordre", "dateLimite") ne sont
+        // exposés par aucune étape typée après le $replaceRoot
+        Document tri = new Document();
+        RequetesTaches.tri(criteres).forEach(ordre -> tri.append(ordre.getProperty(), ordre.isAscending() ? 1 : -1));
+        etapes.add(contexte -> new Document("$sort", tri));
+        etapes.add(Aggregation.limit(criteres.getTaille()));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(etapes),
+                mongoTemplate.getCollectionName(Projet.class), TacheProjet.class).getMappedResults();
+    }
+
+    @Override
+    public List<ProjetDuMembre> chargeDuMembre(String membre) {
+        // $literal : une valeur commençant par "$" ne doit pas être lue comme un champ
+        Document valeur = new Document("$literal", membre);
+        String collectionProjets = mongoTemplate.getCollectionName(Projet.class);
+
+        // Branche 2 : tâches séparées assignées au membre, regroupées par projet
+        List<Document> tachesSeparees = List.of(
+                new Document("$match", new Document("assigneA", membre)),
+                new Document("$group", new Document("_id", "$projetId")
+                        .append("taches", new Document("$push", "$$ROOT"))),
+                // projetId est stocké en chaîne, l'_id du projet est un ObjectId
+                new Document("$set", new Document("projetId", new Document("$convert",
+                        new Document("input", "$_id").append("to", "objectId")
+                                .append("onError", "$_id").append("onNull", "$_id")))),
+                new Document("$lookup", new Document("from", collectionProjets)
+                        .append("localField", "projetId").append("foreignField", "_id").append("as", "projet")),
+                // Tâches orphelines (projet supprimé) et copies d'une migration non basculée écartées
+                new Document("$unwind", "$projet"),
+                new Document("$match", new Document("projet.stockageTaches", Projet.TACHES_SEPAREES)),
+                new Document("$project", champsDuProjet("$projet.", valeur)
+                        .append("_id", "$projet._id")
+                        .append("taches", 1)));
+
+        List<AggregationOperation> etapes = new ArrayList<>();
+        // Branche 1 : union des deux index multiclés
+        etapes.add(Aggregation.match(new Criteria().orOperator(
+                Criteria.where("membres").is(membre), Criteria.where("taches.assigneA").is(membre))));
+        etapes.add(contexte -> new Document("$project", champsDuProjet("$", valeur)
+                .append("taches", new Document("$filter",
+                        new Document("input", new Document("$ifNull", List.of("$taches", List.of())))
+                                .append("cond", new Document("$eq", List.of("$$this.assigneA", valeur)))))));
+        etapes.add(contexte -> new Document("$unionWith",
+                new Document("coll", mongoTemplate.getCollectionName(TacheProjet.class))
+                        .append("pipeline", tachesSeparees)));
+        // Un projet aux tâches séparées peut sortir des deux branches
+        etapes.add(contexte -> new Document("$group", new Document("_id", "$_id")
+                .append("titre", new Document("$first", "$titre"))
+                .append("matiere", new Document("$first", "$matiere"))
+                .append("statut", new Document("$first", "$statut"))
+                .append("dateLimite", new Document("$first", "$dateLimite"))
+                .append("avancement", new Document("$first", "$avancement"))
+                .append("membreDuGroupe", new Document("$max", "$membreDuGroupe"))
+                .append("taches", new Document("$push", "$taches"))));
+        etapes.add(contexte -> new Document("$set", new Document("taches", new Document("$reduce",
+                new Document("input", "$taches").append("initialValue", List.of())
+                        .append("in", new Document("$concatArrays", List.of("$$value", "$$this")))))));
+        etapes.add(contexte -> new Document("$sort", new Document("dateLimite", 1).append("_id", 1)));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(etapes),
+                collectionProjets, ProjetDuMembre.class).getMappedResults();
+    }
+
+    /** Champs d'un projet repris dans ProjetDuMembre, lus sous le préfixe donné */
+    private static Document champsDuProjet(String prefixe, Document membre) {
+        return new Document("titre", prefixe + "titre")
+                .append("matiere", prefixe + "matiere")
+                .append("statut", prefixe + "statut")
+                .append("dateLimite", prefixe + "dateLimite")
+                .append("avancement", prefixe + "avancement")
+                .append("membreDuGroupe", new Document("$in",
+                        List.of(membre, new Document("$ifNull", List.of(prefixe + "membres", List.of())))));
+    }
+
+    @Override
+    public Map<String, Set<String>> idsDesTaches(Collection<String> projetIds) {
+        Query query = Query.query(Criteria.where("id").in(projetIds));
+        query.fields().include("taches._id");
+
+        Map<String, Set<String>> idsParProjet = new HashMap<>();
+        for (Projet projet : mongoTemplate.find(query, Projet.class)) {
+            Set<String> ids = new HashSet<>();
+            if (projet.getTaches() != null) {
+                projet.getTaches().forEach(tache -> ids.add(tache.getId()));
+            }
+            idsParProjet.put(projet.getId(), ids);
+        }
+        return idsParProjet;
+    }
+
+    @Override
+    public long appliquerOperationsTaches(Map<String, List<OperationTache>> operationsParProjet) {
+        if (operationsParProjet.isEmpty()) {
+            return 0;
+        }
+        Date aujourdHui = ProjetPipelines.aujourdHui();
+        // UNORDERED : les mises à jour de projets différents sont indépendantes
+        BulkOperations lot = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Projet.class);
+        operationsParProjet.forEach((projetId, operations) -> {
+            List<AggregationOperation> etapes =
+                    ProjetPipelines.lotDeTaches(modificationsDesTaches(operations, aujourdHui), aujourdHui);
+            lot.updateOne(Query.query(Criteria.where("id").is(projetId).andOperator(tachesEmbarquees())),
+                    AggregationUpdate.from(etapes));
+        });
+        return lot.execute().getModifiedCount();
+    }
+
+    @Override
+    public long marquerTachesEnRetard(int tailleLot) {
+        Date aujourdHui = ProjetPipelines.aujourdHui();
+        // Projets ayant au moins une tâche dépassée, non terminée, pas encore marquée
+        Criteria tacheDepassee = Criteria.where("taches").elemMatch(Criteria.where("dateLimite").lt(aujourdHui)
+                .and("statut").ne("DONE")
+                .and("enRetard").ne(true));
+
+        List<Object> ids = idsDuLot(Query.query(tacheDepassee), tailleLot);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.initialiserCompteursSiAbsents());
+        etapes.add(ProjetPipelines.marquerTachesEnRetard(aujourdHui));
+        etapes.add(ProjetPipelines.recompterTachesEnRetard());
+        etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(aujourdHui));
+        etapes.add(ProjetPipelines.incrementerVersion());
+
+        Query lot = Query.query(Criteria.where("_id").in(ids));
+        return mongoTemplate.updateMulti(lot, AggregationUpdate.from(etapes), Projet.class).getModifiedCount();
+    }
+
+    @Override
+    public long marquerProjetsEnRetard(int tailleLot) {
+        // Projets encore "EN_COURS" dont la date limite est dépassée
+        // (index statut + dateLimite)
+        Criteria depasse = Criteria.where("statut").is("EN_COURS")
+                .and("dateLimite").lt(ProjetPipelines.aujourdHui())
+                .and("avancement").lt(100);
+
+        List<Object> ids = idsDuLot(Query.query(depasse), tailleLot);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query lot = Query.query(Criteria.where("_id").in(ids).andOperator(depasse));
+        Update update = new Update().set("statut", "EN_RETARD").inc("version", 1);
+        return mongoTemplate.updateMulti(lot, update, Projet.class).getModifiedCount();
+    }
+
+    // ============================================================
+    // STOCKAGE SÉPARÉ DES TÂCHES
+    // ============================================================
+
+    @Override
+    public Optional<Projet> ajusterCompteurs(String projetId, Long versionAttendue, CompteursTaches ecart) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.decalerCompteurs(ecart));
+        etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(ProjetPipelines.aujourdHui()));
+        etapes.add(ProjetPipelines.incrementerVersion());
+        return modifierEtRelire(projetId, versionAttendue, Criteria.where("stockageTaches").is(Projet.TACHES_SEPAREES),
+                AggregationUpdate.from(etapes));
+    }
+
+    @Override
+    public boolean reserverVersion(String projetId, long versionAttendue) {
+        Query query = Query.query(Criteria.where("id").is(projetId)
+                .and("version").is(versionAttendue)
+                .and("stockageTaches").is(Projet.TACHES_SEPAREES));
+        return mongoTemplate.updateFirst(query, new Update().inc("version", 1), Projet.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public long remplacerCompteurs(Map<String, CompteursTaches> compteursParProjet) {
+        if (compteursParProjet.isEmpty()) {
+            return 0;
+        }
+        Date aujourdHui = ProjetPipelines.aujourdHui();
+        BulkOperations lot = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Projet.class);
+        compteursParProjet.forEach((projetId, compteurs) -> {
+            List<AggregationOperation> etapes = new ArrayList<>();
+            etapes.add(ProjetPipelines.fixerCompteurs(compteurs));
+            etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(aujourdHui));
+            etapes.add(ProjetPipelines.incrementerVersion());
+            lot.updateOne(Query.query(Criteria.where("id").is(projetId)
+                            .and("stockageTaches").is(Projet.TACHES_SEPAREES)),
+                    AggregationUpdate.from(etapes));
+        });
+        return lot.execute().getModifiedCount();
+    }
+
+    @Override
+    public List<Projet> compteursSepares(String apres, int taille) {
+        Criteria critere = Criteria.where("stockageTaches").is(Projet.TACHES_SEPAREES);
+        if (apres != null) {
+            critere = critere.and("id").gt(apres);
+        }
+        Query query = Query.query(critere).with(Sort.by("id")).limit(taille);
+        query.fields().include("_id", "version", "compteurs", "stockageTaches");
+        return mongoTemplate.find(query, Projet.class);
+    }
+
+    @Override
+    public List<Projet> compteursSepares(Collection<String> projetIds) {
+        Query query = Query.query(Criteria.where("id").in(projetIds)
+                .and("stockageTaches").is(Projet.TACHES_SEPAREES));
+        query.fields().include("_id", "version", "compteurs", "stockageTaches");
+        return mongoTemplate.find(query, Projet.class);
+    }
+
+    @Override
+    public boolean remplacerCompteurs(String projetId, long versionLue, CompteursTaches compteurs) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.fixerCompteurs(compteurs));
+        etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(ProjetPipelines.aujourdHui()));
+        etapes.add(ProjetPipelines.incrementerVersion());
+        Query query = Query.query(Criteria.where("id").is(projetId)
+                .and("version").is(versionLue)
+                .and("stockageTaches").is(Projet.TACHES_SEPAREES));
+        return mongoTemplate.updateFirst(query, AggregationUpdate.from(etapes), Projet.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Set<String> projetsAvecTachesSeparees(Collection<String> projetIds) {
+        Query query = Query.query(Criteria.where("id").in(projetIds)
+                .and("stockageTaches").is(Projet.TACHES_SEPAREES));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Projet.class).stream()
+                .map(Projet::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<String> projetsAMigrer(int seuil, int limite) {
+        // "taches.<seuil - 1>" existe : la liste compte au moins seuil éléments
+        Criteria candidats = tachesEmbarquees().and("taches." + (Math.max(seuil, 1) - 1)).exists(true);
+        return idsDuLot(Query.query(candidats), limite).stream()
+                .map(String::valueOf)
+                .toList();
+    }
+
+    @Override
+    public boolean basculerVersTachesSeparees(String projetId, Long version) {
+        Query query = Query.query(Criteria.where("id").is(projetId)
+                .and("version").is(version)
+                .andOperator(tachesEmbarquees()));
+        // Compteurs recalculés sur les tâches copiées, puis liste retirée du document
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.reconstruireCompteurs());
+        etapes.add(contexte -> new Document("$unset", "taches"));
+        etapes.add(contexte -> new Document("$set", new Document("stockageTaches", Projet.TACHES_SEPAREES)));
+        etapes.add(ProjetPipelines.incrementerVersion());
+        return mongoTemplate.updateFirst(query, AggregationUpdate.from(etapes), Projet.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Map<Integer, String> insererProjets(List<Projet> projets) {
+        if (projets.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations lot = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Projet.class);
+        for (Projet projet : projets) {
+            // Contrairement à save(), l'insertion en lot n'initialise pas la version
+            if (projet.getVersion() == null) {
+                projet.setVersion(0L);
+            }
+            lot.insert(projet);
+        }
+        try {
+            lot.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> refus = new HashMap<>();
+            for (BulkWriteError erreur : e.getErrors()) {
+                refus.put(erreur.getIndex(), erreur.getCode() == CODE_CLE_EN_DOUBLE
+                        ? "Un projet existe déjà avec l'identifiant : " + projets.get(erreur.getIndex()).getId()
+                        : erreur.getMessage());
+            }
+            return refus;
+        }
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Projets dont les tâches sont embarquées (stockageTaches absent). */
+    private static Criteria tachesEmbarquees() {
+        return Criteria.where("stockageTaches").ne(Projet.TACHES_SEPAREES);
+    }
+
+    /** Projets dont la liste embarquée contient la tâche : sinon, rien n'est écrit. */
+    private static Criteria tachePresente(Object idTache) {
+        return Criteria.where("taches._id").is(idTache);
+    }
+
+    /** Conversion d'une tâche au format stocké (même mapping qu'un save()). */
+    private Document documentTache(Tache tache) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(tache, document);
+        document.remove("_class");
+        return document;
+    }
+
+    /**
+     * Étapes de modification de la liste des tâches, une par opération.
+     * Les ajouts consécutifs sont regroupés en une seule étape
+     * (import d'un backlog : une étape au lieu de plusieurs centaines).
+     */
+    private List<AggregationOperation> modificationsDesTaches(List<OperationTache> operations, Date aujourdHui) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        List<Document> ajouts = new ArrayList<>();
+        for (OperationTache operation : operations) {
+            if (operation.getType() == OperationTache.Type.AJOUTER) {
+                ajouts.add(documentTache(operation.getTache()));
+                continue;
+            }
+            if (!ajouts.isEmpty()) {
+                etapes.add(ProjetPipelines.ajouterTaches(ajouts));
+                ajouts = new ArrayList<>();
+            }
+            etapes.add(switch (operation.getType()) {
+                case DEPLACER -> ProjetPipelines.modifierStatutTache(
+                        operation.getTacheId(), operation.getStatut(), aujourdHui);
+                case SUPPRIMER -> ProjetPipelines.retirerTache(operation.getTacheId());
+                case ASSIGNER -> ProjetPipelines.assignerTache(operation.getTacheId(), operation.getAssigneA());
+                case AJOUTER -> throw new IllegalStateException("Ajout déjà traité");
+            });
+        }
+        if (!ajouts.isEmpty()) {
+            etapes.add(ProjetPipelines.ajouterTaches(ajouts));
+        }
+        return etapes;
+    }
+
+    /** Identifiants (seuls) d'au plus tailleLot projets correspondant à la requête. */
+    private List<Object> idsDuLot(Query query, int tailleLot) {
+        query.fields().include("_id");
+        query.limit(tailleLot);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Projet.class))
+                .stream()
+                .map(document -> document.get("_id"))
+                .toList();
+    }
+
+    @Override
+    public List<ProjetResume> resumes(StatutProjet statut) {
+        Criteria critere = statut == null ? new Criteria() : Criteria.where("statut").is(statut);
+        return mongoTemplate.aggregate(agregationResume(critere, null), ProjetResume.class).getMappedResults();
+    }
+
+    @Override
+    public List<ProjetResume> pageDeResumes(String apres, Pageable pageable) {
+        Criteria critere = new Criteria();
+        if (apres != null) {
+            // Même sens que le tri : après le curseur en croissant, avant en décroissant
+            Sort.Order ordre = pageable.getSort().getOrderFor("id");
+            critere = ordre == null || ordre.isAscending()
+                    ? Criteria.where("id").gt(apres)
+                    : Criteria.where("id").lt(apres);
+        }
+        return mongoTemplate.aggregate(agregationResume(critere, pageable), ProjetResume.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<ProjetResume> streamResumes() {
+        return mongoTemplate.aggregateStream(agregationResume(new Criteria(), null), ProjetResume.class);
+    }
+
+    /**
+     * Filtre, page éventuelle (tri et taille), puis champs de ProjetResume
+     * uniquement : le nombre de membres est calculé par MongoDB ($size),
+     * la liste elle-même n'est pas transférée. Agrégation typée : "id" et
+     * le curseur sont convertis comme dans une requête sur Projet.
+     */
+    private static TypedAggregation<Projet> agregationResume(Criteria critere, Pageable pageable) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(Aggregation.match(critere));
+        if (pageable != null) {
+            etapes.add(Aggregation.sort(pageable.getSort()));
+            etapes.add(Aggregation.limit(pageable.getPageSize()));
+        }
+        etapes.add(contexte -> new Document("$project", new Document("titre", 1)
+                .append("matiere", 1)
+                .append("statut", 1)
+                .append("avancement", 1)
+                .append("compteurs", 1)
+                .append("dateLimite", 1)
+                .append("nombreMembres", new Document("$size",
+                        new Document("$ifNull", List.of("$membres", List.of()))))));
+        return Aggregation.newAggregation(Projet.class, etapes);
+    }
+
+    /**
+     * Applique une étape de modification des tâches suivie de l'ajustement
+     * des compteurs et du recalcul de l'avancement et du statut,
+     * dans une seule mise à jour atomique. La condition sur la tâche (si
+     * fournie) fait partie du filtre : sans correspondance, ni version ni
+     * compteurs ne changent.
+     */
+    private Optional<Projet> modifierTaches(String projetId, Long versionAttendue, Object idTache,
+                                            Criteria conditionTache, AggregationOperation modification) {
+        List<AggregationOperation> etapes =
+                ProjetPipelines.mutationTache(idTache, modification, ProjetPipelines.aujourdHui());
+        Criteria condition = conditionTache == null
+                ? tachesEmbarquees()
+                : new Criteria().andOperator(tachesEmbarquees(), conditionTache);
+        return modifierEtRelire(projetId, versionAttendue, condition, AggregationUpdate.from(etapes));
+    }
+
+    /**
+     * findAndModify sur l'identifiant (et la version attendue si fournie,
+     * et la condition supplémentaire si fournie), en retournant le document modifié.
+     */
+    private Optional<Projet> modifierEtRelire(String projetId, Long versionAttendue, Criteria condition,
+                                              UpdateDefinition update) {
+        Criteria critere = Criteria.where("id").is(projetId);
+        if (versionAttendue != null) {
+            critere = critere.and("version").is(versionAttendue);
+        }
+        if (condition != null) {
+            critere = critere.andOperator(condition);
+        }
+        Query query = Query.query(critere);
+        Projet projet = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Projet.class);
+        return Optional.ofNullable(projet);
+    }
+}
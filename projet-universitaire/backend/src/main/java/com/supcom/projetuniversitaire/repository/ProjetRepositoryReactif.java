@@ -0,0 +1,32 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * ============================================================
+ * REPOSITORY RÉACTIF : ProjetRepositoryReactif
+ * ============================================================
+ * Variante NON BLOQUANTE de ProjetRepository, sur la même collection
+ * "projets" : chaque méthode retourne immédiatement un Mono/Flux et
+ * aucun thread n'attend la réponse de MongoDB.
+ *
+ * Créé uniquement avec le profil Spring "reactif" (l'auto-configuration
+ * MongoDB réactive est exclue par défaut, voir application.properties).
+ * Les mutations atomiques de tâches sont dans ProjetRepositoryReactifCustom.
+ * ============================================================
+ */
+@Repository
+public interface ProjetRepositoryReactif extends ReactiveMongoRepository<Projet, String>, ProjetRepositoryReactifCustom {
+
+    /**
+     * Recherche des projets par leur statut (index sur le statut).
+     *
+     * @param statut le statut à filtrer ("EN_COURS", "TERMINÉ", "EN_RETARD")
+     * @return flux des projets correspondants
+     */
+    Flux<Projet> findByStatut(StatutProjet statut);
+}
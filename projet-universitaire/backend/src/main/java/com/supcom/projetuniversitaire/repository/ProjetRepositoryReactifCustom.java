@@ -0,0 +1,88 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import reactor.core.publisher.Mono;
+
+/**
+ * ============================================================
+ * REPOSITORY RÉACTIF PERSONNALISÉ : ProjetRepositoryReactifCustom
+ * ============================================================
+ * Mêmes mutations atomiques que ProjetRepositoryCustom (mêmes
+ * pipelines ProjetPipelines), exécutées via ReactiveMongoTemplate.
+ * Chaque méthode retourne le projet APRÈS modification, ou un Mono
+ * vide si le projet n'existe pas. Les mutations de tâches ne modifient
+ * que les projets aux tâches embarquées (stockage séparé : voir
+ * StockageTachesReactif).
+ * ============================================================
+ */
+public interface ProjetRepositoryReactifCustom {
+
+    /**
+     * Ajoute une tâche et recalcule compteurs, avancement et statut.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tache    la tâche à ajouter (retard déjà vérifié)
+     * @return le projet mis à jour, ou vide si le projet contient déjà une
+     *         tâche de même identifiant
+     */
+    Mono<Projet> ajouterTache(String projetId, Tache tache);
+
+    /**
+     * Change le statut d'une tâche et recalcule compteurs, avancement et statut.
+     *
+     * @param projetId      l'identifiant du projet
+     * @param tacheId       l'identifiant de la tâche
+     * @param nouveauStatut le nouveau statut ("TO_DO", "DOING", "DONE")
+     * @return le projet mis à jour
+     */
+    Mono<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut);
+
+    /**
+     * Retire une tâche et recalcule compteurs, avancement et statut.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche à retirer
+     * @return le projet mis à jour
+     */
+    Mono<Projet> retirerTache(String projetId, String tacheId);
+
+    /**
+     * Ajoute un membre au groupe s'il n'y figure pas déjà ; un membre déjà
+     * présent laisse le projet intact (version comprise).
+     *
+     * @param projetId l'identifiant du projet
+     * @param membre   le nom/email du membre
+     * @return le projet mis à jour, vide si rien n'a été écrit (projet absent
+     *         ou membre déjà présent)
+     */
+    Mono<Projet> ajouterMembre(String projetId, String membre);
+
+    /**
+     * Applique l'écart des compteurs d'un projet en stockage séparé, puis
+     * recalcule avancement et statut (voir ProjetRepositoryCustom.ajusterCompteurs()).
+     *
+     * @param projetId l'identifiant du projet
+     * @param ecart    écart des compteurs dû à la mutation de tâche
+     * @return le projet mis à jour (sans ses tâches), ou vide s'il n'est pas en stockage séparé
+     */
+    Mono<Projet> ajusterCompteurs(String projetId, CompteursTaches ecart);
+
+    /**
+     * En-tête d'un projet : identifiant, version et format de stockage des tâches.
+     *
+     * @param projetId l'identifiant du projet
+     * @return l'en-tête, ou vide si le projet n'existe pas
+     */
+    Mono<Projet> enTeteProjet(String projetId);
+
+    /**
+     * Incrémente la révision de la collection des projets (voir
+     * ProjetRepositoryCustom.incrementerRevision()).
+     *
+     * @return un Mono terminé une fois la révision incrémentée
+     */
+    Mono<Void> incrementerRevision();
+}
@@ -0,0 +1,129 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ============================================================
+ * IMPLÉMENTATION : ProjetRepositoryReactifCustomImpl
+ * ============================================================
+ * Implémentation réactive des mutations atomiques : un findAndModify
+ * unique par mutation, exactement comme ProjetRepositoryCustomImpl,
+ * mais sans bloquer le thread appelant.
+ *
+ * Seuls les projets aux tâches embarquées sont concernés par les
+ * mutations de tâches : un projet aux tâches séparées (collection
+ * "taches") n'est pas modifié, ses tâches passent par
+ * StockageTachesReactif, qui n'ajuste ici que ses compteurs.
+ * ============================================================
+ */
+public class ProjetRepositoryReactifCustomImpl implements ProjetRepositoryReactifCustom {
+
+    // Accès non bloquant à MongoDB
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Projet> ajouterTache(String projetId, Tache tache) {
+        // Conversion de la tâche au format stocké (même mapping qu'un save())
+        Document document = new Document();
+        reactiveMongoTemplate.getConverter().write(tache, document);
+        document.remove("_class");
+
+        // Identifiant fourni par le client déjà pris dans le projet : rien n'est écrit
+        return modifierTaches(projetId, document.get("_id"), Criteria.where("taches._id").ne(document.get("_id")),
+                ProjetPipelines.ajouterTache(document));
+    }
+
+    @Override
+    public Mono<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut) {
+        Object idTache = ProjetPipelines.idTache(tacheId);
+        return modifierTaches(projetId, idTache, Criteria.where("taches._id").is(idTache),
+                ProjetPipelines.modifierStatutTache(tacheId, nouveauStatut, ProjetPipelines.aujourdHui()));
+    }
+
+    @Override
+    public Mono<Projet> retirerTache(String projetId, String tacheId) {
+        Object idTache = ProjetPipelines.idTache(tacheId);
+        return modifierTaches(projetId, idTache, Criteria.where("taches._id").is(idTache),
+                ProjetPipelines.retirerTache(tacheId));
+    }
+
+    @Override
+    public Mono<Projet> ajouterMembre(String projetId, String membre) {
+        // Filtre membres ≠ membre : un membre déjà présent ne touche ni la liste ni la version
+        return modifierEtRelire(projetId, Criteria.where("membres").ne(membre),
+                new Update().addToSet("membres", membre).inc("version", 1));
+    }
+
+    @Override
+    public Mono<Projet> ajusterCompteurs(String projetId, CompteursTaches ecart) {
+        List<AggregationOperation> etapes = new ArrayList<>();
+        etapes.add(ProjetPipelines.decalerCompteurs(ecart));
+        etapes.addAll(ProjetPipelines.recalculerAvancementEtStatut(ProjetPipelines.aujourdHui()));
+        etapes.add(ProjetPipelines.incrementerVersion());
+        return modifierEtRelire(projetId, Criteria.where("stockageTaches").is(Projet.TACHES_SEPAREES),
+                AggregationUpdate.from(etapes));
+    }
+
+    @Override
+    public Mono<Projet> enTeteProjet(String projetId) {
+        Query query = Query.query(Criteria.where("id").is(projetId));
+        query.fields().include("_id", "version", "stockageTaches");
+        return reactiveMongoTemplate.findOne(query, Projet.class);
+    }
+
+    @Override
+    public Mono<Void> incrementerRevision() {
+        return reactiveMongoTemplate.upsert(
+                        Query.query(Criteria.where("_id").is(ProjetRepositoryCustomImpl.REVISION_PROJETS)),
+                        new Update().inc(ProjetRepositoryCustomImpl.CHAMP_REVISION, 1L),
+                        ProjetRepositoryCustomImpl.COLLECTION_REVISIONS)
+                .then();
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Mutation de tâche ; la condition sur la tâche (si fournie) fait partie du filtre. */
+    private Mono<Projet> modifierTaches(String projetId, Object idTache, Criteria conditionTache,
+                                        AggregationOperation modification) {
+        List<AggregationOperation> etapes =
+                ProjetPipelines.mutationTache(idTache, modification, ProjetPipelines.aujourdHui());
+        Criteria embarquees = Criteria.where("stockageTaches").ne(Projet.TACHES_SEPAREES);
+        return modifierEtRelire(projetId,
+                conditionTache == null ? embarquees : new Criteria().andOperator(embarquees, conditionTache),
+                AggregationUpdate.from(etapes));
+    }
+
+    /**
+     * findAndModify sur l'identifiant (et la condition supplémentaire si
+     * fournie), en retournant le document modifié.
+     */
+    private Mono<Projet> modifierEtRelire(String projetId, Criteria condition, UpdateDefinition update) {
+        Criteria critere = Criteria.where("id").is(projetId);
+        if (condition != null) {
+            critere = critere.andOperator(condition);
+        }
+        Query query = Query.query(critere);
+        return reactiveMongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Projet.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ============================================================
+ * UTILITAIRE : RequetesTaches
+ * ============================================================
+ * Traduit des CriteresTaches en filtre et en tri MongoDB, appliqués
+ * tels quels aux deux formats de stockage :
+ *   - collection "taches" : requête sur les documents TacheProjet ;
+ *   - tâches embarquées   : étape $match après $unwind de la liste,
+ *     le rang dans la liste tenant lieu de champ "ordre".
+ *
+ * Pagination par curseur (keyset) : la page reprend strictement après
+ * la dernière tâche reçue, selon la clé de tri, l'ordre d'ajout puis
+ * l'identifiant. L'ordre d'une tâche séparée est un horodatage : deux
+ * instances peuvent en attribuer le même, l'identifiant (unique) rend
+ * la position du curseur sans ambiguïté. Les tâches sans date limite
+ * sont placées avant les autres en tri croissant (règle de tri MongoDB
+ * pour null).
+ * ============================================================
+ */
+final class RequetesTaches {
+
+    private RequetesTaches() {
+    }
+
+    /** Filtres et position du curseur ; null si aucune condition. */
+    static Criteria filtre(CriteresTaches criteres) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (criteres.getStatut() != null) {
+            conditions.add(Criteria.where("statut").is(criteres.getStatut().getValeur()));
+        }
+        if (criteres.getPriorite() != null) {
+            conditions.add(Criteria.where("priorite").is(criteres.getPriorite().getValeur()));
+        }
+        if (criteres.getAssigneA() != null) {
+            conditions.add(Criteria.where("assigneA").is(criteres.getAssigneA()));
+        }
+        if (criteres.getEnRetard() != null) {
+            // enRetard absent équivaut à false
+            conditions.add(criteres.getEnRetard()
+                    ? Criteria.where("enRetard").is(true)
+                    : Criteria.where("enRetard").ne(true));
+        }
+        if (criteres.getApresOrdre() != null) {
+            conditions.add(apresCurseur(criteres));
+        }
+        return conditions.isEmpty() ? null : new Criteria().andOperator(conditions);
+    }
+
+    /** Clé de tri, ordre d'ajout puis identifiant, dans le sens demandé. */
+    static Sort tri(CriteresTaches criteres) {
+        Sort.Direction sens = criteres.isDescendant() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return criteres.getTri() == CriteresTaches.Tri.DATE_LIMITE
+                ? Sort.by(sens, "dateLimite", "ordre", "_id")
+                : Sort.by(sens, "ordre", "_id");
+    }
+
+    /** Tâches strictement après le curseur, dans l'ordre de tri. */
+    private static Criteria apresCurseur(CriteresTaches criteres) {
+        long ordre = criteres.getApresOrdre();
+        boolean desc = criteres.isDescendant();
+        Criteria ordreSuivant = desc ? Criteria.where("ordre").lt(ordre) : Criteria.where("ordre").gt(ordre);
+        if (criteres.getApresId() != null) {
+            // Même ordre que le curseur : départage par l'identifiant
+            ordreSuivant = new Criteria().orOperator(ordreSuivant, new Criteria().andOperator(
+                    Criteria.where("ordre").is(ordre), apresIdentifiant(criteres.getApresId(), desc)));
+        }
+        if (criteres.getTri() == CriteresTaches.Tri.ORDRE) {
+            return ordreSuivant;
+        }
+
+        LocalDate dateLimite = criteres.getApresDateLimite();
+        if (dateLimite == null) {
+            Criteria memeDate = new Criteria().andOperator(Criteria.where("dateLimite").is(null), ordreSuivant);
+            // Croissant : toutes les tâches datées viennent après celles sans date
+            return desc ? memeDate : new Criteria().orOperator(Criteria.where("dateLimite").ne(null), memeDate);
+        }
+        Date date = Date.from(dateLimite.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Criteria memeDate = new Criteria().andOperator(Criteria.where("dateLimite").is(date), ordreSuivant);
+        return desc
+                // Décroissant : les tâches sans date viennent en dernier
+                ? new Criteria().orOperator(Criteria.where("dateLimite").lt(date),
+                        Criteria.where("dateLimite").is(null), memeDate)
+                : new Criteria().orOperator(Criteria.where("dateLimite").gt(date), memeDate);
+    }
+
+    /**
+     * Identifiants strictement après celui du curseur. Un identifiant est
+     * stocké en ObjectId s'il en a la forme, en chaîne sinon ; MongoDB trie
+     * les chaînes avant les ObjectId, mais $gt / $lt ne comparent que des
+     * valeurs de même type : l'autre type est ajouté s'il vient après.
+     */
+    private static Criteria apresIdentifiant(String tacheId, boolean desc) {
+        Object id = ProjetPipelines.idTache(tacheId);
+        if (id instanceof ObjectId) {
+            return desc
+                    ? new Criteria().orOperator(Criteria.where("_id").lt(id),
+                            Criteria.where("_id").type(JsonSchemaObject.Type.stringType()))
+                    : Criteria.where("_id").gt(id);
+        }
+        return desc
+                ? Criteria.where("_id").lt(id)
+                : new Criteria().orOperator(Criteria.where("_id").gt(id),
+                        Criteria.where("_id").type(JsonSchemaObject.Type.objectIdType()));
+    }
+}
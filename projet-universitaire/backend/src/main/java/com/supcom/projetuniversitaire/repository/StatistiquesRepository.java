@@ -0,0 +1,18 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.StatistiquesProjets;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ============================================================
+ * REPOSITORY : StatistiquesRepository
+ * ============================================================
+ * Accès à la collection "statistiques" : statistiques matérialisées
+ * du tableau de bord, un seul document (voir StatistiquesService).
+ * Le calcul lui-même est fait par ProjetRepository.calculerStatistiques().
+ * ============================================================
+ */
+@Repository
+public interface StatistiquesRepository extends MongoRepository<StatistiquesProjets, String> {
+}
@@ -0,0 +1,47 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ============================================================
+ * REPOSITORY : TacheRepository
+ * ============================================================
+ * Accès à la collection "taches" : tâches des projets en stockage
+ * séparé (Projet.TACHES_SEPAREES). Les requêtes par projet sont
+ * servies par l'index (projetId, ordre).
+ * Les mises à jour atomiques écrites à la main (MongoTemplate)
+ * sont déclarées dans TacheRepositoryCustom.
+ * ============================================================
+ */
+@Repository
+public interface TacheRepository extends MongoRepository<TacheProjet, String>, TacheRepositoryCustom {
+
+    /**
+     * Tâches d'un projet, dans l'ordre d'ajout.
+     *
+     * @param projetId l'identifiant du projet
+     * @return les tâches du projet
+     */
+    List<TacheProjet> findByProjetIdOrderByOrdreAsc(String projetId);
+
+    /**
+     * Tâches de plusieurs projets en une seule requête, dans l'ordre d'ajout.
+     *
+     * @param projetIds les identifiants des projets
+     * @return les tâches de ces projets (à regrouper par projetId)
+     */
+    List<TacheProjet> findByProjetIdInOrderByOrdreAsc(Collection<String> projetIds);
+
+    /**
+     * Supprime toutes les tâches d'un projet.
+     *
+     * @param projetId l'identifiant du projet
+     * @return le nombre de tâches supprimées
+     */
+    long deleteByProjetId(String projetId);
+}
@@ -0,0 +1,137 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ============================================================
+ * REPOSITORY PERSONNALISÉ : TacheRepositoryCustom
+ * ============================================================
+ * Opérations écrites à la main sur la collection "taches".
+ *
+ * Les mutations ne touchent que le document de la tâche et retournent
+ * la tâche telle qu'elle était AVANT la modification : l'appelant en
+ * déduit l'écart à reporter sur les compteurs du projet
+ * (CompteursTaches.ecart()).
+ * ============================================================
+ */
+public interface TacheRepositoryCustom {
+
+    /**
+     * Ajoute une tâche à la fin de la liste du projet.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tache    la tâche à ajouter (retard déjà vérifié)
+     * @throws org.springframework.dao.DuplicateKeyException si l'identifiant de la tâche est déjà pris
+     */
+    void ajouter(String projetId, Tache tache);
+
+    /**
+     * Change le statut d'une tâche et recalcule son indicateur de retard,
+     * en une seule opération atomique.
+     *
+     * @param projetId      l'identifiant du projet
+     * @param tacheId       l'identifiant de la tâche
+     * @param nouveauStatut le nouveau statut ("TO_DO", "DOING", "DONE")
+     * @return la tâche avant modification, ou Optional.empty() si elle n'existe pas
+     */
+    Optional<Tache> modifierStatut(String projetId, String tacheId, StatutTache nouveauStatut);
+
+    /**
+     * Vrai si la tâche existe dans le projet (lecture indexée, sans document transféré).
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche
+     * @return true si la tâche existe
+     */
+    boolean existe(String projetId, String tacheId);
+
+    /**
+     * Supprime une tâche.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche
+     * @return la tâche supprimée, ou Optional.empty() si elle n'existe pas
+     */
+    Optional<Tache> retirer(String projetId, String tacheId);
+
+    /**
+     * Identifiants des tâches de chaque projet demandé (seuls les
+     * identifiants sont lus). Un projet sans tâche est absent du résultat.
+     *
+     * @param projetIds les identifiants de projets
+     * @return pour chaque projet, les identifiants de ses tâches
+     */
+    Map<String, Set<String>> idsParProjet(Collection<String> projetIds);
+
+    /**
+     * Applique des opérations de tâches (déjà validées) en UN SEUL
+     * bulkWrite ordonné : une écriture par opération, dans l'ordre du lot.
+     *
+     * @param operationsParProjet opérations à appliquer, groupées par projet
+     */
+    void appliquerOperations(Map<String, List<OperationTache>> operationsParProjet);
+
+    /**
+     * Compteurs par statut des tâches de chaque projet demandé, calculés
+     * par MongoDB ($group) sans transférer les tâches.
+     *
+     * @param projetIds les identifiants de projets
+     * @return les compteurs de chaque projet (à zéro pour un projet sans tâche)
+     */
+    Map<String, CompteursTaches> compteursParProjet(Collection<String> projetIds);
+
+    /**
+     * Marque "enRetard" un lot de tâches dépassées et non terminées.
+     *
+     * @param tailleLot nombre maximal de tâches traitées
+     * @return les projets dont au moins une tâche a été marquée (vide quand il n'y a plus rien à faire)
+     */
+    Set<String> marquerEnRetard(int tailleLot);
+
+    /**
+     * Remplace toutes les tâches d'un projet par celles données, dans
+     * leur ordre (migration depuis le document du projet).
+     *
+     * @param projetId l'identifiant du projet
+     * @param taches   les tâches à copier
+     */
+    void remplacerTaches(String projetId, List<Tache> taches);
+
+    /**
+     * Insère en une seule commande les tâches de nouveaux projets (import),
+     * chacune à son rang dans la liste de son projet.
+     *
+     * @param tachesParProjet les tâches de chaque projet, par identifiant de projet
+     * @return la raison du refus, pour chaque projet dont une tâche a été refusée
+     */
+    Map<String, String> insererTaches(Map<String, List<Tache>> tachesParProjet);
+
+    /**
+     * Réécrit sous leur valeur canonique les statuts et priorités des
+     * tâches séparées enregistrés avant les énumérations.
+     *
+     * @return le nombre de tâches mises à jour
+     */
+    long normaliserValeursAnciennes();
+
+    /**
+     * Une page de tâches d'un projet, filtrée et triée par MongoDB
+     * (index projetId + statut / dateLimite + ordre + _id).
+     *
+     * @param projetId l'identifiant du projet
+     * @param criteres filtres, tri, curseur et taille de page
+     * @return au plus criteres.taille tâches, dans l'ordre de tri
+     */
+    List<TacheProjet> pageDeTaches(String projetId, CriteresTaches criteres);
+}
@@ -0,0 +1,248 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ============================================================
+ * IMPLÉMENTATION : TacheRepositoryCustomImpl
+ * ============================================================
+ * Implémentation des opérations personnalisées de TacheRepository.
+ * Une mutation de tâche écrit un seul petit document de la collection
+ * "taches", quelle que soit la taille du projet.
+ * ============================================================
+ */
+public class TacheRepositoryCustomImpl implements TacheRepositoryCustom {
+
+    // Départage les tâches ajoutées dans la même milliseconde
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void ajouter(String projetId, Tache tache) {
+        mongoTemplate.insert(new TacheProjet(tache, projetId, ordreSuivant()));
+    }
+
+    @Override
+    public Optional<Tache> modifierStatut(String projetId, String tacheId, StatutTache nouveauStatut) {
+        TacheProjet avant = mongoTemplate.findAndModify(requeteTache(projetId, tacheId),
+                deplacement(nouveauStatut, ProjetPipelines.aujourdHui()),
+                FindAndModifyOptions.options().returnNew(false), TacheProjet.class);
+        return Optional.ofNullable(avant);
+    }
+
+    @Override
+    public boolean existe(String projetId, String tacheId) {
+        return mongoTemplate.exists(requeteTache(projetId, tacheId), TacheProjet.class);
+    }
+
+    @Override
+    public Optional<Tache> retirer(String projetId, String tacheId) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(requeteTache(projetId, tacheId), TacheProjet.class));
+    }
+
+    @Override
+    public Map<String, Set<String>> idsParProjet(Collection<String> projetIds) {
+        Query query = Query.query(Criteria.where("projetId").in(projetIds));
+        query.fields().include("_id", "projetId");
+
+        Map<String, Set<String>> idsParProjet = new HashMap<>();
+        for (TacheProjet tache : mongoTemplate.find(query, TacheProjet.class)) {
+            idsParProjet.computeIfAbsent(tache.getProjetId(), id -> new HashSet<>()).add(tache.getId());
+        }
+        return idsParProjet;
+    }
+
+    @Override
+    public void appliquerOperations(Map<String, List<OperationTache>> operationsParProjet) {
+        if (operationsParProjet.isEmpty()) {
+            return;
+        }
+        Date aujourdHui = ProjetPipelines.aujourdHui();
+        // ORDERED : une opération peut viser une tâche ajoutée plus haut dans le lot
+        BulkOperations lot = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TacheProjet.class);
+        operationsParProjet.forEach((projetId, operations) -> {
+            for (OperationTache operation : operations) {
+                Query tache = requeteTache(projetId, operation.getTacheId());
+                switch (operation.getType()) {
+                    case AJOUTER -> lot.insert(new TacheProjet(operation.getTache(), projetId, ordreSuivant()));
+                    case DEPLACER -> lot.updateOne(tache, deplacement(operation.getStatut(), aujourdHui));
+                    case SUPPRIMER -> lot.remove(tache);
+                    case ASSIGNER -> lot.updateOne(tache, new Update().set("assigneA", operation.getAssigneA()));
+                }
+            }
+        });
+        lot.execute();
+    }
+
+    @Override
+    public Map<String, CompteursTaches> compteursParProjet(Collection<String> projetIds) {
+        Aggregation compteurs = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("projetId").in(projetIds)),
+                Aggregation.group("projetId")
+                        .count().as("total")
+                        .sum(siVrai(Criteria.where("statut").is("TO_DO"))).as("toDo")
+                        .sum(siVrai(Criteria.where("statut").is("DOING"))).as("doing")
+                        .sum(siVrai(Criteria.where("statut").is("DONE"))).as("done")
+                        .sum(siVrai(Criteria.where("enRetard").is(true))).as("enRetard"));
+
+        Map<String, CompteursTaches> parProjet = new LinkedHashMap<>();
+        projetIds.forEach(id -> parProjet.put(id, new CompteursTaches()));
+        for (Document groupe : mongoTemplate.aggregate(compteurs, TacheProjet.class, Document.class)) {
+            CompteursTaches compteursProjet = parProjet.get(groupe.getString("_id"));
+            compteursProjet.setTotal(groupe.getInteger("total", 0));
+            compteursProjet.setToDo(groupe.getInteger("toDo", 0));
+            compteursProjet.setDoing(groupe.getInteger("doing", 0));
+            compteursProjet.setDone(groupe.getInteger("done", 0));
+            compteursProjet.setEnRetard(groupe.getInteger("enRetard", 0));
+        }
+        return parProjet;
+    }
+
+    @Override
+    public Set<String> marquerEnRetard(int tailleLot) {
+        // Tâches dépassées, non terminées, pas encore marquées (index dateLimite)
+        Criteria depassee = Criteria.where("dateLimite").lt(ProjetPipelines.aujourdHui())
+                .and("statut").ne("DONE")
+                .and("enRetard").ne(true);
+
+        Query query = Query.query(depassee).limit(tailleLot);
+        query.fields().include("_id", "projetId");
+        List<Object> ids = new ArrayList<>();
+        Set<String> projetIds = new HashSet<>();
+        for (Document tache : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(TacheProjet.class))) {
+            ids.add(tache.get("_id"));
+            projetIds.add(tache.getString("projetId"));
+        }
+        if (ids.isEmpty()) {
+            return projetIds;
+        }
+        Query lot = Query.query(Criteria.where("_id").in(ids).andOperator(depassee));
+        mongoTemplate.updateMulti(lot, new Update().set("enRetard", true), TacheProjet.class);
+        return projetIds;
+    }
+
+    @Override
+    public long normaliserValeursAnciennes() {
+        String collection = mongoTemplate.getCollectionName(TacheProjet.class);
+        return NormalisationValeurs.normaliserChamp(mongoTemplate, collection, "statut",
+                        StatutTache.class, StatutTache.TO_DO)
+                + NormalisationValeurs.normaliserChamp(mongoTemplate, collection, "priorite",
+                        PrioriteTache.class, PrioriteTache.MOYENNE);
+    }
+
+    @Override
+    public void remplacerTaches(String projetId, List<Tache> taches) {
+        mongoTemplate.remove(Query.query(Criteria.where("projetId").is(projetId)), TacheProjet.class);
+        if (taches == null || taches.isEmpty()) {
+            return;
+        }
+        // L'ordre d'origine de la liste embarquée est conservé
+        List<TacheProjet> copies = new ArrayList<>();
+        for (int rang = 0; rang < taches.size(); rang++) {
+            copies.add(new TacheProjet(taches.get(rang), projetId, rang));
+        }
+        mongoTemplate.insert(copies, TacheProjet.class);
+    }
+
+    @Override
+    public Map<String, String> insererTaches(Map<String, List<Tache>> tachesParProjet) {
+        List<TacheProjet> copies = new ArrayList<>();
+        tachesParProjet.forEach((projetId, taches) -> {
+            for (int rang = 0; rang < taches.size(); rang++) {
+                copies.add(new TacheProjet(taches.get(rang), projetId, rang));
+            }
+        });
+        if (copies.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations lot = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TacheProjet.class);
+        lot.insert(copies);
+        try {
+            lot.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<String, String> refus = new HashMap<>();
+            for (BulkWriteError erreur : e.getErrors()) {
+                TacheProjet tache = copies.get(erreur.getIndex());
+                refus.putIfAbsent(tache.getProjetId(), "Tâche " + tache.getId() + " refusée : " + erreur.getMessage());
+            }
+            return refus;
+        }
+    }
+
+    @Override
+    public List<TacheProjet> pageDeTaches(String projetId, CriteresTaches criteres) {
+        Criteria critere = Criteria.where("projetId").is(projetId);
+        Criteria filtre = RequetesTaches.filtre(criteres);
+        if (filtre != null) {
+            critere = critere.andOperator(filtre);
+        }
+        Query query = Query.query(critere).with(RequetesTaches.tri(criteres)).limit(criteres.getTaille());
+        return mongoTemplate.find(query, TacheProjet.class);
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Une tâche par son identifiant, restreinte à son projet. */
+    static Query requeteTache(String projetId, String tacheId) {
+        return Query.query(Criteria.where("id").is(tacheId).and("projetId").is(projetId));
+    }
+
+    /** Changement de statut ; le retard est recalculé par MongoDB sur la date limite stockée. */
+    static AggregationUpdate deplacement(StatutTache nouveauStatut, Date aujourdHui) {
+        return AggregationUpdate.from(List.<AggregationOperation>of(contexte -> new Document("$set",
+                new Document("statut", new Document("$literal", nouveauStatut.getValeur()))
+                        .append("enRetard", ProjetPipelines.retardSelonStatut(
+                                nouveauStatut, "$dateLimite", aujourdHui)))));
+    }
+
+    /** 1 si la condition est vraie pour la tâche, 0 sinon (à sommer dans un $group). */
+    private static ConditionalOperators.Cond siVrai(Criteria condition) {
+        return ConditionalOperators.when(condition).then(1).otherwise(0);
+    }
+
+    /**
+     * Clé d'ordre d'une nouvelle tâche : après les tâches migrées (rangs
+     * 0..n). Ni unique entre instances ni monotone si l'horloge recule :
+     * les pages de tâches départagent les ordres égaux par l'identifiant.
+     */
+    static long ordreSuivant() {
+        return System.currentTimeMillis() * 1000 + SEQUENCE.getAndIncrement() % 1000;
+    }
+}
@@ -0,0 +1,30 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * ============================================================
+ * REPOSITORY RÉACTIF : TacheRepositoryReactif
+ * ============================================================
+ * Variante NON BLOQUANTE de TacheRepository, sur la même collection
+ * "taches" (projets en stockage séparé, Projet.TACHES_SEPAREES).
+ *
+ * Créé uniquement avec le profil Spring "reactif", comme
+ * ProjetRepositoryReactif. Les mutations d'une tâche sont dans
+ * TacheRepositoryReactifCustom.
+ * ============================================================
+ */
+@Repository
+public interface TacheRepositoryReactif extends ReactiveMongoRepository<TacheProjet, String>, TacheRepositoryReactifCustom {
+
+    /**
+     * Tâches d'un projet, dans l'ordre d'ajout (index projetId, ordre).
+     *
+     * @param projetId l'identifiant du projet
+     * @return les tâches du projet
+     */
+    Flux<TacheProjet> findByProjetIdOrderByOrdreAsc(String projetId);
+}
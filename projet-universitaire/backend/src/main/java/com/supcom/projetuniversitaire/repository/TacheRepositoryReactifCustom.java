@@ -0,0 +1,55 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * ============================================================
+ * REPOSITORY RÉACTIF PERSONNALISÉ : TacheRepositoryReactifCustom
+ * ============================================================
+ * Mêmes écritures que TacheRepositoryCustom pour une tâche de la
+ * collection "taches", exécutées via ReactiveMongoTemplate.
+ * ============================================================
+ */
+public interface TacheRepositoryReactifCustom {
+
+    /**
+     * Ajoute une tâche à un projet, après ses tâches existantes.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tache    la tâche (identifiant déjà attribué)
+     * @return un Mono terminé une fois la tâche insérée
+     */
+    Mono<Void> ajouter(String projetId, Tache tache);
+
+    /**
+     * Change le statut d'une tâche et recalcule son retard.
+     *
+     * @param projetId      l'identifiant du projet
+     * @param tacheId       l'identifiant de la tâche
+     * @param nouveauStatut le nouveau statut
+     * @return la tâche AVANT modification (écart des compteurs), ou vide si elle n'existe pas
+     */
+    Mono<Tache> modifierStatut(String projetId, String tacheId, StatutTache nouveauStatut);
+
+    /**
+     * Supprime une tâche.
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche
+     * @return la tâche supprimée, ou vide si elle n'existe pas
+     */
+    Mono<Tache> retirer(String projetId, String tacheId);
+
+    /**
+     * Enregistre les tâches d'un nouveau projet, dans l'ordre de la liste.
+     *
+     * @param projetId l'identifiant du projet
+     * @param taches   les tâches du projet (peut être vide)
+     * @return un Mono terminé une fois les tâches insérées
+     */
+    Mono<Void> insererTaches(String projetId, List<Tache> taches);
+}
@@ -0,0 +1,61 @@
+package com.supcom.projetuniversitaire.repository;
+
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ============================================================
+ * IMPLÉMENTATION : TacheRepositoryReactifCustomImpl
+ * ============================================================
+ * Implémentation réactive des écritures de TacheRepositoryCustomImpl
+ * (mêmes requêtes, même clé d'ordre), sans bloquer le thread appelant.
+ * ============================================================
+ */
+public class TacheRepositoryReactifCustomImpl implements TacheRepositoryReactifCustom {
+
+    // Accès non bloquant à MongoDB
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Void> ajouter(String projetId, Tache tache) {
+        return reactiveMongoTemplate.insert(new TacheProjet(tache, projetId, TacheRepositoryCustomImpl.ordreSuivant()))
+                .then();
+    }
+
+    @Override
+    public Mono<Tache> modifierStatut(String projetId, String tacheId, StatutTache nouveauStatut) {
+        return reactiveMongoTemplate.findAndModify(TacheRepositoryCustomImpl.requeteTache(projetId, tacheId),
+                        TacheRepositoryCustomImpl.deplacement(nouveauStatut, ProjetPipelines.aujourdHui()),
+                        FindAndModifyOptions.options().returnNew(false), TacheProjet.class)
+                .cast(Tache.class);
+    }
+
+    @Override
+    public Mono<Tache> retirer(String projetId, String tacheId) {
+        return reactiveMongoTemplate.findAndRemove(TacheRepositoryCustomImpl.requeteTache(projetId, tacheId),
+                        TacheProjet.class)
+                .cast(Tache.class);
+    }
+
+    @Override
+    public Mono<Void> insererTaches(String projetId, List<Tache> taches) {
+        if (taches == null || taches.isEmpty()) {
+            return Mono.empty();
+        }
+        // L'ordre de la liste reçue est conservé
+        List<TacheProjet> copies = new ArrayList<>();
+        for (int rang = 0; rang < taches.size(); rang++) {
+            copies.add(new TacheProjet(taches.get(rang), projetId, rang));
+        }
+        return reactiveMongoTemplate.insert(copies, TacheProjet.class).then();
+    }
+}
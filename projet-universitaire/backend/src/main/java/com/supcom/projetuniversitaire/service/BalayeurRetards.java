@@ -0,0 +1,85 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * ============================================================
+ * COMPOSANT : BalayeurRetards
+ * ============================================================
+ * Tâche planifiée qui fait passer en retard, directement en base,
+ * les projets et les tâches dont la date limite vient d'être dépassée.
+ *
+ * Le statut stocké reste ainsi toujours exact : les listes et les
+ * filtres par statut sont servis tels quels depuis les index MongoDB,
+ * sans appeler verifierRetard() sur chaque projet pendant la requête.
+ *
+ * Le balayage s'exécute au démarrage puis chaque nuit, par lots
+ * (updateMany sur un nombre borné de projets) pour ne pas bloquer
+ * la base sur une grosse collection. Les tâches stockées dans la
+ * collection "taches" sont balayées à part (StockageTaches).
+ * ============================================================
+ */
+@Component
+public class BalayeurRetards {
+
+    private static final Logger log = LoggerFactory.getLogger(BalayeurRetards.class);
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    // Les projets modifiés en base sortent du cache de lecture (et changent la révision)
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private StockageTaches stockageTaches;
+
+    // Nombre maximal de projets modifiés par updateMany
+    @Value("${projet.retards.taille-lot:500}")
+    private int tailleLot;
+
+    /**
+     * Balaye toute la collection, lot par lot.
+     * Planifié par défaut chaque jour à 00:05 (heure du serveur).
+     *
+     * @return le nombre de projets modifiés, pour les tâches et pour les projets
+     */
+    @Scheduled(cron = "${projet.retards.cron:0 5 0 * * *}")
+    public Map<String, Long> balayer() {
+        // Les tâches d'abord : leur passage en retard peut modifier le statut du projet
+        long projetsAvecTaches = traiterParLots(projetRepository::marquerTachesEnRetard)
+                + traiterParLots(stockageTaches::marquerTachesEnRetard);
+        long projets = traiterParLots(projetRepository::marquerProjetsEnRetard);
+        if (projetsAvecTaches + projets > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Balayage des retards : {} projet(s) avec tâches en retard, {} projet(s) passés EN_RETARD",
+                    projetsAvecTaches, projets);
+        }
+
+        Map<String, Long> resultat = new LinkedHashMap<>();
+        resultat.put("projetsAvecTachesEnRetard", projetsAvecTaches);
+        resultat.put("projetsEnRetard", projets);
+        return resultat;
+    }
+
+    /** Répète l'opération tant qu'un lot modifie encore des projets. */
+    private long traiterParLots(IntToLongFunction lot) {
+        long total = 0;
+        long modifies;
+        do {
+            modifies = lot.applyAsLong(tailleLot);
+            total += modifies;
+        } while (modifies > 0);
+        return total;
+    }
+}
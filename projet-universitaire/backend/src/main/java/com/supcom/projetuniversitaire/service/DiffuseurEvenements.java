@@ -0,0 +1,276 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.EvenementProjet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ============================================================
+ * SERVICE : DiffuseurEvenements
+ * ============================================================
+ * Abonnements Server-Sent Events aux changements d'un projet
+ * (GET /api/projets/{id}/evenements) et diffusion des événements
+ * reçus de RelaisEvenements.
+ *
+ * Contre-pression : chaque abonné a son propre tampon borné
+ * (projet.evenements.tampon). La diffusion ne fait que déposer
+ * l'événement dans les tampons ; l'envoi sur la connexion est fait par
+ * un thread d'envoi, abonné par abonné. Un client trop lent dont
+ * le tampon déborde perd ses événements en attente et reçoit à la place
+ * un unique RESYNCHRONISATION (relire le projet) : un client lent ne
+ * ralentit ni les écritures, ni les autres abonnés.
+ *
+ * Un envoi peut bloquer (client qui ne lit plus, fenêtre TCP pleine) :
+ * les threads d'envoi ne sont pas en nombre fixe, un client bloqué
+ * n'occupe que le sien. Un envoi bloqué plus de
+ * projet.evenements.delai-envoi-ms fait abandonner l'abonné : retiré
+ * des destinataires, tampon vidé, connexion terminée dès que l'envoi
+ * en cours rend la main (échec d'écriture au plus tard).
+ *
+ * Un commentaire SSE est envoyé périodiquement pour garder la connexion
+ * ouverte à travers les proxys et détecter les clients partis.
+ * ============================================================
+ */
+@Service
+public class DiffuseurEvenements {
+
+    private static final Logger log = LoggerFactory.getLogger(DiffuseurEvenements.class);
+
+    // Nombre maximal d'événements en attente par abonné
+    @Value("${projet.evenements.tampon:256}")
+    private int tailleTampon;
+
+    // Durée maximale d'une connexion : EventSource se reconnecte ensuite de lui-même
+    @Value("${projet.evenements.duree-max-ms:1800000}")
+    private long dureeMaxMs;
+
+    // Durée maximale d'un envoi bloqué avant abandon de l'abonné
+    @Value("${projet.evenements.delai-envoi-ms:10000}")
+    private long delaiEnvoiMs;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Abonnés par identifiant de projet
+    private final Map<String, Set<Abonne>> abonnes = new ConcurrentHashMap<>();
+    private final AtomicInteger nombreAbonnes = new AtomicInteger();
+
+    private ExecutorService envoi;
+    private Counter debordements;
+    private Counter abandons;
+
+    @PostConstruct
+    void demarrer() {
+        AtomicInteger numero = new AtomicInteger();
+        // Un thread par abonné en cours d'envoi ; les threads inactifs s'arrêtent après 60 s
+        envoi = Executors.newCachedThreadPool(tache -> {
+            Thread thread = new Thread(tache, "evenements-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("evenements.abonnes", nombreAbonnes, AtomicInteger::get)
+                .description("Connexions SSE ouvertes sur les événements de projets")
+                .register(registry);
+        debordements = Counter.builder("evenements.debordements")
+                .description("Tampons d'abonnés saturés (client renvoyé à une resynchronisation)")
+                .register(registry);
+        abandons = Counter.builder("evenements.abandons")
+                .description("Abonnés abandonnés après un envoi bloqué trop longtemps")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void arreter() {
+        abonnes.values().forEach(ensemble -> ensemble.forEach(abonne -> abonne.emetteur.complete()));
+        envoi.shutdownNow();
+    }
+
+    // ============================================================
+    // ABONNEMENT ET DIFFUSION
+    // ============================================================
+
+    /**
+     * Ouvre un flux SSE des événements d'un projet.
+     *
+     * @param projetId l'identifiant du projet
+     * @return l'émetteur à retourner par le contrôleur
+     */
+    public SseEmitter abonner(String projetId) {
+        SseEmitter emetteur = new SseEmitter(dureeMaxMs);
+        Abonne abonne = new Abonne(projetId, emetteur);
+        // Ajout dans compute() : exclusif avec le retrait de l'ensemble vide (retirer())
+        abonnes.compute(projetId, (id, ensemble) -> {
+            Set<Abonne> destinataires = ensemble == null ? ConcurrentHashMap.newKeySet() : ensemble;
+            destinataires.add(abonne);
+            return destinataires;
+        });
+        nombreAbonnes.incrementAndGet();
+
+        emetteur.onCompletion(() -> retirer(abonne));
+        emetteur.onTimeout(() -> retirer(abonne));
+        emetteur.onError(erreur -> retirer(abonne));
+
+        // Premier envoi : valide immédiatement la réponse (en-têtes SSE) côté client
+        abonne.publier(() -> SseEmitter.event().comment("abonne " + projetId));
+        return emetteur;
+    }
+
+    /**
+     * Dépose un événement dans le tampon de chaque abonné du projet,
+     * sans attendre l'envoi.
+     */
+    public void diffuser(EvenementProjet evenement) {
+        Set<Abonne> destinataires = abonnes.get(evenement.getProjetId());
+        if (destinataires == null || destinataires.isEmpty()) {
+            return;
+        }
+        destinataires.forEach(abonne -> abonne.publier(() -> message(evenement)));
+    }
+
+    /** Battement périodique : garde les connexions ouvertes, révèle les clients partis */
+    @Scheduled(fixedDelayString = "${projet.evenements.battement-ms:25000}")
+    public void battement() {
+        abonnes.values().forEach(ensemble ->
+                ensemble.forEach(abonne -> abonne.publier(() -> SseEmitter.event().comment("battement"))));
+    }
+
+    /** Abandonne les abonnés dont l'envoi en cours est bloqué depuis trop longtemps */
+    @Scheduled(fixedDelayString = "${projet.evenements.verification-envoi-ms:1000}")
+    public void verifierEnvois() {
+        long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(delaiEnvoiMs);
+        abonnes.values().forEach(ensemble -> ensemble.forEach(abonne -> {
+            long debut = abonne.debutEnvoi;
+            if (debut != 0 && debut - limite < 0) {
+                abonne.abandonner();
+            }
+        }));
+    }
+
+    private void retirer(Abonne abonne) {
+        // Retrait et libération de l'entrée du projet (dernier abonné parti) en une
+        // seule opération : un abonnement simultané ne peut pas tomber dans un ensemble retiré
+        abonnes.computeIfPresent(abonne.projetId, (id, ensemble) -> {
+            if (ensemble.remove(abonne)) {
+                nombreAbonnes.decrementAndGet();
+            }
+            return ensemble.isEmpty() ? null : ensemble;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder message(EvenementProjet evenement) {
+        return SseEmitter.event()
+                .name(evenement.getType().name())
+                .data(evenement, MediaType.APPLICATION_JSON);
+    }
+
+    // ============================================================
+    // ABONNÉ : tampon borné et envoi séquentiel
+    // ============================================================
+
+    private final class Abonne {
+
+        private final String projetId;
+        private final SseEmitter emetteur;
+        // Messages construits au moment de l'envoi : un SseEventBuilder ne sert qu'une fois
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> tampon;
+
+        // Vrai tant qu'un thread d'envoi vide le tampon de cet abonné
+        private final AtomicBoolean envoiEnCours = new AtomicBoolean();
+
+        // Début (System.nanoTime()) de l'envoi en cours, 0 hors envoi
+        private volatile long debutEnvoi;
+
+        // Envoi bloqué trop longtemps : plus rien n'est déposé ni envoyé
+        private volatile boolean abandonne;
+
+        private Abonne(String projetId, SseEmitter emetteur) {
+            this.projetId = projetId;
+            this.emetteur = emetteur;
+            this.tampon = new ArrayBlockingQueue<>(tailleTampon);
+        }
+
+        /** Dépose un message ; tampon plein : remplacé par une demande de resynchronisation */
+        private void publier(Supplier<SseEmitter.SseEventBuilder> message) {
+            if (abandonne) {
+                return;
+            }
+            if (!tampon.offer(message)) {
+                tampon.clear();
+                tampon.offer(() -> message(EvenementProjet.resynchronisation(projetId)));
+                debordements.increment();
+                log.debug("Tampon d'un abonné du projet {} saturé : resynchronisation demandée", projetId);
+            }
+            planifierEnvoi();
+        }
+
+        private void planifierEnvoi() {
+            if (!abandonne && !tampon.isEmpty() && envoiEnCours.compareAndSet(false, true)) {
+                envoi.execute(this::vider);
+            }
+        }
+
+        /**
+         * Appelé par la vérification périodique, hors du thread d'envoi : l'émetteur
+         * n'est pas terminé ici (il attendrait la fin de l'envoi bloqué), mais par
+         * le thread d'envoi dès qu'il rend la main.
+         */
+        private void abandonner() {
+            if (abandonne) {
+                return;
+            }
+            abandonne = true;
+            tampon.clear();
+            retirer(this);
+            abandons.increment();
+            log.debug("Abonné du projet {} abandonné : envoi bloqué depuis plus de {} ms", projetId, delaiEnvoiMs);
+        }
+
+        private void vider() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> message;
+                while (!abandonne && (message = tampon.poll()) != null) {
+                    debutEnvoi = System.nanoTime();
+                    emetteur.send(message.get());
+                    debutEnvoi = 0;
+                }
+                if (abandonne) {
+                    emetteur.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté ou flux déjà terminé
+                tampon.clear();
+                retirer(this);
+                emetteur.completeWithError(e);
+            } finally {
+                debutEnvoi = 0;
+                envoiEnCours.set(false);
+            }
+            // Message déposé pendant la fin de l'envoi
+            planifierEnvoi();
+        }
+    }
+}
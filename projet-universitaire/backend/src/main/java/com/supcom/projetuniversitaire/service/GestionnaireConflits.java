@@ -0,0 +1,139 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * ============================================================
+ * COMPOSANT : GestionnaireConflits
+ * ============================================================
+ * Exécute une écriture soumise au verrouillage optimiste (@Version)
+ * et la rejoue en cas de conflit, avec un délai exponentiel borné.
+ *
+ * Chaque tentative doit RELIRE le projet : l'action passée en
+ * paramètre contient donc toute la séquence lecture → modification → save().
+ * Après le nombre maximal de tentatives, une ResourceConflictException
+ * est levée (HTTP 409 pour le client).
+ *
+ * Des compteurs par opération (conflits, nouvelles tentatives, échecs)
+ * permettent de repérer où se situe la contention. Ce sont des compteurs
+ * Micrometer (/actuator/prometheus), étiquetés par opération :
+ *   - projets.conflits{operation}
+ *   - projets.conflits.nouvelles.tentatives{operation}
+ *   - projets.conflits.echecs{operation}
+ * également résumés par /api/admin/concurrence.
+ * ============================================================
+ */
+@Component
+public class GestionnaireConflits {
+
+    private static final Logger log = LoggerFactory.getLogger(GestionnaireConflits.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Nombre maximal de tentatives (la première comprise)
+    @Value("${projet.concurrence.tentatives-max:5}")
+    private int tentativesMax;
+
+    // Délai avant la première nouvelle tentative, doublé à chaque conflit
+    @Value("${projet.concurrence.delai-initial-ms:10}")
+    private long delaiInitialMs;
+
+    // Plafond du délai entre deux tentatives
+    @Value("${projet.concurrence.delai-max-ms:200}")
+    private long delaiMaxMs;
+
+    // Compteurs par nom d'opération
+    private final Map<String, Counter> conflits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> nouvellesTentatives = new ConcurrentHashMap<>();
+    private final Map<String, Counter> echecs = new ConcurrentHashMap<>();
+
+    /**
+     * Exécute l'action et la rejoue tant qu'elle échoue sur un conflit de version.
+     *
+     * @param operation nom de l'opération (pour les compteurs et les logs)
+     * @param action    séquence complète lecture → modification → sauvegarde
+     * @return le résultat de l'action
+     * @throws ResourceConflictException si toutes les tentatives échouent
+     */
+    public <T> T executer(String operation, Supplier<T> action) {
+        for (int tentative = 1; ; tentative++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                incrementer(conflits, "projets.conflits",
+                        "Conflits de version (verrouillage optimiste)", operation);
+                if (tentative >= tentativesMax) {
+                    incrementer(echecs, "projets.conflits.echecs",
+                            "Écritures abandonnées après le nombre maximal de tentatives (409)", operation);
+                    log.warn("Conflit persistant sur {} après {} tentatives", operation, tentative);
+                    throw new ResourceConflictException(
+                            "Le projet a été modifié en parallèle, veuillez réessayer", e);
+                }
+                incrementer(nouvellesTentatives, "projets.conflits.nouvelles.tentatives",
+                        "Écritures rejouées après un conflit de version", operation);
+                attendre(tentative);
+            }
+        }
+    }
+
+    /**
+     * Instantané des compteurs, par opération.
+     *
+     * @return pour chaque opération : conflits, nouvellesTentatives, echecs
+     */
+    public Map<String, Map<String, Long>> getStatistiques() {
+        Map<String, Map<String, Long>> statistiques = new LinkedHashMap<>();
+        conflits.keySet().forEach(operation -> {
+            Map<String, Long> compteurs = new LinkedHashMap<>();
+            compteurs.put("conflits", valeur(conflits, operation));
+            compteurs.put("nouvellesTentatives", valeur(nouvellesTentatives, operation));
+            compteurs.put("echecs", valeur(echecs, operation));
+            statistiques.put(operation, compteurs);
+        });
+        return statistiques;
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Délai exponentiel plafonné, avec une part aléatoire pour désynchroniser les clients. */
+    private void attendre(int tentative) {
+        long delai = Math.min(delaiMaxMs, delaiInitialMs << Math.min(tentative - 1, 20));
+        long delaiAleatoire = delai / 2 + ThreadLocalRandom.current().nextLong(delai / 2 + 1);
+        try {
+            Thread.sleep(delaiAleatoire);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attente interrompue pendant une nouvelle tentative", e);
+        }
+    }
+
+    /** Compteur Micrometer de l'opération, enregistré à sa première occurrence. */
+    private void incrementer(Map<String, Counter> compteurs, String nom, String description, String operation) {
+        compteurs.computeIfAbsent(operation, cle -> Counter.builder(nom)
+                .description(description)
+                .tag("operation", operation)
+                .register(registry)).increment();
+    }
+
+    private static long valeur(Map<String, Counter> compteurs, String operation) {
+        Counter compteur = compteurs.get(operation);
+        return compteur == null ? 0 : (long) compteur.count();
+    }
+}
@@ -0,0 +1,266 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoCommandException;
+import com.supcom.projetuniversitaire.model.EvenementProjet;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * SERVICE : GestionnaireIndex
+ * ============================================================
+ * Gestion des index MongoDB des collections "projets", "taches" et
+ * "evenements" (index TTL).
+ *
+ * 1. creerIndex() : crée au démarrage, de façon idempotente, tous les
+ *    index déclarés sur les modèles (@Indexed, @CompoundIndex,
+ *    @TextIndexed). Un index existant dont la définition a changé est
+ *    supprimé puis recréé.
+ *
+ * 2. verifierPlans() : exécute explain("executionStats") sur chaque chemin
+ *    de requête de ProjetRepository et TacheRepository et signale ceux qui
+ *    parcourent encore toute la collection (COLLSCAN), ou tout un index :
+ *    plus de projet.index.ratio-cles-max clés examinées par document
+ *    retourné (un IXSCAN sans bornes utiles, comme une regex non ancrée,
+ *    n'est pas un accès indexé). Les index multiclés (tâches embarquées)
+ *    ne sont jugés que sur le COLLSCAN : une clé par tâche, un document
+ *    par projet. Selon projet.index.verification : "avertir" (journal),
+ *    "echouer" (démarrage interrompu) ou "desactiver".
+ *
+ * La recherche par titre passe par l'index texte (rechercherProjets,
+ * titre de poids 5) : une recherche par regex non ancrée sur le titre
+ * parcourrait tout l'index.
+ * ============================================================
+ */
+@Service
+public class GestionnaireIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GestionnaireIndex.class);
+
+    // Codes d'erreur MongoDB : IndexOptionsConflict, IndexKeySpecsConflict
+    private static final List<Integer> CODES_CONFLIT_INDEX = List.of(85, 86);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    // Comportement si une requête n'utilise aucun index : avertir, echouer, desactiver
+    @Value("${projet.index.verification:avertir}")
+    private String modeVerification;
+
+    // Clés d'index examinées par document retourné au-delà desquelles l'index est jugé inefficace
+    @Value("${projet.index.ratio-cles-max:10}")
+    private long ratioClesMax;
+
+    // ============================================================
+    // CRÉATION DES INDEX
+    // ============================================================
+
+    /**
+     * Crée les index déclarés sur Projet (et ses tâches embarquées), sur
+     * TacheProjet (tâches stockées à part) et sur EvenementProjet.
+     * Sans effet pour les index déjà présents à l'identique.
+     *
+     * @return les noms des index garantis
+     */
+    public List<String> creerIndex() {
+        List<String> noms = new ArrayList<>(creerIndex(Projet.class));
+        noms.addAll(creerIndex(TacheProjet.class));
+        noms.addAll(creerIndex(EvenementProjet.class));
+        return noms;
+    }
+
+    private List<String> creerIndex(Class<?> entite) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entite);
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        List<String> noms = new ArrayList<>();
+        for (IndexDefinition definition : resolver.resolveIndexFor(entite)) {
+            noms.add(garantirIndex(entite, indexOps, definition));
+        }
+        log.info("Index MongoDB garantis sur \"{}\" : {}", mongoTemplate.getCollectionName(entite), noms);
+        return noms;
+    }
+
+    /** ensureIndex, en remplaçant l'index existant si sa définition a changé. */
+    private String garantirIndex(Class<?> entite, IndexOperations indexOps, IndexDefinition definition) {
+        try {
+            return indexOps.ensureIndex(definition);
+        } catch (DataAccessException e) {
+            if (!estConflitIndex(e)) {
+                throw e;
+            }
+            String nom = definition.getIndexOptions().getString("name");
+            log.info("Définition de l'index \"{}\" modifiée : suppression puis recréation", nom);
+            supprimerIndexEnConflit(entite, definition, nom);
+            return indexOps.ensureIndex(definition);
+        }
+    }
+
+    /**
+     * Supprime l'index de même nom et, pour un index texte, l'index texte
+     * existant (MongoDB n'en autorise qu'un par collection).
+     */
+    private void supprimerIndexEnConflit(Class<?> entite, IndexDefinition definition, String nom) {
+        boolean indexTexte = definition.getIndexKeys().containsValue("text");
+        mongoTemplate.execute(entite, collection -> {
+            for (Document index : collection.listIndexes()) {
+                String nomExistant = index.getString("name");
+                boolean texteExistant = index.get("key", Document.class).containsKey("_fts");
+                if (nomExistant.equals(nom) || (indexTexte && texteExistant)) {
+                    collection.dropIndex(nomExistant);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean estConflitIndex(DataAccessException e) {
+        return e.getMostSpecificCause() instanceof MongoCommandException commande
+                && CODES_CONFLIT_INDEX.contains(commande.getErrorCode());
+    }
+
+    // ============================================================
+    // VÉRIFICATION DES PLANS DE REQUÊTE
+    // ============================================================
+
+    /**
+     * Exécute explain() sur chaque requête de ProjetRepository et TacheRepository.
+     *
+     * @return pour chaque requête, true si elle utilise un index efficacement
+     * @throws IllegalStateException en mode "echouer" si une requête fait un COLLSCAN
+     *         ou examine trop de clés d'index par document retourné
+     */
+    public Map<String, Boolean> verifierPlans() {
+        Map<String, Boolean> resultats = new LinkedHashMap<>();
+        if ("desactiver".equals(modeVerification)) {
+            return resultats;
+        }
+
+        expliquer(Projet.class, requetesDuRepository(), resultats);
+        expliquer(TacheProjet.class, requetesDesTaches(), resultats);
+
+        List<String> sansIndex = resultats.entrySet().stream()
+                .filter(resultat -> !resultat.getValue())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!sansIndex.isEmpty()) {
+            String message = "Requêtes sans index efficace (COLLSCAN ou parcours d'index) : " + sansIndex;
+            if ("echouer".equals(modeVerification)) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+        return resultats;
+    }
+
+    /**
+     * explain("executionStats") de chaque filtre sur la collection de l'entité ;
+     * true si un index est utilisé et borne réellement la recherche.
+     */
+    private void expliquer(Class<?> entite, Map<String, Document> requetes, Map<String, Boolean> resultats) {
+        requetes.forEach((requete, filtre) -> {
+            Document plan = mongoTemplate.execute(entite,
+                    collection -> collection.find(filtre).explain(ExplainVerbosity.EXECUTION_STATS));
+            Document planRetenu = plan.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            Document statistiques = plan.get("executionStats", Document.class);
+            long clesExaminees = ((Number) statistiques.get("totalKeysExamined")).longValue();
+            long retournes = ((Number) statistiques.get("nReturned")).longValue();
+            boolean efficace = !contientCollScan(planRetenu)
+                    && (contientIndexMultiCles(planRetenu) || clesExaminees <= ratioClesMax * Math.max(retournes, 1));
+            log.debug("Plan de {} : {} clés examinées pour {} documents retournés", requete, clesExaminees, retournes);
+            resultats.put(requete, efficace);
+        });
+    }
+
+    /**
+     * Filtre représentatif de chaque chemin de requête de ProjetRepository,
+     * tel que Spring Data le génère.
+     */
+    private static Map<String, Document> requetesDuRepository() {
+        Date aujourdHui = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        Map<String, Document> requetes = new LinkedHashMap<>();
+        requetes.put("findByStatut", new Document("statut", "EN_COURS"));
+        requetes.put("findByMembresContaining", new Document("membres", "membre"));
+        requetes.put("findByMatiere", new Document("matiere", "matiere"));
+        requetes.put("findAllBy(TextCriteria)", new Document("$text",
+                new Document("$search", "projet").append("$language", "french")));
+        requetes.put("marquerProjetsEnRetard", new Document("statut", "EN_COURS")
+                .append("dateLimite", new Document("$lt", aujourdHui)));
+        requetes.put("marquerTachesEnRetard", new Document("taches", new Document("$elemMatch",
+                new Document("dateLimite", new Document("$lt", aujourdHui))
+                        .append("statut", new Document("$ne", "DONE")))));
+        requetes.put("taches.assigneA", new Document("taches.assigneA", "membre"));
+        requetes.put("taches.statut", new Document("taches.statut", "DOING"));
+        requetes.put("chargeDuMembre", new Document("$or", List.of(
+                new Document("membres", "membre"), new Document("taches.assigneA", "membre"))));
+        return requetes;
+    }
+
+    /** Filtre représentatif de chaque chemin de requête de TacheRepository. */
+    private static Map<String, Document> requetesDesTaches() {
+        Date aujourdHui = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        Map<String, Document> requetes = new LinkedHashMap<>();
+        requetes.put("taches:findByProjetIdOrderByOrdreAsc", new Document("projetId", "projet"));
+        requetes.put("taches:projetId+statut", new Document("projetId", "projet").append("statut", "DOING"));
+        requetes.put("taches:projetId+assigneA", new Document("projetId", "projet").append("assigneA", "membre"));
+        requetes.put("taches:chargeDuMembre", new Document("assigneA", "membre"));
+        requetes.put("taches:marquerEnRetard", new Document("dateLimite", new Document("$lt", aujourdHui))
+                .append("statut", new Document("$ne", "DONE"))
+                .append("enRetard", new Document("$ne", true)));
+        return requetes;
+    }
+
+    /** Recherche récursive d'un IXSCAN sur un index multiclés dans un plan d'exécution. */
+    private static boolean contientIndexMultiCles(Object noeud) {
+        if (noeud instanceof Document document) {
+            if (Boolean.TRUE.equals(document.get("isMultiKey"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(GestionnaireIndex::contientIndexMultiCles);
+        }
+        if (noeud instanceof List<?> liste) {
+            return liste.stream().anyMatch(GestionnaireIndex::contientIndexMultiCles);
+        }
+        return false;
+    }
+
+    /** Recherche récursive d'une étape COLLSCAN dans un plan d'exécution. */
+    private static boolean contientCollScan(Object noeud) {
+        if (noeud instanceof Document document) {
+            if ("COLLSCAN".equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(GestionnaireIndex::contientCollScan);
+        }
+        if (noeud instanceof List<?> liste) {
+            return liste.stream().anyMatch(GestionnaireIndex::contientCollScan);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,322 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.supcom.projetuniversitaire.model.Projet;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ============================================================
+ * SERVICE : ImportProjets
+ * ============================================================
+ * Import en masse de projets au format NDJSON (un projet JSON par
+ * ligne, tel que produit par GET /api/projets/export), compressé
+ * en gzip ou non (détecté sur les premiers octets).
+ *
+ * Le flux est lu au fil de l'eau : une ligne à la fois dans un tampon
+ * réutilisé, et au plus un lot de projets en mémoire. La lecture
+ * n'avance qu'une fois le lot précédent écrit : un client plus rapide
+ * que MongoDB est freiné par TCP, sans mémoire supplémentaire.
+ *
+ * Chaque ligne est traitée indépendamment :
+ *   - JSON illisible, valeur inconnue, titre vide (@NotBlank) : la
+ *     ligne est rejetée avec son numéro et la raison ;
+ *   - projet valide : préparé comme une création (compteurs, avancement,
+ *     statut, identifiants des tâches), puis inséré par lot
+ *     (projet.import.taille-lot) en une seule commande MongoDB.
+ *
+ * Le déroulement est rapporté ligne par ligne à l'appelant : erreurs,
+ * progression après chaque lot, bilan final.
+ * ============================================================
+ */
+@Service
+public class ImportProjets {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportProjets.class);
+
+    // Une ligne ne peut dépasser la taille maximale d'un document MongoDB
+    static final int TAILLE_LIGNE_MAX = 16 * 1024 * 1024;
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private StockageTaches stockageTaches;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Contraintes de validation du modèle (@NotBlank...), comme sur POST /api/projets
+    @Autowired
+    private Validator validator;
+
+    // Nombre de projets insérés par commande MongoDB
+    @Value("${projet.import.taille-lot:500}")
+    private int tailleLot;
+
+    /**
+     * Importe tous les projets d'un flux NDJSON.
+     *
+     * @param entree  le flux NDJSON, éventuellement compressé en gzip
+     * @param rapport reçoit les lignes du rapport : "erreur", "progression", "bilan"
+     * @return le bilan de l'import (également transmis au rapport)
+     * @throws IOException si le flux ne peut être lu
+     */
+    public Map<String, Object> importer(InputStream entree, Consumer<Map<String, Object>> rapport) throws IOException {
+        long debut = System.nanoTime();
+        // Une seconde valeur JSON sur la même ligne est une erreur, pas une valeur ignorée
+        ObjectReader lecteurJson = objectMapper.readerFor(Projet.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        LecteurLignes lignes = new LecteurLignes(decompresser(entree), TAILLE_LIGNE_MAX);
+        Bilan bilan = new Bilan();
+        List<Projet> lot = new ArrayList<>(tailleLot);
+        List<Long> numeros = new ArrayList<>(tailleLot);
+
+        try {
+            while (lignes.suivante()) {
+                bilan.lignes++;
+                if (lignes.estTropLongue()) {
+                    rejeter(bilan, bilan.lignes, "Ligne trop longue (plus de " + TAILLE_LIGNE_MAX / (1024 * 1024) + " Mo)", rapport);
+                    continue;
+                }
+                if (lignes.estVide()) {
+                    continue;
+                }
+                Projet projet = lire(lecteurJson, lignes, bilan, rapport);
+                if (projet == null) {
+                    continue;
+                }
+                projetService.preparerCreation(projet);
+                lot.add(projet);
+                numeros.add(bilan.lignes);
+                if (lot.size() >= tailleLot) {
+                    ecrireLot(lot, numeros, bilan, rapport);
+                }
+            }
+            ecrireLot(lot, numeros, bilan, rapport);
+        } catch (DataAccessException e) {
+            // Base indisponible : les lots déjà écrits sont conservés, le reste n'est pas lu
+            log.error("Import interrompu à la ligne {}", bilan.lignes, e);
+            bilan.interruption = "Import interrompu à la ligne " + bilan.lignes + " : " + e.getMostSpecificCause().getMessage();
+        }
+
+        Map<String, Object> resultat = bilan.ligne("bilan");
+        resultat.put("dureeMs", (System.nanoTime() - debut) / 1_000_000);
+        if (bilan.interruption != null) {
+            resultat.put("interruption", bilan.interruption);
+        }
+        log.info("Import : {} projets importés, {} lignes rejetées en {} ms",
+                bilan.importes, bilan.rejetes, resultat.get("dureeMs"));
+        rapport.accept(resultat);
+        return resultat;
+    }
+
+    /**
+     * Lit et valide le projet de la ligne courante.
+     *
+     * @return le projet, ou null si la ligne est rejetée
+     */
+    private Projet lire(ObjectReader lecteurJson, LecteurLignes lignes, Bilan bilan, Consumer<Map<String, Object>> rapport)
+            throws IOException {
+        Projet projet;
+        try {
+            projet = lecteurJson.readValue(lignes.octets(), 0, lignes.longueur());
+        } catch (JsonProcessingException e) {
+            rejeter(bilan, bilan.lignes, "JSON invalide : " + e.getOriginalMessage(), rapport);
+            return null;
+        }
+        if (projet == null) {
+            rejeter(bilan, bilan.lignes, "La ligne ne contient pas de projet", rapport);
+            return null;
+        }
+        Set<ConstraintViolation<Projet>> violations = validator.validate(projet);
+        if (!violations.isEmpty()) {
+            rejeter(bilan, bilan.lignes, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ; ")), rapport);
+            return null;
+        }
+        return projet;
+    }
+
+    /**
+     * Insère le lot en cours, rapporte ses refus et la progression, puis vide le lot.
+     */
+    private void ecrireLot(List<Projet> lot, List<Long> numeros, Bilan bilan, Consumer<Map<String, Object>> rapport) {
+        if (lot.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> refus = stockageTaches.creerLot(lot);
+        refus.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(r -> rejeter(bilan, numeros.get(r.getKey()), r.getValue(), rapport));
+        int importes = lot.size() - refus.size();
+        if (importes > 0) {
+            // Listes de projets déjà reçues périmées (ETag)
+            projetService.signalerNouveauxProjets();
+        }
+        bilan.importes += importes;
+        lot.clear();
+        numeros.clear();
+        rapport.accept(bilan.ligne("progression"));
+    }
+
+    private static void rejeter(Bilan bilan, long ligne, String message, Consumer<Map<String, Object>> rapport) {
+        bilan.rejetes++;
+        Map<String, Object> erreur = new LinkedHashMap<>();
+        erreur.put("type", "erreur");
+        erreur.put("ligne", ligne);
+        erreur.put("message", message);
+        rapport.accept(erreur);
+    }
+
+    /**
+     * Flux décompressé si ses deux premiers octets sont l'en-tête gzip (1f 8b).
+     */
+    private static InputStream decompresser(InputStream entree) throws IOException {
+        BufferedInputStream tampon = new BufferedInputStream(entree, TAILLE_TAMPON);
+        tampon.mark(2);
+        boolean gzip = tampon.read() == 0x1f && tampon.read() == 0x8b;
+        tampon.reset();
+        return gzip ? new GZIPInputStream(tampon, TAILLE_TAMPON) : tampon;
+    }
+
+    /** Compteurs de l'import en cours */
+    private static final class Bilan {
+        long lignes;
+        long importes;
+        long rejetes;
+        String interruption;
+
+        Map<String, Object> ligne(String type) {
+            Map<String, Object> ligne = new LinkedHashMap<>();
+            ligne.put("type", type);
+            ligne.put("lignes", lignes);
+            ligne.put("importes", importes);
+            ligne.put("rejetes", rejetes);
+            return ligne;
+        }
+    }
+
+    /**
+     * Découpe un flux d'octets en lignes (séparateur \n, \r\n toléré),
+     * dans un tampon réutilisé d'une ligne à l'autre. Une ligne plus longue
+     * que la limite est sautée jusqu'au \n suivant, sans être conservée.
+     */
+    static final class LecteurLignes {
+
+        private final InputStream entree;
+        private final int tailleMax;
+        private final byte[] lecture = new byte[TAILLE_TAMPON];
+        private int position;
+        private int fin;
+
+        private byte[] ligne = new byte[8 * 1024];
+        private int longueur;
+        private boolean tropLongue;
+
+        LecteurLignes(InputStream entree, int tailleMax) {
+            this.entree = entree;
+            this.tailleMax = tailleMax;
+        }
+
+        /**
+         * Passe à la ligne suivante.
+         *
+         * @return false à la fin du flux
+         */
+        boolean suivante() throws IOException {
+            longueur = 0;
+            tropLongue = false;
+            boolean lue = false;
+            while (true) {
+                if (position == fin) {
+                    int lus = entree.read(lecture);
+                    if (lus < 0) {
+                        // Dernière ligne sans \n final
+                        return lue;
+                    }
+                    position = 0;
+                    fin = lus;
+                    continue;
+                }
+                lue = true;
+                int depart = position;
+                while (position < fin && lecture[position] != '\n') {
+                    position++;
+                }
+                ajouter(depart, position - depart);
+                if (position < fin) {
+                    position++;
+                    if (longueur > 0 && ligne[longueur - 1] == '\r') {
+                        longueur--;
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void ajouter(int depart, int nombre) {
+            if (tropLongue) {
+                return;
+            }
+            if (longueur + nombre > tailleMax) {
+                tropLongue = true;
+                longueur = 0;
+                return;
+            }
+            if (longueur + nombre > ligne.length) {
+                ligne = Arrays.copyOf(ligne, Math.min(tailleMax, Math.max(ligne.length * 2, longueur + nombre)));
+            }
+            System.arraycopy(lecture, depart, ligne, longueur, nombre);
+            longueur += nombre;
+        }
+
+        boolean estTropLongue() {
+            return tropLongue;
+        }
+
+        /** Ligne vide ou faite seulement d'espaces */
+        boolean estVide() {
+            for (int i = 0; i < longueur; i++) {
+                if (!Character.isWhitespace(ligne[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        byte[] octets() {
+            return ligne;
+        }
+
+        int longueur() {
+            return longueur;
+        }
+    }
+}
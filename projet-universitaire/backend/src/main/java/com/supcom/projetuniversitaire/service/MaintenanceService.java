@@ -0,0 +1,136 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ============================================================
+ * SERVICE : MaintenanceService
+ * ============================================================
+ * Opérations de maintenance sur la collection "projets" :
+ * mise à niveau des documents existants et statistiques techniques.
+ *
+ * Ces opérations sont lancées au démarrage (InitialisationDonnees)
+ * et peuvent être relancées via l'API d'administration.
+ * ============================================================
+ */
+@Service
+public class MaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceService.class);
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @Autowired
+    private GestionnaireConflits gestionnaireConflits;
+
+    @Autowired
+    private ProjetService projetService;
+
+    // Compteurs des projets aux tâches séparées (collection "taches")
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Donne une version initiale aux projets créés avant l'ajout
+     * du verrouillage optimiste.
+     *
+     * @return le nombre de projets mis à niveau
+     */
+    public long initialiserVersions() {
+        long nombre = projetRepository.initialiserVersionsManquantes();
+        if (nombre > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Version initialisée pour {} projet(s) existant(s)", nombre);
+        }
+        return nombre;
+    }
+
+    /**
+     * Réécrit sous leur valeur canonique ("DONE", "TERMINÉ", "ÉLEVÉE") les
+     * statuts et priorités enregistrés avant les énumérations, dans les
+     * projets et dans les tâches séparées. À lancer avant la reconstruction
+     * des compteurs : une tâche "done" n'était pas comptée comme terminée.
+     *
+     * @return le nombre de mises à jour de documents
+     */
+    public long normaliserValeurs() {
+        long nombre = projetRepository.normaliserValeursAnciennes() + tacheRepository.normaliserValeursAnciennes();
+        if (nombre > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Statuts et priorités normalisés ({} mise(s) à jour de documents)", nombre);
+        }
+        return nombre;
+    }
+
+    /**
+     * Répare les compteurs de tâches matérialisés qui ont dérivé
+     * (documents anciens sans compteurs, écriture manuelle en base...).
+     * Seuls les projets incohérents sont réécrits. Les projets aux tâches
+     * séparées sont comparés à la collection "taches" (MigrationTaches).
+     *
+     * @return le nombre de projets réparés
+     */
+    public long reconstruireCompteurs() {
+        long nombre = projetRepository.reconstruireCompteursDerives();
+        if (nombre > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Compteurs de tâches reconstruits pour {} projet(s)", nombre);
+        }
+        return nombre + migrationTaches.reparerCompteurs();
+    }
+
+    /**
+     * Compteurs de contention sur les écritures (verrouillage optimiste).
+     *
+     * @return conflits, nouvelles tentatives et échecs par opération
+     */
+    public Map<String, Object> getStatistiquesConcurrence() {
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        statistiques.put("operations", gestionnaireConflits.getStatistiques());
+        return statistiques;
+    }
+
+    /**
+     * Statistiques du cache des projets (succès, défauts, évictions).
+     * Détaillées pour Caffeine ; pour un autre fournisseur, seul le type est indiqué.
+     *
+     * @return les statistiques du cache "projets"
+     */
+    public Map<String, Object> getStatistiquesCache() {
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        Cache cache = cacheManager.getCache(ProjetService.CACHE_PROJETS);
+        if (cache == null) {
+            statistiques.put("actif", false);
+            return statistiques;
+        }
+        statistiques.put("actif", true);
+        statistiques.put("fournisseur", cache.getNativeCache().getClass().getSimpleName());
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            CacheStats stats = caffeine.stats();
+            statistiques.put("taille", caffeine.estimatedSize());
+            statistiques.put("succes", stats.hitCount());
+            statistiques.put("defauts", stats.missCount());
+            statistiques.put("tauxSucces", stats.hitRate());
+            statistiques.put("evictions", stats.evictionCount());
+        }
+        return statistiques;
+    }
+}
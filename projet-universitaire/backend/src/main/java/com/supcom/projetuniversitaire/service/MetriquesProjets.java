@@ -0,0 +1,194 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.mongodb.MongoClientSettings;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.ValeurEnumeree;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ============================================================
+ * SERVICE : MetriquesProjets
+ * ============================================================
+ * Métriques métier publiées via Micrometer (/actuator/prometheus) :
+ *
+ *   Jauges, rafraîchies périodiquement par une agrégation MongoDB
+ *   (projet.metriques.intervalle-ms) et non à chaque lecture :
+ *     - projets.total, projets.statut{statut}
+ *     - taches.total,  taches.statut{statut}
+ *
+ *   Distributions, mesurées sur les documents réellement lus / écrits :
+ *     - projet.document.taches{operation=lecture|ecriture} : taille de la liste des tâches
+ *     - projet.document.octets : taille BSON du document enregistré par save()
+ *       (ré-encodage du document : désactivable par projet.metriques.taille-documents)
+ *
+ *   Compteurs de conflits d'écriture : voir GestionnaireConflits
+ *     - projets.conflits{operation}, projets.conflits.nouvelles.tentatives{operation},
+ *       projets.conflits.echecs{operation}
+ * ============================================================
+ */
+@Service
+public class MetriquesProjets extends AbstractMongoEventListener<Projet> {
+
+    private static final Logger log = LoggerFactory.getLogger(MetriquesProjets.class);
+
+    private static final Codec<Document> CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${projet.metriques.taille-documents:true}")
+    private boolean mesurerOctets;
+
+    // --- Valeurs des jauges (dernière agrégation) ---
+    private final AtomicLong totalProjets = new AtomicLong();
+    private final AtomicLong totalTaches = new AtomicLong();
+    private final Map<StatutProjet, AtomicLong> projetsParStatut = new EnumMap<>(StatutProjet.class);
+    private final Map<StatutTache, AtomicLong> tachesParStatut = new EnumMap<>(StatutTache.class);
+
+    private DistributionSummary tachesLues;
+    private DistributionSummary tachesEcrites;
+    private DistributionSummary octetsEcrits;
+
+    @PostConstruct
+    void enregistrerMetriques() {
+        jauge("projets.total", "Nombre de projets", totalProjets, null);
+        jauge("taches.total", "Nombre de tâches, tous projets confondus", totalTaches, null);
+        for (StatutProjet statut : StatutProjet.values()) {
+            projetsParStatut.put(statut, new AtomicLong());
+            jauge("projets.statut", "Nombre de projets par statut", projetsParStatut.get(statut), statut.getValeur());
+        }
+        for (StatutTache statut : StatutTache.values()) {
+            tachesParStatut.put(statut, new AtomicLong());
+            jauge("taches.statut", "Nombre de tâches par statut", tachesParStatut.get(statut), statut.getValeur());
+        }
+
+        tachesLues = tailleListe("lecture");
+        tachesEcrites = tailleListe("ecriture");
+        octetsEcrits = DistributionSummary.builder("projet.document.octets")
+                .description("Taille BSON des projets enregistrés")
+                .baseUnit(BaseUnits.BYTES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // ============================================================
+    // JAUGES : rafraîchissement périodique
+    // ============================================================
+
+    /**
+     * Recalcule les jauges par une seule agrégation ($group par statut).
+     * Si MongoDB est indisponible, les dernières valeurs sont conservées.
+     */
+    @Scheduled(fixedDelayString = "${projet.metriques.intervalle-ms:60000}")
+    public void rafraichir() {
+        List<Document> repartition;
+        try {
+            repartition = projetRepository.repartitionParStatut();
+        } catch (DataAccessException e) {
+            log.debug("Rafraîchissement des métriques impossible : {}", e.getMessage());
+            return;
+        }
+
+        long projets = 0;
+        long taches = 0;
+        Map<StatutProjet, Long> parStatut = new EnumMap<>(StatutProjet.class);
+        long toDo = 0;
+        long doing = 0;
+        long done = 0;
+        for (Document groupe : repartition) {
+            long nombre = nombre(groupe, "projets");
+            projets += nombre;
+            taches += nombre(groupe, "taches");
+            toDo += nombre(groupe, "toDo");
+            doing += nombre(groupe, "doing");
+            done += nombre(groupe, "done");
+            StatutProjet statut = ValeurEnumeree.normaliser(StatutProjet.class, String.valueOf(groupe.get("_id")));
+            if (statut != null) {
+                parStatut.merge(statut, nombre, Long::sum);
+            }
+        }
+
+        totalProjets.set(projets);
+        totalTaches.set(taches);
+        projetsParStatut.forEach((statut, valeur) -> valeur.set(parStatut.getOrDefault(statut, 0L)));
+        tachesParStatut.get(StatutTache.TO_DO).set(toDo);
+        tachesParStatut.get(StatutTache.DOING).set(doing);
+        tachesParStatut.get(StatutTache.DONE).set(done);
+    }
+
+    // ============================================================
+    // DISTRIBUTIONS : événements de mapping Spring Data
+    // ============================================================
+
+    /** Projet relu depuis MongoDB (find, findAndModify...) */
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Projet> event) {
+        List<?> taches = event.getSource().getTaches();
+        tachesLues.record(taches == null ? 0 : taches.size());
+    }
+
+    /** Projet sur le point d'être enregistré par save() / insert() */
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Projet> event) {
+        List<?> taches = event.getSource().getTaches();
+        tachesEcrites.record(taches == null ? 0 : taches.size());
+        if (mesurerOctets && event.getDocument() != null) {
+            octetsEcrits.record(new RawBsonDocument(event.getDocument(), CODEC).getByteBuffer().remaining());
+        }
+    }
+
+    // ============================================================
+    // UTILITAIRES
+    // ============================================================
+
+    private void jauge(String nom, String description, AtomicLong valeur, String statut) {
+        Gauge.Builder<AtomicLong> jauge = Gauge.builder(nom, valeur, AtomicLong::get)
+                .description(description)
+                .strongReference(true);
+        if (statut != null) {
+            jauge.tag("statut", statut);
+        }
+        jauge.register(registry);
+    }
+
+    private DistributionSummary tailleListe(String operation) {
+        return DistributionSummary.builder("projet.document.taches")
+                .description("Nombre de tâches des projets lus / enregistrés")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static long nombre(Document groupe, String champ) {
+        Object valeur = groupe.get(champ);
+        return valeur instanceof Number n ? n.longValue() : 0;
+    }
+}
@@ -0,0 +1,220 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ============================================================
+ * SERVICE : MigrationTaches
+ * ============================================================
+ * Migration EN LIGNE des tâches embarquées vers la collection "taches",
+ * pour les projets dont la liste dépasse un seuil.
+ *
+ * Pour chaque projet, sans interruption de service :
+ *   1. lecture du projet et de sa version ;
+ *   2. copie de ses tâches dans "taches" (copies d'une tentative
+ *      précédente remplacées) ;
+ *   3. bascule conditionnelle : compteurs recalculés, liste retirée du
+ *      document et projet marqué TACHES_SEPAREES, UNIQUEMENT s'il est
+ *      encore à la version lue.
+ * Pendant la copie, lectures et écritures continuent sur le format
+ * embarqué ; une écriture concurrente change la version, la bascule
+ * échoue et la copie est refaite. Tant qu'un projet n'a pas basculé,
+ * ses copies ne sont jamais lues (ProjetService lit les deux formats).
+ *
+ * Migration par appels bornés (limite) : à relancer jusqu'à ce qu'il
+ * ne reste plus de projet au-dessus du seuil.
+ *
+ * Réparation des compteurs des projets migrés : une mutation de tâche
+ * séparée écrit la tâche puis ajuste les compteurs du projet, sans
+ * transaction ; une instance arrêtée entre les deux laisse un écart.
+ * reparerCompteurs() le corrige (démarrage, maintenance), sans jamais
+ * écraser une mutation en cours (voir la méthode).
+ * ============================================================
+ */
+@Service
+public class MigrationTaches {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationTaches.class);
+
+    // Projets comparés à leurs tâches par aller-retour, lors de la réparation
+    private static final int TAILLE_LOT_REPARATION = 500;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    // Les projets migrés sortent du cache de lecture (et changent la révision)
+    @Autowired
+    private ProjetService projetService;
+
+    // Nombre maximal de copies d'un même projet modifié pendant sa migration
+    @Value("${projet.taches.migration.tentatives:3}")
+    private int tentatives;
+
+    // Projets séparés connus : les projets migrés y sont ajoutés
+    @Autowired
+    private ProjetsSepares projetsSepares;
+
+    // Attente entre les deux passes de la réparation (mutations en cours terminées)
+    @Value("${projet.taches.reparation.delai-ms:2000}")
+    private long delaiReparation;
+
+    /**
+     * Migre un lot de projets aux tâches embarquées.
+     *
+     * @param seuil  nombre minimal de tâches d'un projet à migrer
+     * @param limite nombre maximal de projets traités par cet appel
+     * @return projets migrés, tâches copiées, projets à retenter et projets restants
+     * @throws IllegalArgumentException si seuil ou limite ne sont pas positifs
+     */
+    public Map<String, Object> migrer(int seuil, int limite) {
+        if (seuil < 1 || limite < 1) {
+            throw new IllegalArgumentException("Le seuil et la limite doivent être supérieurs à 0");
+        }
+        long migres = 0;
+        long tachesCopiees = 0;
+        long aRetenter = 0;
+        for (String projetId : projetRepository.projetsAMigrer(seuil, limite)) {
+            int copiees = migrerProjet(projetId);
+            if (copiees >= 0) {
+                migres++;
+                tachesCopiees += copiees;
+            } else {
+                aRetenter++;
+            }
+        }
+        if (migres > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Migration des tâches : {} projet(s) migré(s), {} tâche(s) copiée(s)", migres, tachesCopiees);
+        }
+
+        Map<String, Object> bilan = new LinkedHashMap<>();
+        bilan.put("projetsMigres", migres);
+        bilan.put("tachesCopiees", tachesCopiees);
+        bilan.put("projetsARetenter", aRetenter);
+        bilan.put("projetsRestants", projetRepository.projetsAMigrer(seuil, limite).size());
+        return bilan;
+    }
+
+    /**
+     * Répare les compteurs des projets aux tâches séparées qui ne
+     * correspondent plus à leurs tâches de la collection "taches".
+     *
+     * Entre l'écriture d'une tâche et l'ajustement des compteurs, un
+     * projet diffère légitimement de ses tâches : le corriger à ce moment
+     * compterait l'ajustement deux fois. D'où deux passes :
+     *   1. relevé des projets en écart, avec leur version ;
+     *   2. après un délai (mutations en cours terminées), nouveau relevé :
+     *      seuls les projets toujours en écart ET à la même version sont
+     *      réécrits, conditionnellement à cette version.
+     * Un projet modifié entre-temps a terminé au moins une mutation : il
+     * sera revu au prochain appel si l'écart persiste.
+     *
+     * @return le nombre de projets réparés
+     */
+    public long reparerCompteurs() {
+        Map<String, Long> enEcart = new LinkedHashMap<>();
+        String apres = null;
+        List<Projet> lot;
+        do {
+            lot = projetRepository.compteursSepares(apres, TAILLE_LOT_REPARATION);
+            enEcart.putAll(versionsEnEcart(lot));
+            apres = lot.isEmpty() ? apres : lot.get(lot.size() - 1).getId();
+        } while (lot.size() == TAILLE_LOT_REPARATION);
+        if (enEcart.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Thread.sleep(delaiReparation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        long reparees = 0;
+        List<String> ids = List.copyOf(enEcart.keySet());
+        for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT_REPARATION) {
+            List<Projet> relus = projetRepository.compteursSepares(
+                    ids.subList(debut, Math.min(debut + TAILLE_LOT_REPARATION, ids.size())));
+            Map<String, CompteursTaches> reels = tacheRepository.compteursParProjet(
+                    relus.stream().map(Projet::getId).toList());
+            for (Projet projet : relus) {
+                CompteursTaches compteurs = reels.get(projet.getId());
+                if (Objects.equals(projet.getVersion(), enEcart.get(projet.getId()))
+                        && !compteurs.equals(projet.getCompteurs())
+                        && projetRepository.remplacerCompteurs(projet.getId(), projet.getVersion(), compteurs)) {
+                    reparees++;
+                }
+            }
+        }
+        if (reparees > 0) {
+            projetService.apresEcrituresEnMasse();
+            log.info("Compteurs de tâches séparées réparés pour {} projet(s)", reparees);
+        }
+        return reparees;
+    }
+
+    /** Version des projets du lot dont les compteurs diffèrent de leurs tâches. */
+    private Map<String, Long> versionsEnEcart(List<Projet> lot) {
+        Map<String, Long> enEcart = new LinkedHashMap<>();
+        if (lot.isEmpty()) {
+            return enEcart;
+        }
+        Map<String, CompteursTaches> reels = tacheRepository.compteursParProjet(
+                lot.stream().map(Projet::getId).toList());
+        for (Projet projet : lot) {
+            if (!reels.get(projet.getId()).equals(projet.getCompteurs())) {
+                enEcart.put(projet.getId(), projet.getVersion());
+            }
+        }
+        return enEcart;
+    }
+
+    /**
+     * Copie les tâches d'un projet puis bascule le projet, en recommençant
+     * si le projet a été modifié pendant la copie.
+     *
+     * @return le nombre de tâches copiées, 0 si le projet n'est plus à migrer,
+     *         -1 s'il a été modifié à chaque tentative (copies retirées)
+     */
+    private int migrerProjet(String projetId) {
+        for (int tentative = 1; tentative <= tentatives; tentative++) {
+            Projet projet = projetRepository.findById(projetId).orElse(null);
+            if (projet == null) {
+                // Projet supprimé pendant la migration : copies éventuelles retirées
+                tacheRepository.deleteByProjetId(projetId);
+                return 0;
+            }
+            if (projet.aDesTachesSeparees()) {
+                return 0;
+            }
+            tacheRepository.remplacerTaches(projetId, projet.getTaches());
+            if (projetRepository.basculerVersTachesSeparees(projetId, projet.getVersion())) {
+                projetsSepares.memoriser(projetId);
+                return projet.getTaches() == null ? 0 : projet.getTaches().size();
+            }
+            log.debug("Projet {} modifié pendant la copie de ses tâches (tentative {})", projetId, tentative);
+        }
+        // Projet trop sollicité : les copies non basculées sont retirées, il sera repris plus tard
+        if (projetRepository.projetsAvecTachesSeparees(List.of(projetId)).isEmpty()) {
+            tacheRepository.deleteByProjetId(projetId);
+        }
+        return -1;
+    }
+}
@@ -1,13 +1,55 @@
 package com.supcom.projetuniversitaire.service;
 
+import com.supcom.projetuniversitaire.dto.ChargeMembre;
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.dto.PageProjets;
+import com.supcom.projetuniversitaire.dto.PageTaches;
+import com.supcom.projetuniversitaire.dto.ProjetDuMembre;
+import com.supcom.projetuniversitaire.dto.ProjetResume;
+import com.supcom.projetuniversitaire.dto.ResultatOperationTache;
+import com.supcom.projetuniversitaire.dto.TacheAssignee;
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
 import com.supcom.projetuniversitaire.exception.ResourceNotFoundException;
+import com.supcom.projetuniversitaire.exception.ResourcePreconditionFailedException;
+import com.supcom.projetuniversitaire.model.EvenementProjet;
 import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
 import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import com.supcom.projetuniversitaire.model.ValeurEnumeree;
 import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * ============================================================
@@ -21,36 +63,178 @@ import java.util.List;
  *   - Calculer automatiquement l'avancement (%)
  *   - Vérifier les indicateurs de retard
  *   - Gérer les tâches (ajout, modification, suppression)
+ *
+ * Cache : getProjetParId() est servi par le cache "projets" (Caffeine
+ * par défaut, voir application.properties). Chaque écriture en retire
+ * le projet (@CacheEvict) une fois terminée, sans y placer le projet
+ * retourné : deux écritures simultanées pourraient y déposer leurs
+ * résultats dans le désordre, la plus ancienne en dernier. La lecture
+ * suivante recharge le projet ; elle est synchronisée (sync = true) :
+ * un retrait attend la fin d'un chargement en cours, qui ne peut donc
+ * pas remettre en cache un état antérieur à l'écriture.
+ * Les écritures en masse (balayage, maintenance) vident le cache.
+ * Les appels internes (this.getProjetParId) ne passent pas par le
+ * cache : une écriture relit toujours le projet depuis MongoDB.
+ *
+ * Métriques : chaque méthode publique est chronométrée (timer
+ * "projet.service", tags class / method / exception).
+ *
+ * Stockage des tâches : les deux formats (tâches embarquées ou
+ * collection "taches") coexistent pendant la migration. Les vues
+ * complètes sont complétées par StockageTaches ; une mutation de tâche
+ * tente d'abord le format embarqué, puis le format séparé.
+ *
+ * Temps réel : chaque écriture réussie publie un EvenementProjet (petit
+ * delta) sur le bus d'événements Spring, relayé aux abonnés SSE.
+ * Elle incrémente aussi la révision de la collection (ETag des listes).
  * ============================================================
  */
 @Service
+@Timed(value = "projet.service", description = "Durée des appels à ProjetService")
 public class ProjetService {
 
+    // Taille de page par défaut et taille maximale autorisée pour la pagination
+    public static final int TAILLE_PAGE_DEFAUT = 20;
+    public static final int TAILLE_PAGE_MAX = 200;
+
+    // Nom du cache des projets lus par identifiant
+    public static final String CACHE_PROJETS = "projets";
+
+    // Nombre maximal d'opérations dans un lot de tâches
+    public static final int TAILLE_LOT_MAX = 1000;
+
     // Injection du repository pour accéder à MongoDB
     @Autowired
     private ProjetRepository projetRepository;
 
+    // Rejoue les écritures en conflit de version (verrouillage optimiste)
+    @Autowired
+    private GestionnaireConflits gestionnaireConflits;
+
+    // Retrait ciblé des projets modifiés par un lot d'opérations
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Tâches des projets stockées dans la collection "taches"
+    @Autowired
+    private StockageTaches stockageTaches;
+
+    // Projets connus en stockage séparé : leurs mutations y vont directement
+    @Autowired
+    private ProjetsSepares projetsSepares;
+
+    // Bus d'événements Spring : deltas diffusés en temps réel (voir RelaisEvenements)
+    @Autowired
+    private ApplicationEventPublisher evenements;
+
     // ============================================================
     // OPÉRATIONS CRUD SUR LES PROJETS
     // ============================================================
 
     /**
      * Récupère tous les projets de la base de données.
-     * Met à jour les indicateurs de retard avant de retourner.
+     * Les indicateurs de retard stockés sont à jour (BalayeurRetards) :
+     * les projets sont retournés tels quels.
      *
      * @return liste de tous les projets
      */
     public List<Projet> getTousLesProjets() {
-        List<Projet> projets = projetRepository.findAll();
-        // Mettre à jour le statut de retard pour chaque projet
-        projets.forEach(p -> {
-            p.verifierRetard();
-            // Mettre à jour les tâches en retard
-            if (p.getTaches() != null) {
-                p.getTaches().forEach(Tache::verifierRetard);
-            }
-        });
-        return projets;
+        return stockageTaches.completer(projetRepository.findAll());
+    }
+
+    /**
+     * Récupère le résumé de tous les projets (vue "summary").
+     * La projection est faite par MongoDB : les tâches ne sont pas lues.
+     *
+     * @return liste des résumés de tous les projets
+     */
+    public List<ProjetResume> getResumesDeProjets() {
+        return projetRepository.resumes(null);
+    }
+
+    /**
+     * Récupère une page de projets par pagination "keyset" sur l'identifiant.
+     * Contrairement à skip/limit, le coût ne dépend pas de la position dans
+     * la collection : MongoDB reprend directement après le curseur via l'index _id.
+     *
+     * @param apres  identifiant du dernier projet reçu (null pour la première page)
+     * @param taille nombre de projets par page (1 à TAILLE_PAGE_MAX)
+     * @param ordre  "asc" (par défaut) ou "desc" sur l'identifiant
+     * @return la page de projets et le curseur de la page suivante
+     * @throws IllegalArgumentException si la taille, l'ordre ou le curseur sont invalides
+     */
+    public PageProjets<Projet> getPageDeProjets(String apres, int taille, String ordre) {
+        PageProjets<Projet> page = getPage(apres, taille, ordre, this::lirePageDeProjets, Projet::getId);
+        stockageTaches.completer(page.getProjets());
+        return page;
+    }
+
+    /**
+     * Même pagination que getPageDeProjets(), en vue résumé (sans les tâches).
+     *
+     * @param apres  identifiant du dernier projet reçu (null pour la première page)
+     * @param taille nombre de projets par page (1 à TAILLE_PAGE_MAX)
+     * @param ordre  "asc" (par défaut) ou "desc" sur l'identifiant
+     * @return la page de résumés et le curseur de la page suivante
+     * @throws IllegalArgumentException si la taille, l'ordre ou le curseur sont invalides
+     */
+    public PageProjets<ProjetResume> getPageDeResumes(String apres, int taille, String ordre) {
+        return getPage(apres, taille, ordre, projetRepository::pageDeResumes, ProjetResume::getId);
+    }
+
+    /** Page de projets complets après le curseur (null : première page), dans l'ordre du Pageable. */
+    private List<Projet> lirePageDeProjets(String apres, Pageable pageable) {
+        if (apres == null) {
+            return projetRepository.findAllBy(pageable, Projet.class);
+        }
+        return pageable.getSort().getOrderFor("id").isAscending()
+                ? projetRepository.findByIdGreaterThan(apres, pageable, Projet.class)
+                : projetRepository.findByIdLessThan(apres, pageable, Projet.class);
+    }
+
+    /** Pagination keyset commune aux deux vues (complète et résumé). */
+    private <T> PageProjets<T> getPage(String apres, int taille, String ordre,
+                                       BiFunction<String, Pageable, List<T>> lecture,
+                                       Function<T, String> identifiant) {
+        if (taille < 1 || taille > TAILLE_PAGE_MAX) {
+            throw new IllegalArgumentException(
+                    "La taille de page doit être comprise entre 1 et " + TAILLE_PAGE_MAX);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(ordre)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Ordre de tri invalide : " + ordre + " (attendu : asc ou desc)"));
+        // Curseur illisible : erreur du client, et non une page vide (comparaison de chaînes)
+        if (apres != null && !apres.isBlank() && !ObjectId.isValid(apres)) {
+            throw new IllegalArgumentException("Curseur de page invalide : " + apres);
+        }
+
+        Pageable pageable = PageRequest.of(0, taille, Sort.by(direction, "id"));
+        List<T> projets = lecture.apply(apres == null || apres.isBlank() ? null : apres, pageable);
+
+        // Une page incomplète signifie qu'il n'y a plus rien après
+        String curseurSuivant = projets.size() < taille ? null : identifiant.apply(projets.get(projets.size() - 1));
+        return new PageProjets<>(projets, curseurSuivant, taille);
+    }
+
+    /**
+     * Parcourt tous les projets via un curseur MongoDB, un document à la fois.
+     * Les tâches séparées sont lues projet par projet, au fil du flux.
+     * L'appelant doit fermer le Stream pour libérer le curseur.
+     *
+     * @return flux de tous les projets
+     */
+    public Stream<Projet> streamerTousLesProjets() {
+        return projetRepository.streamAllBy(Projet.class).map(stockageTaches::completer);
+    }
+
+    /**
+     * Parcourt le résumé de tous les projets (sans les tâches) via un curseur.
+     * L'appelant doit fermer le Stream pour libérer le curseur.
+     *
+     * @return flux des résumés de tous les projets
+     */
+    public Stream<ProjetResume> streamerResumesDeProjets() {
+        return projetRepository.streamResumes();
     }
 
     /**
@@ -60,72 +244,111 @@ public class ProjetService {
      * @return le projet trouvé
      * @throws ResourceNotFoundException si le projet n'existe pas
      */
+    @Cacheable(cacheNames = CACHE_PROJETS, key = "#id", sync = true)
     public Projet getProjetParId(String id) {
-        Projet projet = projetRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Projet non trouvé avec l'identifiant : " + id));
-
-        // Mettre à jour l'avancement et le statut avant de retourner
-        projet.calculerAvancement();
-        projet.verifierRetard();
-
-        return projet;
+        // Avancement, compteurs et retards sont maintenus en base à chaque
+        // écriture et par le balayage quotidien : aucun recalcul à la lecture
+        return projetRepository.findById(id)
+                .map(stockageTaches::completer)
+                .orElseThrow(() -> projetNonTrouve(id));
     }
 
     /**
-     * Crée un nouveau projet et le sauvegarde en base.
+     * Crée un nouveau projet et le sauvegarde en base, dans le format de
+     * stockage des tâches configuré (projet.taches.stockage).
      * Initialise l'avancement à 0% et le statut à "EN_COURS".
      *
      * @param projet le projet à créer
      * @return le projet créé avec son ID généré par MongoDB
      */
     public Projet creerProjet(Projet projet) {
-        // Initialisation de l'avancement
+        preparerCreation(projet);
+        // Sauvegarde en base MongoDB
+        Projet cree = stockageTaches.creer(projet);
+        projetRepository.incrementerRevision();
+        return cree;
+    }
+
+    /**
+     * Prépare un nouveau projet avant sa première écriture (création
+     * unitaire ou import) : identifiants des tâches, compteurs, avancement
+     * et statut calculés à partir des tâches fournies.
+     *
+     * @param projet le projet à créer
+     */
+    public void preparerCreation(Projet projet) {
+        // Un nouveau projet n'a pas de version : save() fera un insert
+        projet.setVersion(null);
+        projet.attribuerIdentifiantsTaches();
+        // Compteurs et avancement calculés à partir des tâches fournies
+        projet.recalculerCompteurs();
         projet.calculerAvancement();
         // Vérification du statut initial
         projet.verifierRetard();
-        // Sauvegarde en base MongoDB
-        return projetRepository.save(projet);
     }
 
     /**
      * Met à jour un projet existant.
      * Recalcule automatiquement l'avancement après la mise à jour.
+     * En cas de modification concurrente (version périmée), le projet est
+     * relu et la mise à jour rejouée, dans la limite configurée.
+     *
+     * Avec une version attendue (If-Match), la mise à jour est refusée
+     * dès que le projet n'est plus à cette version, y compris après un conflit.
      *
      * @param id l'identifiant du projet à mettre à jour
      * @param projetDetails les nouvelles données du projet
+     * @param versionAttendue version exigée du projet (null : aucune)
      * @return le projet mis à jour
      * @throws ResourceNotFoundException si le projet n'existe pas
+     * @throws ResourcePreconditionFailedException si la version a changé
+     * @throws ResourceConflictException si le conflit persiste
      */
-    public Projet mettreAJourProjet(String id, Projet projetDetails) {
-        // Vérifier que le projet existe
-        Projet projetExistant = getProjetParId(id);
-
-        // Mettre à jour les champs modifiables
-        projetExistant.setTitre(projetDetails.getTitre());
-        projetExistant.setDescription(projetDetails.getDescription());
-        projetExistant.setMatiere(projetDetails.getMatiere());
-        projetExistant.setDateLimite(projetDetails.getDateLimite());
-        projetExistant.setMembres(projetDetails.getMembres());
-
-        // Recalculer l'avancement après modification
-        projetExistant.calculerAvancement();
-        projetExistant.verifierRetard();
-
-        // Sauvegarder les modifications
-        return projetRepository.save(projetExistant);
+    @CacheEvict(cacheNames = CACHE_PROJETS, key = "#id")
+    public Projet mettreAJourProjet(String id, Projet projetDetails, Long versionAttendue) {
+        Projet projet = gestionnaireConflits.executer("mettreAJourProjet", () -> {
+            // Vérifier que le projet existe (relu à chaque tentative)
+            Projet projetExistant = getProjetParId(id);
+            verifierVersion(projetExistant, versionAttendue);
+
+            // Mettre à jour les champs modifiables
+            projetExistant.setTitre(projetDetails.getTitre());
+            projetExistant.setDescription(projetDetails.getDescription());
+            projetExistant.setMatiere(projetDetails.getMatiere());
+            projetExistant.setDateLimite(projetDetails.getDateLimite());
+            projetExistant.setMembres(projetDetails.getMembres());
+
+            // Recalculer l'avancement après modification
+            projetExistant.calculerAvancement();
+            projetExistant.verifierRetard();
+
+            // Sauvegarder : échoue si la version a changé depuis la lecture
+            return stockageTaches.enregistrer(projetExistant);
+        });
+        signalerEcriture(EvenementProjet.projetModifie(projet));
+        return projet;
     }
 
     /**
      * Supprime un projet par son identifiant.
      *
      * @param id l'identifiant du projet à supprimer
+     * @param versionAttendue version exigée du projet (null : aucune)
      * @throws ResourceNotFoundException si le projet n'existe pas
+     * @throws ResourcePreconditionFailedException si la version a changé
      */
-    public void supprimerProjet(String id) {
-        // Vérifier que le projet existe avant de supprimer
-        Projet projet = getProjetParId(id);
-        projetRepository.delete(projet);
+    @CacheEvict(cacheNames = CACHE_PROJETS, key = "#id")
+    public void supprimerProjet(String id, Long versionAttendue) {
+        gestionnaireConflits.executer("supprimerProjet", () -> {
+            // Vérifier que le projet existe avant de supprimer
+            Projet projet = getProjetParId(id);
+            verifierVersion(projet, versionAttendue);
+            // delete() vérifie la version : échoue si le projet vient d'être modifié
+            projetRepository.delete(projet);
+            stockageTaches.supprimerTaches(projet);
+            return projet;
+        });
+        signalerEcriture(EvenementProjet.projetSupprime(id));
     }
 
     // ============================================================
@@ -134,75 +357,268 @@ public class ProjetService {
 
     /**
      * Ajoute une nouvelle tâche à un projet existant.
-     * Recalcule l'avancement après l'ajout.
+     * L'ajout et le recalcul de l'avancement sont faits en une seule
+     * mise à jour atomique côté MongoDB (pas de relecture du projet).
+     * Projet aux tâches séparées : la tâche est insérée dans la
+     * collection "taches" et seuls les compteurs du projet sont modifiés.
      *
      * @param projetId l'identifiant du projet
      * @param tache    la tâche à ajouter
+     * @param versionAttendue version exigée du projet (null : aucune)
      * @return le projet mis à jour avec la nouvelle tâche
+     * @throws ResourceNotFoundException si le projet n'existe pas
+     * @throws ResourcePreconditionFailedException si la version a changé
+     * @throws ResourceConflictException si une tâche du projet porte déjà l'identifiant fourni
      */
-    public Projet ajouterTache(String projetId, Tache tache) {
-        Projet projet = getProjetParId(projetId);
-
+    @CacheEvict(cacheNames = CACHE_PROJETS, key = "#projetId")
+    public Projet ajouterTache(String projetId, Tache tache, Long versionAttendue) {
+        // Identifiant attribué ici, à la création (jamais à la relecture)
+        tache.attribuerIdentifiant();
         // Vérifier le retard de la nouvelle tâche
         tache.verifierRetard();
 
-        // Ajouter la tâche à la liste
-        projet.getTaches().add(tache);
-
-        // Recalculer l'avancement global du projet
-        projet.calculerAvancement();
-        projet.verifierRetard();
-
-        return projetRepository.save(projet);
+        Optional<Projet> ajoute;
+        try {
+            ajoute = muterTache(projetId,
+                    () -> projetRepository.ajouterTache(projetId, tache, versionAttendue),
+                    () -> stockageTaches.ajouterTache(projetId, tache, versionAttendue));
+        } catch (ResourceConflictException e) {
+            // Identifiant pris pendant l'ajout (tâches séparées) : les compteurs ont
+            // été ajustés puis rétablis, la version a changé. @CacheEvict ne s'applique
+            // pas quand la méthode lève une exception : cache et révision à la main
+            evincer(projetId);
+            projetRepository.incrementerRevision();
+            throw e;
+        }
+        Projet projet = ajoute.orElseThrow(() -> echecAjoutTache(projetId, tache.getId(), versionAttendue));
+        signalerEcriture(EvenementProjet.tacheAjoutee(projet, tache));
+        return projet;
     }
 
     /**
      * Met à jour le statut d'une tâche (TO_DO → DOING → DONE).
-     * Recalcule automatiquement l'avancement du projet parent.
+     * Le changement de statut, le retard de la tâche et l'avancement du
+     * projet parent sont mis à jour en une seule opération atomique :
+     * deux déplacements simultanés sur le même Kanban ne s'écrasent pas.
      *
      * @param projetId l'identifiant du projet
      * @param tacheId  l'identifiant de la tâche à modifier
      * @param nouveauStatut le nouveau statut ("TO_DO", "DOING", "DONE")
+     * @param versionAttendue version exigée du projet (null : aucune)
      * @return le projet mis à jour
+     * @throws ResourceNotFoundException si le projet ou la tâche n'existe pas
+     * @throws ResourcePreconditionFailedException si la version a changé
      */
-    public Projet mettreAJourStatutTache(String projetId, String tacheId, String nouveauStatut) {
-        Projet projet = getProjetParId(projetId);
-
-        // Trouver et mettre à jour la tâche concernée
-        projet.getTaches().stream()
-                .filter(t -> t.getId().equals(tacheId))
-                .findFirst()
-                .ifPresent(tache -> {
-                    tache.setStatut(nouveauStatut);
-                    tache.verifierRetard(); // Recalculer le retard après changement de statut
-                });
-
-        // Recalculer l'avancement global après le changement de statut
-        projet.calculerAvancement();
-        projet.verifierRetard();
-
-        return projetRepository.save(projet);
+    @CacheEvict(cacheNames = CACHE_PROJETS, key = "#projetId")
+    public Projet mettreAJourStatutTache(String projetId, String tacheId, StatutTache nouveauStatut,
+                                         Long versionAttendue) {
+        Projet projet = muterTache(projetId,
+                        () -> projetRepository.modifierStatutTache(projetId, tacheId, nouveauStatut, versionAttendue),
+                        () -> stockageTaches.modifierStatutTache(projetId, tacheId, nouveauStatut, versionAttendue))
+                .orElseThrow(() -> echecMutationTache(projetId, tacheId, versionAttendue));
+        signalerEcriture(EvenementProjet.tacheDeplacee(projet, tacheId, nouveauStatut));
+        return projet;
     }
 
     /**
      * Supprime une tâche d'un projet.
-     * Recalcule l'avancement après suppression.
+     * La suppression et le recalcul de l'avancement sont atomiques.
      *
      * @param projetId l'identifiant du projet
      * @param tacheId  l'identifiant de la tâche à supprimer
+     * @param versionAttendue version exigée du projet (null : aucune)
      * @return le projet mis à jour
+     * @throws ResourceNotFoundException si le projet ou la tâche n'existe pas
+     * @throws ResourcePreconditionFailedException si la version a changé
      */
-    public Projet supprimerTache(String projetId, String tacheId) {
-        Projet projet = getProjetParId(projetId);
+    @CacheEvict(cacheNames = CACHE_PROJETS, key = "#projetId")
+    public Projet supprimerTache(String projetId, String tacheId, Long versionAttendue) {
+        Projet projet = muterTache(projetId,
+                        () -> projetRepository.retirerTache(projetId, tacheId, versionAttendue),
+                        () -> stockageTaches.retirerTache(projetId, tacheId, versionAttendue))
+                .orElseThrow(() -> echecMutationTache(projetId, tacheId, versionAttendue));
+        signalerEcriture(EvenementProjet.tacheSupprimee(projet, tacheId));
+        return projet;
+    }
 
-        // Supprimer la tâche correspondante de la liste
-        projet.getTaches().removeIf(t -> t.getId().equals(tacheId));
+    /**
+     * Récupère une page des tâches d'un projet, filtrée et triée par MongoDB,
+     * sans charger le projet complet :
+     *   - tâches embarquées : agrégation sur le document ($unwind, $match,
+     *     $sort, $limit), seules les tâches de la page sont transférées ;
+     *   - tâches séparées   : requête indexée sur la collection "taches".
+     *
+     * Pagination par curseur sur (clé de tri, ordre d'ajout, identifiant) : repasser le
+     * curseurSuivant reçu, avec les mêmes filtres et le même tri. Pour des
+     * tâches embarquées, l'ordre d'ajout est le rang dans la liste : une
+     * suppression entre deux pages peut décaler la suite d'une tâche.
+     *
+     * @param projetId l'identifiant du projet
+     * @param filtres  statut, priorité, membre assigné, retard (null : pas de filtre)
+     * @param taille   nombre de tâches par page (1 à TAILLE_PAGE_MAX)
+     * @param tri      "ordre" (ordre d'ajout) ou "dateLimite"
+     * @param ordre    "asc" ou "desc"
+     * @param apres    curseur de la page précédente (null pour la première page)
+     * @return la page de tâches et le curseur de la page suivante
+     * @throws ResourceNotFoundException si le projet n'existe pas
+     * @throws IllegalArgumentException si un paramètre ou le curseur est invalide
+     */
+    public PageTaches getPageDeTaches(String projetId, CriteresTaches filtres, int taille,
+                                      String tri, String ordre, String apres) {
+        if (taille < 1 || taille > TAILLE_PAGE_MAX) {
+            throw new IllegalArgumentException(
+                    "La taille de page doit être comprise entre 1 et " + TAILLE_PAGE_MAX);
+        }
+        filtres.setTri(switch (tri) {
+            case "ordre" -> CriteresTaches.Tri.ORDRE;
+            case "dateLimite" -> CriteresTaches.Tri.DATE_LIMITE;
+            default -> throw new IllegalArgumentException(
+                    "Tri invalide : " + tri + " (attendu : ordre ou dateLimite)");
+        });
+        filtres.setDescendant(Sort.Direction.fromOptionalString(ordre)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Ordre de tri invalide : " + ordre + " (attendu : asc ou desc)"))
+                .isDescending());
+        filtres.setTaille(taille);
+        if (apres != null && !apres.isBlank()) {
+            lireCurseurTache(apres, filtres);
+        }
 
-        // Recalculer l'avancement après suppression
-        projet.calculerAvancement();
-        projet.verifierRetard();
+        Projet projet = projetRepository.enTeteProjet(projetId)
+                .orElseThrow(() -> projetNonTrouve(projetId));
+        List<TacheProjet> taches = stockageTaches.getPageDeTaches(projet, filtres);
 
-        return projetRepository.save(projet);
+        // Une page incomplète signifie qu'il n'y a plus rien après
+        String curseurSuivant = taches.size() < taille
+                ? null
+                : curseurTache(taches.get(taches.size() - 1), filtres.getTri());
+        return new PageTaches(taches, curseurSuivant, taille);
+    }
+
+    // ============================================================
+    // OPÉRATIONS DE TÂCHES PAR LOT (import de backlog, fin de sprint)
+    // ============================================================
+
+    /**
+     * Applique un lot d'opérations de tâches (ajout, déplacement,
+     * suppression, assignation) sur un ou plusieurs projets.
+     *
+     * Les opérations sont d'abord validées contre les identifiants de
+     * tâches existants (une seule lecture, sans le contenu des tâches),
+     * dans l'ordre du lot : une opération peut viser une tâche ajoutée
+     * plus haut. Les opérations valides sont ensuite appliquées en un
+     * seul bulkWrite, avec un seul recalcul de l'avancement par projet
+     * (un bulkWrite de plus sur la collection "taches" pour les projets
+     * aux tâches séparées).
+     * Une opération rejetée n'empêche pas l'application des autres.
+     *
+     * @param operations les opérations, dans l'ordre d'application
+     * @return le nombre de projets modifiés et le résultat de chaque opération
+     * @throws IllegalArgumentException si le lot est vide ou dépasse TAILLE_LOT_MAX
+     */
+    public Map<String, Object> appliquerOperationsTaches(List<OperationTache> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > TAILLE_LOT_MAX) {
+            throw new IllegalArgumentException(
+                    "Le lot doit contenir entre 1 et " + TAILLE_LOT_MAX + " opérations");
+        }
+
+        Set<String> projetIds = new HashSet<>();
+        operations.forEach(operation -> {
+            if (operation.getProjetId() != null) {
+                projetIds.add(operation.getProjetId());
+            }
+        });
+        Map<String, Set<String>> tachesParProjet = projetRepository.idsDesTaches(projetIds);
+        Set<String> separes = stockageTaches.completerIdsDesTaches(tachesParProjet);
+
+        List<ResultatOperationTache> resultats = new ArrayList<>();
+        Map<String, List<OperationTache>> valides = new LinkedHashMap<>();
+        for (int index = 0; index < operations.size(); index++) {
+            OperationTache operation = operations.get(index);
+            String erreur = validerOperation(operation, tachesParProjet.get(operation.getProjetId()));
+            String tacheId = operation.getType() == OperationTache.Type.AJOUTER && operation.getTache() != null
+                    ? operation.getTache().getId()
+                    : operation.getTacheId();
+            if (erreur != null) {
+                resultats.add(ResultatOperationTache.rejetee(index, operation.getProjetId(), tacheId, erreur));
+            } else {
+                valides.computeIfAbsent(operation.getProjetId(), id -> new ArrayList<>()).add(operation);
+                resultats.add(ResultatOperationTache.appliquee(index, operation.getProjetId(), tacheId));
+            }
+        }
+
+        Map<String, List<OperationTache>> validesSeparees = new LinkedHashMap<>();
+        separes.forEach(id -> {
+            if (valides.containsKey(id)) {
+                validesSeparees.put(id, valides.remove(id));
+            }
+        });
+        long projetsModifies = projetRepository.appliquerOperationsTaches(valides)
+                + stockageTaches.appliquerOperations(validesSeparees);
+        Cache cache = cacheManager.getCache(CACHE_PROJETS);
+        if (cache != null) {
+            valides.keySet().forEach(cache::evict);
+            validesSeparees.keySet().forEach(cache::evict);
+        }
+        if (projetsModifies > 0) {
+            projetRepository.incrementerRevision();
+        }
+        // Nouvel état non relu : les abonnés relisent les projets modifiés
+        valides.keySet().forEach(id -> evenements.publishEvent(EvenementProjet.projetModifie(id)));
+        validesSeparees.keySet().forEach(id -> evenements.publishEvent(EvenementProjet.projetModifie(id)));
+
+        long rejetees = resultats.stream().filter(resultat -> !resultat.isSucces()).count();
+        Map<String, Object> bilan = new LinkedHashMap<>();
+        bilan.put("projetsModifies", projetsModifies);
+        bilan.put("operationsAppliquees", resultats.size() - rejetees);
+        bilan.put("operationsRejetees", rejetees);
+        bilan.put("resultats", resultats);
+        return bilan;
+    }
+
+    /**
+     * Vérifie une opération du lot et, si elle est valide, met à jour les
+     * identifiants de tâches du projet comme le fera l'opération.
+     *
+     * @param operation l'opération à vérifier
+     * @param taches    identifiants des tâches du projet (null si le projet n'existe pas)
+     * @return la raison du rejet, ou null si l'opération est valide
+     */
+    private String validerOperation(OperationTache operation, Set<String> taches) {
+        if (operation.getType() == null) {
+            return "Type d'opération manquant (AJOUTER, DEPLACER, SUPPRIMER ou ASSIGNER)";
+        }
+        if (taches == null) {
+            return "Projet non trouvé avec l'identifiant : " + operation.getProjetId();
+        }
+        if (operation.getType() == OperationTache.Type.AJOUTER) {
+            Tache tache = operation.getTache();
+            if (tache == null) {
+                return "Tâche à ajouter manquante";
+            }
+            tache.attribuerIdentifiant();
+            if (!taches.add(tache.getId())) {
+                return "Une tâche existe déjà avec l'identifiant : " + tache.getId();
+            }
+            tache.verifierRetard();
+            return null;
+        }
+        if (!taches.contains(operation.getTacheId())) {
+            return "Tâche non trouvée avec l'identifiant : " + operation.getTacheId();
+        }
+        switch (operation.getType()) {
+            case DEPLACER -> {
+                if (operation.getStatut() == null) {
+                    return "Statut manquant (attendu : "
+                            + ValeurEnumeree.valeursAttendues(StatutTache.class) + ")";
+                }
+            }
+            case SUPPRIMER -> taches.remove(operation.getTacheId());
+            default -> {
+                // ASSIGNER : aucune contrainte sur le membre (null pour désassigner)
+            }
+        }
+        return null;
     }
 
     // ============================================================
@@ -211,29 +627,302 @@ public class ProjetService {
 
     /**
      * Filtre les projets par statut.
+     * Servi directement par l'index sur le statut stocké, maintenu à jour
+     * par les écritures et par le balayage des retards.
      *
      * @param statut le statut à filtrer ("EN_COURS", "TERMINÉ", "EN_RETARD")
      * @return liste filtrée des projets
      */
-    public List<Projet> getProjetsByStatut(String statut) {
-        return projetRepository.findByStatut(statut);
+    public List<Projet> getProjetsByStatut(StatutProjet statut) {
+        return stockageTaches.completer(projetRepository.findByStatut(statut));
+    }
+
+    /**
+     * Filtre les projets par statut, en vue résumé (sans les tâches).
+     *
+     * @param statut le statut à filtrer ("EN_COURS", "TERMINÉ", "EN_RETARD")
+     * @return liste filtrée des résumés de projets
+     */
+    public List<ProjetResume> getResumesByStatut(StatutProjet statut) {
+        return projetRepository.resumes(statut);
     }
 
     /**
-     * Ajoute un membre à un projet existant.
+     * Recherche plein texte dans les projets et leurs tâches, servie par
+     * l'index texte MongoDB. Les résultats sont classés par pertinence
+     * (titre > matière > titre de tâche > descriptions).
+     * Les tâches stockées à part ne sont pas couvertes par l'index texte :
+     * seuls les champs du projet comptent pour ces projets.
+     *
+     * @param q      les termes recherchés (une "phrase exacte" et -exclusion sont acceptées)
+     * @param page   numéro de page (à partir de 0)
+     * @param taille nombre de résultats par page (1 à TAILLE_PAGE_MAX)
+     * @return les projets de la page, chacun avec son score de pertinence
+     * @throws IllegalArgumentException si la recherche est vide ou la pagination invalide
+     */
+    public List<Projet> rechercherProjets(String q, int page, int taille) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("Le texte à rechercher est obligatoire");
+        }
+        if (page < 0 || taille < 1 || taille > TAILLE_PAGE_MAX) {
+            throw new IllegalArgumentException(
+                    "Pagination invalide : page >= 0 et taille entre 1 et " + TAILLE_PAGE_MAX);
+        }
+        TextCriteria criteres = TextCriteria.forLanguage("french").matching(q);
+        return stockageTaches.completer(
+                projetRepository.findAllBy(criteres, PageRequest.of(page, taille, Sort.by("score"))));
+    }
+
+    /**
+     * Charge de travail d'un membre sur tous les projets ("mes tâches") :
+     * ses projets et ses tâches, lus en une seule agrégation servie par
+     * les index multiclés "membres" / "taches.assigneA" et l'index
+     * "assigneA" de la collection "taches". Le regroupement par statut et
+     * par échéance porte ensuite sur ce seul résultat, déjà réduit au membre.
+     *
+     * @param membre le nom/email du membre
+     * @return projets, tâches par statut et décompte des échéances
+     * @throws IllegalArgumentException si le membre est vide
+     */
+    public ChargeMembre getChargeMembre(String membre) {
+        if (membre == null || membre.isBlank()) {
+            throw new IllegalArgumentException("Le membre est obligatoire");
+        }
+        List<ProjetDuMembre> projets = projetRepository.chargeDuMembre(membre);
+
+        Map<String, List<TacheAssignee>> parStatut = new LinkedHashMap<>();
+        // Colonnes du Kanban, dans l'ordre des constantes
+        for (StatutTache statut : StatutTache.values()) {
+            parStatut.put(statut.getValeur(), new ArrayList<>());
+        }
+        for (ProjetDuMembre projet : projets) {
+            for (Tache tache : projet.getTaches()) {
+                // Statut illisible (document ancien non normalisé) : hors Kanban
+                if (tache.getStatut() != null) {
+                    parStatut.get(tache.getStatut().getValeur()).add(new TacheAssignee(tache, projet));
+                }
+            }
+        }
+        // Échéance la plus proche d'abord, tâches sans date en dernier
+        Comparator<TacheAssignee> parEcheance = Comparator
+                .comparing(TacheAssignee::getDateLimite, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(TacheAssignee::getProjetTitre, Comparator.nullsLast(Comparator.naturalOrder()));
+        parStatut.values().forEach(taches -> taches.sort(parEcheance));
+
+        return new ChargeMembre(membre, projets, parStatut, echeances(parStatut));
+    }
+
+    /**
+     * Décompte des tâches non terminées par échéance : EN_RETARD (date
+     * dépassée), SEMAINE (dans les 7 jours), PLUS_TARD, SANS_DATE.
+     */
+    private static Map<String, Integer> echeances(Map<String, List<TacheAssignee>> parStatut) {
+        LocalDate aujourdHui = LocalDate.now();
+        LocalDate dansUneSemaine = aujourdHui.plusDays(7);
+        Map<String, Integer> echeances = new LinkedHashMap<>();
+        List.of("EN_RETARD", "SEMAINE", "PLUS_TARD", "SANS_DATE").forEach(echeance -> echeances.put(echeance, 0));
+        parStatut.forEach((statut, taches) -> {
+            if (StatutTache.DONE.getValeur().equals(statut)) {
+                return;
+            }
+            for (TacheAssignee tache : taches) {
+                LocalDate date = tache.getDateLimite();
+                String echeance = date == null ? "SANS_DATE"
+                        : date.isBefore(aujourdHui) ? "EN_RETARD"
+                        : date.isAfter(dansUneSemaine) ? "PLUS_TARD"
+                        : "SEMAINE";
+                echeances.merge(echeance, 1, Integer::sum);
+            }
+        });
+        return echeances;
+    }
+
+    /**
+     * Ajoute un membre à un projet existant. Un membre déjà présent ne change
+     * rien : ni version, ni cache, ni révision, ni événement.
      *
      * @param projetId l'identifiant du projet
      * @param membre   le nom/email du membre à ajouter
-     * @return le projet mis à jour
+     * @param versionAttendue version exigée du projet (null : aucune)
+     * @return le projet mis à jour, ou tel quel si le membre y figurait déjà
+     * @throws ResourcePreconditionFailedException si la version a changé
      */
-    public Projet ajouterMembre(String projetId, String membre) {
-        Projet projet = getProjetParId(projetId);
-
-        // Vérifier que le membre n'est pas déjà dans le groupe
-        if (!projet.getMembres().contains(membre)) {
-            projet.getMembres().add(membre);
-            return projetRepository.save(projet);
+    public Projet ajouterMembre(String projetId, String membre, Long versionAttendue) {
+        // Filtre membres ≠ membre : pas de doublon, même si deux ajouts arrivent en même temps
+        Optional<Projet> ajoute = projetRepository.ajouterMembre(projetId, membre, versionAttendue);
+        if (ajoute.isEmpty()) {
+            // Rien n'a été écrit : membre déjà présent (projet renvoyé tel quel), version périmée ou projet absent
+            return projetRepository.findById(projetId)
+                    .filter(projet -> versionAttendue == null || versionAttendue.equals(projet.getVersion()))
+                    .filter(projet -> projet.getMembres().contains(membre))
+                    .map(stockageTaches::completer)
+                    .orElseThrow(() -> echecMutation(projetId, versionAttendue));
         }
+        evincer(projetId);
+        Projet projet = stockageTaches.completer(ajoute.get());
+        signalerEcriture(EvenementProjet.membreAjoute(projet, membre));
         return projet;
     }
+
+    /**
+     * À appeler après une écriture en masse faite directement en base
+     * (balayage des retards, maintenance, migration) : vide le cache des
+     * projets et change la révision de la collection.
+     */
+    @CacheEvict(cacheNames = CACHE_PROJETS, allEntries = true)
+    public void apresEcrituresEnMasse() {
+        // Le vidage du cache est fait par @CacheEvict
+        projetRepository.incrementerRevision();
+    }
+
+    /**
+     * À appeler après des créations de projets faites hors de ce service
+     * (import) : change la révision de la collection, sans toucher au cache.
+     */
+    public void signalerNouveauxProjets() {
+        projetRepository.incrementerRevision();
+    }
+
+    /**
+     * Révision de la collection des projets : incrémentée après chaque
+     * écriture, elle sert d'ETag aux listes de projets (une lecture par
+     * identifiant, même pour répondre 304).
+     *
+     * @return la révision actuelle
+     */
+    public long getRevisionProjets() {
+        return projetRepository.revisionProjets();
+    }
+
+    /**
+     * Curseur opaque d'une page de tâches : clé de tri, ordre d'ajout et
+     * identifiant de la dernière tâche reçue ("o:ordre:id" ou
+     * "d:dateLimite:ordre:id", en Base64).
+     */
+    private static String curseurTache(TacheProjet tache, CriteresTaches.Tri tri) {
+        String valeur = tri == CriteresTaches.Tri.ORDRE
+                ? "o:" + tache.getOrdre() + ":" + tache.getId()
+                : "d:" + (tache.getDateLimite() == null ? "" : tache.getDateLimite()) + ":" + tache.getOrdre()
+                        + ":" + tache.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valeur.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur de page de tâches dans les critères (même tri exigé).
+     * Un curseur sans identifiant (émis avant le départage) reste accepté.
+     */
+    private static void lireCurseurTache(String curseur, CriteresTaches criteres) {
+        try {
+            boolean parDate = criteres.getTri() == CriteresTaches.Tri.DATE_LIMITE;
+            // L'identifiant vient en dernier et peut lui-même contenir ":"
+            String[] parties = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8)
+                    .split(":", parDate ? 4 : 3);
+            if (parDate && parties.length >= 3 && "d".equals(parties[0])) {
+                criteres.setApresDateLimite(parties[1].isEmpty() ? null : LocalDate.parse(parties[1]));
+                criteres.setApresOrdre(Long.parseLong(parties[2]));
+                criteres.setApresId(parties.length == 4 ? parties[3] : null);
+                return;
+            }
+            if (!parDate && parties.length >= 2 && "o".equals(parties[0])) {
+                criteres.setApresOrdre(Long.parseLong(parties[1]));
+                criteres.setApresId(parties.length == 3 ? parties[2] : null);
+                return;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Curseur illisible : même réponse qu'un curseur d'un autre tri
+        }
+        throw new IllegalArgumentException("Curseur invalide pour ce tri : " + curseur);
+    }
+
+    /**
+     * Une écriture unitaire réussie : révision de la collection incrémentée
+     * (après l'écriture : une liste lue entre les deux est au pire plus
+     * récente que sa révision), puis delta publié aux abonnés temps réel.
+     */
+    private void signalerEcriture(EvenementProjet evenement) {
+        projetRepository.incrementerRevision();
+        evenements.publishEvent(evenement);
+    }
+
+    /** Retire un projet du cache de lecture. */
+    private void evincer(String projetId) {
+        Cache cache = cacheManager.getCache(CACHE_PROJETS);
+        if (cache != null) {
+            cache.evict(projetId);
+        }
+    }
+
+    /** Refuse l'écriture si le projet n'est plus à la version attendue (If-Match). */
+    private void verifierVersion(Projet projet, Long versionAttendue) {
+        if (versionAttendue != null && !versionAttendue.equals(projet.getVersion())) {
+            throw versionPerimee(projet.getId(), versionAttendue);
+        }
+    }
+
+    /**
+     * Une mutation conditionnelle n'a rien modifié : soit le projet
+     * n'existe pas, soit il n'est plus à la version attendue.
+     */
+    private RuntimeException echecMutation(String projetId, Long versionAttendue) {
+        if (versionAttendue != null && projetRepository.existsById(projetId)) {
+            return versionPerimee(projetId, versionAttendue);
+        }
+        return projetNonTrouve(projetId);
+    }
+
+    /**
+     * Mutation de tâche dans le format du projet : un projet connu en stockage
+     * séparé va directement à la collection "taches" ; sinon le format embarqué
+     * est tenté d'abord (un seul aller-retour pour le cas courant), puis le
+     * format séparé, qui retient le projet pour les mutations suivantes.
+     */
+    private Optional<Projet> muterTache(String projetId, Supplier<Optional<Projet>> embarquees,
+                                        Supplier<Optional<Projet>> separees) {
+        if (projetsSepares.contient(projetId)) {
+            return separees.get();
+        }
+        return embarquees.get().or(separees);
+    }
+
+    /**
+     * Un ajout de tâche n'a rien modifié : projet absent, version périmée,
+     * ou identifiant (fourni par le client) déjà pris dans le projet.
+     */
+    private RuntimeException echecAjoutTache(String projetId, String tacheId, Long versionAttendue) {
+        Projet enTete = projetRepository.enTeteProjet(projetId).orElse(null);
+        if (enTete == null) {
+            return projetNonTrouve(projetId);
+        }
+        if (versionAttendue != null && !versionAttendue.equals(enTete.getVersion())) {
+            return versionPerimee(projetId, versionAttendue);
+        }
+        return StockageTaches.tacheEnDouble(tacheId);
+    }
+
+    /**
+     * Une mutation d'une tâche existante n'a rien modifié : projet absent,
+     * version périmée, ou tâche absente du projet. Les versions ne font que
+     * croître : une version égale à l'attendue après coup l'était déjà.
+     */
+    private RuntimeException echecMutationTache(String projetId, String tacheId, Long versionAttendue) {
+        Projet enTete = projetRepository.enTeteProjet(projetId).orElse(null);
+        if (enTete == null) {
+            return projetNonTrouve(projetId);
+        }
+        if (versionAttendue != null && !versionAttendue.equals(enTete.getVersion())) {
+            return versionPerimee(projetId, versionAttendue);
+        }
+        return new ResourceNotFoundException("Tâche non trouvée avec l'identifiant : " + tacheId);
+    }
+
+    /** Construit l'exception "version périmée" (HTTP 412). */
+    private ResourcePreconditionFailedException versionPerimee(String id, Long versionAttendue) {
+        return new ResourcePreconditionFailedException("Le projet " + id
+                + " n'est plus à la version " + versionAttendue + " : rechargez-le avant de le modifier");
+    }
+
+    /** Construit l'exception "projet non trouvé" pour un identifiant. */
+    private ResourceNotFoundException projetNonTrouve(String id) {
+        return new ResourceNotFoundException("Projet non trouvé avec l'identifiant : " + id);
+    }
 }
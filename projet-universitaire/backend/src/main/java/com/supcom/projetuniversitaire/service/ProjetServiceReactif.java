@@ -0,0 +1,246 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
+import com.supcom.projetuniversitaire.exception.ResourceNotFoundException;
+import com.supcom.projetuniversitaire.model.EvenementProjet;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutProjet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.repository.ProjetRepositoryReactif;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ============================================================
+ * SERVICE RÉACTIF : ProjetServiceReactif
+ * ============================================================
+ * Variante non bloquante de ProjetService pour les opérations les
+ * plus fréquentes (listes, lecture, création, Kanban, membres).
+ * Mêmes règles métier : compteurs, avancement et statut sont
+ * maintenus par les mêmes mises à jour atomiques côté MongoDB.
+ *
+ * Actif uniquement avec projet.mongo.mode=reactif (profil "reactif").
+ * Les deux formats de stockage des tâches sont servis, comme en mode
+ * bloquant : projets aux tâches séparées (collection "taches") lus et
+ * modifiés via StockageTachesReactif.
+ * Les écritures retirent le projet du cache de lecture de ProjetService,
+ * partagé avec les routes bloquantes.
+ * ============================================================
+ */
+@Service
+@ConditionalOnProperty(name = "projet.mongo.mode", havingValue = "reactif")
+public class ProjetServiceReactif {
+
+    @Autowired
+    private ProjetRepositoryReactif projetRepositoryReactif;
+
+    @Autowired
+    private StockageTachesReactif stockageTachesReactif;
+
+    @Autowired
+    private ProjetsSepares projetsSepares;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Bus d'événements Spring : deltas diffusés en temps réel (voir RelaisEvenements)
+    @Autowired
+    private ApplicationEventPublisher evenements;
+
+    // ============================================================
+    // LECTURES
+    // ============================================================
+
+    /**
+     * Tous les projets, émis au fil de la lecture du curseur MongoDB.
+     *
+     * @return flux de tous les projets
+     */
+    public Flux<Projet> getTousLesProjets() {
+        return projetRepositoryReactif.findAll().concatMap(stockageTachesReactif::completer);
+    }
+
+    /**
+     * Un projet par son identifiant.
+     *
+     * @param id l'identifiant du projet
+     * @return le projet, ou une erreur ResourceNotFoundException
+     */
+    public Mono<Projet> getProjetParId(String id) {
+        return projetRepositoryReactif.findById(id)
+                .flatMap(stockageTachesReactif::completer)
+                .switchIfEmpty(Mono.error(() -> projetNonTrouve(id)));
+    }
+
+    /**
+     * Projets d'un statut donné (index sur le statut).
+     *
+     * @param statut le statut à filtrer ("EN_COURS", "TERMINÉ", "EN_RETARD")
+     * @return flux des projets correspondants
+     */
+    public Flux<Projet> getProjetsByStatut(StatutProjet statut) {
+        return projetRepositoryReactif.findByStatut(statut).concatMap(stockageTachesReactif::completer);
+    }
+
+    // ============================================================
+    // ÉCRITURES
+    // ============================================================
+
+    /**
+     * Crée un projet (mêmes initialisations que ProjetService.creerProjet()),
+     * dans le format de stockage des tâches configuré (projet.taches.stockage).
+     *
+     * @param projet le projet à créer
+     * @return le projet créé avec son identifiant
+     */
+    public Mono<Projet> creerProjet(Projet projet) {
+        projet.setVersion(null);
+        projet.attribuerIdentifiantsTaches();
+        projet.recalculerCompteurs();
+        projet.calculerAvancement();
+        projet.verifierRetard();
+        return stockageTachesReactif.creer(projet)
+                .flatMap(cree -> projetRepositoryReactif.incrementerRevision().thenReturn(cree));
+    }
+
+    /**
+     * Ajoute une tâche (mise à jour atomique ; stockage séparé : la tâche
+     * est insérée dans la collection "taches").
+     *
+     * @param projetId l'identifiant du projet
+     * @param tache    la tâche à ajouter
+     * @return le projet mis à jour, ou une erreur ResourceNotFoundException (projet absent)
+     *         ou ResourceConflictException (identifiant de tâche déjà pris)
+     */
+    public Mono<Projet> ajouterTache(String projetId, Tache tache) {
+        tache.attribuerIdentifiant();
+        tache.verifierRetard();
+        return apresEcriture(projetId, muterTache(projetId,
+                        () -> projetRepositoryReactif.ajouterTache(projetId, tache),
+                        () -> stockageTachesReactif.ajouterTache(projetId, tache))
+                        // Identifiant pris pendant l'ajout : compteurs rétablis, mais version changée
+                        .onErrorResume(ResourceConflictException.class, erreur -> {
+                            evincer(projetId);
+                            return projetRepositoryReactif.incrementerRevision().then(Mono.error(erreur));
+                        }),
+                projetRepositoryReactif.existsById(projetId)
+                        .map(existe -> existe ? StockageTaches.tacheEnDouble(tache.getId()) : projetNonTrouve(projetId)),
+                projet -> EvenementProjet.tacheAjoutee(projet, tache));
+    }
+
+    /**
+     * Change le statut d'une tâche (mise à jour atomique).
+     *
+     * @param projetId      l'identifiant du projet
+     * @param tacheId       l'identifiant de la tâche
+     * @param nouveauStatut le nouveau statut ("TO_DO", "DOING", "DONE")
+     * @return le projet mis à jour, ou une erreur ResourceNotFoundException (projet ou tâche)
+     */
+    public Mono<Projet> mettreAJourStatutTache(String projetId, String tacheId, StatutTache nouveauStatut) {
+        return apresEcriture(projetId,
+                muterTache(projetId,
+                        () -> projetRepositoryReactif.modifierStatutTache(projetId, tacheId, nouveauStatut),
+                        () -> stockageTachesReactif.modifierStatutTache(projetId, tacheId, nouveauStatut)),
+                echecMutationTache(projetId, tacheId),
+                projet -> EvenementProjet.tacheDeplacee(projet, tacheId, nouveauStatut));
+    }
+
+    /**
+     * Supprime une tâche (mise à jour atomique).
+     *
+     * @param projetId l'identifiant du projet
+     * @param tacheId  l'identifiant de la tâche à supprimer
+     * @return le projet mis à jour, ou une erreur ResourceNotFoundException (projet ou tâche)
+     */
+    public Mono<Projet> supprimerTache(String projetId, String tacheId) {
+        return apresEcriture(projetId, muterTache(projetId,
+                        () -> projetRepositoryReactif.retirerTache(projetId, tacheId),
+                        () -> stockageTachesReactif.retirerTache(projetId, tacheId)),
+                echecMutationTache(projetId, tacheId),
+                projet -> EvenementProjet.tacheSupprimee(projet, tacheId));
+    }
+
+    /**
+     * Ajoute un membre ($addToSet).
+     *
+     * @param projetId l'identifiant du projet
+     * @param membre   le nom/email du membre
+     * @return le projet mis à jour, ou une erreur ResourceNotFoundException
+     */
+    public Mono<Projet> ajouterMembre(String projetId, String membre) {
+        return apresEcriture(projetId, projetRepositoryReactif.ajouterMembre(projetId, membre)
+                        .flatMap(stockageTachesReactif::completer),
+                Mono.empty(), projet -> EvenementProjet.membreAjoute(projet, membre))
+                // Rien n'a été écrit : membre déjà présent (projet renvoyé tel quel) ou projet absent
+                .switchIfEmpty(Mono.defer(() -> projetRepositoryReactif.findById(projetId))
+                        .filter(projet -> projet.getMembres().contains(membre))
+                        .flatMap(stockageTachesReactif::completer)
+                        .switchIfEmpty(Mono.error(() -> projetNonTrouve(projetId))));
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /**
+     * Mutation de tâche dans le format du projet (voir ProjetService.muterTache()).
+     */
+    private Mono<Projet> muterTache(String projetId, Supplier<Mono<Projet>> embarquees,
+                                    Supplier<Mono<Projet>> separees) {
+        if (projetsSepares.contient(projetId)) {
+            return Mono.defer(separees);
+        }
+        return embarquees.get().switchIfEmpty(Mono.defer(separees));
+    }
+
+    /**
+     * Projet absent → 404 ; projet modifié → retiré du cache de lecture,
+     * révision de la collection incrémentée (ETag des listes) et delta
+     * publié aux abonnés temps réel.
+     */
+    private Mono<Projet> apresEcriture(String projetId, Mono<Projet> ecriture,
+                                       Function<Projet, EvenementProjet> evenement) {
+        return apresEcriture(projetId, ecriture, Mono.fromSupplier(() -> projetNonTrouve(projetId)), evenement);
+    }
+
+    /** Comme apresEcriture(), avec l'erreur à émettre si rien n'a été modifié. */
+    private Mono<Projet> apresEcriture(String projetId, Mono<Projet> ecriture,
+                                       Mono<? extends RuntimeException> echec,
+                                       Function<Projet, EvenementProjet> evenement) {
+        return ecriture
+                .switchIfEmpty(echec.flatMap(Mono::error))
+                .doOnNext(projet -> evincer(projetId))
+                .flatMap(projet -> projetRepositoryReactif.incrementerRevision().thenReturn(projet))
+                .doOnNext(projet -> evenements.publishEvent(evenement.apply(projet)));
+    }
+
+    /** Retire un projet du cache de lecture. */
+    private void evincer(String projetId) {
+        Cache cache = cacheManager.getCache(ProjetService.CACHE_PROJETS);
+        if (cache != null) {
+            cache.evict(projetId);
+        }
+    }
+
+    /** Mutation d'une tâche sans effet : projet absent, ou tâche absente du projet. */
+    private Mono<ResourceNotFoundException> echecMutationTache(String projetId, String tacheId) {
+        return projetRepositoryReactif.existsById(projetId)
+                .map(existe -> existe
+                        ? new ResourceNotFoundException("Tâche non trouvée avec l'identifiant : " + tacheId)
+                        : projetNonTrouve(projetId));
+    }
+
+    private ResourceNotFoundException projetNonTrouve(String id) {
+        return new ResourceNotFoundException("Projet non trouvé avec l'identifiant : " + id);
+    }
+}
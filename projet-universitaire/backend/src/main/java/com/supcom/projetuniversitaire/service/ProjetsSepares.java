@@ -0,0 +1,68 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.supcom.projetuniversitaire.model.Projet;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ============================================================
+ * COMPOSANT : ProjetsSepares
+ * ============================================================
+ * Projets aux tâches séparées (collection "taches") déjà rencontrés
+ * par cette instance : lus, créés, migrés ou modifiés.
+ *
+ * Une mutation de tâche d'un projet connu va directement au stockage
+ * séparé ; pour les autres, le format embarqué (le plus courant) est
+ * tenté d'abord. La migration est sans retour : un projet séparé le
+ * reste, l'ensemble ne peut pas devenir faux (un projet supprimé y
+ * reste jusqu'à son éviction, sa mutation répond 404 comme avant).
+ *
+ * Borné (projet.taches.projets-separes-connus) : un projet évincé
+ * coûte de nouveau un essai sur le format embarqué, puis y revient.
+ * ============================================================
+ */
+@Component
+public class ProjetsSepares {
+
+    // Nombre maximal d'identifiants gardés en mémoire
+    @Value("${projet.taches.projets-separes-connus:10000}")
+    private long tailleMax;
+
+    private Cache<String, Boolean> connus;
+
+    @PostConstruct
+    void initialiser() {
+        connus = Caffeine.newBuilder().maximumSize(tailleMax).build();
+    }
+
+    /**
+     * @param projetId l'identifiant du projet
+     * @return true si le projet est connu pour avoir ses tâches séparées
+     */
+    public boolean contient(String projetId) {
+        return projetId != null && connus.getIfPresent(projetId) != null;
+    }
+
+    /**
+     * Retient le projet s'il a ses tâches séparées.
+     *
+     * @param projet un projet lu ou écrit (au moins identifiant et format)
+     */
+    public void memoriser(Projet projet) {
+        if (projet != null && projet.getId() != null && projet.aDesTachesSeparees()) {
+            connus.put(projet.getId(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Retient un projet qui vient de passer au stockage séparé.
+     *
+     * @param projetId l'identifiant du projet
+     */
+    public void memoriser(String projetId) {
+        connus.put(projetId, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,202 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.supcom.projetuniversitaire.model.EvenementProjet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================================
+ * COMPOSANT : RelaisEvenements
+ * ============================================================
+ * Achemine les événements publiés par ProjetService (bus d'événements
+ * Spring, dans le processus) jusqu'aux abonnés SSE (DiffuseurEvenements).
+ *
+ * Source des événements (projet.evenements.source) :
+ *   - local         : diffusion directe, dans l'instance qui a fait l'écriture ;
+ *   - change-stream : l'événement est inséré dans la collection "evenements",
+ *                     dont le change stream le redistribue à TOUTES les
+ *                     instances du backend (nécessite un replica set) ;
+ *   - auto (défaut) : change-stream si MongoDB est un replica set (ou un
+ *                     cluster shardé), local sinon.
+ * Si le change stream s'interrompt, l'instance repasse en diffusion locale.
+ *
+ * Les insertions en attente sont bornées (projet.evenements.file-relais) :
+ * file pleine (MongoDB lent ou indisponible), les événements suivants
+ * sont abandonnés et chaque projet concerné reçoit à la place un unique
+ * RESYNCHRONISATION, inséré dès que le thread d'écriture se libère.
+ * ============================================================
+ */
+@Component
+public class RelaisEvenements {
+
+    private static final Logger log = LoggerFactory.getLogger(RelaisEvenements.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DiffuseurEvenements diffuseur;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${projet.evenements.source:auto}")
+    private String source;
+
+    // Événements en attente d'insertion au-delà desquels les projets sont resynchronisés
+    @Value("${projet.evenements.file-relais:1000}")
+    private int tailleFile;
+
+    // Vrai quand les événements passent par le change stream de "evenements"
+    private volatile boolean parChangeStream;
+
+    private MessageListenerContainer conteneur;
+
+    // Thread unique d'insertion des événements (ordre de publication conservé), file bornée
+    private ThreadPoolExecutor ecriture;
+
+    // Projets dont un événement a été abandonné (file pleine) : RESYNCHRONISATION à insérer
+    private final Set<String> resynchronisations = ConcurrentHashMap.newKeySet();
+
+    private Counter abandons;
+
+    @PostConstruct
+    void initialiser() {
+        ecriture = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(tailleFile),
+                tache -> {
+                    Thread thread = new Thread(tache, "evenements-relais");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        abandons = Counter.builder("evenements.relais.abandons")
+                .description("Événements abandonnés (file du relais pleine), remplacés par une resynchronisation")
+                .register(registry);
+    }
+
+    /** Choisit la source des événements une fois l'application démarrée. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void demarrer() {
+        parChangeStream = switch (source) {
+            case "local" -> false;
+            case "change-stream" -> true;
+            default -> estUnReplicaSet();
+        };
+        if (!parChangeStream) {
+            log.info("Événements de projets : diffusion locale (bus d'événements de l'instance)");
+            return;
+        }
+
+        conteneur = new DefaultMessageListenerContainer(mongoTemplate);
+        ChangeStreamRequest<EvenementProjet> requete = ChangeStreamRequest.builder(
+                        (Message<ChangeStreamDocument<Document>, EvenementProjet> message) -> {
+                            if (message.getBody() != null) {
+                                diffuseur.diffuser(message.getBody());
+                            }
+                        })
+                .collection(mongoTemplate.getCollectionName(EvenementProjet.class))
+                .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").is("insert"))))
+                .build();
+        conteneur.register(requete, EvenementProjet.class, erreur -> {
+            log.warn("Change stream des événements interrompu, retour à la diffusion locale : {}",
+                    erreur.getMessage());
+            parChangeStream = false;
+        });
+        conteneur.start();
+        log.info("Événements de projets : diffusion par change stream sur \"{}\"",
+                mongoTemplate.getCollectionName(EvenementProjet.class));
+    }
+
+    /**
+     * Événement publié par ProjetService (ou ProjetServiceReactif) après
+     * une écriture réussie. L'insertion dans "evenements" est faite par un
+     * thread dédié, dans l'ordre de publication : la requête (ou le thread
+     * du driver réactif) n'attend pas ce second aller-retour.
+     */
+    @EventListener
+    public void relayer(EvenementProjet evenement) {
+        if (!parChangeStream) {
+            diffuseur.diffuser(evenement);
+            return;
+        }
+        try {
+            ecriture.execute(() -> {
+                inserer(evenement);
+                insererResynchronisations();
+            });
+        } catch (RejectedExecutionException e) {
+            // File pleine : l'écriture ne ralentit pas, le projet sera relu par ses abonnés
+            abandons.increment();
+            if (resynchronisations.add(evenement.getProjetId())) {
+                log.debug("File du relais pleine : resynchronisation du projet {}", evenement.getProjetId());
+            }
+        }
+    }
+
+    /**
+     * Un RESYNCHRONISATION par projet dont des événements ont été abandonnés,
+     * inséré après les événements déjà en file (plus anciens).
+     */
+    private void insererResynchronisations() {
+        Iterator<String> projets = resynchronisations.iterator();
+        while (projets.hasNext()) {
+            String projetId = projets.next();
+            projets.remove();
+            inserer(EvenementProjet.resynchronisation(projetId));
+        }
+    }
+
+    private void inserer(EvenementProjet evenement) {
+        try {
+            mongoTemplate.insert(evenement);
+        } catch (DataAccessException e) {
+            log.debug("Événement non enregistré, diffusion locale : {}", e.getMessage());
+            diffuseur.diffuser(evenement);
+        }
+    }
+
+    @PreDestroy
+    void arreter() {
+        if (conteneur != null) {
+            conteneur.stop();
+        }
+        ecriture.shutdown();
+    }
+
+    /** Les change streams exigent un replica set ou un cluster shardé (mongos). */
+    private boolean estUnReplicaSet() {
+        try {
+            Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+            return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+        } catch (DataAccessException e) {
+            log.debug("Topologie MongoDB inconnue : {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.StatistiquesProjets;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.StatistiquesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * ============================================================
+ * SERVICE : StatistiquesService
+ * ============================================================
+ * Statistiques du tableau de bord (GET /api/projets/statistiques).
+ *
+ * Matérialisées par défaut (projet.statistiques.materialisees) : le
+ * calcul (deux agrégations $facet sur toute la base) est refait
+ * périodiquement et enregistré dans la collection "statistiques" ;
+ * une lecture ne coûte alors qu'un findById, quelle que soit la
+ * taille de la collection. Le champ calculeLe indique la fraîcheur.
+ * Désactivées, chaque lecture relance le calcul.
+ * ============================================================
+ */
+@Service
+public class StatistiquesService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatistiquesService.class);
+
+    // Identifiant du document matérialisé
+    static final String ID_STATISTIQUES = "projets";
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private StatistiquesRepository statistiquesRepository;
+
+    @Value("${projet.statistiques.materialisees:true}")
+    private boolean materialisees;
+
+    /**
+     * Statistiques du tableau de bord.
+     *
+     * @param fraiches true pour forcer un nouveau calcul (et rafraîchir
+     *                 le document matérialisé)
+     * @return les statistiques, avec leur date de calcul
+     */
+    public StatistiquesProjets getStatistiques(boolean fraiches) {
+        if (!materialisees) {
+            return calculer();
+        }
+        if (fraiches) {
+            return statistiquesRepository.save(calculer());
+        }
+        // Premier appel avant le premier rafraîchissement : calcul immédiat
+        return statistiquesRepository.findById(ID_STATISTIQUES)
+                .orElseGet(() -> statistiquesRepository.save(calculer()));
+    }
+
+    /**
+     * Recalcule et enregistre le document matérialisé, au démarrage puis
+     * toutes les projet.statistiques.intervalle-ms. Si MongoDB est
+     * indisponible, le document précédent est conservé.
+     */
+    @Scheduled(fixedDelayString = "${projet.statistiques.intervalle-ms:300000}")
+    public void rafraichir() {
+        if (!materialisees) {
+            return;
+        }
+        try {
+            statistiquesRepository.save(calculer());
+        } catch (DataAccessException e) {
+            log.debug("Rafraîchissement des statistiques impossible : {}", e.getMessage());
+        }
+    }
+
+    private StatistiquesProjets calculer() {
+        StatistiquesProjets statistiques = projetRepository.calculerStatistiques();
+        statistiques.setId(ID_STATISTIQUES);
+        statistiques.setCalculeLe(LocalDateTime.now());
+        return statistiques;
+    }
+}
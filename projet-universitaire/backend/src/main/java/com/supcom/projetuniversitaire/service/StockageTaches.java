@@ -0,0 +1,396 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.dto.CriteresTaches;
+import com.supcom.projetuniversitaire.dto.OperationTache;
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.model.TacheProjet;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ============================================================
+ * SERVICE : StockageTaches
+ * ============================================================
+ * Lecture et écriture des tâches des projets en stockage séparé
+ * (collection "taches", Projet.TACHES_SEPAREES). ProjetService passe
+ * par ce service pour lire indifféremment les deux formats pendant
+ * la migration :
+ *   - tâches embarquées : le projet est retourné tel quel ;
+ *   - tâches séparées   : la liste "taches" est complétée depuis la
+ *     collection "taches" (une requête pour toute une liste de projets).
+ *
+ * Une mutation de tâche séparée écrit deux petits documents : la tâche,
+ * puis les compteurs du projet (écart incrémental, avancement, statut,
+ * version). Les deux écritures ne sont pas transactionnelles ; un écart
+ * éventuel (instance arrêtée entre les deux) est corrigé par
+ * MigrationTaches.reparerCompteurs() (démarrage, maintenance) et par
+ * le prochain recalcul des compteurs (balayage des retards, opérations
+ * par lot).
+ *
+ * Les projets séparés lus ou écrits ici sont retenus par ProjetsSepares,
+ * qui oriente directement leurs mutations suivantes.
+ *
+ * projet.taches.stockage : format des projets créés ("embarque" par
+ * défaut, ou "collection"). Les projets existants passent au format
+ * séparé par MigrationTaches.
+ * ============================================================
+ */
+@Service
+public class StockageTaches {
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @Autowired
+    private ProjetsSepares projetsSepares;
+
+    // Format des nouveaux projets : embarque ou collection
+    @Value("${projet.taches.stockage:embarque}")
+    private String stockageParDefaut;
+
+    // ============================================================
+    // LECTURE
+    // ============================================================
+
+    /**
+     * Complète la liste des tâches d'un projet en stockage séparé.
+     *
+     * @param projet le projet lu depuis la collection "projets"
+     * @return le même projet, avec toutes ses tâches
+     */
+    public Projet completer(Projet projet) {
+        if (projet != null && projet.aDesTachesSeparees()) {
+            projetsSepares.memoriser(projet);
+            projet.setTaches(new ArrayList<>(tacheRepository.findByProjetIdOrderByOrdreAsc(projet.getId())));
+        }
+        return projet;
+    }
+
+    /**
+     * Complète les tâches d'une liste de projets, en une seule requête
+     * sur la collection "taches" pour tous les projets en stockage séparé.
+     *
+     * @param projets les projets lus depuis la collection "projets"
+     * @return la même liste, chaque projet avec toutes ses tâches
+     */
+    public List<Projet> completer(List<Projet> projets) {
+        Map<String, Projet> separes = new HashMap<>();
+        for (Projet projet : projets) {
+            if (projet.aDesTachesSeparees()) {
+                projetsSepares.memoriser(projet);
+                projet.setTaches(new ArrayList<>());
+                separes.put(projet.getId(), projet);
+            }
+        }
+        if (!separes.isEmpty()) {
+            for (TacheProjet tache : tacheRepository.findByProjetIdInOrderByOrdreAsc(separes.keySet())) {
+                separes.get(tache.getProjetId()).getTaches().add(tache);
+            }
+        }
+        return projets;
+    }
+
+    /**
+     * Une page de tâches d'un projet, lue dans le format de stockage du projet.
+     *
+     * @param projet   le projet (au moins identifiant et format de stockage)
+     * @param criteres filtres, tri, curseur et taille de page
+     * @return les tâches de la page, avec leur clé d'ordre
+     */
+    public List<TacheProjet> getPageDeTaches(Projet projet, CriteresTaches criteres) {
+        return projet.aDesTachesSeparees()
+                ? tacheRepository.pageDeTaches(projet.getId(), criteres)
+                : projetRepository.pageDeTachesEmbarquees(projet.getId(), criteres);
+    }
+
+    // ============================================================
+    // ÉCRITURE DU PROJET
+    // ============================================================
+
+    /**
+     * Enregistre un nouveau projet dans le format configuré.
+     *
+     * @param projet le projet à créer (compteurs et avancement déjà calculés)
+     * @return le projet créé, avec toutes ses tâches
+     */
+    public Projet creer(Projet projet) {
+        if (!"collection".equals(stockageParDefaut)) {
+            projet.setStockageTaches(null);
+            return projetRepository.save(projet);
+        }
+        projet.setStockageTaches(Projet.TACHES_SEPAREES);
+        List<Tache> taches = projet.getTaches();
+        // enregistrer() retire la liste du document et la remet sur le projet retourné
+        Projet cree = enregistrer(projet);
+        tacheRepository.remplacerTaches(cree.getId(), taches);
+        projetsSepares.memoriser(cree);
+        return cree;
+    }
+
+    /**
+     * Insère un lot de nouveaux projets (import) dans le format configuré :
+     * une commande pour les projets, et en stockage séparé une seconde pour
+     * toutes leurs tâches. Un projet refusé n'empêche pas les autres.
+     *
+     * @param projets les projets à créer (compteurs et avancement déjà calculés)
+     * @return la raison du refus de chaque projet refusé, par position dans le lot
+     */
+    public Map<Integer, String> creerLot(List<Projet> projets) {
+        if (!"collection".equals(stockageParDefaut)) {
+            projets.forEach(projet -> projet.setStockageTaches(null));
+            return projetRepository.insererProjets(projets);
+        }
+        // Identifiants fixés avant l'insertion pour rattacher les tâches ;
+        // la liste est retirée du document, puis remise sur le projet
+        List<List<Tache>> taches = new ArrayList<>(projets.size());
+        for (Projet projet : projets) {
+            projet.setStockageTaches(Projet.TACHES_SEPAREES);
+            if (projet.getId() == null) {
+                projet.setId(new ObjectId().toHexString());
+            }
+            taches.add(projet.getTaches());
+            projet.setTaches(null);
+        }
+        Map<Integer, String> refus = new HashMap<>(projetRepository.insererProjets(projets));
+
+        Map<String, List<Tache>> tachesParProjet = new HashMap<>();
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < projets.size(); i++) {
+            projets.get(i).setTaches(taches.get(i));
+            if (!refus.containsKey(i) && taches.get(i) != null) {
+                tachesParProjet.put(projets.get(i).getId(), taches.get(i));
+                positions.put(projets.get(i).getId(), i);
+            }
+        }
+        // Tâche refusée (identifiant déjà pris) : le projet est retiré, plutôt
+        // que de garder des compteurs qui ne correspondent pas à ses tâches
+        Map<String, String> tachesRefusees = tacheRepository.insererTaches(tachesParProjet);
+        tachesRefusees.forEach((projetId, raison) -> {
+            projetRepository.deleteById(projetId);
+            tacheRepository.deleteByProjetId(projetId);
+            refus.put(positions.get(projetId), raison);
+        });
+        return refus;
+    }
+
+    /**
+     * save() d'un projet existant, sans écrire la liste des tâches dans le
+     * document si elles sont stockées à part.
+     *
+     * @param projet le projet à enregistrer
+     * @return le projet enregistré, avec sa liste de tâches
+     */
+    public Projet enregistrer(Projet projet) {
+        if (!projet.aDesTachesSeparees()) {
+            return projetRepository.save(projet);
+        }
+        List<Tache> taches = projet.getTaches();
+        projet.setTaches(null);
+        try {
+            Projet enregistre = projetRepository.save(projet);
+            enregistre.setTaches(taches);
+            return enregistre;
+        } finally {
+            projet.setTaches(taches);
+        }
+    }
+
+    /**
+     * Supprime les tâches séparées d'un projet supprimé.
+     *
+     * @param projet le projet supprimé
+     */
+    public void supprimerTaches(Projet projet) {
+        if (projet.aDesTachesSeparees()) {
+            tacheRepository.deleteByProjetId(projet.getId());
+        }
+    }
+
+    // ============================================================
+    // MUTATIONS DE TÂCHES
+    // ============================================================
+
+    /**
+     * Ajoute une tâche à un projet en stockage séparé. Un identifiant déjà
+     * pris est refusé avant toute écriture ; sinon les compteurs sont ajustés
+     * d'abord : c'est cette écriture qui vérifie la version attendue.
+     *
+     * @return le projet mis à jour, ou Optional.empty() si le projet n'existe
+     *         pas, n'est plus à la version attendue, a ses tâches embarquées
+     *         ou si l'identifiant de la tâche est déjà pris
+     * @throws ResourceConflictException si l'identifiant a été pris entre la
+     *         vérification et l'insertion (compteurs rétablis, version avancée)
+     */
+    public Optional<Projet> ajouterTache(String projetId, Tache tache, Long versionAttendue) {
+        if (tacheRepository.existsById(tache.getId())) {
+            return Optional.empty();
+        }
+        Optional<Projet> projet = projetRepository.ajusterCompteurs(
+                projetId, versionAttendue, CompteursTaches.ecart(null, tache));
+        if (projet.isEmpty()) {
+            return projet;
+        }
+        try {
+            tacheRepository.ajouter(projetId, tache);
+        } catch (RuntimeException e) {
+            // Tâche refusée (identifiant pris entre-temps...) : les compteurs sont rétablis
+            projetRepository.ajusterCompteurs(projetId, null, CompteursTaches.ecart(tache, null));
+            if (e instanceof DuplicateKeyException) {
+                throw tacheEnDouble(tache.getId());
+            }
+            throw e;
+        }
+        return projet.map(this::completer);
+    }
+
+    /**
+     * Change le statut d'une tâche d'un projet en stockage séparé.
+     * Si la tâche n'existe pas, le projet n'est pas modifié.
+     *
+     * @return le projet mis à jour, ou Optional.empty() (voir ajouterTache(),
+     *         et tâche inexistante)
+     */
+    public Optional<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut,
+                                                Long versionAttendue) {
+        if (!preparerMutation(projetId, tacheId, versionAttendue)) {
+            return Optional.empty();
+        }
+        return tacheRepository.modifierStatut(projetId, tacheId, nouveauStatut)
+                .map(avant -> CompteursTaches.ecart(avant, apresDeplacement(avant, nouveauStatut)))
+                .flatMap(ecart -> projetRepository.ajusterCompteurs(projetId, null, ecart))
+                .map(this::completer);
+    }
+
+    /**
+     * Supprime une tâche d'un projet en stockage séparé.
+     * Si la tâche n'existe pas, le projet n'est pas modifié.
+     *
+     * @return le projet mis à jour, ou Optional.empty() (voir modifierStatutTache())
+     */
+    public Optional<Projet> retirerTache(String projetId, String tacheId, Long versionAttendue) {
+        if (!preparerMutation(projetId, tacheId, versionAttendue)) {
+            return Optional.empty();
+        }
+        return tacheRepository.retirer(projetId, tacheId)
+                .map(avant -> CompteursTaches.ecart(avant, null))
+                .flatMap(ecart -> projetRepository.ajusterCompteurs(projetId, null, ecart))
+                .map(this::completer);
+    }
+
+    // ============================================================
+    // OPÉRATIONS PAR LOT ET BALAYAGE
+    // ============================================================
+
+    /**
+     * Sépare, parmi les projets existants, ceux en stockage séparé et
+     * ajoute les identifiants de leurs tâches à ceux déjà lus.
+     *
+     * @param tachesParProjet identifiants des tâches par projet existant (complété sur place)
+     * @return les identifiants des projets en stockage séparé
+     */
+    public Set<String> completerIdsDesTaches(Map<String, Set<String>> tachesParProjet) {
+        Set<String> separes = projetRepository.projetsAvecTachesSeparees(tachesParProjet.keySet());
+        if (!separes.isEmpty()) {
+            Map<String, Set<String>> ids = tacheRepository.idsParProjet(separes);
+            separes.forEach(id -> tachesParProjet.put(id, ids.getOrDefault(id, new HashSet<>())));
+        }
+        return separes;
+    }
+
+    /**
+     * Applique des opérations validées sur des projets en stockage séparé,
+     * puis recalcule leurs compteurs, avancement et statut.
+     *
+     * @param operationsParProjet opérations à appliquer, groupées par projet
+     * @return le nombre de projets modifiés
+     */
+    public long appliquerOperations(Map<String, List<OperationTache>> operationsParProjet) {
+        if (operationsParProjet.isEmpty()) {
+            return 0;
+        }
+        tacheRepository.appliquerOperations(operationsParProjet);
+        return recompter(operationsParProjet.keySet());
+    }
+
+    /**
+     * Marque en retard un lot de tâches séparées dépassées, puis recalcule
+     * les compteurs de leurs projets.
+     *
+     * @param tailleLot nombre maximal de tâches traitées
+     * @return le nombre de projets concernés (0 quand il n'y a plus rien à faire)
+     */
+    public long marquerTachesEnRetard(int tailleLot) {
+        Set<String> projetIds = tacheRepository.marquerEnRetard(tailleLot);
+        recompter(projetIds);
+        return projetIds.size();
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Recalcule depuis la collection "taches" les compteurs des projets donnés. */
+    private long recompter(Collection<String> projetIds) {
+        if (projetIds.isEmpty()) {
+            return 0;
+        }
+        return projetRepository.remplacerCompteurs(tacheRepository.compteursParProjet(projetIds));
+    }
+
+    /**
+     * Vérifie, avant d'écrire une tâche, que le projet a ses tâches séparées.
+     * Avec une version attendue (If-Match), la vérification et l'écriture ne
+     * doivent pas être séparables : la version est réservée (incrémentée si
+     * elle est encore l'attendue) par une seule mise à jour conditionnelle,
+     * avant l'écriture de la tâche. L'ajustement des compteurs qui suit
+     * incrémente à nouveau la version : l'état intermédiaire n'en partage
+     * aucune avec l'état final. L'existence de la tâche est vérifiée avant,
+     * pour ne pas réserver de version pour une tâche inconnue.
+     *
+     * @return true si la tâche peut être écrite
+     */
+    private boolean preparerMutation(String projetId, String tacheId, Long versionAttendue) {
+        if (versionAttendue == null) {
+            return projetRepository.enTeteProjet(projetId)
+                    .filter(Projet::aDesTachesSeparees)
+                    .isPresent();
+        }
+        return tacheRepository.existe(projetId, tacheId)
+                && projetRepository.reserverVersion(projetId, versionAttendue);
+    }
+
+    /** Identifiant de tâche déjà pris (HTTP 409), même message que les opérations par lot. */
+    static ResourceConflictException tacheEnDouble(String tacheId) {
+        return new ResourceConflictException("Une tâche existe déjà avec l'identifiant : " + tacheId);
+    }
+
+    /** La tâche telle que la laisse modifierStatut() (même règle de retard). */
+    private static Tache apresDeplacement(Tache avant, StatutTache nouveauStatut) {
+        Tache apres = new Tache();
+        apres.setStatut(nouveauStatut);
+        apres.setDateLimite(avant.getDateLimite());
+        apres.verifierRetard();
+        return apres;
+    }
+}
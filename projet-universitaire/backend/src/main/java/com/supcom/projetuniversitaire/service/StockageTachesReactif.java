@@ -0,0 +1,177 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.repository.ProjetRepositoryReactif;
+import com.supcom.projetuniversitaire.repository.TacheRepositoryReactif;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ============================================================
+ * SERVICE RÉACTIF : StockageTachesReactif
+ * ============================================================
+ * Variante non bloquante de StockageTaches pour ProjetServiceReactif :
+ * mêmes formats (tâches embarquées, collection "taches"), mêmes
+ * écritures, dans le même ordre.
+ *
+ *   - lecture : la liste "taches" d'un projet en stockage séparé est
+ *     complétée depuis la collection "taches" ;
+ *   - mutation : la tâche est écrite, puis l'écart des compteurs est
+ *     appliqué au projet (deux petits documents, non transactionnels,
+ *     comme en mode bloquant) ;
+ *   - création : format configuré par projet.taches.stockage.
+ *
+ * Actif uniquement avec projet.mongo.mode=reactif (profil "reactif").
+ * ============================================================
+ */
+@Service
+@ConditionalOnProperty(name = "projet.mongo.mode", havingValue = "reactif")
+public class StockageTachesReactif {
+
+    @Autowired
+    private ProjetRepositoryReactif projetRepositoryReactif;
+
+    @Autowired
+    private TacheRepositoryReactif tacheRepositoryReactif;
+
+    @Autowired
+    private ProjetsSepares projetsSepares;
+
+    // Format des nouveaux projets : embarque ou collection (comme StockageTaches)
+    @Value("${projet.taches.stockage:embarque}")
+    private String stockageParDefaut;
+
+    // ============================================================
+    // LECTURE
+    // ============================================================
+
+    /**
+     * Complète la liste des tâches d'un projet en stockage séparé.
+     *
+     * @param projet le projet lu depuis la collection "projets"
+     * @return le même projet, avec toutes ses tâches
+     */
+    public Mono<Projet> completer(Projet projet) {
+        if (!projet.aDesTachesSeparees()) {
+            return Mono.just(projet);
+        }
+        projetsSepares.memoriser(projet);
+        return tacheRepositoryReactif.findByProjetIdOrderByOrdreAsc(projet.getId())
+                .collectList()
+                .map(taches -> {
+                    projet.setTaches(new ArrayList<>(taches));
+                    return projet;
+                });
+    }
+
+    // ============================================================
+    // ÉCRITURE DU PROJET
+    // ============================================================
+
+    /**
+     * Enregistre un nouveau projet dans le format configuré.
+     *
+     * @param projet le projet à créer (compteurs et avancement déjà calculés)
+     * @return le projet créé, avec toutes ses tâches
+     */
+    public Mono<Projet> creer(Projet projet) {
+        if (!"collection".equals(stockageParDefaut)) {
+            projet.setStockageTaches(null);
+            return projetRepositoryReactif.save(projet);
+        }
+        projet.setStockageTaches(Projet.TACHES_SEPAREES);
+        List<Tache> taches = projet.getTaches();
+        // La liste n'est pas écrite dans le document projet, puis remise sur le projet retourné
+        projet.setTaches(null);
+        return projetRepositoryReactif.save(projet)
+                .flatMap(cree -> tacheRepositoryReactif.insererTaches(cree.getId(), taches)
+                        .then(Mono.fromSupplier(() -> {
+                            cree.setTaches(taches);
+                            return cree;
+                        })));
+    }
+
+    // ============================================================
+    // MUTATIONS DE TÂCHES
+    // ============================================================
+
+    /**
+     * Ajoute une tâche à un projet en stockage séparé. Un identifiant déjà
+     * pris est refusé avant toute écriture ; sinon les compteurs sont
+     * ajustés d'abord, et rétablis si la tâche est refusée.
+     *
+     * @return le projet mis à jour, ou vide si le projet n'existe pas, a ses tâches embarquées
+     *         ou si l'identifiant est déjà pris, ou une erreur ResourceConflictException si
+     *         l'identifiant a été pris entre la vérification et l'insertion
+     */
+    public Mono<Projet> ajouterTache(String projetId, Tache tache) {
+        return tacheRepositoryReactif.existsById(tache.getId())
+                .filter(pris -> !pris)
+                .flatMap(libre -> projetRepositoryReactif.ajusterCompteurs(projetId, CompteursTaches.ecart(null, tache)))
+                .flatMap(projet -> tacheRepositoryReactif.ajouter(projetId, tache)
+                        .onErrorResume(erreur -> projetRepositoryReactif
+                                .ajusterCompteurs(projetId, CompteursTaches.ecart(tache, null))
+                                .then(Mono.error(erreur instanceof DuplicateKeyException
+                                        ? StockageTaches.tacheEnDouble(tache.getId())
+                                        : erreur)))
+                        .then(completer(projet)));
+    }
+
+    /**
+     * Change le statut d'une tâche d'un projet en stockage séparé.
+     * Si la tâche n'existe pas, le projet n'est pas modifié.
+     *
+     * @return le projet mis à jour, ou vide (projet absent, embarqué, ou tâche inexistante)
+     */
+    public Mono<Projet> modifierStatutTache(String projetId, String tacheId, StatutTache nouveauStatut) {
+        return projetSepare(projetId)
+                .flatMap(id -> tacheRepositoryReactif.modifierStatut(projetId, tacheId, nouveauStatut))
+                .map(avant -> CompteursTaches.ecart(avant, apresDeplacement(avant, nouveauStatut)))
+                .flatMap(ecart -> projetRepositoryReactif.ajusterCompteurs(projetId, ecart))
+                .flatMap(this::completer);
+    }
+
+    /**
+     * Supprime une tâche d'un projet en stockage séparé.
+     * Si la tâche n'existe pas, le projet n'est pas modifié.
+     *
+     * @return le projet mis à jour, ou vide (voir modifierStatutTache())
+     */
+    public Mono<Projet> retirerTache(String projetId, String tacheId) {
+        return projetSepare(projetId)
+                .flatMap(id -> tacheRepositoryReactif.retirer(projetId, tacheId))
+                .map(avant -> CompteursTaches.ecart(avant, null))
+                .flatMap(ecart -> projetRepositoryReactif.ajusterCompteurs(projetId, ecart))
+                .flatMap(this::completer);
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** L'identifiant du projet s'il a ses tâches séparées, vide sinon. */
+    private Mono<String> projetSepare(String projetId) {
+        return projetRepositoryReactif.enTeteProjet(projetId)
+                .filter(Projet::aDesTachesSeparees)
+                .map(Projet::getId);
+    }
+
+    /** La tâche telle que la laisse modifierStatut() (même règle de retard). */
+    private static Tache apresDeplacement(Tache avant, StatutTache nouveauStatut) {
+        Tache apres = new Tache();
+        apres.setStatut(nouveauStatut);
+        apres.setDateLimite(avant.getDateLimite());
+        apres.verifierRetard();
+        return apres;
+    }
+}
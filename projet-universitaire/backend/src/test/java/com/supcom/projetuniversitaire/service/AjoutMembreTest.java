@@ -0,0 +1,73 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourcePreconditionFailedException;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.projetDeTaches;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ============================================================
+ * TEST D'INTÉGRATION : AjoutMembreTest
+ * ============================================================
+ * Ajouter un membre déjà présent ne change rien : ni la liste, ni la
+ * version du projet, ni la révision de la collection (ETags).
+ *
+ * Ignoré si Docker n'est pas disponible.
+ * ============================================================
+ */
+@SpringBootTest(properties = "projet.evenements.source=local")
+@Testcontainers(disabledWithoutDocker = true)
+class AjoutMembreTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @BeforeEach
+    void viderLaBase() {
+        projetRepository.deleteAll();
+        tacheRepository.deleteAll();
+        projetService.apresEcrituresEnMasse();
+    }
+
+    @Test
+    void membreDejaPresent_projetInchange() {
+        Projet projet = projetService.creerProjet(projetDeTaches(2));
+        Projet ajoute = projetService.ajouterMembre(projet.getId(), "membre0", null);
+        assertThat(ajoute.getVersion()).isEqualTo(projet.getVersion() + 1);
+        long revision = projetRepository.revisionProjets();
+
+        Projet inchange = projetService.ajouterMembre(projet.getId(), "membre0", ajoute.getVersion());
+
+        assertThat(inchange.getVersion()).isEqualTo(ajoute.getVersion());
+        assertThat(inchange.getMembres()).containsOnlyOnce("membre0");
+        assertThat(projetRepository.findById(projet.getId()).orElseThrow().getVersion())
+                .isEqualTo(ajoute.getVersion());
+        assertThat(projetRepository.revisionProjets()).isEqualTo(revision);
+
+        // Version périmée : 412, même pour un membre déjà présent
+        assertThatThrownBy(() -> projetService.ajouterMembre(projet.getId(), "membre0", projet.getVersion()))
+                .isInstanceOf(ResourcePreconditionFailedException.class);
+    }
+}
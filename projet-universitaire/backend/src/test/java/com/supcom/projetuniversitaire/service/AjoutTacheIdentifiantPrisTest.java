@@ -0,0 +1,83 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.projetDeTaches;
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.tacheAvecIdentifiant;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ============================================================
+ * TEST D'INTÉGRATION : AjoutTacheIdentifiantPrisTest
+ * ============================================================
+ * Un ajout de tâche avec un identifiant déjà pris est refusé (409),
+ * dans les deux formats de stockage, sans doublon et sans changer
+ * ni la version ni les compteurs du projet.
+ *
+ * Ignoré si Docker n'est pas disponible.
+ * ============================================================
+ */
+@SpringBootTest(properties = "projet.evenements.source=local")
+@Testcontainers(disabledWithoutDocker = true)
+class AjoutTacheIdentifiantPrisTest {
+
+    private static final int TACHES = 10;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @BeforeEach
+    void viderLaBase() {
+        projetRepository.deleteAll();
+        tacheRepository.deleteAll();
+        projetService.apresEcrituresEnMasse();
+    }
+
+    @Test
+    void identifiantDejaPris_409SansDoublonNiNouvelleVersion() {
+        Projet projet = projetService.creerProjet(projetDeTaches(TACHES));
+        String idPris = projet.getTaches().get(0).getId();
+
+        assertThatThrownBy(() -> projetService.ajouterTache(projet.getId(), tacheAvecIdentifiant(idPris), null))
+                .isInstanceOf(ResourceConflictException.class);
+        assertThat(projetRepository.findById(projet.getId()).orElseThrow().getVersion())
+                .isEqualTo(projet.getVersion());
+
+        migrationTaches.migrer(1, 10);
+        Long versionMigree = projetRepository.findById(projet.getId()).orElseThrow().getVersion();
+        assertThatThrownBy(() -> projetService.ajouterTache(projet.getId(), tacheAvecIdentifiant(idPris), null))
+                .isInstanceOf(ResourceConflictException.class);
+        // Refusé avant toute écriture : ni compteurs ni version ne bougent
+        assertThat(projetRepository.findById(projet.getId()).orElseThrow().getVersion())
+                .isEqualTo(versionMigree);
+
+        Projet relu = projetService.getProjetParId(projet.getId());
+        assertThat(relu.getTaches()).hasSize(TACHES);
+        assertThat(relu.getCompteurs().getTotal()).isEqualTo(TACHES);
+    }
+}
@@ -0,0 +1,109 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourcePreconditionFailedException;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.projetDeTaches;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ============================================================
+ * TEST D'INTÉGRATION : IfMatchTachesTest
+ * ============================================================
+ * If-Match sur les tâches séparées : de plusieurs écritures annonçant
+ * la même version, une seule passe, les autres reçoivent 412.
+ *
+ * Ignoré si Docker n'est pas disponible.
+ * ============================================================
+ */
+@SpringBootTest(properties = "projet.evenements.source=local")
+@Testcontainers(disabledWithoutDocker = true)
+class IfMatchTachesTest {
+
+    private static final int TACHES = 20;
+
+    // Écritures simultanées à la même version
+    private static final int THREADS = 8;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @BeforeEach
+    void viderLaBase() {
+        projetRepository.deleteAll();
+        tacheRepository.deleteAll();
+        projetService.apresEcrituresEnMasse();
+    }
+
+    @Test
+    void ifMatchSimultanes_uneSeuleEcritureReussit_tachesSeparees() throws Exception {
+        projetService.creerProjet(projetDeTaches(TACHES));
+        migrationTaches.migrer(1, 10);
+        Projet projet = projetService.getProjetParId(projetRepository.findAll().get(0).getId());
+        Long version = projet.getVersion();
+
+        // Toutes les écritures annoncent la même version (If-Match) : une seule doit passer
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Boolean>> resultats = new ArrayList<>();
+        try {
+            for (Tache tache : projet.getTaches().subList(0, THREADS)) {
+                resultats.add(threads.submit(() -> {
+                    depart.await();
+                    try {
+                        projetService.mettreAJourStatutTache(projet.getId(), tache.getId(), StatutTache.DONE, version);
+                        return true;
+                    } catch (ResourcePreconditionFailedException e) {
+                        return false;
+                    }
+                }));
+            }
+            depart.countDown();
+            int reussies = 0;
+            for (Future<Boolean> resultat : resultats) {
+                reussies += resultat.get(60, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(reussies).isEqualTo(1);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Projet relu = projetService.getProjetParId(projet.getId());
+        assertThat(relu.getTaches()).filteredOn(tache -> tache.getStatut() == StatutTache.DONE).hasSize(1);
+        assertThat(relu.getCompteurs().getDone()).isEqualTo(1);
+        assertThat(relu.getCompteurs().getToDo()).isEqualTo(TACHES - 1);
+    }
+}
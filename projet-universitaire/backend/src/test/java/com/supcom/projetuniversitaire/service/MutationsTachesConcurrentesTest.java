@@ -0,0 +1,254 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.exception.ResourceConflictException;
+import com.supcom.projetuniversitaire.exception.ResourceNotFoundException;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.StatutTache;
+import com.supcom.projetuniversitaire.model.Tache;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.projetDeTaches;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ============================================================
+ * TEST D'INTÉGRATION : MutationsTachesConcurrentesTest
+ * ============================================================
+ * Déplacements simultanés des tâches d'un même projet, sur un MongoDB
+ * réel (replica set dans un conteneur Docker) : plusieurs centaines de
+ * changements de statut en parallèle, aucune mise à jour ne doit être
+ * perdue, et compteurs, avancement et version doivent correspondre aux
+ * tâches après coup. Les deux formats de stockage des tâches (embarqué,
+ * collection "taches") sont vérifiés.
+ *
+ * La latence par changement de la mise à jour atomique est comparée à
+ * celle de l'ancien chemin lecture → modification → save() rejoué sur
+ * conflit de version (GestionnaireConflits), sous la même contention.
+ *
+ * Ignoré si Docker n'est pas disponible.
+ * ============================================================
+ */
+@SpringBootTest(properties = "projet.evenements.source=local")
+@Testcontainers(disabledWithoutDocker = true)
+class MutationsTachesConcurrentesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationsTachesConcurrentesTest.class);
+
+    // Nombre de tâches du projet, chacune déplacée deux fois (DOING puis DONE) : 400 changements
+    private static final int TACHES = 200;
+
+    // Threads qui écrivent en même temps sur le projet
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    @Autowired
+    private GestionnaireConflits gestionnaireConflits;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @BeforeEach
+    void viderLaBase() {
+        projetRepository.deleteAll();
+        tacheRepository.deleteAll();
+        projetService.apresEcrituresEnMasse();
+    }
+
+    @Test
+    void deplacementsSimultanesSansMiseAJourPerdue_tachesEmbarquees() throws Exception {
+        Projet projet = projetService.creerProjet(projetDeTaches(TACHES));
+
+        deplacerToutesLesTachesEnParallele(projet);
+
+        verifierProjetTermine(projet.getId(), projet.getVersion() + 2L * TACHES);
+    }
+
+    @Test
+    void deplacementsSimultanesSansMiseAJourPerdue_tachesSeparees() throws Exception {
+        projetService.creerProjet(projetDeTaches(TACHES));
+        migrationTaches.migrer(1, 10);
+        Projet projet = projetService.getProjetParId(projetRepository.findAll().get(0).getId());
+        assertThat(projet.aDesTachesSeparees()).isTrue();
+
+        deplacerToutesLesTachesEnParallele(projet);
+
+        verifierProjetTermine(projet.getId(), projet.getVersion() + 2L * TACHES);
+    }
+
+    @Test
+    void tacheInconnue_404SansModifierLeProjet() {
+        Projet projet = projetService.creerProjet(projetDeTaches(TACHES));
+
+        assertThatThrownBy(() -> projetService.mettreAJourStatutTache(
+                projet.getId(), "tache-inconnue", StatutTache.DONE, null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Tâche non trouvée");
+        assertThatThrownBy(() -> projetService.supprimerTache(projet.getId(), "tache-inconnue", null))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        Projet relu = projetRepository.findById(projet.getId()).orElseThrow();
+        assertThat(relu.getVersion()).isEqualTo(projet.getVersion());
+        assertThat(relu.getCompteurs().getToDo()).isEqualTo(TACHES);
+    }
+
+    @Test
+    void latenceParChangement_miseAJourAtomiqueContreLectureSauvegarde() throws Exception {
+        Projet atomique = projetService.creerProjet(projetDeTaches(TACHES));
+        Projet parSauvegarde = projetService.creerProjet(projetDeTaches(TACHES));
+
+        long[] latencesAtomiques = mesurerEnParallele(atomique, tache -> projetService.mettreAJourStatutTache(
+                atomique.getId(), tache.getId(), StatutTache.DONE, null));
+        long[] latencesParSauvegarde = mesurerEnParallele(parSauvegarde,
+                tache -> deplacerParSauvegarde(parSauvegarde.getId(), tache.getId()));
+
+        log.info("Latence par changement ({} changements, {} threads) : atomique p50={} µs p95={} µs ; "
+                        + "lecture + save() p50={} µs p95={} µs",
+                TACHES, THREADS, centile(latencesAtomiques, 50), centile(latencesAtomiques, 95),
+                centile(latencesParSauvegarde, 50), centile(latencesParSauvegarde, 95));
+
+        // Aucun changement perdu sur les deux chemins
+        for (Projet projet : List.of(atomique, parSauvegarde)) {
+            Projet relu = projetService.getProjetParId(projet.getId());
+            assertThat(relu.getTaches()).allMatch(tache -> tache.getStatut() == StatutTache.DONE);
+            assertThat(relu.getAvancement()).isEqualTo(100.0);
+        }
+        assertThat(centile(latencesAtomiques, 50)).isLessThan(centile(latencesParSauvegarde, 50));
+    }
+
+    // ============================================================
+    // OUTILS
+    // ============================================================
+
+    /** Chaque tâche passe à DOING puis DONE ; toutes les tâches en même temps. */
+    private void deplacerToutesLesTachesEnParallele(Projet projet) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Object>> resultats = new ArrayList<>();
+        try {
+            for (Tache tache : projet.getTaches()) {
+                Callable<Object> deplacements = () -> {
+                    depart.await();
+                    projetService.mettreAJourStatutTache(projet.getId(), tache.getId(), StatutTache.DOING, null);
+                    return projetService.mettreAJourStatutTache(projet.getId(), tache.getId(), StatutTache.DONE, null);
+                };
+                resultats.add(threads.submit(deplacements));
+            }
+            depart.countDown();
+            for (Future<Object> resultat : resultats) {
+                // Une exception d'écriture fait échouer le test
+                resultat.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /** Un changement par tâche, toutes en même temps ; latence de chaque changement en microsecondes. */
+    private long[] mesurerEnParallele(Projet projet, ChangementTache changement) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Long>> resultats = new ArrayList<>();
+        try {
+            for (Tache tache : projet.getTaches()) {
+                resultats.add(threads.submit(() -> {
+                    depart.await();
+                    long debut = System.nanoTime();
+                    changement.appliquer(tache);
+                    return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - debut);
+                }));
+            }
+            depart.countDown();
+            long[] latences = new long[resultats.size()];
+            for (int i = 0; i < latences.length; i++) {
+                latences[i] = resultats.get(i).get(300, TimeUnit.SECONDS);
+            }
+            return latences;
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Ancien chemin : relecture du projet complet, modification en mémoire,
+     * save() soumis au verrouillage optimiste, rejoué sur conflit. Tentatives
+     * épuisées (409), le client renvoie sa requête : la latence mesurée va
+     * jusqu'à ce que le changement soit réellement enregistré.
+     */
+    private void deplacerParSauvegarde(String projetId, String tacheId) {
+        while (true) {
+            try {
+                gestionnaireConflits.executer("deplacementParSauvegarde", () -> {
+                    Projet projet = projetRepository.findById(projetId).orElseThrow();
+                    Tache tache = projet.trouverTache(tacheId).orElseThrow();
+                    tache.setStatut(StatutTache.DONE);
+                    tache.verifierRetard();
+                    projet.recalculerCompteurs();
+                    projet.calculerAvancement();
+                    projet.verifierRetard();
+                    return projetRepository.save(projet);
+                });
+                return;
+            } catch (ResourceConflictException e) {
+                // Tentatives épuisées : le client renvoie sa requête
+            }
+        }
+    }
+
+    private static long centile(long[] latences, int centile) {
+        long[] triees = latences.clone();
+        Arrays.sort(triees);
+        return triees[Math.min(triees.length - 1, (int) Math.ceil(centile / 100.0 * triees.length) - 1)];
+    }
+
+    private void verifierProjetTermine(String projetId, long versionAttendue) {
+        Projet relu = projetService.getProjetParId(projetId);
+        assertThat(relu.getTaches()).hasSize(TACHES)
+                .allMatch(tache -> tache.getStatut() == StatutTache.DONE);
+        assertThat(relu.getCompteurs().getTotal()).isEqualTo(TACHES);
+        assertThat(relu.getCompteurs().getDone()).isEqualTo(TACHES);
+        assertThat(relu.getCompteurs().getToDo()).isZero();
+        assertThat(relu.getCompteurs().getDoing()).isZero();
+        assertThat(relu.getAvancement()).isEqualTo(100.0);
+        assertThat(relu.getVersion()).isEqualTo(versionAttendue);
+    }
+
+    /** Un changement de statut appliqué à une tâche. */
+    @FunctionalInterface
+    private interface ChangementTache {
+        void appliquer(Tache tache) throws Exception;
+    }
+}
@@ -0,0 +1,39 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.PrioriteTache;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.model.Tache;
+
+import java.time.LocalDate;
+
+/**
+ * ============================================================
+ * OUTIL DE TEST : ProjetsDeTest
+ * ============================================================
+ * Jeux de données communs aux tests d'intégration du service.
+ * ============================================================
+ */
+final class ProjetsDeTest {
+
+    private ProjetsDeTest() {
+    }
+
+    /** Projet de nombreTaches tâches TO_DO, réparties entre quatre membres. */
+    static Projet projetDeTaches(int nombreTaches) {
+        Projet projet = new Projet("Concurrence", "Déplacements simultanés", "Génie logiciel",
+                LocalDate.now().plusMonths(1));
+        for (int i = 0; i < nombreTaches; i++) {
+            projet.getTaches().add(new Tache("Tâche " + i, null, "membre" + (i % 4),
+                    PrioriteTache.MOYENNE, LocalDate.now().plusDays(7)));
+        }
+        return projet;
+    }
+
+    /** Tâche dont l'identifiant est fourni par le client. */
+    static Tache tacheAvecIdentifiant(String id) {
+        Tache tache = new Tache();
+        tache.setId(id);
+        tache.setTitre("Doublon");
+        return tache;
+    }
+}
@@ -0,0 +1,78 @@
+package com.supcom.projetuniversitaire.service;
+
+import com.supcom.projetuniversitaire.model.CompteursTaches;
+import com.supcom.projetuniversitaire.model.Projet;
+import com.supcom.projetuniversitaire.repository.ProjetRepository;
+import com.supcom.projetuniversitaire.repository.TacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.projetDeTaches;
+import static com.supcom.projetuniversitaire.service.ProjetsDeTest.tacheAvecIdentifiant;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ============================================================
+ * TEST D'INTÉGRATION : ReparationCompteursTest
+ * ============================================================
+ * Des compteurs de tâches séparées en écart (mutation interrompue
+ * entre l'écriture de la tâche et l'ajustement du projet) sont
+ * réparés par MigrationTaches.reparerCompteurs() ; une seconde
+ * réparation ne trouve plus rien.
+ *
+ * Ignoré si Docker n'est pas disponible.
+ * ============================================================
+ */
+@SpringBootTest(properties = {"projet.evenements.source=local", "projet.taches.reparation.delai-ms=0"})
+@Testcontainers(disabledWithoutDocker = true)
+class ReparationCompteursTest {
+
+    private static final int TACHES = 20;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProjetService projetService;
+
+    @Autowired
+    private MigrationTaches migrationTaches;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TacheRepository tacheRepository;
+
+    @BeforeEach
+    void viderLaBase() {
+        projetRepository.deleteAll();
+        tacheRepository.deleteAll();
+        projetService.apresEcrituresEnMasse();
+    }
+
+    @Test
+    void compteursSeparesEnEcart_reparesPuisStables() {
+        projetService.creerProjet(projetDeTaches(TACHES));
+        migrationTaches.migrer(1, 10);
+        Projet projet = projetRepository.findAll().get(0);
+
+        // Mutation interrompue : compteurs ajustés, tâche jamais écrite
+        projetRepository.ajusterCompteurs(projet.getId(), null, CompteursTaches.ecart(null, tacheAvecIdentifiant("perdue")));
+        assertThat(projetRepository.findById(projet.getId()).orElseThrow().getCompteurs().getTotal())
+                .isEqualTo(TACHES + 1);
+
+        assertThat(migrationTaches.reparerCompteurs()).isEqualTo(1);
+        Projet relu = projetService.getProjetParId(projet.getId());
+        assertThat(relu.getCompteurs().getTotal()).isEqualTo(TACHES);
+        assertThat(relu.getCompteurs().getToDo()).isEqualTo(TACHES);
+        assertThat(migrationTaches.reparerCompteurs()).isZero();
+    }
+}
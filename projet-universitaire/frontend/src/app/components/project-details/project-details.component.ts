@@ -7,14 +7,17 @@
  *   - Liste des membres du groupe
  *   - Tableau Kanban des tâches (TaskBoardComponent)
  *   - Barre d'avancement globale
+ * Les changements faits par les autres membres arrivent en temps réel
+ * (flux SSE du projet) et sont appliqués sans relire le projet.
  * ============================================================
  */
-import { Component, OnInit, inject, signal } from '@angular/core';
+import { Component, DestroyRef, OnInit, inject, signal } from '@angular/core';
+import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { RouterModule, ActivatedRoute, Router } from '@angular/router';
 import { ProjetService } from '../../services/projet.service';
-import { Projet } from '../../models/projet.model';
+import { EvenementProjet, Projet } from '../../models/projet.model';
 import { TaskBoardComponent } from '../task-board/task-board.component';
 
 @Component({
@@ -412,6 +415,7 @@ export class ProjectDetailsComponent implements OnInit {
   private projetService = inject(ProjetService);
   private route = inject(ActivatedRoute);
   private router = inject(Router);
+  private destroyRef = inject(DestroyRef);
 
   /** Signal contenant le projet chargé */
   projet = signal<Projet | null>(null);
@@ -430,16 +434,88 @@ export class ProjectDetailsComponent implements OnInit {
     const id = this.route.snapshot.paramMap.get('id');
     if (id) {
       this.chargerProjet(id);
+      this.suivreProjet(id);
     }
   }
 
+  /**
+   * Abonnement temps réel aux changements du projet, fermé à la
+   * destruction du composant.
+   *
+   * @param id l'identifiant du projet
+   */
+  suivreProjet(id: string): void {
+    this.projetService.suivreProjet(id)
+      .pipe(takeUntilDestroyed(this.destroyRef))
+      .subscribe(evenement => this.appliquerEvenement(evenement));
+  }
+
+  /**
+   * Applique un événement reçu au projet affiché.
+   * Les événements déjà reflétés (nos propres écritures, version connue)
+   * sont ignorés ; une version sautée signale un événement manqué et
+   * entraîne une relecture du projet.
+   *
+   * @param evenement le changement reçu
+   */
+  appliquerEvenement(evenement: EvenementProjet): void {
+    const projet = this.projet();
+    if (!projet) return;
+
+    if (evenement.type === 'PROJET_SUPPRIME') {
+      this.router.navigate(['/projets']);
+      return;
+    }
+    const versionConnue = projet.version;
+    if (evenement.version != null && versionConnue != null && evenement.version <= versionConnue) {
+      return;
+    }
+    if (evenement.version == null || evenement.type === 'PROJET_MODIFIE' || evenement.type === 'RESYNCHRONISATION'
+        || (versionConnue != null && evenement.version > versionConnue + 1)) {
+      this.chargerProjet(projet.id!, false);
+      return;
+    }
+
+    let taches = projet.taches ?? [];
+    let membres = projet.membres ?? [];
+    switch (evenement.type) {
+      case 'TACHE_AJOUTEE':
+        if (evenement.tache && !taches.some(t => t.id === evenement.tacheId)) {
+          taches = [...taches, evenement.tache];
+        }
+        break;
+      case 'TACHE_DEPLACEE':
+        taches = taches.map(t => t.id === evenement.tacheId && evenement.statut
+          ? { ...t, statut: evenement.statut, enRetard: evenement.statut === 'DONE' ? false : t.enRetard }
+          : t);
+        break;
+      case 'TACHE_SUPPRIMEE':
+        taches = taches.filter(t => t.id !== evenement.tacheId);
+        break;
+      case 'MEMBRE_AJOUTE':
+        if (evenement.membre && !membres.includes(evenement.membre)) {
+          membres = [...membres, evenement.membre];
+        }
+        break;
+    }
+    this.projet.set({
+      ...projet,
+      taches,
+      membres,
+      version: evenement.version,
+      avancement: evenement.avancement ?? projet.avancement,
+      statut: evenement.statutProjet ?? projet.statut
+    });
+  }
+
   /**
    * Charge le projet depuis le backend via le service.
    *
    * @param id l'identifiant du projet
+   * @param afficherChargement false pour une relecture silencieuse (événement temps réel)
    */
-  chargerProjet(id: string): void {
-    this.chargement.set(true);
+  chargerProjet(id: string, afficherChargement = true): void {
+    this.chargement.set(afficherChargement);
     this.projetService.getProjetParId(id).subscribe({
       next: (data) => {
         this.projet.set(data);
@@ -457,6 +533,9 @@ export class ProjectDetailsComponent implements OnInit {
    * Appelé par le TaskBoardComponent quand le projet est mis à jour.
    * Met à jour le signal local avec les nouvelles données (dont l'avancement).
    *
+   * Une version sautée (écriture d'un autre client pas encore reçue) est
+   * comblée par le temps réel : fusionnerDelta() n'avance pas la version.
+   *
    * @param projetMisAJour le projet avec l'avancement recalculé
    */
   onProjetMisAJour(projetMisAJour: Projet): void {
@@ -470,9 +549,10 @@ export class ProjectDetailsComponent implements OnInit {
     const membre = this.nouveauMembre.trim();
     if (!membre || !this.projet()?.id) return;
 
-    this.projetService.ajouterMembre(this.projet()!.id!, membre).subscribe({
-      next: (projetMisAJour) => {
-        this.projet.set(projetMisAJour);
+    this.projetService.ajouterMembreDelta(this.projet()!.id!, membre).subscribe({
+      next: (delta) => {
+        const projet = this.projet();
+        if (projet) this.onProjetMisAJour(this.projetService.fusionnerDelta(projet, delta));
         this.nouveauMembre = ''; // Vider le champ
       },
       error: (err) => console.error('Erreur ajout membre:', err)
@@ -14,7 +14,7 @@ import { Component, OnInit, inject, signal } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { RouterModule, Router } from '@angular/router';
 import { ProjetService } from '../../services/projet.service';
-import { Projet } from '../../models/projet.model';
+import { ProjetResume, StatistiquesProjets } from '../../models/projet.model';
 
 @Component({
   selector: 'app-project-list',
@@ -40,7 +40,7 @@ import { Projet } from '../../models/projet.model';
          ============================ -->
     <div class="stats-bar animate-fade-in-up stagger-1">
       <div class="stat-chip">
-        <span class="stat-number">{{ projets().length }}</span>
+        <span class="stat-number">{{ statistiques()?.projets ?? projets().length }}</span>
         <span class="stat-label">Total</span>
       </div>
       <div class="stat-chip en-cours">
@@ -120,21 +120,9 @@ import { Projet } from '../../models/projet.model';
           <h3 class="carte-titre">{{ projet.titre }}</h3>
           <p class="matiere">📖 {{ projet.matiere || 'Matière non précisée' }}</p>
 
-          @if (projet.description) {
-            <p class="description">{{ projet.description }}</p>
-          }
-
-          <!-- Membres du groupe -->
+          <!-- Membres du groupe (détail sur la page du projet) -->
           <div class="membres-row">
-            <div class="membres-avatars">
-              @for (membre of (projet.membres || []).slice(0, 3); track membre) {
-                <span class="avatar-circle" [title]="membre">{{ membre.charAt(0).toUpperCase() }}</span>
-              }
-              @if ((projet.membres?.length || 0) > 3) {
-                <span class="avatar-circle more">+{{ (projet.membres?.length || 0) - 3 }}</span>
-              }
-            </div>
-            <span class="membres-count">{{ projet.membres?.length || 0 }} membre(s)</span>
+            <span class="membres-count">👥 {{ projet.nombreMembres }} membre(s)</span>
           </div>
 
           <!-- Barre de progression (avancement) -->
@@ -315,16 +303,6 @@ import { Projet } from '../../models/projet.model';
       line-height: 1.3;
     }
     .matiere { color: var(--text-muted); font-size: 13px; margin: 0 0 8px; font-weight: 500; }
-    .description {
-      color: var(--text-secondary);
-      font-size: 14px;
-      margin: 0 0 16px;
-      line-height: 1.5;
-      display: -webkit-box;
-      -webkit-line-clamp: 2;
-      -webkit-box-orient: vertical;
-      overflow: hidden;
-    }
 
     /* Membres */
     .membres-row {
@@ -333,25 +311,6 @@ import { Projet } from '../../models/projet.model';
       gap: 10px;
       margin-bottom: 16px;
     }
-    .membres-avatars { display: flex; }
-    .avatar-circle {
-      width: 32px;
-      height: 32px;
-      border-radius: 50%;
-      background: var(--gradient-primary);
-      color: white;
-      display: flex;
-      align-items: center;
-      justify-content: center;
-      font-size: 13px;
-      font-weight: 700;
-      margin-left: -8px;
-      border: 2px solid var(--bg-card);
-      transition: transform var(--transition-fast);
-    }
-    .avatar-circle:first-child { margin-left: 0; }
-    .avatar-circle:hover { transform: scale(1.15); z-index: 1; }
-    .avatar-circle.more { background: var(--bg-main); color: var(--text-secondary); font-size: 11px; }
     .membres-count { font-size: 13px; color: var(--text-muted); }
 
     /* Avancement */
@@ -503,10 +462,10 @@ export class ProjectListComponent implements OnInit {
   private router = inject(Router);
 
   /** Signal contenant la liste complète des projets */
-  projets = signal<Projet[]>([]);
+  projets = signal<ProjetResume[]>([]);
 
   /** Signal contenant la liste filtrée affichée */
-  projetsFiltres = signal<Projet[]>([]);
+  projetsFiltres = signal<ProjetResume[]>([]);
 
   /** Signal indiquant si les données sont en cours de chargement */
   chargement = signal<boolean>(false);
@@ -514,21 +473,37 @@ export class ProjectListComponent implements OnInit {
   /** Signal indiquant le filtre actif */
   filtreActif = signal<string>('TOUS');
 
+  /** Statistiques calculées par le serveur (null tant qu'elles ne sont pas chargées) */
+  statistiques = signal<StatistiquesProjets | null>(null);
+
   /**
    * Lifecycle hook Angular : exécuté au chargement du composant.
    * Lance le chargement initial des projets.
    */
   ngOnInit(): void {
     this.chargerProjets();
+    this.chargerStatistiques();
   }
 
   /**
-   * Charge tous les projets depuis le backend via le service.
+   * Charge les compteurs de la barre de statistiques depuis le backend.
+   * En cas d'échec, les compteurs sont calculés sur la liste chargée.
+   */
+  chargerStatistiques(): void {
+    this.projetService.getStatistiques().subscribe({
+      next: (data) => this.statistiques.set(data),
+      error: (err) => console.error('Erreur lors du chargement des statistiques:', err)
+    });
+  }
+
+  /**
+   * Charge le résumé de tous les projets depuis le backend via le service
+   * (la liste n'affiche pas les tâches : inutile de les transférer).
    * Met à jour les signaux projets et projetsFiltres.
    */
   chargerProjets(): void {
     this.chargement.set(true);
-    this.projetService.getTousLesProjets().subscribe({
+    this.projetService.getResumesDeProjets().subscribe({
       next: (data) => {
         this.projets.set(data);
         this.projetsFiltres.set(data); // Afficher tous au départ
@@ -545,6 +520,10 @@ export class ProjectListComponent implements OnInit {
    * Retourne le nombre de projets par statut.
    */
   getCount(statut: string): number {
+    const statistiques = this.statistiques();
+    if (statistiques) {
+      return statistiques.parStatut[statut] ?? 0;
+    }
     return this.projets().filter(p => p.statut === statut).length;
   }
 
@@ -583,6 +562,7 @@ export class ProjectListComponent implements OnInit {
       this.projetService.supprimerProjet(id).subscribe({
         next: () => {
           this.chargerProjets();
+          this.chargerStatistiques();
         },
         error: (err) => console.error('Erreur lors de la suppression:', err)
       });
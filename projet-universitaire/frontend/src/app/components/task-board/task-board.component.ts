@@ -17,7 +17,7 @@ import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { ProjetService } from '../../services/projet.service';
 import { Tache } from '../../models/tache.model';
-import { Projet } from '../../models/projet.model';
+import { DeltaProjet, Projet } from '../../models/projet.model';
 
 @Component({
   selector: 'app-task-board',
@@ -585,9 +585,9 @@ export class TaskBoardComponent {
 
     const tache = this.nouvelleTache as Tache;
 
-    this.projetService.ajouterTache(this.projet.id, tache).subscribe({
-      next: (projetMisAJour) => {
-        this.projetMisAJour.emit(projetMisAJour); // Notifier le composant parent
+    this.projetService.ajouterTacheDelta(this.projet.id, tache).subscribe({
+      next: (delta) => {
+        this.emettreDelta(delta); // Notifier le composant parent
         this.afficherFormulaire.set(false);
         // Réinitialiser le formulaire
         this.nouvelleTache = { titre: '', description: '', assigneA: '', priorite: 'MOYENNE', statut: 'TO_DO' };
@@ -616,9 +616,9 @@ export class TaskBoardComponent {
 
     const nouveauStatut = ordre[nouvelIndex];
 
-    this.projetService.mettreAJourStatutTache(this.projet.id, tache.id, nouveauStatut).subscribe({
-      next: (projetMisAJour) => {
-        this.projetMisAJour.emit(projetMisAJour); // Notifier le composant parent avec l'avancement mis à jour
+    this.projetService.mettreAJourStatutTacheDelta(this.projet.id, tache.id, nouveauStatut).subscribe({
+      next: (delta) => {
+        this.emettreDelta(delta); // Notifier le composant parent avec l'avancement mis à jour
       },
       error: (err) => console.error('Erreur mise à jour statut:', err)
     });
@@ -633,15 +633,27 @@ export class TaskBoardComponent {
     if (!this.projet?.id) return;
 
     if (confirm('Supprimer cette tâche ?')) {
-      this.projetService.supprimerTache(this.projet.id, tacheId).subscribe({
-        next: (projetMisAJour) => {
-          this.projetMisAJour.emit(projetMisAJour);
+      this.projetService.supprimerTacheDelta(this.projet.id, tacheId).subscribe({
+        next: (delta) => {
+          this.emettreDelta(delta);
         },
         error: (err) => console.error('Erreur suppression tâche:', err)
       });
     }
   }
 
+  /**
+   * Fusionne la réponse compacte du backend dans le projet affiché au
+   * moment de la réponse (il a pu changer entre-temps via le temps réel)
+   * et notifie le composant parent.
+   *
+   * @param delta la réponse compacte de la mutation
+   */
+  private emettreDelta(delta: DeltaProjet): void {
+    if (!this.projet) return;
+    this.projetMisAJour.emit(this.projetService.fusionnerDelta(this.projet, delta));
+  }
+
   /**
    * Retourne la classe CSS selon la priorité de la tâche.
    *
@@ -33,9 +33,102 @@ export interface Projet {
   /** Liste des tâches associées au projet */
   taches: Tache[];
 
+  /** Nombre de tâches par statut, maintenu par le backend */
+  compteurs?: { total: number; toDo: number; doing: number; done: number; enRetard: number };
+
   /** Pourcentage d'avancement calculé automatiquement (0 à 100) */
   avancement: number;
 
   /** Statut global : 'EN_COURS' | 'TERMINÉ' | 'EN_RETARD' */
   statut: string;
+
+  /** Version du document, incrémentée à chaque modification (verrouillage optimiste) */
+  version?: number;
+}
+
+/**
+ * Vue résumé d'un projet (GET /api/projets?view=summary), utilisée par la
+ * liste des projets : ni tâches, ni description, ni liste des membres.
+ */
+export interface ProjetResume extends Pick<Projet,
+  'id' | 'titre' | 'matiere' | 'statut' | 'avancement' | 'compteurs' | 'dateLimite'> {
+  /** Nombre de membres du groupe */
+  nombreMembres: number;
+}
+
+/**
+ * Statistiques du tableau de bord (GET /api/projets/statistiques),
+ * calculées par MongoDB : inutile de télécharger tous les projets.
+ */
+export interface StatistiquesProjets {
+  /** Date du calcul (les statistiques sont rafraîchies périodiquement) */
+  calculeLe: string;
+
+  /** Nombre de projets et avancement moyen (%) */
+  projets: number;
+  avancementMoyen: number;
+
+  /** Nombre de projets par statut ('EN_COURS', 'TERMINÉ', 'EN_RETARD') */
+  parStatut: Record<string, number>;
+
+  /** Répartition par matière */
+  parMatiere: { matiere: string; projets: number; avancementMoyen: number; projetsEnRetard: number }[];
+
+  /** Tâches de tous les projets */
+  taches: { total: number; toDo: number; doing: number; done: number; enRetard: number };
+
+  /** Complétion par membre assigné (tauxCompletion : 0 à 100) */
+  parMembre: { membre: string; taches: number; terminees: number; enRetard: number; tauxCompletion: number }[];
+}
+
+/**
+ * Changement d'un projet reçu en temps réel (GET /api/projets/{id}/evenements, SSE).
+ * Les deltas (tâche, statut, membre) s'appliquent au projet affiché ;
+ * PROJET_MODIFIE et RESYNCHRONISATION demandent de relire le projet.
+ */
+export interface EvenementProjet {
+  type: 'TACHE_AJOUTEE' | 'TACHE_DEPLACEE' | 'TACHE_SUPPRIMEE' | 'MEMBRE_AJOUTE'
+      | 'PROJET_MODIFIE' | 'PROJET_SUPPRIME' | 'RESYNCHRONISATION';
+  projetId: string;
+
+  /** État du projet après le changement (absent s'il n'est pas connu) */
+  version?: number;
+  avancement?: number;
+  statutProjet?: string;
+
+  /** Delta, selon le type */
+  tacheId?: string;
+  tache?: Tache;
+  statut?: 'TO_DO' | 'DOING' | 'DONE';
+  membre?: string;
+}
+
+/**
+ * Réponse compacte d'une mutation de tâche ou de membre
+ * (Accept: application/vnd.projet.delta+json) : seulement ce qui a
+ * changé, à fusionner dans le projet affiché (ProjetService.fusionnerDelta).
+ */
+export interface DeltaProjet {
+  projetId: string;
+
+  /** État du projet après la mutation */
+  version?: number;
+  avancement: number;
+  statut: string;
+  compteurs?: Projet['compteurs'];
+
+  /** Tâche ajoutée ou modifiée (remplace la tâche de même id) */
+  tache?: Tache;
+
+  /** Identifiant de la tâche supprimée */
+  tacheSupprimee?: string;
+
+  /** Membres du groupe, après ajout d'un membre */
+  membres?: string[];
 }
+
+/** Types d'événements émis par le backend sur le flux SSE */
+export const TYPES_EVENEMENTS: EvenementProjet['type'][] = [
+  'TACHE_AJOUTEE', 'TACHE_DEPLACEE', 'TACHE_SUPPRIMEE', 'MEMBRE_AJOUTE',
+  'PROJET_MODIFIE', 'PROJET_SUPPRIME', 'RESYNCHRONISATION'
+];
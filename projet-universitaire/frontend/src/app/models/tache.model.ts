@@ -7,7 +7,7 @@
  * ============================================================
  */
 export interface Tache {
-  /** Identifiant unique de la tâche (UUID généré par le backend) */
+  /** Identifiant unique de la tâche (ObjectId généré par le backend ; UUID pour les tâches anciennes) */
   id?: string;
 
   /** Titre court et descriptif de la tâche */
@@ -31,3 +31,62 @@ export interface Tache {
   /** Indicateur calculé automatiquement par le backend : true si la date est dépassée */
   enRetard?: boolean;
 }
+
+/**
+ * Page de tâches d'un projet (GET /api/projets/{id}/taches).
+ * Repasser curseurSuivant dans le paramètre "after" pour la page suivante ;
+ * null lorsque la fin est atteinte.
+ */
+export interface PageTaches {
+  taches: Tache[];
+  curseurSuivant: string | null;
+  taille: number;
+}
+
+/** Filtres, tri et curseur d'une page de tâches (tous optionnels) */
+export interface CriteresPageTaches {
+  statut?: 'TO_DO' | 'DOING' | 'DONE';
+  priorite?: 'FAIBLE' | 'MOYENNE' | 'ÉLEVÉE';
+  assigneA?: string;
+  enRetard?: boolean;
+  size?: number;
+  sort?: 'ordre' | 'dateLimite';
+  order?: 'asc' | 'desc';
+  after?: string;
+}
+
+/** Tâche assignée à un membre, avec son projet (GET /api/projets/membre/{membre}) */
+export interface TacheAssignee {
+  id: string;
+  titre: string;
+  statut: 'TO_DO' | 'DOING' | 'DONE';
+  priorite: 'FAIBLE' | 'MOYENNE' | 'ÉLEVÉE';
+  dateLimite?: string;
+  enRetard: boolean;
+  projetId: string;
+  projetTitre: string;
+}
+
+/** Projet dont le membre fait partie ou qui lui assigne des tâches */
+export interface ProjetDuMembre {
+  id: string;
+  titre: string;
+  matiere?: string;
+  statut: string;
+  dateLimite?: string;
+  avancement: number;
+  membreDuGroupe: boolean;
+  tachesAssignees: number;
+}
+
+/**
+ * Charge de travail d'un membre sur tous les projets :
+ * tâches par statut (échéance la plus proche d'abord) et
+ * décompte des tâches non terminées par échéance.
+ */
+export interface ChargeMembre {
+  membre: string;
+  projets: ProjetDuMembre[];
+  taches: Record<'TO_DO' | 'DOING' | 'DONE', TacheAssignee[]>;
+  echeances: Record<'EN_RETARD' | 'SEMAINE' | 'PLUS_TARD' | 'SANS_DATE', number>;
+}
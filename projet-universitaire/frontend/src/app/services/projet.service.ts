@@ -12,10 +12,10 @@
  * ============================================================
  */
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Projet } from '../models/projet.model';
-import { Tache } from '../models/tache.model';
+import { DeltaProjet, EvenementProjet, Projet, ProjetResume, StatistiquesProjets, TYPES_EVENEMENTS } from '../models/projet.model';
+import { ChargeMembre, CriteresPageTaches, PageTaches, Tache } from '../models/tache.model';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -29,6 +29,9 @@ export class ProjetService {
   /** Injection du client HTTP Angular */
   private http = inject(HttpClient);
 
+  /** En-tête demandant une réponse compacte (DeltaProjet) aux mutations */
+  private enTetesDelta = new HttpHeaders({ Accept: 'application/vnd.projet.delta+json' });
+
   // ============================================================
   // MÉTHODES CRUD POUR LES PROJETS
   // ============================================================
@@ -43,6 +46,27 @@ export class ProjetService {
     return this.http.get<Projet[]>(this.apiUrl);
   }
 
+  /**
+   * Récupère le résumé de tous les projets, sans leurs tâches.
+   * Correspond à : GET /api/projets?view=summary
+   *
+   * @returns Observable<ProjetResume[]> liste allégée pour l'affichage en liste
+   */
+  getResumesDeProjets(): Observable<ProjetResume[]> {
+    return this.http.get<ProjetResume[]>(this.apiUrl, { params: { view: 'summary' } });
+  }
+
+  /**
+   * Récupère les statistiques du tableau de bord, calculées côté serveur.
+   * Correspond à : GET /api/projets/statistiques
+   *
+   * @param fraiches true pour forcer un nouveau calcul
+   * @returns Observable<StatistiquesProjets> statistiques et date de calcul
+   */
+  getStatistiques(fraiches = false): Observable<StatistiquesProjets> {
+    return this.http.get<StatistiquesProjets>(`${this.apiUrl}/statistiques`, { params: { fraiches } });
+  }
+
   /**
    * Récupère un projet spécifique par son identifiant.
    * Correspond à : GET /api/projets/{id}
@@ -92,6 +116,26 @@ export class ProjetService {
   // MÉTHODES POUR LA GESTION DES TÂCHES (KANBAN)
   // ============================================================
 
+  /**
+   * Récupère une page des tâches d'un projet, filtrée et triée par le backend
+   * (utile pour les projets de plusieurs milliers de tâches : une colonne
+   * du Kanban à la fois, chargée au fil du défilement).
+   * Correspond à : GET /api/projets/{id}/taches
+   *
+   * @param projetId l'identifiant du projet
+   * @param criteres filtres (statut, priorite, assigneA, enRetard), tri, taille et curseur
+   * @returns Observable<PageTaches> la page et le curseur de la suivante
+   */
+  getPageDeTaches(projetId: string, criteres: CriteresPageTaches = {}): Observable<PageTaches> {
+    let params = new HttpParams();
+    Object.entries(criteres).forEach(([cle, valeur]) => {
+      if (valeur !== undefined && valeur !== null) {
+        params = params.set(cle, String(valeur));
+      }
+    });
+    return this.http.get<PageTaches>(`${this.apiUrl}/${projetId}/taches`, { params });
+  }
+
   /**
    * Ajoute une nouvelle tâche à un projet existant.
    * Correspond à : POST /api/projets/{id}/taches
@@ -132,6 +176,76 @@ export class ProjetService {
     return this.http.delete<Projet>(`${this.apiUrl}/${projetId}/taches/${tacheId}`);
   }
 
+  // ============================================================
+  // RÉPONSES COMPACTES (DeltaProjet)
+  // ============================================================
+  // Mêmes mutations que ci-dessus, mais le backend ne renvoie que ce qui
+  // a changé (la tâche, le nouvel avancement, le statut, la version) au
+  // lieu du projet complet : à fusionner avec fusionnerDelta().
+
+  /** POST /api/projets/{id}/taches, réponse compacte */
+  ajouterTacheDelta(projetId: string, tache: Tache): Observable<DeltaProjet> {
+    return this.http.post<DeltaProjet>(`${this.apiUrl}/${projetId}/taches`, tache,
+      { headers: this.enTetesDelta });
+  }
+
+  /** PUT /api/projets/{id}/taches/{tacheId}/statut, réponse compacte */
+  mettreAJourStatutTacheDelta(projetId: string, tacheId: string, nouveauStatut: string): Observable<DeltaProjet> {
+    return this.http.put<DeltaProjet>(`${this.apiUrl}/${projetId}/taches/${tacheId}/statut`,
+      { statut: nouveauStatut }, { headers: this.enTetesDelta });
+  }
+
+  /** DELETE /api/projets/{id}/taches/{tacheId}, réponse compacte */
+  supprimerTacheDelta(projetId: string, tacheId: string): Observable<DeltaProjet> {
+    return this.http.delete<DeltaProjet>(`${this.apiUrl}/${projetId}/taches/${tacheId}`,
+      { headers: this.enTetesDelta });
+  }
+
+  /** POST /api/projets/{id}/membres, réponse compacte */
+  ajouterMembreDelta(projetId: string, membre: string): Observable<DeltaProjet> {
+    return this.http.post<DeltaProjet>(`${this.apiUrl}/${projetId}/membres`, { membre },
+      { headers: this.enTetesDelta });
+  }
+
+  /**
+   * Applique une réponse compacte au projet affiché.
+   * Un delta déjà reflété (version connue, par exemple reçue entre-temps
+   * par le flux temps réel) laisse le projet inchangé.
+   * Un delta qui saute des versions (écriture d'un autre client pas encore
+   * reçue) est fusionné sans avancer la version : les événements manquants
+   * restent applicables par le flux temps réel, qui relit le projet s'il
+   * en manque encore (voir ProjectDetailsComponent.appliquerEvenement).
+   *
+   * @param projet le projet tel qu'affiché à la réception de la réponse
+   * @param delta  la réponse compacte du backend
+   * @returns le projet mis à jour (nouvel objet)
+   */
+  fusionnerDelta(projet: Projet, delta: DeltaProjet): Projet {
+    if (delta.version != null && projet.version != null && delta.version <= projet.version) {
+      return projet;
+    }
+    let taches = projet.taches ?? [];
+    if (delta.tache) {
+      const tache = delta.tache;
+      taches = taches.some(t => t.id === tache.id)
+        ? taches.map(t => t.id === tache.id ? tache : t)
+        : [...taches, tache];
+    }
+    if (delta.tacheSupprimee) {
+      taches = taches.filter(t => t.id !== delta.tacheSupprimee);
+    }
+    const versionSautee = delta.version != null && projet.version != null && delta.version > projet.version + 1;
+    return {
+      ...projet,
+      taches,
+      membres: delta.membres ?? projet.membres,
+      compteurs: delta.compteurs ?? projet.compteurs,
+      avancement: delta.avancement,
+      statut: delta.statut,
+      version: versionSautee ? projet.version : (delta.version ?? projet.version)
+    };
+  }
+
   // ============================================================
   // MÉTHODES POUR LA GESTION DES MEMBRES DU GROUPE
   // ============================================================
@@ -158,4 +272,43 @@ export class ProjetService {
   getProjetsByStatut(statut: string): Observable<Projet[]> {
     return this.http.get<Projet[]>(`${this.apiUrl}/statut/${statut}`);
   }
+
+  /**
+   * S'abonne aux changements d'un projet en temps réel (Server-Sent Events).
+   * Correspond à : GET /api/projets/{id}/evenements
+   *
+   * EventSource se reconnecte de lui-même après une coupure ; les
+   * événements manqués entre-temps sont signalés par un RESYNCHRONISATION.
+   * Se désabonner ferme la connexion.
+   *
+   * @param projetId l'identifiant du projet suivi
+   * @returns Observable<EvenementProjet> un événement par changement
+   */
+  suivreProjet(projetId: string): Observable<EvenementProjet> {
+    return new Observable<EvenementProjet>(abonne => {
+      const source = new EventSource(`${this.apiUrl}/${projetId}/evenements`);
+      let reconnexion = false;
+      source.onopen = () => {
+        if (reconnexion) {
+          abonne.next({ type: 'RESYNCHRONISATION', projetId });
+        }
+        reconnexion = true;
+      };
+      TYPES_EVENEMENTS.forEach(type => source.addEventListener(type, message => {
+        abonne.next(JSON.parse((message as MessageEvent<string>).data) as EvenementProjet);
+      }));
+      return () => source.close();
+    });
+  }
+
+  /**
+   * Charge de travail d'un membre sur tous les projets ("mes tâches").
+   * Correspond à : GET /api/projets/membre/{membre}
+   *
+   * @param membre le nom/email du membre
+   * @returns Observable<ChargeMembre> ses projets, ses tâches par statut et par échéance
+   */
+  getChargeMembre(membre: string): Observable<ChargeMembre> {
+    return this.http.get<ChargeMembre>(`${this.apiUrl}/membre/${encodeURIComponent(membre)}`);
+  }
 }